@@ -27,6 +27,9 @@ public class RandomForestConfiguration {
     private AttributeType outcomeType;
     private double confidenceThreshold;
     private int numTrees;
+    private int maxObservations = 10000;
+    private int retrainObservations = 1;
+    private long retrainIntervalMillis;
     private Map<String, AttributeType> inputFeatures = new HashMap<>();
 
     public int getNumTrees() {
@@ -37,6 +40,45 @@ public class RandomForestConfiguration {
         this.numTrees = numTrees;
     }
 
+    /**
+     * Returns the maximum number of observations used to train the model, older ones are discarded
+     *
+     * @return The size of the observation window
+     */
+    public int getMaxObservations() {
+        return maxObservations;
+    }
+
+    public void setMaxObservations(int maxObservations) {
+        this.maxObservations = maxObservations;
+    }
+
+    /**
+     * Returns the number of new observations that triggers the training of a new model in background
+     *
+     * @return The number of observations, 0 or less to only retrain on time basis
+     */
+    public int getRetrainObservations() {
+        return retrainObservations;
+    }
+
+    public void setRetrainObservations(int retrainObservations) {
+        this.retrainObservations = retrainObservations;
+    }
+
+    /**
+     * Returns the age after which the model is trained again in background, if there are new observations
+     *
+     * @return The maximum age of the model in milliseconds, 0 or less to only retrain on observations basis
+     */
+    public long getRetrainIntervalMillis() {
+        return retrainIntervalMillis;
+    }
+
+    public void setRetrainIntervalMillis(long retrainIntervalMillis) {
+        this.retrainIntervalMillis = retrainIntervalMillis;
+    }
+
     /**
      * Returns the name of the output attribute
      *
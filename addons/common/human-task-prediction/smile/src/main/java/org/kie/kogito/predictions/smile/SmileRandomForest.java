@@ -20,12 +20,16 @@ package org.kie.kogito.predictions.smile;
 
 import java.text.ParseException;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
-import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
-import java.util.Set;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
 
 import org.kie.api.runtime.process.WorkItem;
 import org.kie.kogito.internal.process.workitem.KogitoWorkItem;
@@ -36,35 +40,85 @@ import org.slf4j.LoggerFactory;
 
 import smile.classification.RandomForest;
 import smile.data.Attribute;
-import smile.data.AttributeDataset;
 import smile.data.NominalAttribute;
 import smile.data.NumericAttribute;
 import smile.data.StringAttribute;
 
+/**
+ * Prediction service backed by a random forest trained with the latest observations.
+ * <p>
+ * Predictions are served by the last trained model. Training happens in background, after a configurable number of new observations
+ * or when the model gets older than a configurable interval, so it never delays a prediction, except for the very first model.
+ */
 public class SmileRandomForest extends AbstractPredictionEngine implements PredictionService {
 
     public static final String IDENTIFIER = "SMILERandomForest";
     private static final String UNABLE_PARSE_TEXT = "Unable to parse text";
     private static final Logger logger = LoggerFactory.getLogger(SmileRandomForest.class);
 
-    private final AttributeDataset dataset;
+    private static class DefaultExecutor {
+        private static final ExecutorService instance = Executors.newSingleThreadExecutor(r -> {
+            Thread thread = new Thread(r, "smile-random-forest-training");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    private static class TrainedModel {
+        private final RandomForest forest;
+        // outcome values known by the forest, indexed by the class it predicts
+        private final int[] outcomes;
+        private final long observations;
+        private final long trainedAt;
+
+        private TrainedModel(RandomForest forest, int[] outcomes, long observations) {
+            this.forest = forest;
+            this.outcomes = outcomes;
+            this.observations = observations;
+            this.trainedAt = System.currentTimeMillis();
+        }
+    }
+
     private final Map<String, Attribute> smileAttributes;
+    private final Attribute[] attributes;
     private final Attribute outcomeAttribute;
     private final AttributeType outcomeAttributeType;
     private final int numAttributes;
     private final int numberTrees;
     protected List<String> attributeNames = new ArrayList<>();
 
-    private Set<String> outcomeSet = new HashSet<>();
     private static final int MINIMUM_OBSERVATIONS = 1200;
-    private int observations = 0;
+
+    // observation window (circular buffer) and smile attributes, whose nominal values grow as new ones are found, are guarded by this lock
+    private final Object lock = new Object();
+    private final double[][] windowFeatures;
+    private final int[] windowOutcomes;
+    private int windowStart;
+    private int windowSize;
+    private long observations;
+    private int pendingObservations;
+
+    private final int retrainObservations;
+    private final long retrainIntervalMillis;
+    private final Executor executor;
+    private final AtomicReference<TrainedModel> model = new AtomicReference<>();
+    private final AtomicBoolean training = new AtomicBoolean();
+    private volatile boolean trainingRequested;
 
     public SmileRandomForest(RandomForestConfiguration configuration) {
+        this(configuration, DefaultExecutor.instance);
+    }
+
+    public SmileRandomForest(RandomForestConfiguration configuration, Executor executor) {
         this(configuration.getInputFeatures(),
                 configuration.getOutcomeName(),
                 configuration.getOutcomeType(),
                 configuration.getConfidenceThreshold(),
-                configuration.getNumTrees());
+                configuration.getNumTrees(),
+                configuration.getMaxObservations(),
+                configuration.getRetrainObservations(),
+                configuration.getRetrainIntervalMillis(),
+                executor);
     }
 
     public SmileRandomForest(Map<String, AttributeType> inputFeatures,
@@ -72,7 +126,23 @@ public class SmileRandomForest extends AbstractPredictionEngine implements Predi
             AttributeType outputFeatureType,
             double confidenceThreshold,
             int numberTrees) {
+        this(inputFeatures, outputFeatureName, outputFeatureType, confidenceThreshold, numberTrees, new RandomForestConfiguration().getMaxObservations(),
+                new RandomForestConfiguration().getRetrainObservations(), new RandomForestConfiguration().getRetrainIntervalMillis(), DefaultExecutor.instance);
+    }
+
+    public SmileRandomForest(Map<String, AttributeType> inputFeatures,
+            String outputFeatureName,
+            AttributeType outputFeatureType,
+            double confidenceThreshold,
+            int numberTrees,
+            int maxObservations,
+            int retrainObservations,
+            long retrainIntervalMillis,
+            Executor executor) {
         super(inputFeatures, outputFeatureName, outputFeatureType, confidenceThreshold);
+        if (maxObservations <= 0) {
+            throw new IllegalArgumentException("Maximum number of observations must be positive, was " + maxObservations);
+        }
         this.numberTrees = numberTrees;
         smileAttributes = new HashMap<>();
         for (Entry<String, AttributeType> inputFeature : inputFeatures.entrySet()) {
@@ -82,10 +152,15 @@ public class SmileRandomForest extends AbstractPredictionEngine implements Predi
             attributeNames.add(name);
         }
         numAttributes = smileAttributes.size();
+        attributes = smileAttributes.values().toArray(new Attribute[numAttributes]);
         outcomeAttribute = createAttribute(outputFeatureName, outputFeatureType);
         outcomeAttributeType = outputFeatureType;
 
-        dataset = new AttributeDataset("dataset", smileAttributes.values().toArray(new Attribute[numAttributes]), outcomeAttribute);
+        windowFeatures = new double[maxObservations][];
+        windowOutcomes = new int[maxObservations];
+        this.retrainObservations = retrainObservations;
+        this.retrainIntervalMillis = retrainIntervalMillis;
+        this.executor = executor;
     }
 
     protected Attribute createAttribute(String name, AttributeType type) {
@@ -111,28 +186,37 @@ public class SmileRandomForest extends AbstractPredictionEngine implements Predi
     }
 
     /**
-     * Add the data provided as a map to a Smile {@link smile.data.Dataset}.
+     * Add the data provided as a map to the observations used to train the model, discarding the oldest one if the window is full.
      *
      * @param data A map containing the input attribute names as keys and the attribute values as values.
      * @param outcome The value of the outcome (output data).
      */
     public void addData(Map<String, Object> data, Object outcome) {
-        final double[] features = new double[numAttributes];
-        int i = 0;
-        for (Entry<String, Attribute> entry : smileAttributes.entrySet()) {
+        synchronized (lock) {
+            final double[] features = new double[numAttributes];
+            int i = 0;
+            for (Entry<String, Attribute> entry : smileAttributes.entrySet()) {
+                try {
+                    features[i] = smileAttributes.get(entry.getKey()).valueOf(data.get(entry.getKey()).toString());
+                } catch (ParseException e) {
+                    logger.error(UNABLE_PARSE_TEXT, e);
+                }
+                i++;
+            }
             try {
-                features[i] = smileAttributes.get(entry.getKey()).valueOf(data.get(entry.getKey()).toString());
+                final int outcomeValue = (int) outcomeAttribute.valueOf(outcome.toString());
+                final int index = (windowStart + windowSize) % windowFeatures.length;
+                windowFeatures[index] = features;
+                windowOutcomes[index] = outcomeValue;
+                observations++;
+                if (windowSize < windowFeatures.length) {
+                    windowSize++;
+                } else {
+                    windowStart = (windowStart + 1) % windowFeatures.length;
+                }
             } catch (ParseException e) {
                 logger.error(UNABLE_PARSE_TEXT, e);
             }
-            i++;
-        }
-        try {
-            final String outcomeStr = outcome.toString();
-            outcomeSet.add(outcomeStr);
-            dataset.add(features, outcomeAttribute.valueOf(outcomeStr));
-        } catch (ParseException e) {
-            logger.error(UNABLE_PARSE_TEXT, e);
         }
     }
 
@@ -144,12 +228,14 @@ public class SmileRandomForest extends AbstractPredictionEngine implements Predi
      */
     protected double[] buildFeatures(Map<String, Object> data) {
         final double[] features = new double[numAttributes];
-        for (int i = 0; i < numAttributes; i++) {
-            final String attrName = attributeNames.get(i);
-            try {
-                features[i] = smileAttributes.get(attrName).valueOf(data.get(attrName).toString());
-            } catch (ParseException e) {
-                logger.error(UNABLE_PARSE_TEXT, e);
+        synchronized (lock) {
+            for (int i = 0; i < numAttributes; i++) {
+                final String attrName = attributeNames.get(i);
+                try {
+                    features[i] = smileAttributes.get(attrName).valueOf(data.get(attrName).toString());
+                } catch (ParseException e) {
+                    logger.error(UNABLE_PARSE_TEXT, e);
+                }
             }
         }
         return features;
@@ -175,25 +261,33 @@ public class SmileRandomForest extends AbstractPredictionEngine implements Predi
     @Override
     public PredictionOutcome predict(WorkItem task, Map<String, Object> inputData) {
         logger.debug("Predicting with input data: {}", inputData);
-        RandomForest model = null;
-        if (observations > MINIMUM_OBSERVATIONS) {
+        TrainedModel current = model.get();
+        if (current == null || current.forest == null && current.observations < observations()) {
+            // nothing to serve yet, this is the only case the caller trains the model
+            current = train();
+        } else if (retrainIntervalMillis > 0 && System.currentTimeMillis() - current.trainedAt > retrainIntervalMillis && current.observations < observations()) {
+            requestTraining();
+        }
+        if (current.observations > MINIMUM_OBSERVATIONS) {
             this.confidenceThreshold = 0.75;
         }
 
         Map<String, Object> outcomes = new HashMap<>();
-        if (outcomeSet.size() >= 2) {
-            model = new RandomForest(dataset, this.numberTrees);
+        if (current.forest != null) {
             final double[] features = buildFeatures(inputData);
-            final double[] posteriori = new double[outcomeSet.size()];
-            double prediction = model.predict(features, posteriori);
+            final double[] posteriori = new double[current.outcomes.length];
+            int prediction = current.forest.predict(features, posteriori);
 
-            String predictionStr = dataset.responseAttribute().toString(prediction);
+            String predictionStr;
+            synchronized (lock) {
+                predictionStr = outcomeAttribute.toString(current.outcomes[prediction]);
+            }
             outcomes.put(outcomeAttribute.getName(), convertValue(predictionStr, outcomeAttributeType));
-            final double confidence = posteriori[(int) prediction];
+            final double confidence = posteriori[prediction];
             outcomes.put("confidence", confidence);
 
-            logger.debug("task id {}, total {} observations, prediction = {}, confidence = {} (threshold = {})", ((KogitoWorkItem) task).getStringId(), this.observations, predictionStr, confidence,
-                    this.confidenceThreshold);
+            logger.debug("task id {}, model trained with {} observations, prediction = {}, confidence = {} (threshold = {})", task == null ? null : ((KogitoWorkItem) task).getStringId(),
+                    current.observations, predictionStr, confidence, this.confidenceThreshold);
 
             return new PredictionOutcome(confidence, this.confidenceThreshold, outcomes);
         } else {
@@ -213,8 +307,73 @@ public class SmileRandomForest extends AbstractPredictionEngine implements Predi
     public void train(WorkItem task, Map<String, Object> inputData, Map<String, Object> outputData) {
         logger.debug("Training with input data: {}", inputData);
         logger.debug("Training with output data: {}", outputData);
-        this.observations += 1;
-
         addData(inputData, outputData.get(outcomeAttribute.getName()));
+        boolean retrain = false;
+        synchronized (lock) {
+            if (retrainObservations > 0 && ++pendingObservations >= retrainObservations) {
+                pendingObservations = 0;
+                retrain = true;
+            }
+        }
+        if (retrain) {
+            requestTraining();
+        }
+    }
+
+    private long observations() {
+        synchronized (lock) {
+            return observations;
+        }
+    }
+
+    private void requestTraining() {
+        trainingRequested = true;
+        if (training.compareAndSet(false, true)) {
+            executor.execute(this::trainingLoop);
+        }
+    }
+
+    private void trainingLoop() {
+        try {
+            while (trainingRequested) {
+                trainingRequested = false;
+                train();
+            }
+        } catch (RuntimeException e) {
+            logger.warn("Error training random forest, predictions will keep using the previous model", e);
+        } finally {
+            training.set(false);
+        }
+        // a request might have arrived after the loop checked it but before the flag was cleared
+        if (trainingRequested && training.compareAndSet(false, true)) {
+            executor.execute(this::trainingLoop);
+        }
+    }
+
+    private TrainedModel train() {
+        final double[][] x;
+        final int[] y;
+        final long trainedObservations;
+        synchronized (lock) {
+            x = new double[windowSize][];
+            y = new int[windowSize];
+            for (int i = 0; i < windowSize; i++) {
+                int index = (windowStart + i) % windowFeatures.length;
+                x[i] = windowFeatures[index];
+                y[i] = windowOutcomes[index];
+            }
+            trainedObservations = observations;
+        }
+        // smile requires classes to be consecutive, which might not happen once old observations leave the window
+        int[] outcomes = Arrays.stream(y).distinct().sorted().toArray();
+        RandomForest forest = null;
+        if (outcomes.length >= 2) {
+            for (int i = 0; i < y.length; i++) {
+                y[i] = Arrays.binarySearch(outcomes, y[i]);
+            }
+            forest = new RandomForest(attributes, x, y, numberTrees);
+        }
+        TrainedModel trained = new TrainedModel(forest, outcomes, trainedObservations);
+        return model.accumulateAndGet(trained, (previous, next) -> previous == null || next.observations >= previous.observations ? next : previous);
     }
 }
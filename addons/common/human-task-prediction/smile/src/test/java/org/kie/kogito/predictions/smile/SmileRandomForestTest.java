@@ -0,0 +1,104 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.kie.kogito.predictions.smile;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.kie.kogito.prediction.api.PredictionOutcome;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SmileRandomForestTest {
+
+    private AtomicInteger trainings;
+    private Executor executor;
+
+    @BeforeEach
+    void setup() {
+        trainings = new AtomicInteger();
+        executor = r -> {
+            trainings.incrementAndGet();
+            r.run();
+        };
+    }
+
+    private SmileRandomForest randomForest(int maxObservations, int retrainObservations) {
+        return new SmileRandomForest(Collections.singletonMap("ActorId", AttributeType.NOMINAL), "output", AttributeType.NOMINAL, 0.7, 1, maxObservations, retrainObservations, 0,
+                executor);
+    }
+
+    private static void train(SmileRandomForest randomForest, String actor, String output, int times) {
+        for (int i = 0; i < times; i++) {
+            randomForest.train(null, Collections.singletonMap("ActorId", actor), Collections.singletonMap("output", output));
+        }
+    }
+
+    private static Object predict(SmileRandomForest randomForest, String actor) {
+        PredictionOutcome outcome = randomForest.predict(null, Collections.singletonMap("ActorId", actor));
+        return outcome.getData().get("output");
+    }
+
+    @Test
+    void testRetrainAfterObservations() {
+        SmileRandomForest randomForest = randomForest(100, 10);
+        train(randomForest, "john", "approve", 9);
+        assertThat(trainings).hasValue(0);
+        train(randomForest, "mary", "reject", 1);
+        assertThat(trainings).hasValue(1);
+        train(randomForest, "mary", "reject", 9);
+        assertThat(trainings).hasValue(2);
+    }
+
+    @Test
+    void testPredictionsReuseModel() {
+        SmileRandomForest randomForest = randomForest(100, 10);
+        train(randomForest, "john", "approve", 10);
+        train(randomForest, "mary", "reject", 10);
+        int trained = trainings.get();
+        for (int i = 0; i < 100; i++) {
+            assertThat(predict(randomForest, "john")).isEqualTo("approve");
+            assertThat(predict(randomForest, "mary")).isEqualTo("reject");
+        }
+        assertThat(trainings).hasValue(trained);
+    }
+
+    @Test
+    void testFirstModelTrainedOnPrediction() {
+        SmileRandomForest randomForest = randomForest(100, 0);
+        train(randomForest, "john", "approve", 10);
+        train(randomForest, "mary", "reject", 10);
+        assertThat(trainings).hasValue(0);
+        assertThat(predict(randomForest, "john")).isEqualTo("approve");
+    }
+
+    @Test
+    void testOldObservationsLeaveWindow() {
+        SmileRandomForest randomForest = randomForest(20, 1);
+        train(randomForest, "john", "approve", 10);
+        train(randomForest, "mary", "reject", 10);
+        train(randomForest, "john", "escalate", 10);
+        Map<String, Object> data = randomForest.predict(null, Collections.singletonMap("ActorId", "john")).getData();
+        assertThat(data).containsEntry("output", "escalate");
+    }
+}
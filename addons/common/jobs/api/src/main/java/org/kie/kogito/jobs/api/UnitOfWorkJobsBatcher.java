@@ -0,0 +1,140 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.kie.kogito.jobs.api;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.kie.kogito.jobs.JobDescription;
+import org.kie.kogito.uow.UnitOfWork;
+import org.kie.kogito.uow.UnitOfWorkManager;
+import org.kie.kogito.uow.WorkUnit;
+
+/**
+ * Collects the jobs created and cancelled during a unit of work and submits them
+ * all at once when the unit of work ends, after the process instances have been persisted.
+ * <p>
+ * A job that is created and cancelled within the same unit of work is never created, but its deletion is still
+ * submitted since the job may have been stored by an earlier unit of work (e.g. when it is rescheduled).
+ * Outside of a managed unit of work every call is submitted immediately as a batch of one.
+ */
+public class UnitOfWorkJobsBatcher {
+
+    /**
+     * Submits a batch to the jobs service. Cancellations must be applied before creations.
+     */
+    @FunctionalInterface
+    public interface BatchSubmitter {
+
+        /**
+         * @return true if the jobs service accepted the batch, otherwise false
+         */
+        boolean submit(List<JobDescription> create, List<String> delete);
+    }
+
+    private final UnitOfWorkManager unitOfWorkManager;
+    private final BatchSubmitter submitter;
+    private final Map<UnitOfWork, Batch> batches = new ConcurrentHashMap<>();
+
+    public UnitOfWorkJobsBatcher(UnitOfWorkManager unitOfWorkManager, BatchSubmitter submitter) {
+        this.unitOfWorkManager = Objects.requireNonNull(unitOfWorkManager);
+        this.submitter = Objects.requireNonNull(submitter);
+    }
+
+    public String schedule(JobDescription description) {
+        UnitOfWork unitOfWork = unitOfWorkManager.currentUnitOfWork();
+        Batch batch = batches.get(unitOfWork);
+        if (batch != null) {
+            batch.create.put(description.id(), description);
+        } else {
+            batch = new Batch();
+            batch.create.put(description.id(), description);
+            register(unitOfWork, batch);
+        }
+        return description.id();
+    }
+
+    /**
+     * Cancels the job when the current unit of work ends.
+     *
+     * @return the outcome of the submission when there is no managed unit of work, otherwise false if the job
+     *         had already been cancelled within the current unit of work
+     */
+    public boolean cancel(String id) {
+        UnitOfWork unitOfWork = unitOfWorkManager.currentUnitOfWork();
+        Batch batch = batches.get(unitOfWork);
+        if (batch == null) {
+            batch = new Batch();
+            batch.delete.add(id);
+            register(unitOfWork, batch);
+            // a pass through unit of work has already submitted the batch
+            return batch.submitted == null || batch.submitted;
+        }
+        boolean created = batch.create.remove(id) != null;
+        return batch.delete.add(id) || created;
+    }
+
+    int pendingBatches() {
+        return batches.size();
+    }
+
+    private void register(UnitOfWork unitOfWork, Batch batch) {
+        // the batch must be registered before intercepting since a pass through unit of work performs at once
+        batches.put(unitOfWork, batch);
+        unitOfWork.intercept(new WorkUnit<Batch>() {
+            @Override
+            public Batch data() {
+                return batch;
+            }
+
+            @Override
+            public void perform() {
+                batches.remove(unitOfWork, batch);
+                batch.submitted = batch.isEmpty() || submitter.submit(new ArrayList<>(batch.create.values()), new ArrayList<>(batch.delete));
+            }
+
+            @Override
+            public void abort() {
+                batches.remove(unitOfWork, batch);
+            }
+
+            @Override
+            public Integer priority() {
+                return LOW_PRIORITY;
+            }
+        });
+    }
+
+    private static class Batch {
+
+        private final Map<String, JobDescription> create = new LinkedHashMap<>();
+        private final Set<String> delete = new LinkedHashSet<>();
+        private Boolean submitted;
+
+        private boolean isEmpty() {
+            return create.isEmpty() && delete.isEmpty();
+        }
+    }
+}
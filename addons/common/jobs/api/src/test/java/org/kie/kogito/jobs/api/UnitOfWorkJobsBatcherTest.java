@@ -0,0 +1,213 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.kie.kogito.jobs.api;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.kie.kogito.event.EventManager;
+import org.kie.kogito.jobs.ExactExpirationTime;
+import org.kie.kogito.jobs.ExpirationTime;
+import org.kie.kogito.jobs.JobDescription;
+import org.kie.kogito.uow.UnitOfWork;
+import org.kie.kogito.uow.UnitOfWorkManager;
+import org.kie.kogito.uow.WorkUnit;
+import org.kie.kogito.uow.events.UnitOfWorkEventListener;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class UnitOfWorkJobsBatcherTest {
+
+    private final List<List<String>> submittedCreates = new ArrayList<>();
+    private final List<List<String>> submittedDeletes = new ArrayList<>();
+
+    private TestUnitOfWorkManager unitOfWorkManager;
+    private UnitOfWorkJobsBatcher batcher;
+    private boolean accepted;
+
+    @BeforeEach
+    void setUp() {
+        unitOfWorkManager = new TestUnitOfWorkManager();
+        accepted = true;
+        batcher = new UnitOfWorkJobsBatcher(unitOfWorkManager, (create, delete) -> {
+            submittedCreates.add(create.stream().map(JobDescription::id).toList());
+            submittedDeletes.add(delete);
+            return accepted;
+        });
+    }
+
+    @Test
+    void submitsImmediatelyOutsideUnitOfWork() {
+        assertThat(batcher.schedule(job("1"))).isEqualTo("1");
+        assertThat(batcher.cancel("2")).isTrue();
+
+        assertThat(submittedCreates).containsExactly(List.of("1"), List.of());
+        assertThat(submittedDeletes).containsExactly(List.of(), List.of("2"));
+        assertThat(batcher.pendingBatches()).isZero();
+    }
+
+    @Test
+    void submitsOneBatchPerUnitOfWork() {
+        TestUnitOfWork unitOfWork = unitOfWorkManager.begin();
+        batcher.schedule(job("1"));
+        batcher.schedule(job("2"));
+        batcher.cancel("3");
+        batcher.schedule(job("4"));
+        assertThat(submittedCreates).isEmpty();
+
+        unitOfWork.end();
+
+        assertThat(submittedCreates).containsExactly(List.of("1", "2", "4"));
+        assertThat(submittedDeletes).containsExactly(List.of("3"));
+        assertThat(batcher.pendingBatches()).isZero();
+    }
+
+    @Test
+    void cancelOutsideUnitOfWorkReturnsSubmissionOutcome() {
+        accepted = false;
+
+        assertThat(batcher.cancel("1")).isFalse();
+        assertThat(submittedDeletes).containsExactly(List.of("1"));
+    }
+
+    @Test
+    void jobCreatedAndCancelledInSameUnitOfWorkIsNotCreated() {
+        TestUnitOfWork unitOfWork = unitOfWorkManager.begin();
+        batcher.schedule(job("1"));
+        batcher.schedule(job("2"));
+        assertThat(batcher.cancel("1")).isTrue();
+
+        unitOfWork.end();
+
+        assertThat(submittedCreates).containsExactly(List.of("2"));
+        // job 1 may have been stored by an earlier unit of work and been rescheduled in this one
+        assertThat(submittedDeletes).containsExactly(List.of("1"));
+    }
+
+    @Test
+    void cancellingTwiceInSameUnitOfWorkIsReported() {
+        TestUnitOfWork unitOfWork = unitOfWorkManager.begin();
+        assertThat(batcher.cancel("1")).isTrue();
+        assertThat(batcher.cancel("1")).isFalse();
+
+        unitOfWork.end();
+
+        assertThat(submittedDeletes).containsExactly(List.of("1"));
+    }
+
+    @Test
+    void abortDiscardsBatch() {
+        TestUnitOfWork unitOfWork = unitOfWorkManager.begin();
+        batcher.schedule(job("1"));
+
+        unitOfWork.abort();
+
+        assertThat(submittedCreates).isEmpty();
+        assertThat(batcher.pendingBatches()).isZero();
+    }
+
+    private static JobDescription job(String id) {
+        return new TestJobDescription(id, ExactExpirationTime.now(), 0, "/" + id);
+    }
+
+    private record TestJobDescription(String id, ExpirationTime expirationTime, Integer priority, String path) implements JobDescription {
+    }
+
+    private static class TestUnitOfWork implements UnitOfWork {
+
+        private final List<WorkUnit<?>> work = new ArrayList<>();
+
+        @Override
+        public void start() {
+            // no-op
+        }
+
+        @Override
+        public void end() {
+            work.forEach(WorkUnit::perform);
+            work.clear();
+        }
+
+        @Override
+        public void abort() {
+            work.forEach(WorkUnit::abort);
+            work.clear();
+        }
+
+        @Override
+        public void intercept(WorkUnit work) {
+            this.work.add(work);
+        }
+    }
+
+    private static class TestUnitOfWorkManager implements UnitOfWorkManager {
+
+        private static final UnitOfWork PASS_THROUGH = new UnitOfWork() {
+            @Override
+            public void start() {
+                // no-op
+            }
+
+            @Override
+            public void end() {
+                // no-op
+            }
+
+            @Override
+            public void abort() {
+                // no-op
+            }
+
+            @Override
+            public void intercept(WorkUnit work) {
+                work.perform();
+            }
+        };
+
+        private UnitOfWork current = PASS_THROUGH;
+
+        TestUnitOfWork begin() {
+            TestUnitOfWork unitOfWork = new TestUnitOfWork();
+            current = unitOfWork;
+            return unitOfWork;
+        }
+
+        @Override
+        public UnitOfWork currentUnitOfWork() {
+            return current;
+        }
+
+        @Override
+        public UnitOfWork newUnitOfWork() {
+            return begin();
+        }
+
+        @Override
+        public EventManager eventManager() {
+            return null;
+        }
+
+        @Override
+        public void register(UnitOfWorkEventListener listener) {
+            // no-op
+        }
+    }
+}
@@ -19,12 +19,16 @@
 package org.kie.kogito.jobs.management;
 
 import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Objects;
 
 import org.kie.kogito.jobs.JobDescription;
 import org.kie.kogito.jobs.JobsService;
 import org.kie.kogito.jobs.api.URIBuilder;
 import org.kie.kogito.jobs.service.api.Job;
+import org.kie.kogito.jobs.service.api.JobBatch;
+import org.kie.kogito.jobs.service.api.JobLookupId;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 
@@ -36,6 +40,8 @@ public abstract class RestJobsService implements JobsService {
     @SuppressWarnings("squid:S1075")
     public static final String JOBS_PATH = "/v2/jobs";
 
+    public static final String BATCH_PATH = JOBS_PATH + "/batch";
+
     private URI jobsServiceUri;
     private String callbackEndpoint;
     private ObjectMapper objectMapper;
@@ -61,4 +67,16 @@ public abstract class RestJobsService implements JobsService {
     public Job buildJob(JobDescription description, String callback) {
         return buildCallbackPatternJob(description, callback, objectMapper);
     }
+
+    public JobBatch buildJobBatch(List<? extends JobDescription> create, List<String> delete) {
+        List<Job> jobs = new ArrayList<>(create.size());
+        for (JobDescription description : create) {
+            jobs.add(buildJob(description, getCallbackEndpoint(description)));
+        }
+        List<JobLookupId> lookupIds = new ArrayList<>(delete.size());
+        for (String id : delete) {
+            lookupIds.add(JobLookupId.fromId(id));
+        }
+        return JobBatch.of(jobs, lookupIds);
+    }
 }
@@ -0,0 +1,83 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.kie.kogito.monitoring.core.common.correlation;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.kie.kogito.correlation.CorrelationStoreListener;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+
+/**
+ * Publishes the number of correlations kept in memory and how many of them were evicted, per correlation store.
+ */
+public class MetricsCorrelationStoreListener implements CorrelationStoreListener {
+
+    private static final String STORE_TAG = "store";
+    private static final String CAUSE_TAG = "cause";
+
+    private final MeterRegistry meterRegistry;
+    private final Map<String, AtomicInteger> sizes = new ConcurrentHashMap<>();
+    private final Map<String, Counter> evictions = new ConcurrentHashMap<>();
+
+    public MetricsCorrelationStoreListener() {
+        this(Metrics.globalRegistry);
+    }
+
+    public MetricsCorrelationStoreListener(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public void onAdded(String store) {
+        getSizeGauge(store).incrementAndGet();
+    }
+
+    @Override
+    public void onRemoved(String store) {
+        getSizeGauge(store).decrementAndGet();
+    }
+
+    @Override
+    public void onEvicted(String store, boolean expired) {
+        getSizeGauge(store).decrementAndGet();
+        String cause = expired ? "expired" : "size";
+        evictions.computeIfAbsent(store + '|' + cause, k -> Counter.builder("kogito_correlation_store_evictions")
+                .description("Correlations removed from memory before being deleted")
+                .tag(STORE_TAG, String.valueOf(store))
+                .tag(CAUSE_TAG, cause)
+                .register(meterRegistry)).increment();
+    }
+
+    private AtomicInteger getSizeGauge(String store) {
+        return sizes.computeIfAbsent(String.valueOf(store), k -> {
+            AtomicInteger value = new AtomicInteger();
+            Gauge.builder("kogito_correlation_store_size", value, AtomicInteger::doubleValue)
+                    .description("Correlations kept in memory")
+                    .tag(STORE_TAG, k)
+                    .register(meterRegistry);
+            return value;
+        });
+    }
+}
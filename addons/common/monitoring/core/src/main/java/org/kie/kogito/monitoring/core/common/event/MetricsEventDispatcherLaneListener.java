@@ -0,0 +1,80 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.kie.kogito.monitoring.core.common.event;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.kie.kogito.event.EventDispatcherLaneListener;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Publishes the number of events waiting to be dispatched and how long they waited, per dispatcher (process).
+ */
+public class MetricsEventDispatcherLaneListener implements EventDispatcherLaneListener {
+
+    private static final String DISPATCHER_TAG = "dispatcher";
+
+    private final MeterRegistry meterRegistry;
+    private final Map<String, AtomicInteger> queued = new ConcurrentHashMap<>();
+    private final Map<String, Timer> waits = new ConcurrentHashMap<>();
+
+    public MetricsEventDispatcherLaneListener() {
+        this(Metrics.globalRegistry);
+    }
+
+    public MetricsEventDispatcherLaneListener(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public void onQueued(String name, int lane, int queueDepth) {
+        getQueuedGauge(name).incrementAndGet();
+    }
+
+    @Override
+    public void onStarted(String name, int lane, int queueDepth, long waitNanos) {
+        getQueuedGauge(name).decrementAndGet();
+        getWaitTimer(name).record(waitNanos, TimeUnit.NANOSECONDS);
+    }
+
+    private AtomicInteger getQueuedGauge(String name) {
+        return queued.computeIfAbsent(String.valueOf(name), k -> {
+            AtomicInteger value = new AtomicInteger();
+            Gauge.builder("kogito_event_dispatcher_queued", value, AtomicInteger::doubleValue)
+                    .description("Events waiting in the dispatcher lanes")
+                    .tag(DISPATCHER_TAG, k)
+                    .register(meterRegistry);
+            return value;
+        });
+    }
+
+    private Timer getWaitTimer(String name) {
+        return waits.computeIfAbsent(String.valueOf(name), k -> Timer.builder("kogito_event_dispatcher_wait")
+                .description("Time spent by events waiting in the dispatcher lanes")
+                .tag(DISPATCHER_TAG, k)
+                .register(meterRegistry));
+    }
+}
@@ -19,6 +19,7 @@
 package org.kie.kogito.monitoring.core.common.process;
 
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
@@ -50,9 +51,20 @@ public class MetricsProcessEventListener extends DefaultKogitoProcessEventListen
 
     private static final Logger LOGGER = LoggerFactory.getLogger(MetricsProcessEventListener.class);
     private static Map<String, AtomicInteger> gaugeMap = new ConcurrentHashMap<>();
+
+    /**
+     * Maximum number of distinct values published for the error_type tag, further error types are reported as {@link #OTHER_ERROR_TYPE}
+     */
+    static final int MAX_ERROR_TYPES = 100;
+    static final String OTHER_ERROR_TYPE = "other";
+    static final String UNKNOWN_ERROR_TYPE = "unknown";
+
     private final String identifier;
     private final KogitoGAV gav;
     private final MeterRegistry meterRegistry;
+    private final Map<String, ProcessMeters> processMeters = new ConcurrentHashMap<>();
+    private final Map<String, DistributionSummary> workItemDurations = new ConcurrentHashMap<>();
+    private final Set<String> errorTypes = ConcurrentHashMap.newKeySet();
 
     public MetricsProcessEventListener(String identifier, KogitoGAV gav, MeterRegistry meterRegistry) {
         this.identifier = identifier;
@@ -91,43 +103,87 @@ public class MetricsProcessEventListener extends DefaultKogitoProcessEventListen
         return builder.register(meterRegistry);
     }
 
-    private Counter getNumberOfProcessInstancesStartedCounter(String processId) {
-        return buildCounter("kogito_process_instance_started_total", "Started Process Instances", processId);
-    }
+    /**
+     * Meters of a process definition, resolved once so events do not go through the registry lookup.
+     * Meters whose tags depend on the event (state, node, error type) are resolved on first use and kept.
+     */
+    private class ProcessMeters {
+        private final String processId;
+        private final Counter started;
+        private final AtomicInteger running;
+        private final DistributionSummary duration;
+        private final Map<String, Counter> completed = new ConcurrentHashMap<>();
+        private final Map<String, Counter> slaViolated = new ConcurrentHashMap<>();
+        private final Map<String, Counter> errors = new ConcurrentHashMap<>();
+        private final Map<String, DistributionSummary> nodeDurations = new ConcurrentHashMap<>();
 
-    private Counter getErrorCounter(String processId, String errorMessage) {
-        return buildCounter("kogito_process_instance_error", "Number of errors that has occurred", processId, Tag.of("error_message", errorMessage));
-    }
+        private ProcessMeters(String processId) {
+            this.processId = processId;
+            this.started = buildCounter("kogito_process_instance_started_total", "Started Process Instances", processId);
+            this.running = gaugeMap.computeIfAbsent(identifier + processId, k -> buildGauge("kogito_process_instance_running_total", "Running Process Instances", processId));
+            this.duration = buildDistributionSummary("kogito_process_instance_duration_seconds",
+                    "Process Instances Duration", Tag.of("process_id", processId), Tag.of("app_id", identifier));
+        }
+
+        private Counter completed(String state) {
+            return completed.computeIfAbsent(state,
+                    k -> buildCounter("kogito_process_instance_completed_total", "Completed Process Instances", processId, Tag.of("process_state", k)));
+        }
+
+        private Counter slaViolated(String nodeName) {
+            return slaViolated.computeIfAbsent(nodeName,
+                    k -> buildCounter("kogito_process_instance_sla_violated_total", "Number of SLA violations that has ocurred", processId, Tag.of("node_name", k)));
+        }
 
-    private Counter getNumberOfSLAsViolatedCounter(String processId, String nodeName) {
-        return buildCounter("kogito_process_instance_sla_violated_total", "Number of SLA violations that has ocurred", processId, Tag.of("node_name", nodeName));
+        private Counter error(String errorType) {
+            return errors.computeIfAbsent(errorType,
+                    k -> buildCounter("kogito_process_instance_error", "Number of errors that has occurred", processId, Tag.of("error_type", k)));
+        }
+
+        private DistributionSummary nodeDuration(String nodeName) {
+            return nodeDurations.computeIfAbsent(nodeName,
+                    k -> buildDistributionSummary("kogito_node_instance_duration_milliseconds", "Relevant nodes duration in milliseconds", Tag.of("process_id", processId),
+                            Tag.of("node_name", k)));
+        }
     }
 
-    private Counter getNumberOfProcessInstancesCompletedCounter(String processId, String state) {
-        return buildCounter("kogito_process_instance_completed_total", "Completed Process Instances", processId, Tag.of("process_state", state));
+    private ProcessMeters getProcessMeters(String processId) {
+        return processMeters.computeIfAbsent(processId, ProcessMeters::new);
     }
 
-    private AtomicInteger getRunningProcessInstancesGauge(String processId) {
-        return gaugeMap.computeIfAbsent(identifier + processId, k -> buildGauge("kogito_process_instance_running_total", "Running Process Instances", processId));
+    private DistributionSummary getWorkItemsDurationSummary(String name) {
+        return workItemDurations.computeIfAbsent(name, k -> buildDistributionSummary("kogito_work_item_duration_seconds",
+                "Work Items Duration", Tag.of("name", k)));
     }
 
-    private DistributionSummary getProcessInstancesDurationSummary(String processId) {
-        return buildDistributionSummary("kogito_process_instance_duration_seconds",
-                "Process Instances Duration", Tag.of("process_id", processId), Tag.of("app_id", identifier));
+    /**
+     * Classifies the error by the class of its root cause, keeping the number of distinct values bounded
+     */
+    protected String getErrorType(KogitoWorkflowProcessInstance processInstance) {
+        return boundErrorType(processInstance.getErrorCause().map(MetricsProcessEventListener::rootCause).map(t -> t.getClass().getName()).orElse(UNKNOWN_ERROR_TYPE));
     }
 
-    private DistributionSummary getWorkItemsDurationSummary(String name) {
-        return buildDistributionSummary("kogito_work_item_duration_seconds",
-                "Work Items Duration", Tag.of("name", name));
+    String boundErrorType(String errorType) {
+        if (errorTypes.contains(errorType)) {
+            return errorType;
+        }
+        if (errorTypes.size() >= MAX_ERROR_TYPES) {
+            return OTHER_ERROR_TYPE;
+        }
+        errorTypes.add(errorType);
+        return errorType;
     }
 
-    private DistributionSummary getNodeInstancesDurationSummary(String processId, String nodeName) {
-        return buildDistributionSummary("kogito_node_instance_duration_milliseconds", "Relevant nodes duration in milliseconds", Tag.of("process_id", processId),
-                Tag.of("node_name", nodeName));
+    private static Throwable rootCause(Throwable t) {
+        Throwable cause = t;
+        while (cause.getCause() != null && cause.getCause() != cause) {
+            cause = cause.getCause();
+        }
+        return cause;
     }
 
     protected void recordRunningProcessInstance(String processId) {
-        getRunningProcessInstancesGauge(processId).incrementAndGet();
+        getProcessMeters(processId).running.incrementAndGet();
     }
 
     protected static double millisToSeconds(long millis) {
@@ -138,7 +194,7 @@ public class MetricsProcessEventListener extends DefaultKogitoProcessEventListen
     public void afterProcessStarted(ProcessStartedEvent event) {
         LOGGER.debug("After process started event: {}", event);
         final ProcessInstance processInstance = event.getProcessInstance();
-        getNumberOfProcessInstancesStartedCounter(processInstance.getProcessId()).increment();
+        getProcessMeters(processInstance.getProcessId()).started.increment();
         recordRunningProcessInstance(processInstance.getProcessId());
     }
 
@@ -146,13 +202,14 @@ public class MetricsProcessEventListener extends DefaultKogitoProcessEventListen
     public void afterProcessCompleted(ProcessCompletedEvent event) {
         LOGGER.debug("After process completed event: {}", event);
         final KogitoWorkflowProcessInstance processInstance = (KogitoWorkflowProcessInstance) event.getProcessInstance();
-        getRunningProcessInstancesGauge(processInstance.getProcessId()).decrementAndGet();
+        final ProcessMeters meters = getProcessMeters(processInstance.getProcessId());
+        meters.running.decrementAndGet();
 
-        getNumberOfProcessInstancesCompletedCounter(processInstance.getProcessId(), fromState(processInstance.getState())).increment();
+        meters.completed(fromState(processInstance.getState())).increment();
 
         if (processInstance.getStartDate() != null) {
             final double duration = millisToSeconds(processInstance.getEndDate().getTime() - processInstance.getStartDate().getTime());
-            getProcessInstancesDurationSummary(processInstance.getProcessId()).record(duration);
+            meters.duration.record(duration);
             LOGGER.debug("Process Instance duration: {}s", duration);
         }
     }
@@ -161,7 +218,7 @@ public class MetricsProcessEventListener extends DefaultKogitoProcessEventListen
     public void onError(ErrorEvent event) {
         LOGGER.debug("After Error event: {}", event);
         final KogitoWorkflowProcessInstance processInstance = (KogitoWorkflowProcessInstance) event.getProcessInstance();
-        getErrorCounter(processInstance.getProcessId(), processInstance.getErrorMessage()).increment();
+        getProcessMeters(processInstance.getProcessId()).error(getErrorType(processInstance)).increment();
     }
 
     @Override
@@ -174,7 +231,7 @@ public class MetricsProcessEventListener extends DefaultKogitoProcessEventListen
         }
         String nodeName = (String) nodeInstance.getNode().getMetaData().get(KogitoTags.METRIC_NAME_METADATA);
         if (nodeName != null) {
-            recordNodeDuration(getNodeInstancesDurationSummary(event.getProcessInstance().getProcessId(), nodeName), nodeInstance, TimeUnit.MILLISECONDS);
+            recordNodeDuration(getProcessMeters(event.getProcessInstance().getProcessId()).nodeDuration(nodeName), nodeInstance, TimeUnit.MILLISECONDS);
         }
     }
 
@@ -191,7 +248,7 @@ public class MetricsProcessEventListener extends DefaultKogitoProcessEventListen
         LOGGER.debug("After SLA violated event: {}", event);
         final ProcessInstance processInstance = event.getProcessInstance();
         if (processInstance != null && event.getNodeInstance() != null) {
-            getNumberOfSLAsViolatedCounter(processInstance.getProcessId(), event.getNodeInstance().getNodeName()).increment();
+            getProcessMeters(processInstance.getProcessId()).slaViolated(event.getNodeInstance().getNodeName()).increment();
         }
     }
 
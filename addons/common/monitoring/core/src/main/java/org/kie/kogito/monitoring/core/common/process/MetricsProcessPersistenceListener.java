@@ -0,0 +1,113 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.kie.kogito.monitoring.core.common.process;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import org.kie.kogito.process.ProcessPersistenceListener;
+import org.kie.kogito.process.ProcessPersistenceListeners;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Publishes the time spent serializing and storing process instances, per process and repository implementation.
+ * Registered by the Quarkus and Spring Boot monitoring addons with the application meter registry, and unregistered on {@link #close()}.
+ */
+public class MetricsProcessPersistenceListener implements ProcessPersistenceListener, AutoCloseable {
+
+    private static final String PROCESS_ID_TAG = "process_id";
+    private static final String BACKEND_TAG = "backend";
+
+    private final MeterRegistry meterRegistry;
+    private final Map<String, Timer> marshalTimers = new ConcurrentHashMap<>();
+    private final Map<String, DistributionSummary> marshalSizes = new ConcurrentHashMap<>();
+    private final Map<String, Timer> unmarshalTimers = new ConcurrentHashMap<>();
+    private final Map<String, DistributionSummary> unmarshalSizes = new ConcurrentHashMap<>();
+    private final Map<String, Map<String, Timer>> repositoryTimers = new ConcurrentHashMap<>();
+    private final Map<String, Counter> retryCounters = new ConcurrentHashMap<>();
+    private final Timer unitOfWorkTimer;
+
+    public MetricsProcessPersistenceListener(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+        this.unitOfWorkTimer = Timer.builder("kogito_unit_of_work_end")
+                .description("Time spent committing units of work")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void close() {
+        ProcessPersistenceListeners.unregister(this);
+    }
+
+    @Override
+    public void onMarshalled(String processId, long nanos, int bytes) {
+        timer(marshalTimers, "kogito_process_instance_marshal", "Time spent serializing process instances", processId).record(nanos, TimeUnit.NANOSECONDS);
+        summary(marshalSizes, "kogito_process_instance_marshal_bytes", "Size of the serialized process instances", processId).record(bytes);
+    }
+
+    @Override
+    public void onUnmarshalled(String processId, long nanos, int bytes) {
+        timer(unmarshalTimers, "kogito_process_instance_unmarshal", "Time spent deserializing process instances", processId).record(nanos, TimeUnit.NANOSECONDS);
+        summary(unmarshalSizes, "kogito_process_instance_unmarshal_bytes", "Size of the deserialized process instances", processId).record(bytes);
+    }
+
+    @Override
+    public void onRepositoryWrite(String backend, String processId, long nanos) {
+        repositoryTimers.computeIfAbsent(String.valueOf(backend), k -> new ConcurrentHashMap<>())
+                .computeIfAbsent(String.valueOf(processId), k -> Timer.builder("kogito_process_instance_repository_write")
+                        .description("Time spent writing process instances into their repository")
+                        .tag(BACKEND_TAG, String.valueOf(backend))
+                        .tag(PROCESS_ID_TAG, k)
+                        .register(meterRegistry))
+                .record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public void onUnitOfWorkEnded(long nanos) {
+        unitOfWorkTimer.record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public void onOptimisticLockRetry(String processId) {
+        retryCounters.computeIfAbsent(String.valueOf(processId), k -> Counter.builder("kogito_process_instance_optimistic_lock_retries")
+                .description("Jobs retried because of optimistic lock failures")
+                .tag(PROCESS_ID_TAG, k)
+                .register(meterRegistry)).increment();
+    }
+
+    private Timer timer(Map<String, Timer> timers, String name, String description, String processId) {
+        return timers.computeIfAbsent(String.valueOf(processId), k -> Timer.builder(name)
+                .description(description)
+                .tag(PROCESS_ID_TAG, k)
+                .register(meterRegistry));
+    }
+
+    private DistributionSummary summary(Map<String, DistributionSummary> summaries, String name, String description, String processId) {
+        return summaries.computeIfAbsent(String.valueOf(processId), k -> DistributionSummary.builder(name)
+                .description(description)
+                .baseUnit("bytes")
+                .tag(PROCESS_ID_TAG, k)
+                .register(meterRegistry));
+    }
+}
@@ -18,8 +18,11 @@
  */
 package org.kie.kogito.monitoring.core.common.process;
 
+import java.util.Optional;
+
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.kie.api.event.process.ErrorEvent;
 import org.kie.api.event.process.ProcessStartedEvent;
 import org.kie.api.runtime.process.ProcessInstance;
 import org.kie.kogito.KogitoGAV;
@@ -60,4 +63,53 @@ public class MetricsProcessEventListenerTest {
                 .gauge()
                 .value()).isEqualTo(2);
     }
+
+    @Test
+    public void testStartedCounterIsReused() {
+        MetricsProcessEventListener eventListener = new MetricsProcessEventListener("myCounterId", KogitoGAV.EMPTY_GAV, registry);
+        ProcessInstance processInstanceMock = mock(KogitoWorkflowProcessInstance.class);
+        when(processInstanceMock.getProcessId()).thenReturn("myCounterProcessId");
+
+        ProcessStartedEvent processStartedEvent = mock(ProcessStartedEvent.class);
+        when(processStartedEvent.getProcessInstance()).thenReturn(processInstanceMock);
+
+        eventListener.afterProcessStarted(processStartedEvent);
+        eventListener.afterProcessStarted(processStartedEvent);
+        eventListener.afterProcessStarted(processStartedEvent);
+
+        assertThat(registry.find("kogito_process_instance_started_total").counters()).hasSize(1);
+        assertThat(registry.find("kogito_process_instance_started_total").counter().count()).isEqualTo(3);
+    }
+
+    @Test
+    public void testErrorsAreTaggedByRootCauseType() {
+        MetricsProcessEventListener eventListener = new MetricsProcessEventListener("myErrorId", KogitoGAV.EMPTY_GAV, registry);
+
+        eventListener.onError(errorEvent("myErrorProcessId", new RuntimeException("first", new IllegalStateException("cause 1"))));
+        eventListener.onError(errorEvent("myErrorProcessId", new RuntimeException("second", new IllegalStateException("cause 2"))));
+        eventListener.onError(errorEvent("myErrorProcessId", null));
+
+        assertThat(registry.find("kogito_process_instance_error").tag("error_type", IllegalStateException.class.getName()).counter().count()).isEqualTo(2);
+        assertThat(registry.find("kogito_process_instance_error").tag("error_type", MetricsProcessEventListener.UNKNOWN_ERROR_TYPE).counter().count()).isEqualTo(1);
+        assertThat(registry.find("kogito_process_instance_error").tagKeys("error_message").counters()).isEmpty();
+    }
+
+    @Test
+    public void testErrorTypesAreBounded() {
+        MetricsProcessEventListener eventListener = new MetricsProcessEventListener("myBoundedId", KogitoGAV.EMPTY_GAV, registry);
+        for (int i = 0; i < MetricsProcessEventListener.MAX_ERROR_TYPES; i++) {
+            assertThat(eventListener.boundErrorType("error" + i)).isEqualTo("error" + i);
+        }
+        assertThat(eventListener.boundErrorType("error0")).isEqualTo("error0");
+        assertThat(eventListener.boundErrorType("anotherError")).isEqualTo(MetricsProcessEventListener.OTHER_ERROR_TYPE);
+    }
+
+    private static ErrorEvent errorEvent(String processId, Throwable cause) {
+        KogitoWorkflowProcessInstance processInstance = mock(KogitoWorkflowProcessInstance.class);
+        when(processInstance.getProcessId()).thenReturn(processId);
+        when(processInstance.getErrorCause()).thenReturn(Optional.ofNullable(cause));
+        ErrorEvent event = mock(ErrorEvent.class);
+        when(event.getProcessInstance()).thenReturn(processInstance);
+        return event;
+    }
 }
@@ -0,0 +1,89 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.kie.kogito.monitoring.core.common.process;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.kie.kogito.process.ProcessPersistenceListeners;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class MetricsProcessPersistenceListenerTest {
+
+    MeterRegistry registry;
+    MetricsProcessPersistenceListener listener;
+
+    @BeforeEach
+    public void setUp() {
+        registry = new SimpleMeterRegistry();
+        listener = new MetricsProcessPersistenceListener(registry);
+    }
+
+    @Test
+    public void testMarshalling() {
+        listener.onMarshalled("myProcessId", TimeUnit.MILLISECONDS.toNanos(2), 100);
+        listener.onMarshalled("myProcessId", TimeUnit.MILLISECONDS.toNanos(4), 300);
+        listener.onUnmarshalled("myProcessId", TimeUnit.MILLISECONDS.toNanos(1), 300);
+
+        assertThat(registry.find("kogito_process_instance_marshal").tag("process_id", "myProcessId").timer().count()).isEqualTo(2);
+        assertThat(registry.find("kogito_process_instance_marshal").timer().totalTime(TimeUnit.MILLISECONDS)).isEqualTo(6);
+        assertThat(registry.find("kogito_process_instance_marshal_bytes").summary().totalAmount()).isEqualTo(400);
+        assertThat(registry.find("kogito_process_instance_unmarshal").timer().count()).isEqualTo(1);
+        assertThat(registry.find("kogito_process_instance_unmarshal_bytes").summary().max()).isEqualTo(300);
+    }
+
+    @Test
+    public void testRepositoryWrites() {
+        listener.onRepositoryWrite("JDBCProcessInstances", "myProcessId", 10);
+        listener.onRepositoryWrite("JDBCProcessInstances", "myProcessId", 10);
+        listener.onRepositoryWrite("MapProcessInstances", "myProcessId", 10);
+
+        assertThat(registry.find("kogito_process_instance_repository_write").tag("backend", "JDBCProcessInstances").timer().count()).isEqualTo(2);
+        assertThat(registry.find("kogito_process_instance_repository_write").tag("backend", "MapProcessInstances").timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    public void testUnitOfWorkAndRetries() {
+        listener.onUnitOfWorkEnded(TimeUnit.MILLISECONDS.toNanos(5));
+        listener.onOptimisticLockRetry("myProcessId");
+        listener.onOptimisticLockRetry("myProcessId");
+
+        assertThat(registry.find("kogito_unit_of_work_end").timer().count()).isEqualTo(1);
+        assertThat(registry.find("kogito_process_instance_optimistic_lock_retries").tag("process_id", "myProcessId").counter().count()).isEqualTo(2);
+    }
+
+    @Test
+    public void testRegistration() {
+        ProcessPersistenceListeners.register(listener);
+        try {
+            assertThat(ProcessPersistenceListeners.isEnabled()).isTrue();
+            ProcessPersistenceListeners.get().onUnitOfWorkEnded(TimeUnit.MILLISECONDS.toNanos(5));
+            assertThat(registry.find("kogito_unit_of_work_end").timer().count()).isEqualTo(1);
+        } finally {
+            listener.close();
+        }
+        ProcessPersistenceListeners.get().onUnitOfWorkEnded(TimeUnit.MILLISECONDS.toNanos(5));
+        assertThat(registry.find("kogito_unit_of_work_end").timer().count()).isEqualTo(1);
+    }
+}
@@ -25,16 +25,21 @@ import java.nio.charset.Charset;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
 import java.nio.file.attribute.UserDefinedFileAttributeView;
+import java.util.List;
 import java.util.Optional;
 import java.util.function.Supplier;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
+import org.jbpm.flow.serialization.ProcessInstanceHeader;
 import org.jbpm.flow.serialization.ProcessInstanceMarshallerService;
 import org.kie.kogito.process.MutableProcessInstances;
 import org.kie.kogito.process.Process;
 import org.kie.kogito.process.ProcessInstance;
 import org.kie.kogito.process.ProcessInstanceDuplicatedException;
+import org.kie.kogito.process.ProcessInstanceQuery;
 import org.kie.kogito.process.ProcessInstanceReadMode;
 import org.kie.kogito.process.impl.AbstractProcessInstance;
 
@@ -43,6 +48,7 @@ public class FileSystemProcessInstances implements MutableProcessInstances {
 
     public static final String PI_DESCRIPTION = "ProcessInstanceDescription";
     public static final String PI_STATUS = "ProcessInstanceStatus";
+    public static final String PI_BUSINESS_KEY = "ProcessInstanceBusinessKey";
 
     private Process<?> process;
     private Path storage;
@@ -88,11 +94,96 @@ public class FileSystemProcessInstances implements MutableProcessInstances {
         }
     }
 
+    @Override
+    public Stream<ProcessInstance> find(ProcessInstanceQuery query, ProcessInstanceReadMode mode) {
+        try (Stream<Path> files = Files.list(storage)) {
+            // file names are the process instance ids, so the cursor and the metadata are checked before reading any content
+            Path[] candidates = files.filter(file -> !Files.isDirectory(file))
+                    .filter(file -> query.matchesId(file.getFileName().toString()))
+                    .sorted()
+                    .toArray(Path[]::new);
+            return Stream.of(candidates)
+                    .filter(file -> matchesMetadata(file, query))
+                    .map(this::readBytesFromFile)
+                    .filter(data -> matchesHeader(data, query))
+                    .map(marshaller.createUnmarshallFunction(process, mode))
+                    .limit(query.getLimit());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to read process instances ", e);
+        }
+    }
+
+    private boolean matchesHeader(byte[] data, ProcessInstanceQuery query) {
+        ProcessInstanceHeader header = marshaller.readProcessInstanceHeader(data);
+        return query.matches(header.getId(), header.getState(), header.getBusinessKey(), header.getStartDate());
+    }
+
+    private boolean matchesMetadata(Path file, ProcessInstanceQuery query) {
+        if (!query.getStatuses().isEmpty()) {
+            String status = getMetadata(file, PI_STATUS);
+            if (status != null && !query.matchesStatus(Integer.parseInt(status))) {
+                return false;
+            }
+        }
+        if (query.getBusinessKey() != null) {
+            String businessKey = getMetadata(file, PI_BUSINESS_KEY);
+            return businessKey == null || businessKey.equals(query.getBusinessKey());
+        }
+        return true;
+    }
+
     @Override
     public boolean exists(String id) {
         return Files.exists(Paths.get(storage.toString(), id));
     }
 
+    @Override
+    public boolean supportsMigration() {
+        return true;
+    }
+
+    /**
+     * Moves the files of the given instances to the directory of the target process. Directories are per process id,
+     * so migrating to another version of the same process leaves the files in place.
+     */
+    @Override
+    public void migrateProcessInstances(String targetProcessId, String targetProcessVersion, String... processIds) {
+        Path target = storage.resolveSibling(targetProcessId);
+        if (target.equals(storage)) {
+            return;
+        }
+        try {
+            Files.createDirectories(target);
+            for (String id : processIds) {
+                Path processInstanceStorage = Paths.get(storage.toString(), id);
+                if (Files.exists(processInstanceStorage)) {
+                    // a rename keeps the metadata of the file, and a migration resumed after a failure finds only the files not moved yet
+                    Files.move(processInstanceStorage, target.resolve(id), StandardCopyOption.ATOMIC_MOVE);
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to migrate process instances to " + targetProcessId, e);
+        }
+    }
+
+    @Override
+    public List<String> migrateChunk(String targetProcessId, String targetProcessVersion, String after, int chunkSize) {
+        ProcessInstanceQuery query = ProcessInstanceQuery.builder().withAfter(after).build();
+        List<String> ids;
+        try (Stream<Path> files = Files.list(storage)) {
+            ids = files.filter(file -> !Files.isDirectory(file))
+                    .map(file -> file.getFileName().toString())
+                    .filter(query::matchesId)
+                    .sorted()
+                    .limit(chunkSize)
+                    .collect(Collectors.toList());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to read process instances ", e);
+        }
+        migrateProcessInstances(targetProcessId, targetProcessVersion, ids.toArray(String[]::new));
+        return ids;
+    }
+
     @SuppressWarnings("unchecked")
     @Override
     public void create(String id, ProcessInstance instance) {
@@ -133,6 +224,7 @@ public class FileSystemProcessInstances implements MutableProcessInstances {
             Files.write(processInstanceStorage, data);
             setMetadata(processInstanceStorage, PI_DESCRIPTION, instance.description());
             setMetadata(processInstanceStorage, PI_STATUS, String.valueOf(instance.status()));
+            setMetadata(processInstanceStorage, PI_BUSINESS_KEY, instance.businessKey());
 
         } catch (IOException e) {
             throw new RuntimeException("Unable to store process instance with id " + instance.id(), e);
@@ -19,6 +19,8 @@
 package org.kie.persistence.filesystem;
 
 import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
 
 import org.drools.io.ClassPathResource;
 import org.jbpm.process.instance.impl.Action;
@@ -32,6 +34,7 @@ import org.kie.kogito.persistence.filesystem.AbstractProcessInstancesFactory;
 import org.kie.kogito.persistence.filesystem.FileSystemProcessInstances;
 import org.kie.kogito.process.Process;
 import org.kie.kogito.process.ProcessInstance;
+import org.kie.kogito.process.ProcessInstanceQuery;
 import org.kie.kogito.process.ProcessInstanceReadMode;
 import org.kie.kogito.process.ProcessInstances;
 import org.kie.kogito.process.WorkItem;
@@ -233,6 +236,48 @@ class FileSystemProcessInstancesTest {
         assertEmpty(fileSystemBasedStorage);
     }
 
+    @Test
+    void testFindWithQuery() {
+        BpmnProcess process = createProcess("BPMN2-UserTask.bpmn2");
+        for (String businessKey : new String[] { "first", "second", "third" }) {
+            process.createInstance(businessKey, BpmnVariables.create(Collections.singletonMap("test", "test"))).start();
+        }
+        ProcessInstances<BpmnVariables> instances = process.instances();
+        List<String> ids = instances.stream().map(ProcessInstance::id).sorted().collect(Collectors.toList());
+        assertThat(ids).hasSize(3);
+
+        ProcessInstanceQuery query = ProcessInstanceQuery.builder().withStatus(STATE_ACTIVE).withLimit(2).build();
+        assertThat(instances.find(query).map(ProcessInstance::id)).containsExactlyElementsOf(ids.subList(0, 2));
+        assertThat(instances.find(query.next(ids.get(1))).map(ProcessInstance::id)).containsExactly(ids.get(2));
+        assertThat(instances.find(ProcessInstanceQuery.builder().withStatus(STATE_COMPLETED).build())).isEmpty();
+        assertThat(instances.find(ProcessInstanceQuery.builder().withBusinessKey("second").build()).map(ProcessInstance::businessKey)).containsExactly("second");
+
+        abort(instances);
+        assertEmpty(instances);
+    }
+
+    @Test
+    void testMigrateChunk() {
+        BpmnProcess process = createProcess("BPMN2-UserTask.bpmn2");
+        BpmnProcess target = createProcess("BPMN2-UserTask-Script.bpmn2");
+        for (int i = 0; i < 3; i++) {
+            process.createInstance(BpmnVariables.create(Collections.singletonMap("test", "test"))).start();
+        }
+        ProcessInstances<BpmnVariables> instances = process.instances();
+        List<String> ids = instances.stream().map(ProcessInstance::id).sorted().collect(Collectors.toList());
+
+        assertThat(instances.migrateChunk(target.id(), target.version(), null, 2)).containsExactlyElementsOf(ids.subList(0, 2));
+        assertThat(instances.migrateChunk(target.id(), target.version(), ids.get(1), 2)).containsExactly(ids.get(2));
+        assertThat(instances.migrateChunk(target.id(), target.version(), ids.get(2), 2)).isEmpty();
+
+        assertEmpty(instances);
+        FileSystemProcessInstances targetInstances = (FileSystemProcessInstances) target.instances();
+        for (String id : ids) {
+            assertThat(targetInstances.exists(id)).isTrue();
+            targetInstances.remove(id);
+        }
+    }
+
     private class FileSystemProcessInstancesFactory extends AbstractProcessInstancesFactory {
 
         public FileSystemProcessInstancesFactory() {
@@ -18,11 +18,18 @@
  */
 package org.kie.kogito.infinispan;
 
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Map.Entry;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.Spliterator;
 import java.util.Spliterators;
 import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 import java.util.stream.Stream;
 import java.util.stream.StreamSupport;
 
@@ -30,7 +37,11 @@ import org.infinispan.client.hotrod.DefaultTemplate;
 import org.infinispan.client.hotrod.MetadataValue;
 import org.infinispan.client.hotrod.RemoteCache;
 import org.infinispan.client.hotrod.RemoteCacheManager;
+import org.infinispan.client.hotrod.Search;
+import org.infinispan.commons.configuration.XMLStringConfiguration;
 import org.infinispan.commons.util.CloseableIterator;
+import org.infinispan.query.dsl.Query;
+import org.jbpm.flow.serialization.ProcessInstanceHeader;
 import org.jbpm.flow.serialization.ProcessInstanceMarshallerService;
 import org.kie.kogito.internal.utils.ConversionUtils;
 import org.kie.kogito.process.MutableProcessInstances;
@@ -38,25 +49,31 @@ import org.kie.kogito.process.Process;
 import org.kie.kogito.process.ProcessInstance;
 import org.kie.kogito.process.ProcessInstanceDuplicatedException;
 import org.kie.kogito.process.ProcessInstanceOptimisticLockingException;
+import org.kie.kogito.process.ProcessInstancePages;
+import org.kie.kogito.process.ProcessInstanceQuery;
 import org.kie.kogito.process.ProcessInstanceReadMode;
 import org.kie.kogito.process.impl.AbstractProcessInstance;
 
 @SuppressWarnings({ "rawtypes" })
 public class CacheProcessInstances implements MutableProcessInstances {
 
-    private final RemoteCache<String, byte[]> cache;
+    private static final String LOCAL_CACHE_CONFIGURATION = "<local-cache name=\"%s\"><encoding media-type=\"application/x-protostream\"/></local-cache>";
+
+    private final RemoteCacheManager cacheManager;
+    private final String templateName;
+    // values are ProcessInstanceEntry when queryable, otherwise (and for instances stored by earlier versions) the marshalled bytes
+    private final RemoteCache<String, Object> cache;
     private final ProcessInstanceMarshallerService marshaller;
     private final org.kie.kogito.process.Process<?> process;
     private final boolean lock;
+    private final boolean queryable;
 
     public CacheProcessInstances(Process<?> process, RemoteCacheManager cacheManager, String templateName, boolean lock) {
         this.process = process;
-        String cacheName = process.id() + "_store";
-        if (ConversionUtils.isEmpty(templateName)) {
-            this.cache = cacheManager.administration().getOrCreateCache(cacheName, DefaultTemplate.LOCAL);
-        } else {
-            this.cache = cacheManager.administration().getOrCreateCache(cacheName, templateName);
-        }
+        this.cacheManager = cacheManager;
+        this.templateName = templateName;
+        this.queryable = ProcessInstanceEntryMarshaller.register(cacheManager);
+        this.cache = getOrCreateCache(process.id());
         this.marshaller = ProcessInstanceMarshallerService.newBuilder().withDefaultObjectMarshallerStrategies().build();
         this.lock = lock;
     }
@@ -66,9 +83,21 @@ public class CacheProcessInstances implements MutableProcessInstances {
         return this.lock ? findWithLock(id, mode) : findInternal(id, mode);
     }
 
+    private RemoteCache<String, Object> getOrCreateCache(String processId) {
+        String cacheName = processId + "_store";
+        if (ConversionUtils.isEmpty(templateName) && queryable) {
+            // queries need the values to be stored as protostream
+            return cacheManager.administration().getOrCreateCache(cacheName, new XMLStringConfiguration(String.format(LOCAL_CACHE_CONFIGURATION, cacheName)));
+        } else if (ConversionUtils.isEmpty(templateName)) {
+            return cacheManager.administration().getOrCreateCache(cacheName, DefaultTemplate.LOCAL);
+        } else {
+            return cacheManager.administration().getOrCreateCache(cacheName, templateName);
+        }
+    }
+
     private Optional<? extends ProcessInstance> findInternal(String id, ProcessInstanceReadMode mode) {
-        byte[] data = cache.get(id);
-        return data == null ? Optional.empty() : Optional.of(marshaller.unmarshallProcessInstance(data, process, mode));
+        Object value = cache.get(id);
+        return value == null ? Optional.empty() : Optional.of(marshaller.unmarshallProcessInstance(content(value), process, mode));
     }
 
     private Optional<? extends ProcessInstance> findWithLock(String id, ProcessInstanceReadMode mode) {
@@ -81,12 +110,111 @@ public class CacheProcessInstances implements MutableProcessInstances {
             CloseableIterator<Entry<Object, MetadataValue<Object>>> iterator = cache.retrieveEntriesWithMetadata(null, 1000);
             return StreamSupport.stream(Spliterators.spliteratorUnknownSize(iterator, Spliterator.ORDERED), false).map(v -> unmarshall(v.getValue(), mode)).onClose(iterator::close);
         } else {
-            return cache.values().parallelStream().map(marshaller.createUnmarshallFunction(process, mode));
+            return cache.values().parallelStream().map(CacheProcessInstances::content).map(marshaller.createUnmarshallFunction(process, mode));
+        }
+    }
+
+    @Override
+    public Stream<ProcessInstance> find(ProcessInstanceQuery query, ProcessInstanceReadMode mode) {
+        if (queryable) {
+            return ProcessInstancePages.fetch(query, (after, pageSize) -> queryPage(query, after, pageSize, mode));
+        }
+        // plain marshalled bytes cannot be queried, so the cursor and the ordering are resolved on the keys
+        // and the remaining criteria on the instance header, before any instance is unmarshalled
+        List<String> ids;
+        try (Stream<String> keys = cache.keySet().stream()) {
+            ids = keys.filter(query::matchesId).sorted().toList();
+        }
+        int pageSize = Math.min(query.getLimit(), ProcessInstancePages.DEFAULT_PAGE_SIZE);
+        return IntStream.iterate(0, from -> from < ids.size(), from -> from + pageSize)
+                .mapToObj(from -> ids.subList(from, Math.min(from + pageSize, ids.size())))
+                .flatMap(page -> findPage(page, query, mode))
+                .limit(query.getLimit());
+    }
+
+    private List<ProcessInstance> queryPage(ProcessInstanceQuery query, String after, int pageSize, ProcessInstanceReadMode mode) {
+        if (lock) {
+            // query results carry no version, so the matching instances are read again with their metadata
+            List<ProcessInstance> page = new ArrayList<>(pageSize);
+            Query<Object[]> ickle = createQuery("SELECT e.id FROM " + ProcessInstanceEntryMarshaller.TYPE_NAME + " e", query, after);
+            for (Object[] row : ickle.maxResults(pageSize).execute().list()) {
+                String id = (String) row[0];
+                MetadataValue<Object> record = cache.getWithMetadata(id);
+                if (record != null) {
+                    page.add(unmarshall(record, mode));
+                }
+            }
+            return page;
+        }
+        Query<ProcessInstanceEntry> ickle = createQuery("FROM " + ProcessInstanceEntryMarshaller.TYPE_NAME + " e", query, after);
+        return ickle.maxResults(pageSize).execute().list().stream()
+                .map(ProcessInstanceEntry::getContent)
+                .map(marshaller.createUnmarshallFunction(process, mode))
+                .collect(Collectors.toList());
+    }
+
+    private <T> Query<T> createQuery(String select, ProcessInstanceQuery query, String after) {
+        List<String> conditions = new ArrayList<>();
+        if (after != null) {
+            conditions.add("e.id > :after");
+        }
+        if (!query.getStatuses().isEmpty()) {
+            conditions.add(query.getStatuses().stream().map(String::valueOf).collect(Collectors.joining(", ", "e.state IN (", ")")));
+        }
+        if (query.getBusinessKey() != null) {
+            conditions.add("e.businessKey = :businessKey");
+        }
+        if (query.getStartedFrom() != null) {
+            conditions.add("e.startDate >= :startedFrom");
+        }
+        if (query.getStartedTo() != null) {
+            conditions.add("e.startDate < :startedTo");
         }
+        String ickle = select + (conditions.isEmpty() ? "" : " WHERE " + String.join(" AND ", conditions)) + " ORDER BY e.id";
+        Query<T> result = Search.getQueryFactory(cache).create(ickle);
+        if (after != null) {
+            result.setParameter("after", after);
+        }
+        if (query.getBusinessKey() != null) {
+            result.setParameter("businessKey", query.getBusinessKey());
+        }
+        if (query.getStartedFrom() != null) {
+            result.setParameter("startedFrom", query.getStartedFrom().getTime());
+        }
+        if (query.getStartedTo() != null) {
+            result.setParameter("startedTo", query.getStartedTo().getTime());
+        }
+        return result;
+    }
+
+    private Stream<ProcessInstance> findPage(List<String> ids, ProcessInstanceQuery query, ProcessInstanceReadMode mode) {
+        if (lock) {
+            return ids.stream()
+                    .map(cache::getWithMetadata)
+                    .filter(Objects::nonNull)
+                    .filter(record -> matchesHeader(content(record.getValue()), query))
+                    .map(record -> unmarshall(record, mode));
+        }
+        Map<String, Object> values = cache.getAll(new HashSet<>(ids));
+        return ids.stream()
+                .map(values::get)
+                .filter(Objects::nonNull)
+                .map(CacheProcessInstances::content)
+                .filter(data -> matchesHeader(data, query))
+                .map(marshaller.createUnmarshallFunction(process, mode));
+    }
+
+    private boolean matchesHeader(byte[] data, ProcessInstanceQuery query) {
+        ProcessInstanceHeader header = marshaller.readProcessInstanceHeader(data);
+        return query.matches(header.getId(), header.getState(), header.getBusinessKey(), header.getStartDate());
+    }
+
+    private static byte[] content(Object value) {
+        return value instanceof ProcessInstanceEntry ? ((ProcessInstanceEntry) value).getContent() : (byte[]) value;
     }
 
     private <T> ProcessInstance<?> unmarshall(MetadataValue<T> versionedCache, ProcessInstanceReadMode mode) {
-        ProcessInstance<?> instance = marshaller.unmarshallProcessInstance((byte[]) versionedCache.getValue(), process, mode);
+        ProcessInstance<?> instance = marshaller.unmarshallProcessInstance(content(versionedCache.getValue()), process, mode);
         ((AbstractProcessInstance) instance).setVersion(versionedCache.getVersion());
         return instance;
     }
@@ -113,9 +241,10 @@ public class CacheProcessInstances implements MutableProcessInstances {
     @SuppressWarnings("unchecked")
     protected void updateStorage(String id, ProcessInstance instance, boolean checkDuplicates) {
         if (isActive(instance)) {
-            byte[] data = marshaller.marshallProcessInstance(instance);
+            byte[] content = marshaller.marshallProcessInstance(instance);
+            Object data = queryable ? ProcessInstanceEntry.of(instance, content) : content;
             if (checkDuplicates) {
-                byte[] existing = cache.putIfAbsent(id, data);
+                Object existing = cache.putIfAbsent(id, data);
                 if (existing != null) {
                     throw new ProcessInstanceDuplicatedException(id);
                 } else if (this.lock) {
@@ -144,15 +273,15 @@ public class CacheProcessInstances implements MutableProcessInstances {
 
     private void reloadWithLock(String id, ProcessInstance instance) {
         Supplier<byte[]> supplier = () -> {
-            MetadataValue<byte[]> versionedCache = cache.getWithMetadata(id);
+            MetadataValue<Object> versionedCache = cache.getWithMetadata(id);
             ((AbstractProcessInstance) instance).setVersion(versionedCache.getVersion());
-            return versionedCache.getValue();
+            return content(versionedCache.getValue());
         };
         ((AbstractProcessInstance<?>) instance).internalRemoveProcessInstance(marshaller.createdReloadFunction(supplier));
     }
 
     private void reload(String id, ProcessInstance instance) {
-        Supplier<byte[]> supplier = () -> cache.get(id);
+        Supplier<byte[]> supplier = () -> content(cache.get(id));
         ((AbstractProcessInstance<?>) instance).internalRemoveProcessInstance(marshaller.createdReloadFunction(supplier));
     }
 
@@ -161,6 +290,40 @@ public class CacheProcessInstances implements MutableProcessInstances {
         return cache.containsKey(id);
     }
 
+    @Override
+    public boolean supportsMigration() {
+        return true;
+    }
+
+    @Override
+    public void migrateProcessInstances(String targetProcessId, String targetProcessVersion, String... processIds) {
+        move(targetProcessId, List.of(processIds));
+    }
+
+    @Override
+    public List<String> migrateChunk(String targetProcessId, String targetProcessVersion, String after, int chunkSize) {
+        List<String> ids;
+        try (Stream<String> keys = cache.keySet().stream()) {
+            ids = keys.filter(ProcessInstanceQuery.builder().withAfter(after).build()::matchesId).sorted().limit(chunkSize).toList();
+        }
+        move(targetProcessId, ids);
+        return ids;
+    }
+
+    /**
+     * Copies the given instances to the cache of the target process and then removes them from this one, so a chunk
+     * interrupted in between is copied again when the migration is resumed. Caches are per process id, so migrating
+     * to another version of the same process leaves the instances in place.
+     */
+    private void move(String targetProcessId, List<String> ids) {
+        if (ids.isEmpty() || targetProcessId.equals(process.id())) {
+            return;
+        }
+        Map<String, Object> values = cache.getAll(new HashSet<>(ids));
+        getOrCreateCache(targetProcessId).putAll(values);
+        values.keySet().forEach(cache::remove);
+    }
+
     @Override
     public boolean lock() {
         return this.lock;
@@ -0,0 +1,69 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.kie.kogito.infinispan;
+
+import java.util.Date;
+
+import org.kie.kogito.process.ProcessInstance;
+
+/**
+ * Value stored for a process instance: the marshalled instance together with the header fields a query filters on,
+ * so Infinispan is able to evaluate the query without unmarshalling the instance.
+ */
+final class ProcessInstanceEntry {
+
+    private final String id;
+    private final int state;
+    private final String businessKey;
+    private final Long startDate;
+    private final byte[] content;
+
+    ProcessInstanceEntry(String id, int state, String businessKey, Long startDate, byte[] content) {
+        this.id = id;
+        this.state = state;
+        this.businessKey = businessKey;
+        this.startDate = startDate;
+        this.content = content;
+    }
+
+    static ProcessInstanceEntry of(ProcessInstance<?> instance, byte[] content) {
+        Date startDate = instance.startDate();
+        return new ProcessInstanceEntry(instance.id(), instance.status(), instance.businessKey(), startDate == null ? null : startDate.getTime(), content);
+    }
+
+    String getId() {
+        return id;
+    }
+
+    int getState() {
+        return state;
+    }
+
+    String getBusinessKey() {
+        return businessKey;
+    }
+
+    Long getStartDate() {
+        return startDate;
+    }
+
+    byte[] getContent() {
+        return content;
+    }
+}
@@ -0,0 +1,101 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.kie.kogito.infinispan;
+
+import java.io.IOException;
+
+import org.infinispan.client.hotrod.RemoteCacheManager;
+import org.infinispan.client.hotrod.exceptions.HotRodClientException;
+import org.infinispan.client.hotrod.marshall.MarshallerUtil;
+import org.infinispan.protostream.FileDescriptorSource;
+import org.infinispan.protostream.MessageMarshaller;
+import org.infinispan.protostream.SerializationContext;
+import org.infinispan.query.remote.client.ProtobufMetadataManagerConstants;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+class ProcessInstanceEntryMarshaller implements MessageMarshaller<ProcessInstanceEntry> {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ProcessInstanceEntryMarshaller.class);
+
+    static final String TYPE_NAME = "kogito.persistence.ProcessInstanceEntry";
+
+    private static final String PROTO_FILE = "kogito-process-instance-entry.proto";
+
+    private static final String PROTO_SCHEMA = "syntax = \"proto2\";\n" +
+            "package kogito.persistence;\n" +
+            "/* @Indexed */\n" +
+            "message ProcessInstanceEntry {\n" +
+            "  /* @Basic(sortable = true) */\n" +
+            "  required string id = 1;\n" +
+            "  /* @Basic */\n" +
+            "  required int32 state = 2;\n" +
+            "  /* @Basic */\n" +
+            "  optional string businessKey = 3;\n" +
+            "  /* @Basic */\n" +
+            "  optional int64 startDate = 4;\n" +
+            "  optional bytes content = 5;\n" +
+            "}\n";
+
+    /**
+     * Registers the entry schema on the client and on the server, so process instances can be stored as entries
+     * and queried with Ickle.
+     *
+     * @return false if the cache manager does not use protostream, in which case instances are stored as plain bytes
+     */
+    static boolean register(RemoteCacheManager cacheManager) {
+        SerializationContext context;
+        try {
+            context = MarshallerUtil.getSerializationContext(cacheManager);
+        } catch (HotRodClientException e) {
+            LOGGER.warn("Process instances cannot be queried by Infinispan since the cache manager does not use protostream: {}", e.getMessage());
+            return false;
+        }
+        if (!context.canMarshall(ProcessInstanceEntry.class)) {
+            context.registerProtoFiles(FileDescriptorSource.fromString(PROTO_FILE, PROTO_SCHEMA));
+            context.registerMarshaller(new ProcessInstanceEntryMarshaller());
+        }
+        cacheManager.<String, String> getCache(ProtobufMetadataManagerConstants.PROTOBUF_METADATA_CACHE_NAME).putIfAbsent(PROTO_FILE, PROTO_SCHEMA);
+        return true;
+    }
+
+    @Override
+    public Class<? extends ProcessInstanceEntry> getJavaClass() {
+        return ProcessInstanceEntry.class;
+    }
+
+    @Override
+    public String getTypeName() {
+        return TYPE_NAME;
+    }
+
+    @Override
+    public ProcessInstanceEntry readFrom(ProtoStreamReader reader) throws IOException {
+        return new ProcessInstanceEntry(reader.readString("id"), reader.readInt("state"), reader.readString("businessKey"), reader.readLong("startDate"), reader.readBytes("content"));
+    }
+
+    @Override
+    public void writeTo(ProtoStreamWriter writer, ProcessInstanceEntry entry) throws IOException {
+        writer.writeString("id", entry.getId());
+        writer.writeInt("state", entry.getState());
+        writer.writeString("businessKey", entry.getBusinessKey());
+        writer.writeLong("startDate", entry.getStartDate());
+        writer.writeBytes("content", entry.getContent());
+    }
+}
@@ -19,7 +19,9 @@
 package org.kie.kogito.infinispan;
 
 import java.util.Collections;
+import java.util.Date;
 import java.util.List;
+import java.util.stream.Collectors;
 
 import org.drools.io.ClassPathResource;
 import org.infinispan.client.hotrod.RemoteCacheManager;
@@ -34,6 +36,7 @@ import org.junit.jupiter.api.Test;
 import org.kie.api.definition.process.Node;
 import org.kie.kogito.auth.SecurityPolicy;
 import org.kie.kogito.process.ProcessInstance;
+import org.kie.kogito.process.ProcessInstanceQuery;
 import org.kie.kogito.process.ProcessInstanceReadMode;
 import org.kie.kogito.process.ProcessInstances;
 import org.kie.kogito.process.WorkItem;
@@ -176,6 +179,61 @@ class CacheProcessInstancesIT {
         assertEmpty(process.instances());
     }
 
+    @Test
+    void testFindWithQuery() {
+        StaticProcessConfig config = new StaticProcessConfig();
+        ((DefaultWorkItemHandlerConfig) config.workItemHandlers()).register("Human Task", new DefaultKogitoWorkItemHandler());
+        BpmnProcess process = BpmnProcess.from(config, new ClassPathResource("BPMN2-UserTask.bpmn2")).get(0);
+        process.setProcessInstancesFactory(new CacheProcessInstancesFactory(cacheManager));
+        process.configure();
+        for (String businessKey : new String[] { "first", "second", "third" }) {
+            process.createInstance(businessKey, BpmnVariables.create(Collections.singletonMap("test", "test"))).start();
+        }
+
+        ProcessInstances<BpmnVariables> instances = process.instances();
+        List<String> ids = instances.stream().map(ProcessInstance::id).sorted().collect(Collectors.toList());
+        assertThat(ids).hasSize(3);
+
+        ProcessInstanceQuery query = ProcessInstanceQuery.builder().withStatus(STATE_ACTIVE).withLimit(2).build();
+        assertThat(instances.find(query).map(ProcessInstance::id)).containsExactlyElementsOf(ids.subList(0, 2));
+        assertThat(instances.find(query.next(ids.get(1))).map(ProcessInstance::id)).containsExactly(ids.get(2));
+        assertThat(instances.find(ProcessInstanceQuery.builder().withStatus(STATE_COMPLETED).build())).isEmpty();
+        assertThat(instances.find(ProcessInstanceQuery.builder().withBusinessKey("second").build()).map(ProcessInstance::businessKey)).containsExactly("second");
+        assertThat(instances.find(ProcessInstanceQuery.builder().withStartedFrom(new Date(0)).build()).map(ProcessInstance::id)).containsExactlyElementsOf(ids);
+        assertThat(instances.find(ProcessInstanceQuery.builder().withStartedTo(new Date(0)).build())).isEmpty();
+
+        ids.forEach(id -> instances.findById(id).get().abort());
+        assertEmpty(instances);
+    }
+
+    @Test
+    void testMigrateChunk() {
+        StaticProcessConfig config = new StaticProcessConfig();
+        ((DefaultWorkItemHandlerConfig) config.workItemHandlers()).register("Human Task", new DefaultKogitoWorkItemHandler());
+        BpmnProcess process = BpmnProcess.from(config, new ClassPathResource("BPMN2-UserTask.bpmn2")).get(0);
+        process.setProcessInstancesFactory(new CacheProcessInstancesFactory(cacheManager));
+        process.configure();
+        BpmnProcess target = BpmnProcess.from(config, new ClassPathResource("BPMN2-UserTask-Script.bpmn2")).get(0);
+        target.setProcessInstancesFactory(new CacheProcessInstancesFactory(cacheManager));
+        target.configure();
+        for (int i = 0; i < 3; i++) {
+            process.createInstance(BpmnVariables.create(Collections.singletonMap("test", "test"))).start();
+        }
+        ProcessInstances<BpmnVariables> instances = process.instances();
+        List<String> ids = instances.stream().map(ProcessInstance::id).sorted().collect(Collectors.toList());
+
+        assertThat(instances.migrateChunk(target.id(), target.version(), null, 2)).containsExactlyElementsOf(ids.subList(0, 2));
+        assertThat(instances.migrateChunk(target.id(), target.version(), ids.get(1), 2)).containsExactly(ids.get(2));
+        assertThat(instances.migrateChunk(target.id(), target.version(), ids.get(2), 2)).isEmpty();
+
+        assertEmpty(instances);
+        CacheProcessInstances targetInstances = (CacheProcessInstances) target.instances();
+        for (String id : ids) {
+            assertThat(targetInstances.exists(id)).isTrue();
+            targetInstances.remove(id);
+        }
+    }
+
     private class CacheProcessInstancesFactory extends AbstractProcessInstancesFactory {
 
         CacheProcessInstancesFactory(RemoteCacheManager cacheManager) {
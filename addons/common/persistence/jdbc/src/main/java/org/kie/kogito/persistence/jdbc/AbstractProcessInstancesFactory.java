@@ -27,18 +27,30 @@ public abstract class AbstractProcessInstancesFactory implements ProcessInstance
 
     private final DataSource dataSource;
     private final Boolean lock;
+    private final Boolean batch;
+    private final TransactionContext transactionContext;
 
     protected AbstractProcessInstancesFactory() {
         this(null, false);
     }
 
     public AbstractProcessInstancesFactory(DataSource dataSource, Boolean lock) {
+        this(dataSource, lock, false);
+    }
+
+    public AbstractProcessInstancesFactory(DataSource dataSource, Boolean lock, Boolean batch) {
+        this(dataSource, lock, batch, TransactionContext.NONE);
+    }
+
+    public AbstractProcessInstancesFactory(DataSource dataSource, Boolean lock, Boolean batch, TransactionContext transactionContext) {
         this.dataSource = dataSource;
         this.lock = lock;
+        this.batch = batch;
+        this.transactionContext = transactionContext;
     }
 
     @Override
     public JDBCProcessInstances createProcessInstances(Process<?> process) {
-        return new JDBCProcessInstances(process, dataSource, lock);
+        return new JDBCProcessInstances(process, dataSource, lock, batch, transactionContext);
     }
 }
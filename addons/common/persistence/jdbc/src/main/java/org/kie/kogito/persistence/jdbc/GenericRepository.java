@@ -23,26 +23,42 @@ import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Spliterator;
 import java.util.Spliterators;
 import java.util.UUID;
 import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
 import java.util.stream.Stream;
 import java.util.stream.StreamSupport;
 
 import javax.sql.DataSource;
 
+import org.kie.kogito.persistence.jdbc.WriteBehindBatch.Entry;
+import org.kie.kogito.persistence.jdbc.WriteBehindBatch.Operation;
+
 public class GenericRepository extends Repository {
 
     private static final String PAYLOAD = "payload";
     private static final String VERSION = "version";
 
     private final DataSource dataSource;
+    private final TransactionContext transactionContext;
 
     public GenericRepository(DataSource dataSource) {
+        this(dataSource, TransactionContext.NONE);
+    }
+
+    public GenericRepository(DataSource dataSource, TransactionContext transactionContext) {
         this.dataSource = dataSource;
+        this.transactionContext = transactionContext;
     }
 
     @Override
@@ -119,6 +135,120 @@ public class GenericRepository extends Repository {
         }
     }
 
+    @Override
+    List<UUID> writeBatch(Collection<Entry> writes) {
+        try (Connection connection = dataSource.getConnection()) {
+            return inTransaction(connection, List::isEmpty, () -> {
+                executeBatch(connection, writes, e -> e.getOperation() == Operation.INSERT, e -> INSERT, (statement, e) -> {
+                    statement.setString(1, e.getId().toString());
+                    statement.setBytes(2, e.getPayload());
+                    statement.setString(3, e.getProcessId());
+                    statement.setString(4, e.getProcessVersion());
+                    statement.setLong(5, e.getVersion());
+                });
+                executeBatch(connection, writes, e -> e.getOperation() == Operation.INSERT && e.getBusinessKey() != null, e -> INSERT_BUSINESS_KEY, (statement, e) -> {
+                    statement.setString(1, e.getBusinessKey());
+                    statement.setString(2, e.getId().toString());
+                });
+                executeBatch(connection, writes, e -> e.getOperation() == Operation.UPDATE && !e.isLock(), e -> sqlIncludingVersion(UPDATE, e.getProcessVersion()), (statement, e) -> {
+                    statement.setBytes(1, e.getPayload());
+                    statement.setString(2, e.getProcessId());
+                    statement.setString(3, e.getId().toString());
+                    if (e.getProcessVersion() != null) {
+                        statement.setString(4, e.getProcessVersion());
+                    }
+                });
+                List<UUID> conflicts = executeBatch(connection, writes, e -> e.getOperation() == Operation.UPDATE && e.isLock(), e -> sqlIncludingVersion(UPDATE_WITH_LOCK, e.getProcessVersion()),
+                        (statement, e) -> {
+                            statement.setBytes(1, e.getPayload());
+                            statement.setLong(2, e.getVersion());
+                            statement.setString(3, e.getProcessId());
+                            statement.setString(4, e.getId().toString());
+                            statement.setLong(5, e.getExpectedVersion());
+                            if (e.getProcessVersion() != null) {
+                                statement.setString(6, e.getProcessVersion());
+                            }
+                        });
+                executeBatch(connection, writes, e -> e.getOperation() == Operation.DELETE, e -> sqlIncludingVersion(DELETE, e.getProcessVersion()), (statement, e) -> {
+                    statement.setString(1, e.getProcessId());
+                    statement.setString(2, e.getId().toString());
+                    if (e.getProcessVersion() != null) {
+                        statement.setString(3, e.getProcessVersion());
+                    }
+                });
+                return conflicts;
+            });
+        } catch (Exception e) {
+            throw uncheckedException(e, "Error writing batch of %d process instances", writes.size());
+        }
+    }
+
+    @FunctionalInterface
+    private interface StatementBinder {
+        void bind(PreparedStatement statement, Entry entry) throws SQLException;
+    }
+
+    @FunctionalInterface
+    private interface TransactionalWork<T> {
+        T execute() throws SQLException;
+    }
+
+    /**
+     * Runs the work as a single local transaction, committed only when the result is accepted, unless the connection
+     * is enlisted in a container managed transaction: the work then joins it and the transaction owner commits or
+     * rolls it back, so a rollback of the caller also undoes these writes.
+     */
+    private <T> T inTransaction(Connection connection, Predicate<T> commit, TransactionalWork<T> work) throws SQLException {
+        if (transactionContext.isActive()) {
+            return work.execute();
+        }
+        boolean autoCommit = connection.getAutoCommit();
+        connection.setAutoCommit(false);
+        try {
+            T result = work.execute();
+            if (commit.test(result)) {
+                connection.commit();
+            } else {
+                connection.rollback();
+            }
+            return result;
+        } catch (SQLException | RuntimeException e) {
+            connection.rollback();
+            throw e;
+        } finally {
+            connection.setAutoCommit(autoCommit);
+        }
+    }
+
+    /**
+     * Executes one JDBC batch per distinct statement and returns the ids of the entries that did not match any row.
+     * Drivers reporting {@link java.sql.Statement#SUCCESS_NO_INFO} are trusted to have updated the row.
+     */
+    private static List<UUID> executeBatch(Connection connection, Collection<Entry> writes, Predicate<Entry> filter, Function<Entry, String> sql, StatementBinder binder) throws SQLException {
+        Map<String, List<Entry>> statements = new LinkedHashMap<>();
+        for (Entry entry : writes) {
+            if (filter.test(entry)) {
+                statements.computeIfAbsent(sql.apply(entry), k -> new ArrayList<>()).add(entry);
+            }
+        }
+        List<UUID> notMatched = new ArrayList<>();
+        for (Map.Entry<String, List<Entry>> group : statements.entrySet()) {
+            try (PreparedStatement statement = connection.prepareStatement(group.getKey())) {
+                for (Entry entry : group.getValue()) {
+                    binder.bind(statement, entry);
+                    statement.addBatch();
+                }
+                int[] counts = statement.executeBatch();
+                for (int i = 0; i < counts.length; i++) {
+                    if (counts[i] == 0) {
+                        notMatched.add(group.getValue().get(i).getId());
+                    }
+                }
+            }
+        }
+        return notMatched;
+    }
+
     private Record from(ResultSet rs) throws SQLException {
         return new Record(rs.getBytes(PAYLOAD), rs.getLong(VERSION));
     }
@@ -160,6 +290,32 @@ public class GenericRepository extends Repository {
         }
     }
 
+    @Override
+    List<Record> findPage(String processId, String processVersion, String after, int pageSize) {
+        String sql = after == null ? FIND_PAGE : FIND_PAGE + " " + ID_GREATER_THAN;
+        try (Connection connection = dataSource.getConnection();
+                PreparedStatement statement = connection.prepareStatement(sqlIncludingVersion(sql, processVersion) + " " + ORDER_BY_ID)) {
+            int index = 1;
+            statement.setString(index++, processId);
+            if (after != null) {
+                statement.setString(index++, after);
+            }
+            if (processVersion != null) {
+                statement.setString(index, processVersion);
+            }
+            statement.setMaxRows(pageSize);
+            List<Record> records = new ArrayList<>(Math.min(pageSize, 64));
+            try (ResultSet resultSet = statement.executeQuery()) {
+                while (resultSet.next()) {
+                    records.add(from(resultSet));
+                }
+            }
+            return records;
+        } catch (Exception e) {
+            throw uncheckedException(e, "Error finding page of process instances after %s, for processId %s", after, processId);
+        }
+    }
+
     private static class CloseableWrapper implements Runnable {
 
         private Deque<AutoCloseable> wrapped = new ArrayDeque<>();
@@ -237,25 +393,48 @@ public class GenericRepository extends Repository {
     }
 
     @Override
-    long migrate(String processId, String processVersion, String targetProcessId, String targetProcessVersion) {
-        try (Connection connection = dataSource.getConnection();
-                PreparedStatement statement = connection.prepareStatement(sqlIncludingVersion(Repository.MIGRATE_BULK, processVersion))) {
-            statement.setString(1, targetProcessId);
-            statement.setString(2, targetProcessVersion);
-            statement.setString(3, processId);
-            if (processVersion != null) {
-                statement.setString(4, processVersion);
-            }
-            return statement.executeUpdate();
+    List<String> migrateChunk(String processId, String processVersion, String targetProcessId, String targetProcessVersion, String after, int chunkSize) {
+        String sql = after == null ? FIND_ID_PAGE : FIND_ID_PAGE + " " + ID_GREATER_THAN;
+        try (Connection connection = dataSource.getConnection()) {
+            return inTransaction(connection, ids -> true, () -> {
+                List<String> ids = new ArrayList<>(chunkSize);
+                try (PreparedStatement statement = connection.prepareStatement(sqlIncludingVersion(sql, processVersion) + " " + ORDER_BY_ID)) {
+                    int index = 1;
+                    statement.setString(index++, processId);
+                    if (after != null) {
+                        statement.setString(index++, after);
+                    }
+                    if (processVersion != null) {
+                        statement.setString(index, processVersion);
+                    }
+                    statement.setMaxRows(chunkSize);
+                    try (ResultSet resultSet = statement.executeQuery()) {
+                        while (resultSet.next()) {
+                            ids.add(resultSet.getString(1));
+                        }
+                    }
+                }
+                if (!ids.isEmpty()) {
+                    migrate(connection, processId, processVersion, targetProcessId, targetProcessVersion, ids.toArray(String[]::new));
+                }
+                return ids;
+            });
         } catch (Exception e) {
-            throw uncheckedException(e, "Error updating process instance %s-%s", processId, processVersion);
+            throw uncheckedException(e, "Error migrating process instances of %s-%s after %s", processId, processVersion, after);
         }
     }
 
     @Override
     void migrate(String processId, String processVersion, String targetProcessId, String targetProcessVersion, String[] processIds) {
-        try (Connection connection = dataSource.getConnection();
-                PreparedStatement statement = connection.prepareStatement(sqlIncludingVersion(Repository.MIGRATE_INSTANCE, processVersion))) {
+        try (Connection connection = dataSource.getConnection()) {
+            migrate(connection, processId, processVersion, targetProcessId, targetProcessVersion, processIds);
+        } catch (Exception e) {
+            throw uncheckedException(e, "Error updating process instance %s-%s", processId, processVersion);
+        }
+    }
+
+    private static void migrate(Connection connection, String processId, String processVersion, String targetProcessId, String targetProcessVersion, String[] processIds) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(sqlIncludingVersion(Repository.MIGRATE_INSTANCE, processVersion))) {
             statement.setString(1, targetProcessId);
             statement.setString(2, targetProcessVersion);
             statement.setObject(3, connection.createArrayOf("VARCHAR", processIds));
@@ -264,8 +443,6 @@ public class GenericRepository extends Repository {
                 statement.setString(5, processVersion);
             }
             statement.executeUpdate();
-        } catch (Exception e) {
-            throw uncheckedException(e, "Error updating process instance %s-%s", processId, processVersion);
         }
     }
 }
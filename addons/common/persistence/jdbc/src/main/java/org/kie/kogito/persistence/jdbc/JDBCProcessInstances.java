@@ -18,19 +18,28 @@
  */
 package org.kie.kogito.persistence.jdbc;
 
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.function.Consumer;
 import java.util.stream.Stream;
 
 import javax.sql.DataSource;
 
+import org.jbpm.flow.serialization.ProcessInstanceHeader;
 import org.jbpm.flow.serialization.ProcessInstanceMarshallerService;
 import org.kie.kogito.process.MutableProcessInstances;
 import org.kie.kogito.process.Process;
 import org.kie.kogito.process.ProcessInstance;
 import org.kie.kogito.process.ProcessInstanceOptimisticLockingException;
+import org.kie.kogito.process.ProcessInstancePages;
+import org.kie.kogito.process.ProcessInstanceQuery;
 import org.kie.kogito.process.ProcessInstanceReadMode;
+import org.kie.kogito.process.ProcessPersistenceListeners;
+import org.kie.kogito.process.impl.AbstractProcess;
 import org.kie.kogito.process.impl.AbstractProcessInstance;
+import org.kie.kogito.uow.UnitOfWorkManager;
+import org.kie.kogito.uow.WorkUnit;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -42,12 +51,32 @@ public class JDBCProcessInstances implements MutableProcessInstances {
     private final ProcessInstanceMarshallerService marshaller;
     private final boolean lock;
     private final Repository repository;
+    private final UnitOfWorkManager unitOfWorkManager;
+    // writes of the unit of work running on the current thread, flushed once all its work has been performed
+    private final ThreadLocal<WriteBehindBatch> pendingWrites = new ThreadLocal<>();
 
     public JDBCProcessInstances(Process<?> process, DataSource dataSource, boolean lock) {
+        this(process, dataSource, lock, false);
+    }
+
+    /**
+     * @param batch when enabled, creates, updates and removals performed while a unit of work ends
+     *        are written together using a single connection and JDBC batches
+     */
+    public JDBCProcessInstances(Process<?> process, DataSource dataSource, boolean lock, boolean batch) {
+        this(process, dataSource, lock, batch, TransactionContext.NONE);
+    }
+
+    /**
+     * @param transactionContext tells when the writes run within a container managed transaction, which they join
+     *        instead of committing on their own
+     */
+    public JDBCProcessInstances(Process<?> process, DataSource dataSource, boolean lock, boolean batch, TransactionContext transactionContext) {
         this.process = process;
         this.lock = lock;
         this.marshaller = ProcessInstanceMarshallerService.newBuilder().withDefaultObjectMarshallerStrategies().withDefaultListeners().build();
-        this.repository = new GenericRepository(dataSource);
+        this.repository = new GenericRepository(dataSource, transactionContext);
+        this.unitOfWorkManager = batch && process instanceof AbstractProcess ? ((AbstractProcess<?>) process).getUnitOfWorkManager() : null;
     }
 
     @Override
@@ -60,7 +89,12 @@ public class JDBCProcessInstances implements MutableProcessInstances {
     public void create(String id, ProcessInstance instance) {
         LOGGER.debug("Creating process instance id: {}, processId: {}, processVersion: {}", id, process.id(), process.version());
         if (isActive(instance)) {
-            repository.insertInternal(process.id(), process.version(), UUID.fromString(id), marshaller.marshallProcessInstance(instance), instance.businessKey());
+            byte[] payload = marshaller.marshallProcessInstance(instance);
+            if (unitOfWorkManager != null) {
+                writeBehind(batch -> batch.insert(process.id(), process.version(), UUID.fromString(id), payload, instance.businessKey(), lock));
+            } else {
+                repository.insertInternal(process.id(), process.version(), UUID.fromString(id), payload, instance.businessKey());
+            }
         } else {
             LOGGER.warn("Skipping create of process instance id: {}, state: {}", id, instance.status());
         }
@@ -72,7 +106,15 @@ public class JDBCProcessInstances implements MutableProcessInstances {
         LOGGER.debug("Updating process instance id: {}, processId: {}, processVersion: {}", id, process.id(), process.version());
         try {
             if (isActive(instance)) {
-                if (lock) {
+                if (unitOfWorkManager != null) {
+                    byte[] payload = marshaller.marshallProcessInstance(instance);
+                    writeBehind(batch -> {
+                        if (!batch.update(process.id(), process.version(), UUID.fromString(id), payload, lock, instance.version()) && lock) {
+                            // same outcome as a locked update of the row once deleted
+                            throw new ProcessInstanceOptimisticLockingException(id);
+                        }
+                    });
+                } else if (lock) {
                     boolean isUpdated = repository.updateWithLock(process.id(), process.version(), UUID.fromString(id), marshaller.marshallProcessInstance(instance), instance.version());
                     if (!isUpdated) {
                         throw new ProcessInstanceOptimisticLockingException(id);
@@ -89,8 +131,14 @@ public class JDBCProcessInstances implements MutableProcessInstances {
     }
 
     @Override
-    public long migrateAll(String targetProcessId, String targetProcessVersion) {
-        return repository.migrate(process.id(), process.version(), targetProcessId, targetProcessVersion);
+    public boolean supportsMigration() {
+        return true;
+    }
+
+    @Override
+    public List<String> migrateChunk(String targetProcessId, String targetProcessVersion, String after, int chunkSize) {
+        LOGGER.debug("Migrating {} process instances after id: {}, processId: {}, processVersion: {}", chunkSize, after, process.id(), process.version());
+        return repository.migrateChunk(process.id(), process.version(), targetProcessId, targetProcessVersion, after, chunkSize);
     }
 
     @Override
@@ -101,6 +149,10 @@ public class JDBCProcessInstances implements MutableProcessInstances {
     @Override
     public void remove(String id) {
         LOGGER.debug("Removing process instance id: {}, processId: {}", id, process.id());
+        if (unitOfWorkManager != null) {
+            writeBehind(batch -> batch.delete(process.id(), process.version(), UUID.fromString(id)));
+            return;
+        }
         boolean isDeleted = repository.deleteInternal(process.id(), process.version(), UUID.fromString(id));
         LOGGER.debug("Deleted: {}", isDeleted);
     }
@@ -124,6 +176,23 @@ public class JDBCProcessInstances implements MutableProcessInstances {
                 .map(r -> unmarshall(r, mode));
     }
 
+    @Override
+    public Stream<ProcessInstance<?>> find(ProcessInstanceQuery query, ProcessInstanceReadMode mode) {
+        LOGGER.debug("Find process instances using query: {}, mode: {}", query, mode);
+        if (query.getBusinessKey() != null) {
+            // business key is unique, no need to paginate
+            return findByBusinessKey(query.getBusinessKey(), mode).filter(query::matches).stream();
+        }
+        // status and start date are only part of the payload, so they are checked on its header before unmarshalling
+        return ProcessInstancePages.<Repository.Record, ProcessInstance<?>> fetch(query, (after, pageSize) -> repository.findPage(process.id(), process.version(), after, pageSize),
+                r -> marshaller.readProcessInstanceHeader(r.getPayload()).getId(), r -> matchesHeader(r.getPayload(), query), r -> unmarshall(r, mode));
+    }
+
+    private boolean matchesHeader(byte[] payload, ProcessInstanceQuery query) {
+        ProcessInstanceHeader header = marshaller.readProcessInstanceHeader(payload);
+        return query.matches(header.getId(), header.getState(), header.getBusinessKey(), header.getStartDate());
+    }
+
     private ProcessInstance<?> unmarshall(Repository.Record record, ProcessInstanceReadMode mode) {
         ProcessInstance<?> instance = marshaller.unmarshallProcessInstance(record.getPayload(), process, mode);
         ((AbstractProcessInstance<?>) instance).setVersion(record.getVersion());
@@ -135,8 +204,48 @@ public class JDBCProcessInstances implements MutableProcessInstances {
         return this.lock;
     }
 
+    @Override
+    public boolean writeBehind() {
+        return unitOfWorkManager != null;
+    }
+
+    private void writeBehind(Consumer<WriteBehindBatch> write) {
+        WriteBehindBatch batch = pendingWrites.get();
+        if (batch != null) {
+            write.accept(batch);
+            return;
+        }
+        WriteBehindBatch newBatch = new WriteBehindBatch();
+        write.accept(newBatch);
+        pendingWrites.set(newBatch);
+        // registered after the first write, a pass through unit of work flushes right away
+        unitOfWorkManager.currentUnitOfWork().intercept(WorkUnit.create(newBatch, this::flush, b -> pendingWrites.remove()));
+    }
+
+    private void flush(WriteBehindBatch batch) {
+        pendingWrites.remove();
+        if (batch.isEmpty()) {
+            return;
+        }
+        LOGGER.debug("Flushing {} process instance writes, processId: {}", batch.entries().size(), process.id());
+        long start = System.nanoTime();
+        List<UUID> conflicts = repository.writeBatch(batch.entries());
+        if (ProcessPersistenceListeners.isEnabled()) {
+            ProcessPersistenceListeners.get().onRepositoryWrite(getClass().getSimpleName(), process.id(), System.nanoTime() - start);
+        }
+        if (!conflicts.isEmpty()) {
+            throw new ProcessInstanceOptimisticLockingException(conflicts.get(0).toString());
+        }
+    }
+
     private void disconnect(ProcessInstance<?> instance) {
         ((AbstractProcessInstance<?>) instance).internalRemoveProcessInstance(marshaller.createdReloadFunction(() -> {
+            WriteBehindBatch batch = pendingWrites.get();
+            Optional<WriteBehindBatch.Entry> pending = batch == null ? Optional.empty() : batch.pending(UUID.fromString(instance.id()));
+            if (pending.isPresent()) {
+                ((AbstractProcessInstance<?>) instance).setVersion(pending.get().getVersion());
+                return pending.get().getPayload();
+            }
             Repository.Record r = repository.findByIdInternal(process.id(), process.version(), UUID.fromString(instance.id())).orElseThrow();
             ((AbstractProcessInstance<?>) instance).setVersion(r.getVersion());
             return r.getPayload();
@@ -18,6 +18,8 @@
  */
 package org.kie.kogito.persistence.jdbc;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 import java.util.stream.Stream;
@@ -27,6 +29,10 @@ abstract class Repository {
     static final String INSERT = "INSERT INTO process_instances (id, payload, process_id, process_version, version) VALUES (?, ?, ?, ?, ?)";
     static final String INSERT_BUSINESS_KEY = "INSERT INTO business_key_mapping (business_key,process_instance_id) VALUES (?,?)";
     static final String FIND_ALL = "SELECT payload, version FROM process_instances WHERE process_id = ?";
+    static final String FIND_PAGE = "SELECT payload, version FROM process_instances WHERE process_id = ?";
+    static final String FIND_ID_PAGE = "SELECT id FROM process_instances WHERE process_id = ?";
+    static final String ID_GREATER_THAN = "and id > ?";
+    static final String ORDER_BY_ID = "ORDER BY id";
     static final String FIND_BY_ID = "SELECT payload, version FROM process_instances WHERE process_id = ? and id = ?";
     static final String FIND_BY_BUSINESS_KEY = "SELECT payload, version FROM process_instances INNER JOIN business_key_mapping ON id = process_instance_id WHERE business_key = ? and process_id = ?";
     static final String UPDATE = "UPDATE process_instances SET payload = ? WHERE process_id = ? and id = ?";
@@ -34,7 +40,6 @@ abstract class Repository {
     static final String DELETE = "DELETE FROM process_instances WHERE process_id = ? and id = ?";
     static final String PROCESS_VERSION_EQUALS_TO = "and process_version = ?";
     static final String PROCESS_VERSION_IS_NULL = "and process_version is null";
-    static final String MIGRATE_BULK = "UPDATE process_instances SET process_id = ?, process_version = ? WHERE process_id = ? ";
     static final String MIGRATE_INSTANCE = "UPDATE process_instances SET process_id = ?, process_version = ? WHERE id = ANY (?) and process_id = ? ";
 
     static class Record {
@@ -69,11 +74,34 @@ abstract class Repository {
 
     abstract Stream<Record> findAllInternal(String processId, String processVersion);
 
+    /**
+     * Returns, ordered by id, at most pageSize records whose id is greater than the given one.
+     *
+     * @param after exclusive lower bound of the id, null to start from the first record
+     */
+    abstract List<Record> findPage(String processId, String processVersion, String after, int pageSize);
+
+    /**
+     * Writes all the given entries using a single connection and transaction, grouping statements
+     * into JDBC batches. If any locked update does not match its expected version, the transaction
+     * is rolled back and the ids of the conflicting entries are returned.
+     *
+     * @param writes entries to be written, in the order they were registered
+     * @return ids of the entries that failed the optimistic lock check, empty if everything was committed
+     */
+    abstract List<UUID> writeBatch(Collection<WriteBehindBatch.Entry> writes);
+
     protected RuntimeException uncheckedException(Exception ex, String message, Object... param) {
         return new RuntimeException(String.format(message, param), ex);
     }
 
-    abstract long migrate(String id, String version, String targetProcessId, String targetProcessVersion);
+    /**
+     * Migrates, within a single transaction, at most chunkSize process instances, ordered by id, whose id is greater than the given one.
+     *
+     * @param after exclusive lower bound of the id, null to start from the first record
+     * @return ids of the migrated process instances, ordered
+     */
+    abstract List<String> migrateChunk(String id, String version, String targetProcessId, String targetProcessVersion, String after, int chunkSize);
 
     abstract void migrate(String id, String version, String targetProcessId, String targetProcessVersion, String[] processIds);
 }
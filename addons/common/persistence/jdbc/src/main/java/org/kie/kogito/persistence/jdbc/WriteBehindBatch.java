@@ -0,0 +1,149 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.kie.kogito.persistence.jdbc;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Process instance writes registered during a single unit of work and not yet sent to the database.
+ * Successive writes of the same process instance are coalesced, so every row is touched at most once
+ * when the batch is flushed, while the optimistic lock still checks the version the first write was based on.
+ */
+class WriteBehindBatch {
+
+    enum Operation {
+        INSERT,
+        UPDATE,
+        DELETE
+    }
+
+    static class Entry {
+        private final String processId;
+        private final String processVersion;
+        private final UUID id;
+        private final boolean lock;
+        private final long expectedVersion;
+        private Operation operation;
+        private byte[] payload;
+        private String businessKey;
+        private long updates;
+
+        Entry(Operation operation, String processId, String processVersion, UUID id, boolean lock, long expectedVersion) {
+            this.operation = operation;
+            this.processId = processId;
+            this.processVersion = processVersion;
+            this.id = id;
+            this.lock = lock;
+            this.expectedVersion = expectedVersion;
+        }
+
+        public Operation getOperation() {
+            return operation;
+        }
+
+        public String getProcessId() {
+            return processId;
+        }
+
+        public String getProcessVersion() {
+            return processVersion;
+        }
+
+        public UUID getId() {
+            return id;
+        }
+
+        public byte[] getPayload() {
+            return payload;
+        }
+
+        public String getBusinessKey() {
+            return businessKey;
+        }
+
+        public boolean isLock() {
+            return lock;
+        }
+
+        public long getExpectedVersion() {
+            return expectedVersion;
+        }
+
+        /**
+         * Version the row will hold once the entry is written, mimicking one version increment per locked update.
+         */
+        public long getVersion() {
+            return operation == Operation.INSERT ? updates : expectedVersion + updates;
+        }
+    }
+
+    private final Map<UUID, Entry> entries = new LinkedHashMap<>();
+
+    void insert(String processId, String processVersion, UUID id, byte[] payload, String businessKey, boolean lock) {
+        Entry entry = new Entry(Operation.INSERT, processId, processVersion, id, lock, 0L);
+        entry.payload = payload;
+        entry.businessKey = businessKey;
+        entries.put(id, entry);
+    }
+
+    /**
+     * @return false if the process instance is deleted by this batch, in which case the delete is kept and the update ignored,
+     *         as an update of the deleted row would be
+     */
+    boolean update(String processId, String processVersion, UUID id, byte[] payload, boolean lock, long version) {
+        Entry entry = entries.get(id);
+        if (entry != null && entry.operation == Operation.DELETE) {
+            return false;
+        }
+        if (entry == null) {
+            entry = new Entry(Operation.UPDATE, processId, processVersion, id, lock, version);
+            entries.put(id, entry);
+        }
+        entry.payload = payload;
+        if (lock) {
+            entry.updates++;
+        }
+        return true;
+    }
+
+    void delete(String processId, String processVersion, UUID id) {
+        Entry entry = entries.remove(id);
+        if (entry == null || entry.operation != Operation.INSERT) {
+            // the row exists (or might exist) in the database, so it has to be removed there as well
+            entries.put(id, new Entry(Operation.DELETE, processId, processVersion, id, false, 0L));
+        }
+    }
+
+    Optional<Entry> pending(UUID id) {
+        Entry entry = entries.get(id);
+        return entry == null || entry.operation == Operation.DELETE ? Optional.empty() : Optional.of(entry);
+    }
+
+    Collection<Entry> entries() {
+        return entries.values();
+    }
+
+    boolean isEmpty() {
+        return entries.isEmpty();
+    }
+}
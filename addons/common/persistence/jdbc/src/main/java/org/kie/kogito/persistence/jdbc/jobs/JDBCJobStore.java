@@ -0,0 +1,228 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.kie.kogito.persistence.jdbc.jobs;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import org.kie.kogito.services.jobs.impl.JobStore;
+import org.kie.kogito.services.jobs.impl.StoredJob;
+
+/**
+ * Keeps the jobs of {@link org.kie.kogito.services.jobs.impl.PersistentJobService} in the job_instances table.
+ * Jobs are claimed with a conditional update of their lease, so replicas sharing the database never execute the same expiration twice
+ * while the lease is valid, and completed with a conditional update of their version, so a job saved again while being executed is kept.
+ */
+public class JDBCJobStore implements JobStore {
+
+    private static final String COLUMNS = "id, job_type, fire_time, repeat_interval, repeat_limit, priority, process_instance_id, root_process_instance_id, process_id, "
+            + "root_process_id, node_instance_id, timer_id, user_task_instance_id, version";
+    static final String INSERT = "INSERT INTO job_instances (" + COLUMNS + ", lease_owner, lease_until) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, 0, NULL, 0)";
+    static final String UPDATE = "UPDATE job_instances SET job_type = ?, fire_time = ?, repeat_interval = ?, repeat_limit = ?, priority = ?, process_instance_id = ?, "
+            + "root_process_instance_id = ?, process_id = ?, root_process_id = ?, node_instance_id = ?, timer_id = ?, user_task_instance_id = ?, lease_owner = NULL, "
+            + "lease_until = 0, version = version + 1 WHERE id = ?";
+    static final String REPLACE = UPDATE + " AND version = ?";
+    static final String DELETE = "DELETE FROM job_instances WHERE id = ?";
+    static final String DELETE_VERSION = DELETE + " AND version = ?";
+    static final String FIND_DUE = "SELECT " + COLUMNS + " FROM job_instances WHERE fire_time <= ? AND lease_until < ? ORDER BY fire_time";
+    static final String CLAIM = "UPDATE job_instances SET lease_owner = ?, lease_until = ? WHERE id = ? AND fire_time <= ? AND lease_until < ?";
+    static final String FIND_CLAIMED = "SELECT " + COLUMNS + " FROM job_instances WHERE id = ? AND lease_owner = ? AND lease_until = ?";
+
+    private final DataSource dataSource;
+
+    public JDBCJobStore(DataSource dataSource) {
+        this.dataSource = dataSource;
+    }
+
+    @Override
+    public void save(StoredJob job) {
+        try (Connection connection = dataSource.getConnection()) {
+            int updated;
+            try (PreparedStatement statement = connection.prepareStatement(UPDATE)) {
+                setColumns(statement, job, 1);
+                statement.setString(13, job.id());
+                updated = statement.executeUpdate();
+            }
+            if (updated == 0) {
+                try (PreparedStatement statement = connection.prepareStatement(INSERT)) {
+                    statement.setString(1, job.id());
+                    setColumns(statement, job, 2);
+                    statement.executeUpdate();
+                }
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("Error saving job " + job.id(), e);
+        }
+    }
+
+    @Override
+    public boolean delete(String id) {
+        try (Connection connection = dataSource.getConnection();
+                PreparedStatement statement = connection.prepareStatement(DELETE)) {
+            statement.setString(1, id);
+            return statement.executeUpdate() > 0;
+        } catch (SQLException e) {
+            throw new RuntimeException("Error deleting job " + id, e);
+        }
+    }
+
+    @Override
+    public boolean delete(StoredJob job) {
+        try (Connection connection = dataSource.getConnection();
+                PreparedStatement statement = connection.prepareStatement(DELETE_VERSION)) {
+            statement.setString(1, job.id());
+            statement.setLong(2, job.version());
+            return statement.executeUpdate() > 0;
+        } catch (SQLException e) {
+            throw new RuntimeException("Error deleting job " + job.id(), e);
+        }
+    }
+
+    @Override
+    public boolean replace(StoredJob job, StoredJob next) {
+        try (Connection connection = dataSource.getConnection();
+                PreparedStatement statement = connection.prepareStatement(REPLACE)) {
+            setColumns(statement, next, 1);
+            statement.setString(13, job.id());
+            statement.setLong(14, job.version());
+            return statement.executeUpdate() > 0;
+        } catch (SQLException e) {
+            throw new RuntimeException("Error replacing job " + job.id(), e);
+        }
+    }
+
+    @Override
+    public List<StoredJob> findDue(long until, long now, int limit) {
+        try (Connection connection = dataSource.getConnection();
+                PreparedStatement statement = connection.prepareStatement(FIND_DUE)) {
+            statement.setLong(1, until);
+            statement.setLong(2, now);
+            statement.setMaxRows(limit);
+            List<StoredJob> jobs = new ArrayList<>();
+            try (ResultSet resultSet = statement.executeQuery()) {
+                while (resultSet.next()) {
+                    jobs.add(from(resultSet));
+                }
+            }
+            return jobs;
+        } catch (SQLException e) {
+            throw new RuntimeException("Error loading due jobs", e);
+        }
+    }
+
+    @Override
+    public List<StoredJob> claim(Collection<String> ids, String owner, long now, long leaseUntil) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        List<String> claimedIds = new ArrayList<>(ids.size());
+        try (Connection connection = dataSource.getConnection()) {
+            try (PreparedStatement statement = connection.prepareStatement(CLAIM)) {
+                for (String id : ids) {
+                    statement.setString(1, owner);
+                    statement.setLong(2, leaseUntil);
+                    statement.setString(3, id);
+                    statement.setLong(4, now);
+                    statement.setLong(5, now);
+                    statement.addBatch();
+                }
+                int[] counts = statement.executeBatch();
+                int i = 0;
+                for (String id : ids) {
+                    // drivers not reporting per statement counts are checked by the query below
+                    if (counts[i++] != 0) {
+                        claimedIds.add(id);
+                    }
+                }
+            }
+            List<StoredJob> claimed = new ArrayList<>(claimedIds.size());
+            try (PreparedStatement statement = connection.prepareStatement(FIND_CLAIMED)) {
+                for (String id : claimedIds) {
+                    statement.setString(1, id);
+                    statement.setString(2, owner);
+                    statement.setLong(3, leaseUntil);
+                    try (ResultSet resultSet = statement.executeQuery()) {
+                        if (resultSet.next()) {
+                            claimed.add(from(resultSet));
+                        }
+                    }
+                }
+            }
+            return claimed;
+        } catch (SQLException e) {
+            throw new RuntimeException("Error claiming jobs", e);
+        }
+    }
+
+    private static void setColumns(PreparedStatement statement, StoredJob job, int index) throws SQLException {
+        statement.setString(index++, job.type());
+        statement.setLong(index++, job.fireTime());
+        setLong(statement, index++, job.repeatInterval());
+        statement.setInt(index++, job.repeatLimit());
+        if (job.priority() != null) {
+            statement.setInt(index++, job.priority());
+        } else {
+            statement.setNull(index++, Types.INTEGER);
+        }
+        statement.setString(index++, job.processInstanceId());
+        statement.setString(index++, job.rootProcessInstanceId());
+        statement.setString(index++, job.processId());
+        statement.setString(index++, job.rootProcessId());
+        statement.setString(index++, job.nodeInstanceId());
+        statement.setString(index++, job.timerId());
+        statement.setString(index, job.userTaskInstanceId());
+    }
+
+    private static void setLong(PreparedStatement statement, int index, Long value) throws SQLException {
+        if (value != null) {
+            statement.setLong(index, value);
+        } else {
+            statement.setNull(index, Types.BIGINT);
+        }
+    }
+
+    private static StoredJob from(ResultSet resultSet) throws SQLException {
+        long repeatInterval = resultSet.getLong("repeat_interval");
+        Long interval = resultSet.wasNull() ? null : repeatInterval;
+        int priorityValue = resultSet.getInt("priority");
+        Integer priority = resultSet.wasNull() ? null : priorityValue;
+        return new StoredJob(resultSet.getString("id"),
+                resultSet.getString("job_type"),
+                resultSet.getLong("fire_time"),
+                interval,
+                resultSet.getInt("repeat_limit"),
+                priority,
+                resultSet.getString("process_instance_id"),
+                resultSet.getString("root_process_instance_id"),
+                resultSet.getString("process_id"),
+                resultSet.getString("root_process_id"),
+                resultSet.getString("node_instance_id"),
+                resultSet.getString("timer_id"),
+                resultSet.getString("user_task_instance_id"),
+                resultSet.getLong("version"));
+    }
+}
@@ -0,0 +1,40 @@
+--
+-- Licensed to the Apache Software Foundation (ASF) under one
+-- or more contributor license agreements.  See the NOTICE file
+-- distributed with this work for additional information
+-- regarding copyright ownership.  The ASF licenses this file
+-- to you under the Apache License, Version 2.0 (the
+-- "License"); you may not use this file except in compliance
+-- with the License.  You may obtain a copy of the License at
+--
+--   http://www.apache.org/licenses/LICENSE-2.0
+--
+-- Unless required by applicable law or agreed to in writing,
+-- software distributed under the License is distributed on an
+-- "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+-- KIND, either express or implied.  See the License for the
+-- specific language governing permissions and limitations
+-- under the License.
+--
+
+CREATE TABLE job_instances
+(
+    id                       character varying(255) NOT NULL,
+    job_type                 character varying(50)  NOT NULL,
+    fire_time                bigint                 NOT NULL,
+    repeat_interval          bigint,
+    repeat_limit             integer                NOT NULL,
+    priority                 integer,
+    process_instance_id      character varying(255),
+    root_process_instance_id character varying(255),
+    process_id               character varying(4000),
+    root_process_id          character varying(4000),
+    node_instance_id         character varying(255),
+    timer_id                 character varying(255),
+    user_task_instance_id    character varying(255),
+    lease_owner              character varying(255),
+    lease_until              bigint                 NOT NULL,
+    version                  bigint                 NOT NULL,
+    CONSTRAINT job_instances_pkey PRIMARY KEY (id)
+);
+CREATE INDEX idx_job_instances_fire_time ON job_instances (fire_time, lease_until);
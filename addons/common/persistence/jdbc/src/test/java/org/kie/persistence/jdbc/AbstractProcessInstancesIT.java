@@ -21,7 +21,10 @@ package org.kie.persistence.jdbc;
 import java.sql.Connection;
 import java.sql.ResultSet;
 import java.util.Collections;
+import java.util.Date;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Collectors;
 
 import javax.sql.DataSource;
 
@@ -33,6 +36,8 @@ import org.kie.kogito.auth.SecurityPolicy;
 import org.kie.kogito.internal.process.workitem.Policy;
 import org.kie.kogito.persistence.jdbc.JDBCProcessInstances;
 import org.kie.kogito.process.ProcessInstance;
+import org.kie.kogito.process.ProcessInstanceQuery;
+import org.kie.kogito.process.ProcessInstances;
 import org.kie.kogito.process.WorkItem;
 import org.kie.kogito.process.bpmn2.BpmnProcess;
 import org.kie.kogito.process.bpmn2.BpmnProcessInstance;
@@ -89,11 +94,15 @@ abstract class AbstractProcessInstancesIT {
         return false;
     }
 
+    boolean batch() {
+        return false;
+    }
+
     abstract DataSource getDataSource();
 
     @Test
     void testBasicTaskFlow() {
-        var factory = new TestProcessInstancesFactory(getDataSource(), lock());
+        var factory = new TestProcessInstancesFactory(getDataSource(), lock(), batch());
         BpmnProcess process = createProcess(factory, "BPMN2-UserTask.bpmn2");
         ProcessInstance<BpmnVariables> processInstance = process.createInstance(BpmnVariables.create(singletonMap("test", "test")));
         processInstance.start();
@@ -125,7 +134,7 @@ abstract class AbstractProcessInstancesIT {
 
     @Test
     void testMultipleProcesses() {
-        var factory = new TestProcessInstancesFactory(getDataSource(), lock());
+        var factory = new TestProcessInstancesFactory(getDataSource(), lock(), batch());
         BpmnProcess utProcess = createProcess(factory, "BPMN2-UserTask.bpmn2");
         ProcessInstance<BpmnVariables> utProcessInstance = utProcess.createInstance(BpmnVariables.create());
         utProcessInstance.start();
@@ -159,7 +168,7 @@ abstract class AbstractProcessInstancesIT {
 
     @Test
     void testBasicFlow() {
-        var factory = new TestProcessInstancesFactory(getDataSource(), lock());
+        var factory = new TestProcessInstancesFactory(getDataSource(), lock(), batch());
         final String businessKey = "manolo";
         BpmnProcess process = createProcess(factory, "BPMN2-UserTask.bpmn2");
         ProcessInstance<BpmnVariables> processInstance = process.createInstance(businessKey, BpmnVariables.create(singletonMap("test",
@@ -189,7 +198,7 @@ abstract class AbstractProcessInstancesIT {
 
     @Test
     public void testUpdate() {
-        var factory = new TestProcessInstancesFactory(getDataSource(), lock());
+        var factory = new TestProcessInstancesFactory(getDataSource(), lock(), batch());
         BpmnProcess process = createProcess(factory, "BPMN2-UserTask.bpmn2");
         ProcessInstance<BpmnVariables> processInstance = process.createInstance(BpmnVariables.create(singletonMap("test", "test")));
         processInstance.start();
@@ -221,7 +230,7 @@ abstract class AbstractProcessInstancesIT {
 
     @Test
     public void testMigrateAll() throws Exception {
-        var factory = new TestProcessInstancesFactory(getDataSource(), lock());
+        var factory = new TestProcessInstancesFactory(getDataSource(), lock(), batch());
         BpmnProcess process = createProcess(factory, "BPMN2-UserTask.bpmn2");
         ProcessInstance<BpmnVariables> processInstance1 = process.createInstance(BpmnVariables.create(Collections.singletonMap("test", "test")));
         processInstance1.start();
@@ -244,7 +253,7 @@ abstract class AbstractProcessInstancesIT {
 
     @Test
     public void testMigrateSingle() throws Exception {
-        var factory = new TestProcessInstancesFactory(getDataSource(), lock());
+        var factory = new TestProcessInstancesFactory(getDataSource(), lock(), batch());
         BpmnProcess process = createProcess(factory, "BPMN2-UserTask.bpmn2");
         ProcessInstance<BpmnVariables> processInstance1 = process.createInstance(BpmnVariables.create(Collections.singletonMap("test", "test")));
         processInstance1.start();
@@ -275,9 +284,32 @@ abstract class AbstractProcessInstancesIT {
 
     }
 
+    @Test
+    void testFindWithQuery() {
+        var factory = new TestProcessInstancesFactory(getDataSource(), lock(), batch());
+        BpmnProcess process = createProcess(factory, "BPMN2-UserTask.bpmn2");
+        for (String businessKey : new String[] { "first", "second", "third" }) {
+            process.createInstance(businessKey, BpmnVariables.create(singletonMap("test", "test"))).start();
+        }
+
+        ProcessInstances<BpmnVariables> instances = process.instances();
+        List<String> ids = instances.stream().map(ProcessInstance::id).sorted().collect(Collectors.toList());
+        assertThat(ids).hasSize(3);
+
+        ProcessInstanceQuery query = ProcessInstanceQuery.builder().withStatus(STATE_ACTIVE).withLimit(2).build();
+        assertThat(instances.find(query).map(ProcessInstance::id)).containsExactlyElementsOf(ids.subList(0, 2));
+        assertThat(instances.find(query.next(ids.get(1))).map(ProcessInstance::id)).containsExactly(ids.get(2));
+        assertThat(instances.find(ProcessInstanceQuery.builder().withStatus(STATE_COMPLETED).build())).isEmpty();
+        assertThat(instances.find(ProcessInstanceQuery.builder().withBusinessKey("second").build()).map(ProcessInstance::businessKey)).containsExactly("second");
+        assertThat(instances.find(ProcessInstanceQuery.builder().withStartedFrom(new Date(0)).build()).map(ProcessInstance::id)).containsExactlyElementsOf(ids);
+        assertThat(instances.find(ProcessInstanceQuery.builder().withStartedTo(new Date(0)).build())).isEmpty();
+
+        abort(instances);
+    }
+
     @Test
     public void testRemove() {
-        var factory = new TestProcessInstancesFactory(getDataSource(), lock());
+        var factory = new TestProcessInstancesFactory(getDataSource(), lock(), batch());
         BpmnProcess process = createProcess(factory, "BPMN2-UserTask.bpmn2");
         ProcessInstance<BpmnVariables> processInstance = process.createInstance(BpmnVariables.create(singletonMap("test", "test")));
         processInstance.start();
@@ -298,7 +330,7 @@ abstract class AbstractProcessInstancesIT {
 
     @Test
     void testProcessWithDifferentVersion() {
-        var factory = new TestProcessInstancesFactory(getDataSource(), lock());
+        var factory = new TestProcessInstancesFactory(getDataSource(), lock(), batch());
         BpmnProcess processV1 = createProcess(factory, "BPMN2-UserTask.bpmn2");
         BpmnProcess processV2 = createProcess(factory, "BPMN2-UserTask-v2.bpmn2");
 
@@ -0,0 +1,207 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.kie.persistence.jdbc;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import javax.sql.DataSource;
+
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.kie.kogito.process.MutableProcessInstances;
+import org.kie.kogito.process.ProcessInstance;
+import org.kie.kogito.process.ProcessInstanceOptimisticLockingException;
+import org.kie.kogito.process.ProcessPersistenceListener;
+import org.kie.kogito.process.ProcessPersistenceListeners;
+import org.kie.kogito.process.bpmn2.BpmnProcess;
+import org.kie.kogito.process.bpmn2.BpmnVariables;
+import org.kie.kogito.uow.UnitOfWork;
+import org.kie.kogito.uow.UnitOfWorkManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import static java.util.Collections.singletonMap;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.kie.kogito.internal.process.runtime.KogitoProcessInstance.STATE_ACTIVE;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.mockingDetails;
+import static org.mockito.Mockito.spy;
+
+/**
+ * Runs the process instances suite against an embedded H2 database with write-behind batching and
+ * optimistic locking enabled, and compares the database round trips of batched and non batched units of work.
+ */
+public class H2BatchProcessInstancesIT extends AbstractProcessInstancesIT {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(H2BatchProcessInstancesIT.class);
+
+    private static final int INSTANCES_PER_UNIT_OF_WORK = 20;
+    private static final int UNITS_OF_WORK = 50;
+
+    private static JdbcDataSource H2_DATA_SOURCE;
+
+    @BeforeAll
+    public static void start() {
+        H2_DATA_SOURCE = new JdbcDataSource();
+        H2_DATA_SOURCE.setURL("jdbc:h2:mem:kogito_batch;DB_CLOSE_DELAY=-1");
+        H2_DATA_SOURCE.setUser("sa");
+        H2_DATA_SOURCE.setPassword("sa");
+        initMigration(H2_DATA_SOURCE);
+    }
+
+    @BeforeEach
+    public void cleanUp() throws SQLException {
+        try (Connection connection = H2_DATA_SOURCE.getConnection(); Statement statement = connection.createStatement()) {
+            statement.executeUpdate("DELETE FROM process_instances");
+        }
+    }
+
+    @Override
+    DataSource getDataSource() {
+        return H2_DATA_SOURCE;
+    }
+
+    @Override
+    boolean lock() {
+        return true;
+    }
+
+    @Override
+    boolean batch() {
+        return true;
+    }
+
+    @Test
+    void testUnitOfWorkIsWrittenAsOneBatch() throws SQLException {
+        BpmnProcess process = createProcess(new TestProcessInstancesFactory(getDataSource(), lock(), batch()), "BPMN2-UserTask.bpmn2");
+        UnitOfWorkManager uowManager = process.getUnitOfWorkManager();
+
+        UnitOfWork uow = uowManager.newUnitOfWork();
+        uow.start();
+        List<ProcessInstance<BpmnVariables>> instances = new ArrayList<>();
+        for (int i = 0; i < INSTANCES_PER_UNIT_OF_WORK; i++) {
+            ProcessInstance<BpmnVariables> processInstance = process.createInstance("key-" + i, BpmnVariables.create(singletonMap("test", "test")));
+            processInstance.start();
+            instances.add(processInstance);
+        }
+        // nothing reaches the database until the unit of work ends
+        assertThat(countRows()).isZero();
+        uow.end();
+
+        assertThat(countRows()).isEqualTo(INSTANCES_PER_UNIT_OF_WORK);
+        for (ProcessInstance<BpmnVariables> processInstance : instances) {
+            assertThat(processInstance.status()).isEqualTo(STATE_ACTIVE);
+            // insert and update of the same instance are coalesced but keep the version of two separate writes
+            assertThat(process.instances().findById(processInstance.id())).hasValueSatisfying(pi -> assertThat(pi.version()).isEqualTo(1L));
+            assertThat(process.instances().findByBusinessKey(processInstance.businessKey())).isPresent();
+        }
+    }
+
+    @Test
+    void testUnitOfWorkIsWrittenInOneRoundTrip() {
+        DataSource dataSource = spy(H2_DATA_SOURCE);
+        long unbatched = countConnections(dataSource, new TestProcessInstancesFactory(dataSource, lock(), false));
+        long batched = countConnections(dataSource, new TestProcessInstancesFactory(dataSource, lock(), true));
+        LOGGER.info("Started {} process instances in {} units of work: unbatched {} connections, batched {} connections", INSTANCES_PER_UNIT_OF_WORK * UNITS_OF_WORK, UNITS_OF_WORK,
+                unbatched, batched);
+        // every instance is inserted and updated once it reaches the user task
+        assertThat(unbatched).isGreaterThanOrEqualTo(2L * INSTANCES_PER_UNIT_OF_WORK * UNITS_OF_WORK);
+        assertThat(batched).isEqualTo(UNITS_OF_WORK);
+    }
+
+    @Test
+    void testUpdateAfterDeleteKeepsDelete() throws SQLException {
+        BpmnProcess process = createProcess(new TestProcessInstancesFactory(getDataSource(), lock(), batch()), "BPMN2-UserTask.bpmn2");
+        UnitOfWorkManager uowManager = process.getUnitOfWorkManager();
+        UnitOfWork uow = uowManager.newUnitOfWork();
+        uow.start();
+        ProcessInstance<BpmnVariables> processInstance = process.createInstance(BpmnVariables.create(singletonMap("test", "test")));
+        processInstance.start();
+        uow.end();
+
+        uow = uowManager.newUnitOfWork();
+        uow.start();
+        MutableProcessInstances<BpmnVariables> instances = (MutableProcessInstances<BpmnVariables>) process.instances();
+        ProcessInstance<BpmnVariables> found = instances.findById(processInstance.id()).orElseThrow();
+        instances.remove(found.id());
+        assertThatExceptionOfType(ProcessInstanceOptimisticLockingException.class).isThrownBy(() -> instances.update(found.id(), found));
+        uow.end();
+
+        assertThat(countRows()).isZero();
+    }
+
+    @Test
+    void testFlushIsReportedAsRepositoryWrite() {
+        BpmnProcess process = createProcess(new TestProcessInstancesFactory(getDataSource(), lock(), batch()), "BPMN2-UserTask.bpmn2");
+        UnitOfWorkManager uowManager = process.getUnitOfWorkManager();
+        List<String> writes = new CopyOnWriteArrayList<>();
+        ProcessPersistenceListener listener = new ProcessPersistenceListener() {
+            @Override
+            public void onRepositoryWrite(String backend, String processId, long nanos) {
+                writes.add(processId);
+            }
+        };
+        ProcessPersistenceListeners.register(listener);
+        try {
+            UnitOfWork uow = uowManager.newUnitOfWork();
+            uow.start();
+            for (int i = 0; i < INSTANCES_PER_UNIT_OF_WORK; i++) {
+                process.createInstance(BpmnVariables.create(singletonMap("test", "test"))).start();
+            }
+            // enqueuing the writes is not a repository write
+            assertThat(writes).isEmpty();
+            uow.end();
+        } finally {
+            ProcessPersistenceListeners.unregister(listener);
+        }
+        assertThat(writes).containsExactly(process.id());
+    }
+
+    private long countConnections(DataSource dataSource, TestProcessInstancesFactory factory) {
+        BpmnProcess process = createProcess(factory, "BPMN2-UserTask.bpmn2");
+        UnitOfWorkManager uowManager = process.getUnitOfWorkManager();
+        clearInvocations(dataSource);
+        for (int u = 0; u < UNITS_OF_WORK; u++) {
+            UnitOfWork uow = uowManager.newUnitOfWork();
+            uow.start();
+            for (int i = 0; i < INSTANCES_PER_UNIT_OF_WORK; i++) {
+                process.createInstance(BpmnVariables.create(singletonMap("test", "test"))).start();
+            }
+            uow.end();
+        }
+        return mockingDetails(dataSource).getInvocations().stream().filter(invocation -> invocation.getMethod().getName().equals("getConnection")).count();
+    }
+
+    private long countRows() throws SQLException {
+        try (Connection connection = H2_DATA_SOURCE.getConnection();
+                ResultSet resultSet = connection.createStatement().executeQuery("SELECT COUNT(*) FROM process_instances")) {
+            resultSet.next();
+            return resultSet.getLong(1);
+        }
+    }
+}
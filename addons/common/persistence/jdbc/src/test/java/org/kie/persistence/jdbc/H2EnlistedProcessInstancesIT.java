@@ -0,0 +1,207 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.kie.persistence.jdbc;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import javax.sql.DataSource;
+
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.kie.kogito.process.ProcessInstance;
+import org.kie.kogito.process.bpmn2.BpmnProcess;
+import org.kie.kogito.process.bpmn2.BpmnVariables;
+import org.kie.kogito.uow.UnitOfWork;
+
+import static java.util.Collections.singletonMap;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.spy;
+
+/**
+ * Runs write-behind flushes against a data source whose connections are enlisted in a container managed
+ * transaction, the way Agroal and Narayana hand them out: the transaction owner decides the outcome and
+ * any local commit, rollback or switch back to auto commit on the enlisted connection fails.
+ */
+public class H2EnlistedProcessInstancesIT {
+
+    private static final int INSTANCES = 10;
+
+    private static JdbcDataSource H2_DATA_SOURCE;
+
+    private final EnlistingTransactionManager transactionManager = new EnlistingTransactionManager();
+
+    @BeforeAll
+    public static void start() {
+        H2_DATA_SOURCE = new JdbcDataSource();
+        H2_DATA_SOURCE.setURL("jdbc:h2:mem:kogito_enlisted;DB_CLOSE_DELAY=-1");
+        H2_DATA_SOURCE.setUser("sa");
+        H2_DATA_SOURCE.setPassword("sa");
+        AbstractProcessInstancesIT.initMigration(H2_DATA_SOURCE);
+    }
+
+    @BeforeEach
+    public void cleanUp() throws SQLException {
+        try (Connection connection = H2_DATA_SOURCE.getConnection(); Statement statement = connection.createStatement()) {
+            statement.executeUpdate("DELETE FROM process_instances");
+        }
+    }
+
+    @AfterEach
+    public void endTransaction() throws SQLException {
+        if (transactionManager.isActive()) {
+            transactionManager.rollback();
+        }
+    }
+
+    @Test
+    void testFlushJoinsCommittedTransaction() throws SQLException {
+        BpmnProcess process = createProcess();
+
+        transactionManager.begin();
+        startInstances(process);
+        // the flush happened within the transaction, nothing is visible outside of it yet
+        assertThat(countRows()).isZero();
+        transactionManager.commit();
+
+        assertThat(countRows()).isEqualTo(INSTANCES);
+    }
+
+    @Test
+    void testFlushIsUndoneByTransactionRollback() throws SQLException {
+        BpmnProcess process = createProcess();
+
+        transactionManager.begin();
+        startInstances(process);
+        transactionManager.rollback();
+
+        assertThat(countRows()).isZero();
+    }
+
+    @Test
+    void testFlushWithoutTransactionCommitsLocally() throws SQLException {
+        BpmnProcess process = createProcess();
+
+        startInstances(process);
+
+        assertThat(countRows()).isEqualTo(INSTANCES);
+    }
+
+    private BpmnProcess createProcess() {
+        DataSource dataSource = spy(H2_DATA_SOURCE);
+        try {
+            doAnswer(invocation -> transactionManager.getConnection()).when(dataSource).getConnection();
+        } catch (SQLException e) {
+            throw new IllegalStateException(e);
+        }
+        return AbstractProcessInstancesIT.createProcess(new TestProcessInstancesFactory(dataSource, true, true, transactionManager::isActive), "BPMN2-UserTask.bpmn2");
+    }
+
+    private void startInstances(BpmnProcess process) {
+        UnitOfWork uow = process.getUnitOfWorkManager().newUnitOfWork();
+        uow.start();
+        for (int i = 0; i < INSTANCES; i++) {
+            ProcessInstance<BpmnVariables> processInstance = process.createInstance(BpmnVariables.create(singletonMap("test", "test")));
+            processInstance.start();
+        }
+        uow.end();
+    }
+
+    private long countRows() throws SQLException {
+        try (Connection connection = H2_DATA_SOURCE.getConnection();
+                ResultSet resultSet = connection.createStatement().executeQuery("SELECT COUNT(*) FROM process_instances")) {
+            resultSet.next();
+            return resultSet.getLong(1);
+        }
+    }
+
+    /**
+     * Binds one physical connection to the running transaction and hands out handles to it that, like the
+     * handles of a JTA aware pool, refuse local transaction demarcation and leave the connection open on close.
+     */
+    private static class EnlistingTransactionManager {
+
+        private Connection enlisted;
+
+        boolean isActive() {
+            return enlisted != null;
+        }
+
+        void begin() throws SQLException {
+            enlisted = H2_DATA_SOURCE.getConnection();
+            enlisted.setAutoCommit(false);
+        }
+
+        void commit() throws SQLException {
+            try {
+                enlisted.commit();
+            } finally {
+                end();
+            }
+        }
+
+        void rollback() throws SQLException {
+            try {
+                enlisted.rollback();
+            } finally {
+                end();
+            }
+        }
+
+        private void end() throws SQLException {
+            enlisted.close();
+            enlisted = null;
+        }
+
+        Connection getConnection() throws SQLException {
+            if (!isActive()) {
+                return H2_DATA_SOURCE.getConnection();
+            }
+            Connection connection = enlisted;
+            return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[] { Connection.class }, (proxy, method, args) -> {
+                switch (method.getName()) {
+                    case "commit":
+                    case "rollback":
+                        throw new SQLException("Attempting to " + method.getName() + " while taking part in a transaction");
+                    case "setAutoCommit":
+                        if ((Boolean) args[0]) {
+                            throw new SQLException("Trying to set autocommit in connection taking part of transaction");
+                        }
+                        return null;
+                    case "close":
+                        return null;
+                    default:
+                        try {
+                            return method.invoke(connection, args);
+                        } catch (InvocationTargetException e) {
+                            throw e.getCause();
+                        }
+                }
+            });
+        }
+    }
+}
@@ -0,0 +1,149 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+package org.kie.persistence.jdbc;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.kie.kogito.process.ProcessInstances;
+import org.kie.kogito.process.bpmn2.BpmnProcess;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.kie.persistence.jdbc.AbstractProcessInstancesIT.createProcess;
+import static org.kie.persistence.jdbc.AbstractProcessInstancesIT.initMigration;
+
+/**
+ * Migrates a large number of process instances stored in an embedded H2 database, checking that every chunk
+ * is committed on its own and that a migration can be resumed from the id of the last migrated instance.
+ */
+public class H2ProcessInstancesMigrationIT {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(H2ProcessInstancesMigrationIT.class);
+
+    private static final int INSTANCES = 1_000_000;
+    private static final int INSERT_BATCH_SIZE = 10_000;
+
+    private static JdbcDataSource H2_DATA_SOURCE;
+
+    @BeforeAll
+    public static void start() {
+        H2_DATA_SOURCE = new JdbcDataSource();
+        H2_DATA_SOURCE.setURL("jdbc:h2:file:./target/h2/kogito_migration;DB_CLOSE_DELAY=-1");
+        H2_DATA_SOURCE.setUser("sa");
+        H2_DATA_SOURCE.setPassword("sa");
+        initMigration(H2_DATA_SOURCE);
+    }
+
+    @AfterAll
+    public static void stop() throws SQLException {
+        try (Connection connection = H2_DATA_SOURCE.getConnection(); Statement statement = connection.createStatement()) {
+            statement.execute("DROP ALL OBJECTS DELETE FILES");
+        }
+    }
+
+    @Test
+    void testMigrateAllInChunks() throws SQLException {
+        BpmnProcess process = createProcess(new TestProcessInstancesFactory(H2_DATA_SOURCE, false), "BPMN2-UserTask.bpmn2");
+        insert(process.id(), process.version(), INSTANCES);
+
+        ProcessInstances<?> instances = process.instances();
+        // a first, interrupted run leaves a checkpoint behind
+        String checkpoint = null;
+        long migrated = 0;
+        for (int i = 0; i < 10; i++) {
+            var chunk = instances.migrateChunk("migrated", "2", checkpoint, ProcessInstances.DEFAULT_MIGRATION_CHUNK_SIZE);
+            checkpoint = chunk.get(chunk.size() - 1);
+            migrated += chunk.size();
+        }
+        assertThat(count("migrated", "2")).isEqualTo(migrated);
+        assertThat(count(process.id(), process.version())).isEqualTo(INSTANCES - migrated);
+
+        long start = System.nanoTime();
+        migrated += resume(instances, checkpoint);
+        LOGGER.info("Migrated {} process instances in chunks of {} in {} ms", INSTANCES, ProcessInstances.DEFAULT_MIGRATION_CHUNK_SIZE,
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+
+        assertThat(migrated).isEqualTo(INSTANCES);
+        assertThat(count("migrated", "2")).isEqualTo(INSTANCES);
+        assertThat(count(process.id(), process.version())).isZero();
+        assertThat(process.instances().migrateAll("migrated", "2")).isZero();
+    }
+
+    private long resume(ProcessInstances<?> instances, String checkpoint) {
+        long migrated = 0;
+        int size;
+        do {
+            var chunk = instances.migrateChunk("migrated", "2", checkpoint, ProcessInstances.DEFAULT_MIGRATION_CHUNK_SIZE);
+            size = chunk.size();
+            if (size > 0) {
+                assertThat(chunk.get(0)).isGreaterThan(checkpoint);
+                checkpoint = chunk.get(size - 1);
+            }
+            migrated += size;
+        } while (size == ProcessInstances.DEFAULT_MIGRATION_CHUNK_SIZE);
+        return migrated;
+    }
+
+    private void insert(String processId, String processVersion, int instances) throws SQLException {
+        try (Connection connection = H2_DATA_SOURCE.getConnection();
+                PreparedStatement statement = connection.prepareStatement("INSERT INTO process_instances (id, payload, process_id, process_version, version) VALUES (?, ?, ?, ?, ?)")) {
+            connection.setAutoCommit(false);
+            byte[] payload = new byte[16];
+            for (int i = 1; i <= instances; i++) {
+                statement.setString(1, UUID.randomUUID().toString());
+                statement.setBytes(2, payload);
+                statement.setString(3, processId);
+                statement.setString(4, processVersion);
+                statement.setLong(5, 0L);
+                statement.addBatch();
+                if (i % INSERT_BATCH_SIZE == 0) {
+                    statement.executeBatch();
+                    connection.commit();
+                }
+            }
+            statement.executeBatch();
+            connection.commit();
+        }
+    }
+
+    private long count(String processId, String processVersion) throws SQLException {
+        try (Connection connection = H2_DATA_SOURCE.getConnection();
+                PreparedStatement statement = connection.prepareStatement(processVersion == null ? "SELECT COUNT(*) FROM process_instances WHERE process_id = ? and process_version is null"
+                        : "SELECT COUNT(*) FROM process_instances WHERE process_id = ? and process_version = ?")) {
+            statement.setString(1, processId);
+            if (processVersion != null) {
+                statement.setString(2, processVersion);
+            }
+            try (ResultSet resultSet = statement.executeQuery()) {
+                resultSet.next();
+                return resultSet.getLong(1);
+            }
+        }
+    }
+}
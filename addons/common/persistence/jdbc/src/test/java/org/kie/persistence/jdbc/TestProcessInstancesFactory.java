@@ -22,6 +22,7 @@ import javax.sql.DataSource;
 
 import org.kie.kogito.persistence.jdbc.AbstractProcessInstancesFactory;
 import org.kie.kogito.persistence.jdbc.JDBCProcessInstances;
+import org.kie.kogito.persistence.jdbc.TransactionContext;
 import org.kie.kogito.process.Process;
 
 import static org.mockito.Mockito.spy;
@@ -32,6 +33,14 @@ public class TestProcessInstancesFactory extends AbstractProcessInstancesFactory
         super(dataSource, lock);
     }
 
+    public TestProcessInstancesFactory(DataSource dataSource, boolean lock, boolean batch) {
+        super(dataSource, lock, batch);
+    }
+
+    public TestProcessInstancesFactory(DataSource dataSource, boolean lock, boolean batch, TransactionContext transactionContext) {
+        super(dataSource, lock, batch, transactionContext);
+    }
+
     @Override
     public JDBCProcessInstances createProcessInstances(Process<?> process) {
         return spy(super.createProcessInstances(process));
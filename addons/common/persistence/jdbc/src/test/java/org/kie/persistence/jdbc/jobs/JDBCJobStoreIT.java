@@ -0,0 +1,119 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.kie.persistence.jdbc.jobs;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.kie.flyway.initializer.KieFlywayInitializer;
+import org.kie.kogito.persistence.jdbc.jobs.JDBCJobStore;
+import org.kie.kogito.services.jobs.impl.StoredJob;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class JDBCJobStoreIT {
+
+    private static JdbcDataSource dataSource;
+    private static JDBCJobStore store;
+
+    @BeforeAll
+    public static void setUp() {
+        dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:kogito_jobs;DB_CLOSE_DELAY=-1");
+        dataSource.setUser("sa");
+        dataSource.setPassword("sa");
+        KieFlywayInitializer.builder()
+                .withDatasource(dataSource)
+                .build()
+                .migrate();
+        store = new JDBCJobStore(dataSource);
+    }
+
+    @BeforeEach
+    public void cleanUp() throws SQLException {
+        try (Connection connection = dataSource.getConnection(); Statement statement = connection.createStatement()) {
+            statement.executeUpdate("DELETE FROM job_instances");
+        }
+    }
+
+    @Test
+    void testSaveAndFindDue() {
+        StoredJob job = job("job1", 1000L, 500L, 3);
+        store.save(job);
+        store.save(job("job2", 5000L, null, 0));
+
+        assertThat(store.findDue(2000L, 1L, 10)).containsExactly(job);
+        assertThat(store.findDue(6000L, 1L, 10)).extracting(StoredJob::id).containsExactly("job1", "job2");
+        assertThat(store.findDue(6000L, 1L, 1)).extracting(StoredJob::id).containsExactly("job1");
+
+        StoredJob next = job.next(1000L);
+        store.save(next);
+        assertThat(store.findDue(2000L, 1L, 10)).usingRecursiveFieldByFieldElementComparatorIgnoringFields("version").containsExactly(next);
+        assertThat(store.findDue(2000L, 1L, 10)).extracting(StoredJob::version).containsExactly(1L);
+    }
+
+    @Test
+    void testClaim() {
+        store.save(job("job1", 1000L, null, 0));
+        store.save(job("job2", 1000L, null, 0));
+        store.save(job("job3", 5000L, null, 0));
+
+        List<StoredJob> claimed = store.claim(List.of("job1", "job2", "job3", "missing"), "replica1", 1000L, 2000L);
+        assertThat(claimed).extracting(StoredJob::id).containsExactlyInAnyOrder("job1", "job2");
+        // leased jobs are neither claimed by other replicas nor returned while the lease is valid
+        assertThat(store.claim(List.of("job1"), "replica2", 1500L, 2500L)).isEmpty();
+        assertThat(store.findDue(2000L, 1500L, 10)).isEmpty();
+        // once the lease expires the job can be claimed again
+        assertThat(store.claim(List.of("job1"), "replica2", 2001L, 3000L)).extracting(StoredJob::id).containsExactly("job1");
+    }
+
+    @Test
+    void testDelete() {
+        store.save(job("job1", 1000L, null, 0));
+        assertThat(store.delete("job1")).isTrue();
+        assertThat(store.delete("job1")).isFalse();
+        assertThat(store.findDue(Long.MAX_VALUE, 1L, 10)).isEmpty();
+    }
+
+    @Test
+    void testCompleteOnlyUnchangedJobs() {
+        store.save(job("job1", 1000L, 500L, 3));
+        StoredJob claimed = store.claim(List.of("job1"), "replica1", 1000L, 2000L).get(0);
+        StoredJob next = claimed.next(1000L);
+        assertThat(store.replace(claimed, next)).isTrue();
+        // the lease is released and the version incremented
+        StoredJob replaced = store.findDue(Long.MAX_VALUE, 1L, 10).get(0);
+        assertThat(replaced.fireTime()).isEqualTo(next.fireTime());
+        assertThat(replaced.version()).isEqualTo(claimed.version() + 1);
+        assertThat(store.replace(claimed, next)).isFalse();
+        assertThat(store.delete(claimed)).isFalse();
+        assertThat(store.delete(replaced)).isTrue();
+        assertThat(store.findDue(Long.MAX_VALUE, 1L, 10)).isEmpty();
+    }
+
+    private static StoredJob job(String id, long fireTime, Long repeatInterval, int repeatLimit) {
+        return new StoredJob(id, StoredJob.PROCESS_INSTANCE, fireTime, repeatInterval, repeatLimit, 5, "pi-" + id, null, "process", null, "node", "timer", null, 0L);
+    }
+}
@@ -30,17 +30,23 @@ public abstract class AbstractProcessInstancesFactory implements ProcessInstance
     private final String dbName;
     private final Boolean lock;
     private final AbstractTransactionManager transactionManager;
+    private final Boolean batch;
 
     public AbstractProcessInstancesFactory(MongoClient mongoClient, String dbName, Boolean lock, AbstractTransactionManager transactionManager) {
+        this(mongoClient, dbName, lock, transactionManager, false);
+    }
+
+    public AbstractProcessInstancesFactory(MongoClient mongoClient, String dbName, Boolean lock, AbstractTransactionManager transactionManager, Boolean batch) {
         this.mongoClient = mongoClient;
         this.dbName = dbName;
         this.lock = lock;
         this.transactionManager = transactionManager;
+        this.batch = batch;
     }
 
     @Override
     public MongoDBProcessInstances<?> createProcessInstances(Process<?> process) {
-        return new MongoDBProcessInstances<>(mongoClient, process, dbName, transactionManager, lock);
+        return new MongoDBProcessInstances<>(mongoClient, process, dbName, transactionManager, lock, Boolean.TRUE.equals(batch));
     }
 
 }
\ No newline at end of file
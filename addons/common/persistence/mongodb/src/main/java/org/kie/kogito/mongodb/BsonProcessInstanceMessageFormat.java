@@ -0,0 +1,408 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.kie.kogito.mongodb;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.text.ParseException;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.bson.BsonBinary;
+import org.bson.BsonBinaryReader;
+import org.bson.BsonBinaryWriter;
+import org.bson.BsonReader;
+import org.bson.BsonReaderMark;
+import org.bson.BsonType;
+import org.bson.BsonWriter;
+import org.bson.io.BasicOutputBuffer;
+import org.jbpm.flow.serialization.ProcessInstanceMessageFormat;
+
+import com.google.protobuf.Any;
+import com.google.protobuf.ByteString;
+import com.google.protobuf.Descriptors.Descriptor;
+import com.google.protobuf.Descriptors.EnumValueDescriptor;
+import com.google.protobuf.Descriptors.FieldDescriptor;
+import com.google.protobuf.DynamicMessage;
+import com.google.protobuf.InvalidProtocolBufferException;
+import com.google.protobuf.Message;
+import com.google.protobuf.MessageOrBuilder;
+import com.google.protobuf.Timestamp;
+import com.google.protobuf.TypeRegistry;
+import com.google.protobuf.util.Timestamps;
+
+import static org.jbpm.flow.serialization.protobuf.ProtobufTypeRegistryFactory.protobufTypeRegistryFactoryInstance;
+
+/**
+ * Writes the protobuf process instance message straight to BSON and reads it back, so process instances are
+ * stored without an intermediate json string. The document layout follows the protobuf json mapping (json field names,
+ * {@code @type} entries for {@link Any} values and a {@code value} entry for timestamps), so documents written from json
+ * by previous versions can still be read and queried, while numbers and bytes use their native BSON types.
+ * Unknown fields, like the document id and version added by the storage, are ignored when reading.
+ */
+public class BsonProcessInstanceMessageFormat implements ProcessInstanceMessageFormat {
+
+    private static final String TYPE = "@type";
+    private static final String VALUE = "value";
+
+    private final TypeRegistry typeRegistry;
+    private final Map<Descriptor, Map<String, FieldDescriptor>> fieldsByName = new ConcurrentHashMap<>();
+
+    public BsonProcessInstanceMessageFormat() {
+        this(protobufTypeRegistryFactoryInstance().create());
+    }
+
+    public BsonProcessInstanceMessageFormat(TypeRegistry typeRegistry) {
+        this.typeRegistry = typeRegistry;
+    }
+
+    @Override
+    public void write(Message message, OutputStream output) throws IOException {
+        output.write(toBson(message));
+    }
+
+    public byte[] toBson(MessageOrBuilder message) throws IOException {
+        try (BasicOutputBuffer buffer = new BasicOutputBuffer(); BsonBinaryWriter writer = new BsonBinaryWriter(buffer)) {
+            writeMessage(writer, message);
+            writer.flush();
+            return buffer.toByteArray();
+        }
+    }
+
+    @Override
+    public void merge(InputStream input, Message.Builder builder) throws IOException {
+        merge(input.readAllBytes(), builder);
+    }
+
+    public void merge(byte[] bson, Message.Builder builder) throws IOException {
+        try (BsonBinaryReader reader = new BsonBinaryReader(ByteBuffer.wrap(bson))) {
+            readMessage(reader, builder);
+        }
+    }
+
+    private void writeMessage(BsonWriter writer, MessageOrBuilder message) throws IOException {
+        if (isAny(message.getDescriptorForType())) {
+            writeAny(writer, message);
+            return;
+        }
+        writer.writeStartDocument();
+        writeFields(writer, message);
+        writer.writeEndDocument();
+    }
+
+    private void writeFields(BsonWriter writer, MessageOrBuilder message) throws IOException {
+        // only populated fields are returned, like the json printer does for proto3 messages
+        for (Map.Entry<FieldDescriptor, Object> entry : message.getAllFields().entrySet()) {
+            FieldDescriptor field = entry.getKey();
+            writer.writeName(field.getJsonName());
+            if (field.isMapField()) {
+                writeMap(writer, field, (List<?>) entry.getValue());
+            } else if (field.isRepeated()) {
+                writer.writeStartArray();
+                for (Object value : (List<?>) entry.getValue()) {
+                    writeValue(writer, field, value);
+                }
+                writer.writeEndArray();
+            } else {
+                writeValue(writer, field, entry.getValue());
+            }
+        }
+    }
+
+    private void writeMap(BsonWriter writer, FieldDescriptor field, List<?> entries) throws IOException {
+        FieldDescriptor keyField = field.getMessageType().findFieldByNumber(1);
+        FieldDescriptor valueField = field.getMessageType().findFieldByNumber(2);
+        writer.writeStartDocument();
+        for (Object item : entries) {
+            Message entry = (Message) item;
+            writer.writeName(String.valueOf(entry.getField(keyField)));
+            writeValue(writer, valueField, entry.getField(valueField));
+        }
+        writer.writeEndDocument();
+    }
+
+    private void writeValue(BsonWriter writer, FieldDescriptor field, Object value) throws IOException {
+        switch (field.getType()) {
+            case INT32:
+            case SINT32:
+            case SFIXED32:
+                writer.writeInt32((Integer) value);
+                break;
+            case UINT32:
+            case FIXED32:
+                writer.writeInt64(Integer.toUnsignedLong((Integer) value));
+                break;
+            case INT64:
+            case SINT64:
+            case SFIXED64:
+            case UINT64:
+            case FIXED64:
+                writer.writeInt64((Long) value);
+                break;
+            case FLOAT:
+                writer.writeDouble((Float) value);
+                break;
+            case DOUBLE:
+                writer.writeDouble((Double) value);
+                break;
+            case BOOL:
+                writer.writeBoolean((Boolean) value);
+                break;
+            case STRING:
+                writer.writeString((String) value);
+                break;
+            case BYTES:
+                writer.writeBinaryData(new BsonBinary(((ByteString) value).toByteArray()));
+                break;
+            case ENUM:
+                writer.writeString(((EnumValueDescriptor) value).getName());
+                break;
+            default:
+                writeMessage(writer, (MessageOrBuilder) value);
+        }
+    }
+
+    private void writeAny(BsonWriter writer, MessageOrBuilder any) throws IOException {
+        String typeUrl = (String) any.getField(any.getDescriptorForType().findFieldByNumber(Any.TYPE_URL_FIELD_NUMBER));
+        ByteString content = (ByteString) any.getField(any.getDescriptorForType().findFieldByNumber(Any.VALUE_FIELD_NUMBER));
+        writer.writeStartDocument();
+        if (!typeUrl.isEmpty()) {
+            Descriptor type = descriptor(typeUrl);
+            writer.writeString(TYPE, typeUrl);
+            if (isTimestamp(type)) {
+                writer.writeString(VALUE, Timestamps.toString(Timestamp.parseFrom(content)));
+            } else {
+                // packed fields are inlined next to the type, wrappers end up with their single value field
+                writeFields(writer, DynamicMessage.parseFrom(type, content));
+            }
+        }
+        writer.writeEndDocument();
+    }
+
+    private void readMessage(BsonReader reader, Message.Builder builder) throws IOException {
+        if (isAny(builder.getDescriptorForType())) {
+            readAny(reader, builder);
+            return;
+        }
+        reader.readStartDocument();
+        while (reader.readBsonType() != BsonType.END_OF_DOCUMENT) {
+            readField(reader, builder, reader.readName());
+        }
+        reader.readEndDocument();
+    }
+
+    private void readField(BsonReader reader, Message.Builder builder, String name) throws IOException {
+        FieldDescriptor field = fields(builder.getDescriptorForType()).get(name);
+        if (field == null || reader.getCurrentBsonType() == BsonType.NULL) {
+            reader.skipValue();
+        } else if (field.isMapField()) {
+            readMap(reader, builder, field);
+        } else if (field.isRepeated()) {
+            reader.readStartArray();
+            while (reader.readBsonType() != BsonType.END_OF_DOCUMENT) {
+                builder.addRepeatedField(field, readValue(reader, builder, field));
+            }
+            reader.readEndArray();
+        } else {
+            builder.setField(field, readValue(reader, builder, field));
+        }
+    }
+
+    private void readMap(BsonReader reader, Message.Builder builder, FieldDescriptor field) throws IOException {
+        FieldDescriptor keyField = field.getMessageType().findFieldByNumber(1);
+        FieldDescriptor valueField = field.getMessageType().findFieldByNumber(2);
+        reader.readStartDocument();
+        while (reader.readBsonType() != BsonType.END_OF_DOCUMENT) {
+            Message.Builder entry = builder.newBuilderForField(field);
+            entry.setField(keyField, mapKey(keyField, reader.readName()));
+            entry.setField(valueField, readValue(reader, entry, valueField));
+            builder.addRepeatedField(field, entry.build());
+        }
+        reader.readEndDocument();
+    }
+
+    private Object readValue(BsonReader reader, Message.Builder builder, FieldDescriptor field) throws IOException {
+        switch (field.getType()) {
+            case INT32:
+            case SINT32:
+            case SFIXED32:
+            case UINT32:
+            case FIXED32:
+                return (int) readLong(reader, field);
+            case INT64:
+            case SINT64:
+            case SFIXED64:
+            case UINT64:
+            case FIXED64:
+                return readLong(reader, field);
+            case FLOAT:
+                return (float) readDouble(reader);
+            case DOUBLE:
+                return readDouble(reader);
+            case BOOL:
+                return reader.getCurrentBsonType() == BsonType.STRING ? Boolean.parseBoolean(reader.readString()) : reader.readBoolean();
+            case STRING:
+                return reader.readString();
+            case BYTES:
+                // json documents hold bytes as base64 strings
+                return reader.getCurrentBsonType() == BsonType.STRING ? ByteString.copyFrom(Base64.getDecoder().decode(reader.readString()))
+                        : ByteString.copyFrom(reader.readBinaryData().getData());
+            case ENUM:
+                return reader.getCurrentBsonType() == BsonType.STRING ? field.getEnumType().findValueByName(reader.readString())
+                        : field.getEnumType().findValueByNumberCreatingIfUnknown((int) readLong(reader, field));
+            default:
+                Message.Builder nested = builder.newBuilderForField(field);
+                readMessage(reader, nested);
+                return nested.build();
+        }
+    }
+
+    private void readAny(BsonReader reader, Message.Builder any) throws IOException {
+        reader.readStartDocument();
+        // the type is written first, but the document is scanned for it in case it was reordered
+        BsonReaderMark mark = reader.getMark();
+        String typeUrl = null;
+        while (typeUrl == null && reader.readBsonType() != BsonType.END_OF_DOCUMENT) {
+            if (TYPE.equals(reader.readName())) {
+                typeUrl = reader.readString();
+            } else {
+                reader.skipValue();
+            }
+        }
+        mark.reset();
+        if (typeUrl == null) {
+            while (reader.readBsonType() != BsonType.END_OF_DOCUMENT) {
+                reader.skipName();
+                reader.skipValue();
+            }
+            reader.readEndDocument();
+            return;
+        }
+        Descriptor type = descriptor(typeUrl);
+        DynamicMessage.Builder content = DynamicMessage.newBuilder(type);
+        while (reader.readBsonType() != BsonType.END_OF_DOCUMENT) {
+            String name = reader.readName();
+            if (isTimestamp(type) && VALUE.equals(name)) {
+                content.mergeFrom(parseTimestamp(reader.readString()).toByteString());
+            } else {
+                readField(reader, content, name);
+            }
+        }
+        reader.readEndDocument();
+        any.setField(any.getDescriptorForType().findFieldByNumber(Any.TYPE_URL_FIELD_NUMBER), typeUrl);
+        any.setField(any.getDescriptorForType().findFieldByNumber(Any.VALUE_FIELD_NUMBER), content.build().toByteString());
+    }
+
+    private static long readLong(BsonReader reader, FieldDescriptor field) {
+        switch (reader.getCurrentBsonType()) {
+            case INT32:
+                return reader.readInt32();
+            case INT64:
+                return reader.readInt64();
+            case DOUBLE:
+                return (long) reader.readDouble();
+            case DECIMAL128:
+                return reader.readDecimal128().bigDecimalValue().longValue();
+            default:
+                // json documents hold 64 bit numbers as strings
+                return isUnsigned(field) ? Long.parseUnsignedLong(reader.readString()) : Long.parseLong(reader.readString());
+        }
+    }
+
+    private static double readDouble(BsonReader reader) {
+        switch (reader.getCurrentBsonType()) {
+            case INT32:
+                return reader.readInt32();
+            case INT64:
+                return reader.readInt64();
+            case DECIMAL128:
+                return reader.readDecimal128().bigDecimalValue().doubleValue();
+            case STRING:
+                return Double.parseDouble(reader.readString());
+            default:
+                return reader.readDouble();
+        }
+    }
+
+    private static Object mapKey(FieldDescriptor keyField, String key) {
+        switch (keyField.getJavaType()) {
+            case INT:
+                return isUnsigned(keyField) ? Integer.parseUnsignedInt(key) : Integer.parseInt(key);
+            case LONG:
+                return isUnsigned(keyField) ? Long.parseUnsignedLong(key) : Long.parseLong(key);
+            case BOOLEAN:
+                return Boolean.parseBoolean(key);
+            default:
+                return key;
+        }
+    }
+
+    private static Timestamp parseTimestamp(String value) throws InvalidProtocolBufferException {
+        try {
+            return Timestamps.parse(value);
+        } catch (ParseException e) {
+            throw new InvalidProtocolBufferException("Invalid timestamp " + value);
+        }
+    }
+
+    private Descriptor descriptor(String typeUrl) throws InvalidProtocolBufferException {
+        Descriptor type = typeRegistry.getDescriptorForTypeUrl(typeUrl);
+        if (type == null) {
+            throw new InvalidProtocolBufferException("Cannot find type for url: " + typeUrl);
+        }
+        return type;
+    }
+
+    private Map<String, FieldDescriptor> fields(Descriptor descriptor) {
+        return fieldsByName.computeIfAbsent(descriptor, d -> {
+            // like the json parser, both json and proto field names are accepted
+            Map<String, FieldDescriptor> fields = new HashMap<>();
+            for (FieldDescriptor field : d.getFields()) {
+                fields.put(field.getName(), field);
+                fields.put(field.getJsonName(), field);
+            }
+            return fields;
+        });
+    }
+
+    private static boolean isUnsigned(FieldDescriptor field) {
+        switch (field.getType()) {
+            case UINT32:
+            case FIXED32:
+            case UINT64:
+            case FIXED64:
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    private static boolean isAny(Descriptor descriptor) {
+        return Any.getDescriptor().getFullName().equals(descriptor.getFullName());
+    }
+
+    private static boolean isTimestamp(Descriptor descriptor) {
+        return Timestamp.getDescriptor().getFullName().equals(descriptor.getFullName());
+    }
+}
@@ -0,0 +1,122 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.kie.kogito.mongodb;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Process instance writes registered during a single unit of work and not yet sent to MongoDB.
+ * Successive writes of the same process instance are coalesced, so every document is written at most once
+ * by the bulk write, while the optimistic lock still checks the version the first write was based on.
+ */
+class BulkWriteBatch {
+
+    enum Operation {
+        INSERT,
+        UPDATE,
+        DELETE
+    }
+
+    static class Entry {
+        private final String id;
+        private final boolean lock;
+        private final long expectedVersion;
+        private Operation operation;
+        private byte[] payload;
+        private long updates;
+
+        Entry(Operation operation, String id, boolean lock, long expectedVersion) {
+            this.operation = operation;
+            this.id = id;
+            this.lock = lock;
+            this.expectedVersion = expectedVersion;
+        }
+
+        public Operation getOperation() {
+            return operation;
+        }
+
+        public String getId() {
+            return id;
+        }
+
+        public byte[] getPayload() {
+            return payload;
+        }
+
+        public boolean isLock() {
+            return lock;
+        }
+
+        public long getExpectedVersion() {
+            return expectedVersion;
+        }
+
+        /**
+         * Version the document will hold once the entry is written, mimicking one version increment per locked update.
+         */
+        public long getVersion() {
+            return operation == Operation.INSERT ? updates : expectedVersion + updates;
+        }
+    }
+
+    private final Map<String, Entry> entries = new LinkedHashMap<>();
+
+    void insert(String id, byte[] payload, boolean lock) {
+        Entry entry = new Entry(Operation.INSERT, id, lock, 0L);
+        entry.payload = payload;
+        entries.put(id, entry);
+    }
+
+    void update(String id, byte[] payload, boolean lock, long version) {
+        Entry entry = entries.get(id);
+        if (entry == null || entry.operation == Operation.DELETE) {
+            entry = new Entry(Operation.UPDATE, id, lock, version);
+            entries.put(id, entry);
+        }
+        entry.payload = payload;
+        if (lock) {
+            entry.updates++;
+        }
+    }
+
+    void delete(String id) {
+        Entry entry = entries.remove(id);
+        if (entry == null || entry.operation != Operation.INSERT) {
+            // the document exists (or might exist) in the collection, so it has to be removed there as well
+            entries.put(id, new Entry(Operation.DELETE, id, false, 0L));
+        }
+    }
+
+    Optional<Entry> pending(String id) {
+        Entry entry = entries.get(id);
+        return entry == null || entry.operation == Operation.DELETE ? Optional.empty() : Optional.of(entry);
+    }
+
+    Collection<Entry> entries() {
+        return entries.values();
+    }
+
+    boolean isEmpty() {
+        return entries.isEmpty();
+    }
+}
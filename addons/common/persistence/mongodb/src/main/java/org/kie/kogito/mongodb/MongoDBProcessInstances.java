@@ -18,14 +18,25 @@
  */
 package org.kie.kogito.mongodb;
 
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Spliterator;
 import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import java.util.stream.StreamSupport;
 
+import org.bson.BsonType;
+import org.bson.BsonValue;
+import org.bson.ByteBuf;
 import org.bson.Document;
+import org.bson.RawBsonDocument;
 import org.bson.codecs.configuration.CodecRegistries;
 import org.bson.codecs.configuration.CodecRegistry;
 import org.bson.conversions.Bson;
@@ -37,43 +48,82 @@ import org.kie.kogito.process.MutableProcessInstances;
 import org.kie.kogito.process.ProcessInstance;
 import org.kie.kogito.process.ProcessInstanceDuplicatedException;
 import org.kie.kogito.process.ProcessInstanceOptimisticLockingException;
+import org.kie.kogito.process.ProcessInstancePages;
+import org.kie.kogito.process.ProcessInstanceQuery;
 import org.kie.kogito.process.ProcessInstanceReadMode;
+import org.kie.kogito.process.impl.AbstractProcess;
 import org.kie.kogito.process.impl.AbstractProcessInstance;
+import org.kie.kogito.uow.UnitOfWorkManager;
+import org.kie.kogito.uow.WorkUnit;
 
+import com.mongodb.ErrorCategory;
+import com.mongodb.MongoBulkWriteException;
 import com.mongodb.MongoClientSettings;
+import com.mongodb.MongoWriteException;
+import com.mongodb.bulk.BulkWriteError;
 import com.mongodb.client.ClientSession;
+import com.mongodb.client.FindIterable;
 import com.mongodb.client.MongoClient;
 import com.mongodb.client.MongoCollection;
 import com.mongodb.client.MongoCursor;
 import com.mongodb.client.MongoDatabase;
+import com.mongodb.client.model.DeleteOneModel;
 import com.mongodb.client.model.Filters;
 import com.mongodb.client.model.IndexOptions;
 import com.mongodb.client.model.Indexes;
+import com.mongodb.client.model.InsertOneModel;
+import com.mongodb.client.model.ReplaceOneModel;
+import com.mongodb.client.model.ReplaceOptions;
+import com.mongodb.client.model.Sorts;
+import com.mongodb.client.model.WriteModel;
 import com.mongodb.client.result.UpdateResult;
 
 import static java.util.Collections.singletonMap;
+import static org.kie.kogito.mongodb.utils.DocumentConstants.PROCESS_INSTANCE_BUSINESS_KEY;
+import static org.kie.kogito.mongodb.utils.DocumentConstants.PROCESS_INSTANCE_BUSINESS_KEY_INDEX;
 import static org.kie.kogito.mongodb.utils.DocumentConstants.PROCESS_INSTANCE_ID;
 import static org.kie.kogito.mongodb.utils.DocumentConstants.PROCESS_INSTANCE_ID_INDEX;
+import static org.kie.kogito.mongodb.utils.DocumentConstants.PROCESS_INSTANCE_START_DATE;
+import static org.kie.kogito.mongodb.utils.DocumentConstants.PROCESS_INSTANCE_STATE;
+import static org.kie.kogito.mongodb.utils.DocumentConstants.PROCESS_INSTANCE_STATE_INDEX;
 
 public class MongoDBProcessInstances<T extends Model> implements MutableProcessInstances<T> {
 
     private static final String VERSION = "version";
+    private static final byte[] VERSION_NAME = (VERSION + '\0').getBytes(StandardCharsets.UTF_8);
     private org.kie.kogito.process.Process<?> process;
     private ProcessInstanceMarshallerService marshaller;
-    private final MongoCollection<Document> collection;
+    private final MongoClient mongoClient;
+    private final String dbName;
+    private final MongoCollection<RawBsonDocument> collection;
     private final AbstractTransactionManager transactionManager;
     private final boolean lock;
+    private final UnitOfWorkManager unitOfWorkManager;
+    // writes of the unit of work running on the current thread, flushed once all its work has been performed
+    private final ThreadLocal<BulkWriteBatch> pendingWrites = new ThreadLocal<>();
 
     public MongoDBProcessInstances(MongoClient mongoClient, org.kie.kogito.process.Process<?> process, String dbName, AbstractTransactionManager transactionManager, boolean lock) {
+        this(mongoClient, process, dbName, transactionManager, lock, false);
+    }
+
+    /**
+     * @param batch when enabled, creates, updates and removals performed while a unit of work ends
+     *        are sent together using a single bulk write
+     */
+    public MongoDBProcessInstances(MongoClient mongoClient, org.kie.kogito.process.Process<?> process, String dbName, AbstractTransactionManager transactionManager, boolean lock,
+            boolean batch) {
         this.process = process;
+        this.mongoClient = mongoClient;
+        this.dbName = dbName;
         this.collection = Objects.requireNonNull(getCollection(mongoClient, process.id(), dbName));
         this.marshaller = ProcessInstanceMarshallerService.newBuilder()
                 .withDefaultObjectMarshallerStrategies()
                 .withDefaultListeners()
-                .withContextEntries(singletonMap(MarshallerContextName.MARSHALLER_FORMAT, MarshallerContextName.MARSHALLER_FORMAT_JSON))
+                .withContextEntries(singletonMap(MarshallerContextName.MARSHALLER_MESSAGE_FORMAT, new BsonProcessInstanceMessageFormat()))
                 .build();
         this.transactionManager = Objects.requireNonNull(transactionManager);
         this.lock = lock;
+        this.unitOfWorkManager = batch && process instanceof AbstractProcess ? ((AbstractProcess<?>) process).getUnitOfWorkManager() : null;
     }
 
     @Override
@@ -84,13 +134,52 @@ public class MongoDBProcessInstances<T extends Model> implements MutableProcessI
     @Override
     public Stream<ProcessInstance<T>> stream(ProcessInstanceReadMode mode) {
         ClientSession clientSession = transactionManager.getClientSession();
-        MongoCursor<Document> docs = (clientSession == null ? collection.find() : collection.find(clientSession)).iterator();
+        MongoCursor<RawBsonDocument> docs = (clientSession == null ? collection.find() : collection.find(clientSession)).iterator();
         return StreamSupport.stream(Spliterators.spliteratorUnknownSize(docs, Spliterator.ORDERED), false).map(doc -> unmarshall(doc, mode)).onClose(docs::close);
     }
 
-    private ProcessInstance<T> unmarshall(Document document, ProcessInstanceReadMode mode) {
-        ProcessInstance<T> instance = (ProcessInstance<T>) marshaller.unmarshallProcessInstance(document.toJson().getBytes(), process, mode);
-        setVersion(instance, document.getLong(VERSION));
+    @Override
+    public Stream<ProcessInstance<T>> find(ProcessInstanceQuery query, ProcessInstanceReadMode mode) {
+        return ProcessInstancePages.fetch(query, (after, pageSize) -> findPage(query, after, pageSize, mode));
+    }
+
+    private List<ProcessInstance<T>> findPage(ProcessInstanceQuery query, String after, int pageSize, ProcessInstanceReadMode mode) {
+        List<Bson> filters = new ArrayList<>();
+        if (after != null) {
+            filters.add(Filters.gt(PROCESS_INSTANCE_ID, after));
+        }
+        if (query.getBusinessKey() != null) {
+            filters.add(Filters.eq(PROCESS_INSTANCE_BUSINESS_KEY, query.getBusinessKey()));
+        }
+        if (!query.getStatuses().isEmpty()) {
+            Bson statuses = Filters.in(PROCESS_INSTANCE_STATE, query.getStatuses());
+            // default values are not written in the document, so pending state is a missing field
+            filters.add(query.matchesStatus(ProcessInstance.STATE_PENDING) ? Filters.or(statuses, Filters.exists(PROCESS_INSTANCE_STATE, false)) : statuses);
+        }
+        if (query.hasStartDateRange()) {
+            // documents written by earlier versions hold the start date as a string, so it is converted before comparing
+            filters.add(Filters.exists(PROCESS_INSTANCE_START_DATE));
+            Document startDate = new Document("$toLong", "$" + PROCESS_INSTANCE_START_DATE);
+            if (query.getStartedFrom() != null) {
+                filters.add(Filters.expr(new Document("$gte", List.of(startDate, query.getStartedFrom().getTime()))));
+            }
+            if (query.getStartedTo() != null) {
+                filters.add(Filters.expr(new Document("$lt", List.of(startDate, query.getStartedTo().getTime()))));
+            }
+        }
+        Bson filter = filters.isEmpty() ? new Document() : Filters.and(filters);
+        ClientSession clientSession = transactionManager.getClientSession();
+        FindIterable<RawBsonDocument> docs = clientSession == null ? collection.find(filter) : collection.find(clientSession, filter);
+        List<ProcessInstance<T>> page = new ArrayList<>();
+        try (MongoCursor<RawBsonDocument> cursor = docs.sort(Sorts.ascending(PROCESS_INSTANCE_ID)).limit(pageSize).iterator()) {
+            cursor.forEachRemaining(doc -> page.add(unmarshall(doc, mode)));
+        }
+        return page;
+    }
+
+    private ProcessInstance<T> unmarshall(RawBsonDocument document, ProcessInstanceReadMode mode) {
+        ProcessInstance<T> instance = (ProcessInstance<T>) marshaller.unmarshallProcessInstance(toBytes(document), process, mode);
+        setVersion(instance, getVersion(document));
         return instance;
     }
 
@@ -108,34 +197,45 @@ public class MongoDBProcessInstances<T extends Model> implements MutableProcessI
     }
 
     protected void updateStorage(String id, ProcessInstance<T> instance, boolean checkDuplicates) {
+        byte[] payload = marshaller.marshallProcessInstance(instance);
+        if (unitOfWorkManager != null) {
+            writeBehind(checkDuplicates ? batch -> batch.insert(id, payload, lock) : batch -> batch.update(id, payload, lock, instance.version()));
+            return;
+        }
         ClientSession clientSession = transactionManager.getClientSession();
-        Document doc = Document.parse(new String(marshaller.marshallProcessInstance(instance)));
         if (checkDuplicates) {
-            createInternal(id, clientSession, doc);
+            createInternal(id, clientSession, payload);
         } else {
-            updateInternal(id, instance, clientSession, doc);
+            updateInternal(id, instance, clientSession, payload);
         }
     }
 
-    private void createInternal(String id, ClientSession clientSession, Document doc) {
-        if (exists(id)) {
-            throw new ProcessInstanceDuplicatedException(id);
-        } else {
-            doc.put(VERSION, 0L);
+    private void createInternal(String id, ClientSession clientSession, byte[] payload) {
+        RawBsonDocument doc = withVersion(payload, 0L);
+        try {
             if (clientSession != null) {
                 collection.insertOne(clientSession, doc);
             } else {
                 collection.insertOne(doc);
             }
+        } catch (MongoWriteException e) {
+            // the unique index on the process instance id rejects duplicates, saving a lookup before every insert
+            if (e.getError().getCategory() == ErrorCategory.DUPLICATE_KEY) {
+                throw new ProcessInstanceDuplicatedException(id);
+            }
+            throw e;
         }
     }
 
-    private void updateInternal(String id, ProcessInstance<T> instance, ClientSession clientSession, Document doc) {
+    private void updateInternal(String id, ProcessInstance<T> instance, ClientSession clientSession, byte[] payload) {
         Bson filters = Filters.eq(PROCESS_INSTANCE_ID, id);
+        RawBsonDocument doc;
         UpdateResult result;
         if (lock) {
-            doc.put(VERSION, instance.version() + 1);
+            doc = withVersion(payload, instance.version() + 1);
             filters = Filters.and(Filters.eq(PROCESS_INSTANCE_ID, id), Filters.eq(VERSION, instance.version()));
+        } else {
+            doc = new RawBsonDocument(payload);
         }
         if (clientSession != null) {
             result = collection.replaceOne(clientSession, filters, doc);
@@ -147,7 +247,75 @@ public class MongoDBProcessInstances<T extends Model> implements MutableProcessI
         }
     }
 
-    private Optional<Document> find(String id) {
+    private void writeBehind(Consumer<BulkWriteBatch> write) {
+        BulkWriteBatch batch = pendingWrites.get();
+        if (batch != null) {
+            write.accept(batch);
+            return;
+        }
+        BulkWriteBatch newBatch = new BulkWriteBatch();
+        write.accept(newBatch);
+        pendingWrites.set(newBatch);
+        // registered after the first write, a pass through unit of work flushes right away
+        unitOfWorkManager.currentUnitOfWork().intercept(WorkUnit.create(newBatch, this::flush, b -> pendingWrites.remove()));
+    }
+
+    private void flush(BulkWriteBatch batch) {
+        pendingWrites.remove();
+        if (batch.isEmpty()) {
+            return;
+        }
+        ClientSession clientSession = transactionManager.getClientSession();
+        // a replace not matching its expected version is not an error for a bulk write, and by the time the conflict is
+        // known the writes preceding it have been applied, so locked replaces are sent one by one before the rest of the batch
+        for (BulkWriteBatch.Entry entry : batch.entries()) {
+            if (entry.getOperation() == BulkWriteBatch.Operation.UPDATE && entry.isLock()) {
+                Bson filter = Filters.and(Filters.eq(PROCESS_INSTANCE_ID, entry.getId()), Filters.eq(VERSION, entry.getExpectedVersion()));
+                RawBsonDocument doc = withVersion(entry.getPayload(), entry.getVersion());
+                UpdateResult result = clientSession == null ? collection.replaceOne(filter, doc) : collection.replaceOne(clientSession, filter, doc);
+                if (result.getMatchedCount() == 0) {
+                    throw new ProcessInstanceOptimisticLockingException(entry.getId());
+                }
+            }
+        }
+        List<WriteModel<RawBsonDocument>> writes = new ArrayList<>();
+        List<BulkWriteBatch.Entry> entries = new ArrayList<>();
+        for (BulkWriteBatch.Entry entry : batch.entries()) {
+            switch (entry.getOperation()) {
+                case INSERT:
+                    writes.add(new InsertOneModel<>(withVersion(entry.getPayload(), entry.getVersion())));
+                    break;
+                case UPDATE:
+                    if (entry.isLock()) {
+                        continue;
+                    }
+                    writes.add(new ReplaceOneModel<>(Filters.eq(PROCESS_INSTANCE_ID, entry.getId()), new RawBsonDocument(entry.getPayload())));
+                    break;
+                default:
+                    writes.add(new DeleteOneModel<>(Filters.eq(PROCESS_INSTANCE_ID, entry.getId())));
+            }
+            entries.add(entry);
+        }
+        if (writes.isEmpty()) {
+            return;
+        }
+        try {
+            if (clientSession == null) {
+                collection.bulkWrite(writes);
+            } else {
+                collection.bulkWrite(clientSession, writes);
+            }
+        } catch (MongoBulkWriteException e) {
+            for (BulkWriteError error : e.getWriteErrors()) {
+                if (error.getCategory() == ErrorCategory.DUPLICATE_KEY) {
+                    throw new ProcessInstanceDuplicatedException(entries.get(error.getIndex()).getId());
+                }
+            }
+            throw e;
+        }
+    }
+
+    private Optional<RawBsonDocument> find(String id) {
         ClientSession clientSession = transactionManager.getClientSession();
         return Optional.ofNullable((clientSession != null ? collection.find(clientSession, Filters.eq(PROCESS_INSTANCE_ID, id)) : collection.find(Filters.eq(PROCESS_INSTANCE_ID, id))).first());
     }
@@ -159,6 +327,10 @@ public class MongoDBProcessInstances<T extends Model> implements MutableProcessI
 
     @Override
     public void remove(String id) {
+        if (unitOfWorkManager != null) {
+            writeBehind(batch -> batch.delete(id));
+            return;
+        }
         ClientSession clientSession = transactionManager.getClientSession();
         if (clientSession != null) {
             collection.deleteOne(clientSession, Filters.eq(PROCESS_INSTANCE_ID, id));
@@ -167,33 +339,117 @@ public class MongoDBProcessInstances<T extends Model> implements MutableProcessI
         }
     }
 
+    @Override
+    public boolean supportsMigration() {
+        return true;
+    }
+
+    @Override
+    public void migrateProcessInstances(String targetProcessId, String targetProcessVersion, String... processIds) {
+        move(targetProcessId, Filters.in(PROCESS_INSTANCE_ID, processIds), processIds.length);
+    }
+
+    @Override
+    public List<String> migrateChunk(String targetProcessId, String targetProcessVersion, String after, int chunkSize) {
+        return move(targetProcessId, after == null ? new Document() : Filters.gt(PROCESS_INSTANCE_ID, after), chunkSize);
+    }
+
+    /**
+     * Moves, ordered by id, at most limit documents matching the filter to the collection of the target process.
+     * Collections are per process id, so migrating to another version of the same process leaves the documents in place.
+     * Documents are upserted into the target before being removed from this collection, so a chunk interrupted in between
+     * is moved again without duplicates when the migration is resumed.
+     */
+    private List<String> move(String targetProcessId, Bson filter, int limit) {
+        ClientSession clientSession = transactionManager.getClientSession();
+        List<RawBsonDocument> docs = new ArrayList<>(limit);
+        (clientSession == null ? collection.find(filter) : collection.find(clientSession, filter)).sort(Sorts.ascending(PROCESS_INSTANCE_ID)).limit(limit).into(docs);
+        List<String> ids = docs.stream().map(doc -> doc.getString(PROCESS_INSTANCE_ID).getValue()).collect(Collectors.toList());
+        if (docs.isEmpty() || targetProcessId.equals(process.id())) {
+            return ids;
+        }
+        MongoCollection<RawBsonDocument> target = getCollection(mongoClient, targetProcessId, dbName);
+        List<WriteModel<RawBsonDocument>> writes = docs.stream()
+                .map(doc -> new ReplaceOneModel<>(Filters.eq(PROCESS_INSTANCE_ID, doc.getString(PROCESS_INSTANCE_ID).getValue()), doc, new ReplaceOptions().upsert(true)))
+                .collect(Collectors.toList());
+        Bson moved = Filters.in(PROCESS_INSTANCE_ID, ids);
+        if (clientSession == null) {
+            target.bulkWrite(writes);
+            collection.deleteMany(moved);
+        } else {
+            target.bulkWrite(clientSession, writes);
+            collection.deleteMany(clientSession, moved);
+        }
+        return ids;
+    }
+
     private void reloadProcessInstance(ProcessInstance<T> instance, String id) {
-        ((AbstractProcessInstance<?>) instance).internalRemoveProcessInstance(marshaller.createdReloadFunction(() -> find(id).map(reloaded -> {
-            setVersion(instance, reloaded.getLong(VERSION));
-            return reloaded.toJson().getBytes();
-        }).orElseThrow(() -> new IllegalArgumentException("process instance id " + id + " does not exists in mongodb"))));
+        ((AbstractProcessInstance<?>) instance).internalRemoveProcessInstance(marshaller.createdReloadFunction(() -> {
+            BulkWriteBatch batch = pendingWrites.get();
+            Optional<BulkWriteBatch.Entry> pending = batch == null ? Optional.empty() : batch.pending(id);
+            if (pending.isPresent()) {
+                setVersion(instance, pending.get().getVersion());
+                return pending.get().getPayload();
+            }
+            return find(id).map(reloaded -> {
+                setVersion(instance, getVersion(reloaded));
+                return toBytes(reloaded);
+            }).orElseThrow(() -> new IllegalArgumentException("process instance id " + id + " does not exists in mongodb"));
+        }));
     }
 
     private static void setVersion(ProcessInstance<?> instance, Long version) {
         ((AbstractProcessInstance<?>) instance).setVersion(version == null ? 0L : version);
     }
 
+    private static Long getVersion(RawBsonDocument document) {
+        BsonValue version = document.get(VERSION);
+        return version != null && version.isNumber() ? version.asNumber().longValue() : null;
+    }
+
+    private static byte[] toBytes(RawBsonDocument document) {
+        ByteBuf buffer = document.getByteBuffer();
+        byte[] bytes = new byte[buffer.remaining()];
+        buffer.get(bytes);
+        return bytes;
+    }
+
+    /**
+     * Appends the version as the last element of the marshalled document, so it does not need to be parsed again.
+     */
+    private static RawBsonDocument withVersion(byte[] document, long version) {
+        int size = document.length + 1 + VERSION_NAME.length + Long.BYTES;
+        ByteBuffer buffer = ByteBuffer.allocate(size).order(ByteOrder.LITTLE_ENDIAN);
+        buffer.putInt(size);
+        // elements of the original document, without its size and trailing terminator
+        buffer.put(document, Integer.BYTES, document.length - Integer.BYTES - 1);
+        buffer.put(BsonType.INT64.getValue());
+        buffer.put(VERSION_NAME);
+        buffer.putLong(version);
+        buffer.put((byte) 0);
+        return new RawBsonDocument(buffer.array());
+    }
+
     @Override
     public boolean lock() {
         return this.lock;
     }
 
     protected MongoCollection<Document> getCollection() {
-        return collection;
+        return collection.withDocumentClass(Document.class);
     }
 
-    private MongoCollection<Document> getCollection(MongoClient mongoClient, String processId, String dbName) {
+    private MongoCollection<RawBsonDocument> getCollection(MongoClient mongoClient, String processId, String dbName) {
         CodecRegistry registry = CodecRegistries.fromRegistries(MongoClientSettings.getDefaultCodecRegistry());
         MongoDatabase mongoDatabase = mongoClient.getDatabase(dbName).withCodecRegistry(registry);
-        MongoCollection<Document> collection = mongoDatabase.getCollection(processId, Document.class).withCodecRegistry(registry);
+        MongoCollection<RawBsonDocument> collection = mongoDatabase.getCollection(processId, RawBsonDocument.class).withCodecRegistry(registry);
         //Index creation (if the index already exists it is a no-op)
         collection.createIndex(Indexes.ascending(PROCESS_INSTANCE_ID),
                 new IndexOptions().unique(true).name(PROCESS_INSTANCE_ID_INDEX).background(true));
+        collection.createIndex(Indexes.ascending(PROCESS_INSTANCE_STATE, PROCESS_INSTANCE_ID),
+                new IndexOptions().name(PROCESS_INSTANCE_STATE_INDEX).background(true));
+        collection.createIndex(Indexes.ascending(PROCESS_INSTANCE_BUSINESS_KEY),
+                new IndexOptions().name(PROCESS_INSTANCE_BUSINESS_KEY_INDEX).background(true));
         return collection;
     }
 }
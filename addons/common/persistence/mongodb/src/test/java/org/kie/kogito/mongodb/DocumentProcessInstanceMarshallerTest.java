@@ -22,27 +22,43 @@ import java.io.IOException;
 import java.net.URISyntaxException;
 import java.util.Collections;
 
+import org.bson.BsonDocument;
+import org.bson.BsonString;
+import org.bson.ByteBuf;
 import org.bson.Document;
+import org.bson.RawBsonDocument;
+import org.bson.codecs.DocumentCodec;
 import org.drools.io.ClassPathResource;
 import org.jbpm.flow.serialization.MarshallerContextName;
 import org.jbpm.flow.serialization.ProcessInstanceMarshallerService;
+import org.jbpm.flow.serialization.protobuf.KogitoProcessInstanceProtobuf;
+import org.jbpm.flow.serialization.protobuf.KogitoTypesProtobuf;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
 import org.kie.kogito.process.ProcessInstance;
 import org.kie.kogito.process.bpmn2.BpmnProcess;
 import org.kie.kogito.process.bpmn2.BpmnVariables;
 
+import com.google.protobuf.Any;
+import com.google.protobuf.Timestamp;
+
 import static java.util.Collections.singletonMap;
 import static org.assertj.core.api.Assertions.assertThat;
 
 class DocumentProcessInstanceMarshallerTest {
 
+    BsonProcessInstanceMessageFormat format = new BsonProcessInstanceMessageFormat();
+
     ProcessInstanceMarshallerService marshaller =
+            ProcessInstanceMarshallerService.newBuilder().withDefaultObjectMarshallerStrategies()
+                    .withContextEntries(singletonMap(MarshallerContextName.MARSHALLER_MESSAGE_FORMAT, format)).build();
+
+    ProcessInstanceMarshallerService jsonMarshaller =
             ProcessInstanceMarshallerService.newBuilder().withDefaultObjectMarshallerStrategies()
                     .withContextEntries(singletonMap(MarshallerContextName.MARSHALLER_FORMAT, MarshallerContextName.MARSHALLER_FORMAT_JSON)).build();
 
     static BpmnProcess process;
-    static Document doc;
+    static RawBsonDocument doc;
 
     @BeforeAll
     static void setup() throws URISyntaxException, IOException {
@@ -55,21 +71,23 @@ class DocumentProcessInstanceMarshallerTest {
     void testMarshalProcessInstance() {
         ProcessInstance<BpmnVariables> processInstance = process.createInstance(BpmnVariables.create(singletonMap("test", "testValue")));
         processInstance.start();
-        doc = Document.parse(new String(marshaller.marshallProcessInstance(processInstance)));
+        doc = new RawBsonDocument(marshaller.marshallProcessInstance(processInstance));
         assertThat(doc).as("Marshalled value should not be null").isNotNull()
-                .containsEntry("id", processInstance.id())
-                .containsEntry("description", processInstance.description());
-        assertThat(doc.get("context", Document.class).getList("variable", Document.class)).hasSize(1);
-        assertThat(doc.get("context", Document.class).getList("variable", Document.class).get(0)).containsEntry("name", "test");
-        assertThat(doc.get("context", Document.class).getList("variable", Document.class).get(0).get("value", Document.class)).containsEntry("value", "testValue");
+                .containsEntry("id", new BsonString(processInstance.id()))
+                .containsEntry("description", new BsonString(processInstance.description()));
+        assertThat(doc.getDocument("context").getArray("variable")).hasSize(1);
+        BsonDocument variable = doc.getDocument("context").getArray("variable").get(0).asDocument();
+        assertThat(variable).containsEntry("name", new BsonString("test"));
+        assertThat(variable.getDocument("value")).containsEntry("value", new BsonString("testValue"));
+        assertThat(doc.get("startDate").isInt64()).isTrue();
     }
 
     @Test
     void testUnmarshalProcessInstance() {
-        ProcessInstance<BpmnVariables> processInstance = (ProcessInstance<BpmnVariables>) marshaller.unmarshallProcessInstance(doc.toJson().getBytes(), process);
+        ProcessInstance<BpmnVariables> processInstance = (ProcessInstance<BpmnVariables>) marshaller.unmarshallProcessInstance(toBytes(doc), process);
         assertThat(processInstance).as("Unmarshalled value should not be null").isNotNull();
-        assertThat(processInstance.id()).isEqualTo(doc.get("id"));
-        assertThat(processInstance.description()).isEqualTo(doc.get("description"))
+        assertThat(processInstance.id()).isEqualTo(doc.getString("id").getValue());
+        assertThat(processInstance.description()).isEqualTo(doc.getString("description").getValue())
                 .isEqualTo("User Task");
         BpmnVariables variables = processInstance.variables();
         String testVar = (String) variables.get("test");
@@ -80,11 +98,53 @@ class DocumentProcessInstanceMarshallerTest {
     void testProcessInstanceReadOnly() {
         ProcessInstance<BpmnVariables> processInstance = process.createInstance(BpmnVariables.create(Collections.singletonMap("test", "testValue")));
         processInstance.start();
-        doc = Document.parse(new String(marshaller.marshallProcessInstance(processInstance)));
-        ProcessInstance<BpmnVariables> processInstanceReadOnly = (ProcessInstance<BpmnVariables>) marshaller.unmarshallProcessInstance(doc.toJson().getBytes(), process);
+        byte[] data = marshaller.marshallProcessInstance(processInstance);
+        ProcessInstance<BpmnVariables> processInstanceReadOnly = (ProcessInstance<BpmnVariables>) marshaller.unmarshallProcessInstance(data, process);
         assertThat(processInstanceReadOnly).as("Unmarshalled value should not be null").isNotNull();
-        ProcessInstance<BpmnVariables> pi = (ProcessInstance<BpmnVariables>) marshaller.unmarshallReadOnlyProcessInstance(doc.toJson().getBytes(), process);
+        ProcessInstance<BpmnVariables> pi = (ProcessInstance<BpmnVariables>) marshaller.unmarshallReadOnlyProcessInstance(data, process);
         assertThat(pi).as("Unmarshalled value should not be null").isNotNull();
     }
 
+    @Test
+    void testUnmarshalJsonDocument() {
+        ProcessInstance<BpmnVariables> processInstance = process.createInstance(BpmnVariables.create(Collections.singletonMap("test", "testValue")));
+        processInstance.start();
+        // documents stored by previous versions were parsed from the json format
+        Document json = Document.parse(new String(jsonMarshaller.marshallProcessInstance(processInstance)));
+        json.put("version", 3L);
+        RawBsonDocument legacy = new RawBsonDocument(json, new DocumentCodec());
+
+        ProcessInstance<BpmnVariables> unmarshalled = (ProcessInstance<BpmnVariables>) marshaller.unmarshallProcessInstance(toBytes(legacy), process);
+        assertThat(unmarshalled.id()).isEqualTo(processInstance.id());
+        assertThat(unmarshalled.startDate()).isEqualTo(processInstance.startDate());
+        assertThat(unmarshalled.variables().get("test")).isEqualTo("testValue");
+    }
+
+    @Test
+    void testRoundTripMessage() throws IOException {
+        KogitoProcessInstanceProtobuf.ProcessInstance message = KogitoProcessInstanceProtobuf.ProcessInstance.newBuilder()
+                .setId("id")
+                .setProcessId("processId")
+                .setState(ProcessInstance.STATE_ACTIVE)
+                .setStartDate(Long.MAX_VALUE)
+                .setSignalCompletion(true)
+                .addCompletedNodeIds("node")
+                .setContext(KogitoTypesProtobuf.WorkflowContext.newBuilder()
+                        .addVariable(KogitoTypesProtobuf.Variable.newBuilder()
+                                .setName("date")
+                                .setValue(Any.pack(Timestamp.newBuilder().setSeconds(1700000000L).setNanos(5000).build()))))
+                .build();
+
+        KogitoProcessInstanceProtobuf.ProcessInstance.Builder builder = KogitoProcessInstanceProtobuf.ProcessInstance.newBuilder();
+        format.merge(format.toBson(message), builder);
+        assertThat(builder.build()).isEqualTo(message);
+    }
+
+    private static byte[] toBytes(RawBsonDocument document) {
+        ByteBuf buffer = document.getByteBuffer();
+        byte[] bytes = new byte[buffer.remaining()];
+        buffer.get(bytes);
+        return bytes;
+    }
+
 }
@@ -23,6 +23,7 @@ import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.stream.Collectors;
 import java.util.stream.StreamSupport;
 
 import org.bson.Document;
@@ -182,8 +183,8 @@ class MongoDBProcessInstancesIT {
         assertThat(mongoDBProcessInstances.getCollection()).isNotNull();
         assertThat(StreamSupport.stream(mongoDBProcessInstances.getCollection().listIndexes().spliterator(), false)
                 .map(Document.class::cast)
-                .filter(index -> ((Document) index).get("name").equals(DocumentConstants.PROCESS_INSTANCE_ID_INDEX))
-                .findFirst()).isPresent();
+                .map(index -> ((Document) index).get("name")))
+                .contains(DocumentConstants.PROCESS_INSTANCE_ID_INDEX, DocumentConstants.PROCESS_INSTANCE_STATE_INDEX, DocumentConstants.PROCESS_INSTANCE_BUSINESS_KEY_INDEX);
     }
 
     @Test
@@ -284,6 +285,36 @@ class MongoDBProcessInstancesIT {
         assertEmpty(instances);
     }
 
+    @Test
+    void testMigrateChunk() {
+        AbstractTransactionManager transactionManager = new AbstractTransactionManager(mongoClient, false) {
+        };
+        StaticProcessConfig config = new StaticProcessConfig();
+        ((DefaultWorkItemHandlerConfig) config.workItemHandlers()).register("Human Task", new DefaultKogitoWorkItemHandler());
+        BpmnProcess process = BpmnProcess.from(config, new ClassPathResource("BPMN2-UserTask.bpmn2")).get(0);
+        process.setProcessInstancesFactory(new MongoDBProcessInstancesFactory(mongoClient, transactionManager));
+        process.configure();
+        BpmnProcess target = BpmnProcess.from(config, new ClassPathResource("BPMN2-UserTask-Script.bpmn2")).get(0);
+        target.setProcessInstancesFactory(new MongoDBProcessInstancesFactory(mongoClient, transactionManager));
+        target.configure();
+        for (int i = 0; i < 3; i++) {
+            process.createInstance(BpmnVariables.create(Collections.singletonMap("test", "test"))).start();
+        }
+        ProcessInstances<BpmnVariables> instances = process.instances();
+        List<String> ids = instances.stream().map(ProcessInstance::id).sorted().collect(Collectors.toList());
+
+        assertThat(instances.migrateChunk(target.id(), target.version(), null, 2)).containsExactlyElementsOf(ids.subList(0, 2));
+        assertThat(instances.migrateChunk(target.id(), target.version(), ids.get(1), 2)).containsExactly(ids.get(2));
+        assertThat(instances.migrateChunk(target.id(), target.version(), ids.get(2), 2)).isEmpty();
+
+        assertEmpty(instances);
+        MongoDBProcessInstances<?> targetInstances = (MongoDBProcessInstances<?>) target.instances();
+        for (String id : ids) {
+            assertThat(targetInstances.exists(id)).isTrue();
+            targetInstances.remove(id);
+        }
+    }
+
     private class MongoDBProcessInstancesFactory extends AbstractProcessInstancesFactory {
 
         public MongoDBProcessInstancesFactory(MongoClient mongoClient, AbstractTransactionManager transactionManager) {
@@ -22,7 +22,7 @@ import java.util.Collections;
 import java.util.Date;
 import java.util.Optional;
 
-import org.bson.Document;
+import org.bson.RawBsonDocument;
 import org.bson.conversions.Bson;
 import org.drools.io.ClassPathResource;
 import org.jbpm.workflow.instance.WorkflowProcessInstance;
@@ -108,15 +108,15 @@ class PersistentProcessInstancesIT extends TestHelper {
 
         MongoClient mongoClient = mock(MongoClient.class);
         MongoDatabase mongoDatabase = mock(MongoDatabase.class);
-        MongoCollection<Document> mongoCollection = mock(MongoCollection.class);
+        MongoCollection<RawBsonDocument> mongoCollection = mock(MongoCollection.class);
         when(mongoClient.getDatabase(anyString())).thenReturn(mongoDatabase);
         when(mongoDatabase.withCodecRegistry(any())).thenReturn(mongoDatabase);
-        when(mongoDatabase.getCollection(anyString(), eq(Document.class))).thenReturn(mongoCollection);
+        when(mongoDatabase.getCollection(anyString(), eq(RawBsonDocument.class))).thenReturn(mongoCollection);
         when(mongoCollection.withCodecRegistry(any())).thenReturn(mongoCollection);
 
-        MongoCursor<Document> cursor = mock(MongoCursor.class);
+        MongoCursor<RawBsonDocument> cursor = mock(MongoCursor.class);
         when(cursor.hasNext()).thenReturn(false);
-        FindIterable<Document> results = mock(FindIterable.class);
+        FindIterable<RawBsonDocument> results = mock(FindIterable.class);
         when(results.first()).thenReturn(null);
         when(results.iterator()).thenReturn(cursor);
         when(mongoCollection.find(eq(clientSession), any(Bson.class))).thenReturn(results);
@@ -24,14 +24,17 @@ import java.util.Optional;
 import org.drools.io.ClassPathResource;
 import org.junit.jupiter.api.Test;
 import org.kie.kogito.process.ProcessInstance;
+import org.kie.kogito.process.ProcessInstanceOptimisticLockingException;
 import org.kie.kogito.process.bpmn2.BpmnProcess;
 import org.kie.kogito.process.bpmn2.BpmnProcessInstance;
 import org.kie.kogito.process.bpmn2.BpmnVariables;
 import org.kie.kogito.process.impl.DefaultWorkItemHandlerConfig;
 import org.kie.kogito.process.impl.StaticProcessConfig;
 import org.kie.kogito.process.workitems.impl.DefaultKogitoWorkItemHandler;
+import org.kie.kogito.uow.UnitOfWork;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
 import static org.assertj.core.api.Assertions.fail;
 import static org.kie.kogito.test.utils.ProcessInstancesTestUtils.assertEmpty;
 import static org.kie.kogito.test.utils.ProcessInstancesTestUtils.assertOne;
@@ -105,6 +108,37 @@ class PersistentProcessInstancesWithLockIT extends TestHelper {
         }
     }
 
+    @Test
+    public void testBatchedUpdateConflict() {
+        MongoDBProcessInstancesFactory factory = new MongoDBProcessInstancesFactory();
+
+        BpmnProcess process = createProcess(factory);
+        ProcessInstance<BpmnVariables> processInstance = process.createInstance(BpmnVariables.create(Collections.singletonMap("test", "test")));
+        processInstance.start();
+        ProcessInstance<BpmnVariables> other = process.createInstance(BpmnVariables.create(Collections.singletonMap("test", "test")));
+        other.start();
+
+        MongoDBProcessInstances<BpmnVariables> processInstances = new MongoDBProcessInstances<>(getMongoClient(), process, DB_NAME, getDisabledMongoDBTransactionManager(), true, true);
+        BpmnProcessInstance stale = (BpmnProcessInstance) processInstances.findById(processInstance.id()).get();
+        // another request moves the instance from version 1 to 2, the version the stale update would write
+        ((BpmnProcessInstance) processInstances.findById(processInstance.id()).get()).updateVariables(BpmnVariables.create(Collections.singletonMap("s", "test")));
+
+        UnitOfWork uow = process.getUnitOfWorkManager().newUnitOfWork();
+        uow.start();
+        processInstances.remove(other.id());
+        processInstances.update(stale.id(), stale);
+        assertThatExceptionOfType(ProcessInstanceOptimisticLockingException.class).isThrownBy(uow::end);
+        uow.abort();
+
+        // the conflict is found before any other write of the batch is applied
+        assertThat(processInstances.exists(other.id())).isTrue();
+        assertThat(processInstances.findById(processInstance.id()).get().version()).isEqualTo(2L);
+
+        processInstances.remove(processInstance.id());
+        processInstances.remove(other.id());
+        assertEmpty(processInstances);
+    }
+
     private class MongoDBProcessInstancesFactory extends AbstractProcessInstancesFactory {
 
         public MongoDBProcessInstancesFactory() {
@@ -20,32 +20,39 @@ package org.kie.kogito.persistence.postgresql;
 
 import java.util.Arrays;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import java.util.stream.StreamSupport;
 
+import org.jbpm.flow.serialization.ProcessInstanceHeader;
 import org.jbpm.flow.serialization.ProcessInstanceMarshallerService;
 import org.kie.kogito.process.MutableProcessInstances;
 import org.kie.kogito.process.Process;
 import org.kie.kogito.process.ProcessInstance;
 import org.kie.kogito.process.ProcessInstanceOptimisticLockingException;
+import org.kie.kogito.process.ProcessInstancePages;
+import org.kie.kogito.process.ProcessInstanceQuery;
 import org.kie.kogito.process.ProcessInstanceReadMode;
+import org.kie.kogito.process.ReactiveProcessInstances;
 import org.kie.kogito.process.impl.AbstractProcessInstance;
 
-import io.vertx.core.Future;
 import io.vertx.core.buffer.Buffer;
 import io.vertx.pgclient.PgPool;
-import io.vertx.sqlclient.PreparedQuery;
 import io.vertx.sqlclient.Row;
 import io.vertx.sqlclient.RowSet;
 import io.vertx.sqlclient.Tuple;
 
 @SuppressWarnings({ "rawtypes" })
-public class PostgresqlProcessInstances implements MutableProcessInstances {
+public class PostgresqlProcessInstances implements MutableProcessInstances, ReactiveProcessInstances {
 
+    private static final String ID = "id";
     private static final String VERSION = "version";
     private static final String PAYLOAD = "payload";
 
@@ -55,8 +62,11 @@ public class PostgresqlProcessInstances implements MutableProcessInstances {
     private static final String DELETE = "DELETE FROM process_instances WHERE process_id = $1 and id = $2 and process_version ";
     private static final String FIND_BY_ID = "SELECT payload, version FROM process_instances WHERE process_id = $1 and id = $2 and process_version ";
     private static final String FIND_ALL = "SELECT payload, version FROM process_instances WHERE process_id = $1 and process_version ";
+    private static final String FIND_PAGE = "SELECT id, payload, version FROM process_instances WHERE process_id = $1 and id > $2 and process_version ";
+    private static final String ORDER_BY_ID_LIMIT = " ORDER BY id LIMIT $3";
     private static final String UPDATE_WITH_LOCK = "UPDATE process_instances SET payload = $1, version = $2 WHERE process_id = $3 and id = $4 and version = $5 and process_version ";
-    private static final String MIGRATE_BULK = "UPDATE process_instances SET process_id = $1, process_version = $2 WHERE process_id = $3 and process_version ";
+    private static final String MIGRATE_CHUNK = "WITH chunk AS (SELECT id FROM process_instances WHERE process_id = $3 and id > $4 and process_version ";
+    private static final String MIGRATE_CHUNK_UPDATE = " ORDER BY id LIMIT $5 FOR UPDATE) UPDATE process_instances p SET process_id = $1, process_version = $2 FROM chunk WHERE p.id = chunk.id RETURNING p.id";
     private static final String MIGRATE_INSTANCE = "UPDATE process_instances SET process_id = $1, process_version = $2 WHERE process_id = $3 and id = ANY ($4) and process_version ";
 
     private final Process<?> process;
@@ -75,17 +85,13 @@ public class PostgresqlProcessInstances implements MutableProcessInstances {
 
     @Override
     public boolean exists(String id) {
-        return findById(id).isPresent();
+        return await(existsAsync(id), "Error finding process instance %s", id);
     }
 
     @SuppressWarnings("unchecked")
     @Override
     public void create(String id, ProcessInstance instance) {
-        if (!isActive(instance)) {
-            disconnect(instance);
-            return;
-        }
-        insertInternal(id, marshaller.marshallProcessInstance(instance));
+        await(createAsync(id, instance), "Error inserting process instance %s", id);
     }
 
     @SuppressWarnings("unchecked")
@@ -96,11 +102,7 @@ public class PostgresqlProcessInstances implements MutableProcessInstances {
             return;
         }
         try {
-            if (lock) {
-                updateWithLock(id, marshaller.marshallProcessInstance(instance), instance.version());
-            } else {
-                updateInternal(id, marshaller.marshallProcessInstance(instance));
-            }
+            await(write(id, instance), "Error updating process instance %s", id);
         } finally {
             disconnect(instance);
         }
@@ -108,29 +110,78 @@ public class PostgresqlProcessInstances implements MutableProcessInstances {
 
     @Override
     public void remove(String id) {
-        deleteInternal(id);
+        await(removeAsync(id), "Error deleting process instance %s", id);
     }
 
     @Override
     public Optional<ProcessInstance> findById(String id, ProcessInstanceReadMode mode) {
-        return findByIdInternal(id).map(r -> unmarshall(r, mode));
+        return await(findByIdAsync(id, mode), "Error finding process instance %s", id);
     }
 
     @Override
-    public Stream<ProcessInstance> stream(ProcessInstanceReadMode mode) {
-        try {
-            return getResultFromFuture(client.preparedQuery(FIND_ALL + (process.version() == null ? IS_NULL : "= $2")).execute(tuple(process.id())))
-                    .map(r -> StreamSupport.stream(r.spliterator(), false)).orElse(Stream.empty())
-                    .map(row -> unmarshall(row, mode));
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-            throw uncheckedException(e, "Error finding all process instances, for processId %s", process.id());
-        } catch (ExecutionException | TimeoutException e) {
-            throw uncheckedException(e, "Error finding all process instances, for processId %s", process.id());
+    public CompletionStage<Optional<ProcessInstance>> findByIdAsync(String id, ProcessInstanceReadMode mode) {
+        return findByIdInternal(id).thenApply(r -> r.map(row -> unmarshall(row, mode)));
+    }
+
+    @Override
+    public CompletionStage<Boolean> existsAsync(String id) {
+        return findByIdInternal(id).thenApply(Optional::isPresent);
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public CompletionStage<Void> createAsync(String id, ProcessInstance instance) {
+        if (!isActive(instance)) {
+            disconnect(instance);
+            return CompletableFuture.completedFuture(null);
+        }
+        return execute(INSERT, Tuple.of(id, Buffer.buffer(marshaller.marshallProcessInstance(instance)), process.id(), process.version(), 0L))
+                .thenApply(rows -> null);
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public CompletionStage<Void> updateAsync(String id, ProcessInstance instance) {
+        if (!isActive(instance)) {
+            disconnect(instance);
+            return CompletableFuture.completedFuture(null);
         }
+        // the instance is only disconnected once the write is done, so a reload never reads the previous state
+        return write(id, instance).whenComplete((r, e) -> disconnect(instance));
+    }
+
+    @Override
+    public CompletionStage<Void> removeAsync(String id) {
+        return execute(DELETE + (process.version() == null ? IS_NULL : "= $3"), tuple(process.id(), id)).thenApply(rows -> null);
+    }
+
+    @Override
+    public Stream<ProcessInstance> stream(ProcessInstanceReadMode mode) {
+        return Optional.ofNullable(await(execute(FIND_ALL + (process.version() == null ? IS_NULL : "= $2"), tuple(process.id())),
+                "Error finding all process instances, for processId %s", process.id()))
+                .map(r -> StreamSupport.stream(r.spliterator(), false)).orElse(Stream.empty())
+                .map(row -> unmarshall(row, mode));
     }
 
-    private ProcessInstance<?> unmarshall(Row r, ProcessInstanceReadMode mode) {
+    @Override
+    public Stream<ProcessInstance> find(ProcessInstanceQuery query, ProcessInstanceReadMode mode) {
+        // status, business key and start date are only part of the payload, so they are checked on its header before unmarshalling
+        return ProcessInstancePages.fetch(query, this::findPage, row -> row.getString(ID),
+                row -> matchesHeader(row.getBuffer(PAYLOAD).getBytes(), query), row -> unmarshall(row, mode));
+    }
+
+    private List<Row> findPage(String after, int pageSize) {
+        RowSet<Row> rows = await(execute(FIND_PAGE + (process.version() == null ? IS_NULL : "= $4") + ORDER_BY_ID_LIMIT, tuple(process.id(), after == null ? "" : after, pageSize)),
+                "Error finding page of process instances after %s, for processId %s", after, process.id());
+        return rows == null ? List.of() : StreamSupport.stream(rows.spliterator(), false).collect(Collectors.toList());
+    }
+
+    private boolean matchesHeader(byte[] payload, ProcessInstanceQuery query) {
+        ProcessInstanceHeader header = marshaller.readProcessInstanceHeader(payload);
+        return query.matches(header.getId(), header.getState(), header.getBusinessKey(), header.getStartDate());
+    }
+
+    private ProcessInstance unmarshall(Row r, ProcessInstanceReadMode mode) {
         AbstractProcessInstance instance = (AbstractProcessInstance) marshaller.unmarshallProcessInstance(r.getBuffer(PAYLOAD).getBytes(), process, mode);
         instance.setVersion(r.getLong(VERSION));
         return instance;
@@ -142,23 +193,11 @@ public class PostgresqlProcessInstances implements MutableProcessInstances {
     }
 
     private void disconnect(ProcessInstance instance) {
-        ((AbstractProcessInstance<?>) instance).internalRemoveProcessInstance(marshaller.createdReloadFunction(() -> findByIdInternal(instance.id()).map(r -> {
-            ((AbstractProcessInstance) instance).setVersion(r.getLong(VERSION));
-            return r.getBuffer(PAYLOAD).getBytes();
-        }).orElseThrow()));
-    }
-
-    private boolean insertInternal(String id, byte[] payload) {
-        try {
-            Future<RowSet<Row>> future = client.preparedQuery(INSERT)
-                    .execute(Tuple.of(id, Buffer.buffer(payload), process.id(), process.version(), 0L));
-            return getExecutedResult(future);
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-            throw uncheckedException(e, "Error inserting process instance %s", id);
-        } catch (Exception e) {
-            throw uncheckedException(e, "Error inserting process instance %s", id);
-        }
+        ((AbstractProcessInstance<?>) instance).internalRemoveProcessInstance(marshaller.createdReloadFunction(() -> await(findByIdInternal(instance.id()),
+                "Error finding process instance %s", instance.id()).map(r -> {
+                    ((AbstractProcessInstance) instance).setVersion(r.getLong(VERSION));
+                    return r.getBuffer(PAYLOAD).getBytes();
+                }).orElseThrow()));
     }
 
     private RuntimeException uncheckedException(Exception ex, String message, Object... param) {
@@ -166,100 +205,69 @@ public class PostgresqlProcessInstances implements MutableProcessInstances {
     }
 
     @Override
-    public long migrateAll(String targetProcessId, String targetProcessVersion) {
-        try {
-            PreparedQuery<RowSet<Row>> rows = null;
-            if (process.version() == null) {
-                rows = client.preparedQuery(MIGRATE_BULK + IS_NULL);
-            } else {
-                rows = client.preparedQuery(MIGRATE_BULK + "= $4");
-            }
-            Future<RowSet<Row>> future = rows.execute(tuple(targetProcessId, targetProcessVersion, process.id()));
-            return getResultFromFuture(future).map(RowSet::rowCount).orElse(0);
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-            throw uncheckedException(e, "Error migration process instance %s %s", process.id(), process.version());
-        } catch (Exception e) {
-            throw uncheckedException(e, "Error deleting process instance %s %s", process.id(), process.version());
-        }
+    public boolean supportsMigration() {
+        return true;
     }
 
     @Override
-    public void migrateProcessInstances(String targetProcessId, String targetProcessVersion, String... processIds) {
-        try {
-            PreparedQuery<RowSet<Row>> rows = null;
-            if (process.version() == null) {
-                rows = client.preparedQuery(MIGRATE_INSTANCE + IS_NULL);
+    public List<String> migrateChunk(String targetProcessId, String targetProcessVersion, String after, int chunkSize) {
+        RowSet<Row> rows = await(execute(MIGRATE_CHUNK + (process.version() == null ? IS_NULL : "= $6") + MIGRATE_CHUNK_UPDATE,
+                tuple(targetProcessId, targetProcessVersion, process.id(), after == null ? "" : after, chunkSize)),
+                "Error migrating process instances of %s %s after %s", process.id(), process.version(), after);
+        return rows == null ? List.of() : StreamSupport.stream(rows.spliterator(), false).map(row -> row.getString(0)).sorted().collect(Collectors.toList());
+    }
 
-            } else {
-                rows = client.preparedQuery(MIGRATE_INSTANCE + "= $5");
-            }
-            Future<RowSet<Row>> future = rows.execute(tuple(targetProcessId, targetProcessVersion, process.id(), processIds));
-            getExecutedResult(future);
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-            throw uncheckedException(e, "Error deleting process instance %s", Arrays.toString(processIds));
-        } catch (Exception e) {
-            throw uncheckedException(e, "Error deleting process instance %s", Arrays.toString(processIds));
-        }
+    @Override
+    public void migrateProcessInstances(String targetProcessId, String targetProcessVersion, String... processIds) {
+        await(execute(MIGRATE_INSTANCE + (process.version() == null ? IS_NULL : "= $5"), tuple(targetProcessId, targetProcessVersion, process.id(), processIds)),
+                "Error migrating process instances %s", Arrays.toString(processIds));
     }
 
-    private boolean updateInternal(String id, byte[] payload) {
-        try {
-            Future<RowSet<Row>> future =
-                    client.preparedQuery(UPDATE + (process.version() == null ? IS_NULL : "= $4"))
-                            .execute(tuple(Buffer.buffer(payload), process.id(), id));
-            return getExecutedResult(future);
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-            throw uncheckedException(e, "Error updating process instance %s", id);
-        } catch (Exception e) {
-            throw uncheckedException(e, "Error updating process instance %s", id);
+    @SuppressWarnings("unchecked")
+    private CompletionStage<Void> write(String id, ProcessInstance instance) {
+        Buffer payload = Buffer.buffer(marshaller.marshallProcessInstance(instance));
+        if (!lock) {
+            return execute(UPDATE + (process.version() == null ? IS_NULL : "= $4"), tuple(payload, process.id(), id)).thenApply(rows -> null);
         }
+        long version = instance.version();
+        return execute(UPDATE_WITH_LOCK + (process.version() == null ? IS_NULL : "= $6"), tuple(payload, version + 1, process.id(), id, version))
+                .thenAccept(rows -> {
+                    if (!updatedOne(rows)) {
+                        throw new ProcessInstanceOptimisticLockingException(id);
+                    }
+                });
     }
 
-    private boolean deleteInternal(String id) {
-        try {
-            Future<RowSet<Row>> future = client.preparedQuery(DELETE + (process.version() == null ? IS_NULL : "= $3"))
-                    .execute(tuple(process.id(), id));
-            return getExecutedResult(future);
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-            throw uncheckedException(e, "Error deleting process instance %s", id);
-        } catch (Exception e) {
-            throw uncheckedException(e, "Error deleting process instance %s", id);
-        }
+    private CompletionStage<Optional<Row>> findByIdInternal(String id) {
+        return execute(FIND_BY_ID + (process.version() == null ? IS_NULL : "= $3"), tuple(process.id(), id))
+                .thenApply(rows -> Optional.ofNullable(rows).map(RowSet::iterator).filter(Iterator::hasNext).map(Iterator::next));
     }
 
-    private Boolean getExecutedResult(Future<RowSet<Row>> future) throws ExecutionException, TimeoutException, InterruptedException {
-        try {
-            return getResultFromFuture(future).map(RowSet::rowCount).map(count -> count == 1).orElse(false);
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-            throw e;
-        }
+    private CompletionStage<RowSet<Row>> execute(String sql, Tuple tuple) {
+        return client.preparedQuery(sql).execute(tuple).toCompletionStage();
     }
 
-    private Optional<RowSet<Row>> getResultFromFuture(Future<RowSet<Row>> future) throws ExecutionException, TimeoutException, InterruptedException {
-        try {
-            return Optional.ofNullable(future.toCompletionStage().toCompletableFuture().get(queryTimeoutMillis, TimeUnit.MILLISECONDS));
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-            throw e;
-        }
+    private static boolean updatedOne(RowSet<Row> rows) {
+        return rows != null && rows.rowCount() == 1;
     }
 
-    private Optional<Row> findByIdInternal(String id) {
+    /**
+     * Blocks until the given stage completes, at most for the configured query timeout.
+     * Must not be invoked from the event loop that completes the stage.
+     */
+    private <R> R await(CompletionStage<R> stage, String message, Object... param) {
         try {
-            Future<RowSet<Row>> future =
-                    client.preparedQuery(FIND_BY_ID + (process.version() == null ? IS_NULL : "= $3"))
-                            .execute(tuple(process.id(), id));
-            return getResultFromFuture(future).map(RowSet::iterator).filter(Iterator::hasNext).map(Iterator::next);
+            return stage.toCompletableFuture().get(queryTimeoutMillis, TimeUnit.MILLISECONDS);
         } catch (InterruptedException e) {
             Thread.currentThread().interrupt();
-            throw uncheckedException(e, "Error finding process instance %s", id);
-        } catch (Exception e) {
-            throw uncheckedException(e, "Error finding process instance %s", id);
+            throw uncheckedException(e, message, param);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof ProcessInstanceOptimisticLockingException) {
+                throw (ProcessInstanceOptimisticLockingException) e.getCause();
+            }
+            throw uncheckedException(e, message, param);
+        } catch (TimeoutException e) {
+            throw uncheckedException(e, message, param);
         }
     }
 
@@ -270,23 +278,4 @@ public class PostgresqlProcessInstances implements MutableProcessInstances {
         }
         return tuple;
     }
-
-    private boolean updateWithLock(String id, byte[] payload, long version) {
-        try {
-            Future<RowSet<Row>> future = client.preparedQuery(UPDATE_WITH_LOCK + (process.version() == null ? IS_NULL : "= $6"))
-                    .execute(tuple(Buffer.buffer(payload), version + 1, process.id(), id, version));
-            boolean result = getExecutedResult(future);
-            if (!result) {
-                throw new ProcessInstanceOptimisticLockingException(id);
-            }
-            return result;
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-        } catch (ProcessInstanceOptimisticLockingException e) {
-            throw e;
-        } catch (Exception e) {
-            throw uncheckedException(e, "Error updating process instance %s", id);
-        }
-        return false;
-    }
 }
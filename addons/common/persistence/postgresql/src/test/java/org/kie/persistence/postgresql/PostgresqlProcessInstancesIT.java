@@ -20,6 +20,7 @@ package org.kie.persistence.postgresql;
 
 import java.util.Collections;
 import java.util.Optional;
+import java.util.concurrent.TimeUnit;
 
 import org.drools.io.ClassPathResource;
 import org.junit.jupiter.api.AfterAll;
@@ -152,6 +153,24 @@ class PostgresqlProcessInstancesIT {
         assertEmpty(process.instances());
     }
 
+    @Test
+    void testAsyncOperations() throws Exception {
+        BpmnProcess process = createProcess("BPMN2-UserTask.bpmn2");
+        ProcessInstance<BpmnVariables> processInstance = process.createInstance(BpmnVariables.create(Collections.singletonMap("test", "test")));
+        processInstance.start();
+
+        PostgresqlProcessInstances processInstances = (PostgresqlProcessInstances) process.instances();
+        assertThat(processInstances.existsAsync(processInstance.id()).toCompletableFuture().get(10, TimeUnit.SECONDS)).isEqualTo(true);
+
+        Optional<?> found = (Optional<?>) processInstances.findByIdAsync(processInstance.id(), ProcessInstanceReadMode.READ_ONLY).toCompletableFuture().get(10, TimeUnit.SECONDS);
+        assertThat(found).isPresent();
+        assertThat(((ProcessInstance<?>) found.get()).status()).isEqualTo(STATE_ACTIVE);
+
+        processInstances.removeAsync(processInstance.id()).toCompletableFuture().get(10, TimeUnit.SECONDS);
+        assertThat(processInstances.existsAsync(processInstance.id()).toCompletableFuture().get(10, TimeUnit.SECONDS)).isEqualTo(false);
+        assertEmpty(process.instances());
+    }
+
     @Test
     void testMultipleProcesses() {
         BpmnProcess utProcess = createProcess("BPMN2-UserTask.bpmn2");
@@ -19,8 +19,12 @@
 package org.kie.kogito.persistence.rocksdb;
 
 import java.io.Closeable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 import java.util.Optional;
 import java.util.Spliterators.AbstractSpliterator;
+import java.util.TreeSet;
 import java.util.function.Consumer;
 import java.util.stream.Stream;
 import java.util.stream.StreamSupport;
@@ -29,42 +33,101 @@ import org.jbpm.flow.serialization.ProcessInstanceMarshallerService;
 import org.kie.kogito.process.MutableProcessInstances;
 import org.kie.kogito.process.Process;
 import org.kie.kogito.process.ProcessInstance;
+import org.kie.kogito.process.ProcessInstanceQuery;
 import org.kie.kogito.process.ProcessInstanceReadMode;
-import org.rocksdb.RocksDB;
+import org.kie.kogito.process.impl.AbstractProcess;
+import org.kie.kogito.uow.UnitOfWorkManager;
 import org.rocksdb.RocksDBException;
 import org.rocksdb.RocksIterator;
+import org.rocksdb.WriteBatchWithIndex;
+
+import static org.kie.kogito.persistence.rocksdb.RocksDBStorage.bytes;
+import static org.kie.kogito.persistence.rocksdb.RocksDBStorage.concat;
+import static org.kie.kogito.persistence.rocksdb.RocksDBStorage.startsWith;
+import static org.kie.kogito.persistence.rocksdb.RocksDBStorage.string;
 
 public class RocksDBProcessInstances<T> implements MutableProcessInstances<T> {
 
     private final Process<T> process;
     private final ProcessInstanceMarshallerService marshaller;
-    private final RocksDB db;
+    private final RocksDBStorage storage;
+    private final UnitOfWorkManager unitOfWorkManager;
+    private final byte[] prefix;
 
-    public RocksDBProcessInstances(Process<T> process, RocksDB db) {
+    RocksDBProcessInstances(Process<T> process, RocksDBStorage storage) {
         this.process = process;
         marshaller = ProcessInstanceMarshallerService.newBuilder().withDefaultObjectMarshallerStrategies().withDefaultListeners().build();
-        this.db = db;
+        this.storage = storage;
+        this.unitOfWorkManager = process instanceof AbstractProcess ? ((AbstractProcess<?>) process).getUnitOfWorkManager() : null;
+        this.prefix = RocksDBStorage.prefix(process.id(), process.version());
     }
 
-    private class RockSplitIterator extends AbstractSpliterator<ProcessInstance<T>> implements Closeable {
+    /**
+     * Iterates the keys of a column family starting with the given prefix, positioned on the first key greater than {@code after} (when not null)
+     */
+    private static class PrefixIterator implements Closeable {
 
         private final RocksIterator iterator;
+        private final byte[] prefix;
 
-        protected RockSplitIterator(RocksIterator iterator) {
-            super(Integer.MAX_VALUE, 0);
+        PrefixIterator(RocksIterator iterator, byte[] prefix, String after) {
             this.iterator = iterator;
-            iterator.seekToFirst();
+            this.prefix = prefix;
+            if (after == null) {
+                iterator.seek(prefix);
+            } else {
+                byte[] key = concat(prefix, bytes(after));
+                iterator.seek(key);
+                if (iterator.isValid() && Arrays.equals(key, iterator.key())) {
+                    iterator.next();
+                }
+            }
+        }
+
+        boolean isValid() {
+            return iterator.isValid() && startsWith(iterator.key(), prefix);
+        }
+
+        String suffix() {
+            return string(iterator.key(), prefix.length);
+        }
+
+        byte[] value() {
+            return iterator.value();
+        }
+
+        void next() {
+            iterator.next();
+        }
+
+        @Override
+        public void close() {
+            iterator.close();
+        }
+    }
+
+    private class RockSplitIterator extends AbstractSpliterator<ProcessInstance<T>> implements Closeable {
+
+        private final PrefixIterator iterator;
+        private final ProcessInstanceReadMode mode;
+
+        /**
+         * Starts iterating on the first key of the process greater than the given one, since keys are sorted by the default bytewise comparator
+         */
+        protected RockSplitIterator(String after, ProcessInstanceReadMode mode) {
+            super(Integer.MAX_VALUE, 0);
+            this.iterator = new PrefixIterator(storage.newIterator(storage.instances()), prefix, after);
+            this.mode = mode;
         }
 
         @Override
         public boolean tryAdvance(Consumer<? super ProcessInstance<T>> action) {
-            boolean hasNext = iterator.isValid();
-            if (hasNext) {
-                action.accept(unmarshall(iterator.value()));
-                iterator.next();
-                hasNext = iterator.isValid();
+            if (!iterator.isValid()) {
+                return false;
             }
-            return hasNext;
+            action.accept(unmarshall(iterator.value(), mode));
+            iterator.next();
+            return true;
         }
 
         @Override
@@ -76,8 +139,18 @@ public class RocksDBProcessInstances<T> implements MutableProcessInstances<T> {
     @Override
     public Optional<ProcessInstance<T>> findById(String id, ProcessInstanceReadMode mode) {
         try {
-            byte[] data = db.get(id.getBytes());
-            return data == null ? Optional.empty() : Optional.of(unmarshall(data));
+            byte[] data = storage.get(storage.instances(), key(id));
+            return data == null ? Optional.empty() : Optional.of(unmarshall(data, mode));
+        } catch (RocksDBException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    @Override
+    public Optional<ProcessInstance<T>> findByBusinessKey(String businessKey, ProcessInstanceReadMode mode) {
+        try {
+            byte[] id = storage.get(storage.businessKeys(), concat(prefix, bytes(businessKey)));
+            return id == null ? Optional.empty() : findById(string(id, 0), mode);
         } catch (RocksDBException ex) {
             throw new IllegalStateException(ex);
         }
@@ -85,14 +158,46 @@ public class RocksDBProcessInstances<T> implements MutableProcessInstances<T> {
 
     @Override
     public Stream<ProcessInstance<T>> stream(ProcessInstanceReadMode mode) {
-        RocksDBProcessInstances<T>.RockSplitIterator iterator = new RockSplitIterator(db.newIterator());
+        return stream(null, mode);
+    }
+
+    @Override
+    public Stream<ProcessInstance<T>> find(ProcessInstanceQuery query, ProcessInstanceReadMode mode) {
+        if (query.getBusinessKey() != null) {
+            // business key is unique, no need to paginate
+            return findByBusinessKey(query.getBusinessKey(), mode).filter(query::matches).stream();
+        }
+        Stream<ProcessInstance<T>> candidates = query.getStatuses().isEmpty() ? stream(query.getAfter(), mode) : findByStatus(query, mode);
+        return candidates.filter(query::matches).limit(query.getLimit());
+    }
+
+    private Stream<ProcessInstance<T>> stream(String after, ProcessInstanceReadMode mode) {
+        RocksDBProcessInstances<T>.RockSplitIterator iterator = new RockSplitIterator(after, mode);
         return StreamSupport.stream(iterator, false).onClose(iterator::close);
     }
 
+    /**
+     * Merges, sorted by id, the ids found in the status index for every status of the query
+     */
+    private Stream<ProcessInstance<T>> findByStatus(ProcessInstanceQuery query, ProcessInstanceReadMode mode) {
+        TreeSet<String> ids = new TreeSet<>();
+        for (int status : query.getStatuses()) {
+            int found = 0;
+            try (PrefixIterator iterator = new PrefixIterator(storage.newIterator(storage.statuses()), statusPrefix(status), query.getAfter())) {
+                // the instances of other statuses are beyond the limit of the merged result
+                while (iterator.isValid() && found++ < query.getLimit()) {
+                    ids.add(iterator.suffix());
+                    iterator.next();
+                }
+            }
+        }
+        return ids.stream().map(id -> findById(id, mode)).flatMap(Optional::stream);
+    }
+
     @Override
     public boolean exists(String id) {
         try {
-            return db.get(id.getBytes()) != null;
+            return storage.get(storage.instances(), key(id)) != null;
         } catch (RocksDBException ex) {
             throw new IllegalStateException(ex);
         }
@@ -105,8 +210,9 @@ public class RocksDBProcessInstances<T> implements MutableProcessInstances<T> {
 
     @Override
     public void update(String id, ProcessInstance<T> instance) {
+        byte[] data = marshaller.marshallProcessInstance(instance);
         try {
-            db.put(id.getBytes(), marshaller.marshallProcessInstance(instance));
+            storage.write(unitOfWorkManager, batch -> put(batch, storage, prefix, id, data, instance.status(), instance.businessKey()));
         } catch (RocksDBException ex) {
             throw new IllegalStateException(ex);
         }
@@ -115,14 +221,102 @@ public class RocksDBProcessInstances<T> implements MutableProcessInstances<T> {
     @Override
     public void remove(String id) {
         try {
-            db.delete(id.getBytes());
+            storage.write(unitOfWorkManager, batch -> delete(batch, storage, prefix, id));
         } catch (RocksDBException ex) {
             throw new IllegalStateException(ex);
         }
     }
 
+    @Override
+    public boolean supportsMigration() {
+        return true;
+    }
+
+    @Override
+    public void migrateProcessInstances(String targetProcessId, String targetProcessVersion, String... processIds) {
+        move(RocksDBStorage.prefix(targetProcessId, targetProcessVersion), Arrays.asList(processIds));
+    }
+
+    @Override
+    public List<String> migrateChunk(String targetProcessId, String targetProcessVersion, String after, int chunkSize) {
+        List<String> ids = new ArrayList<>(chunkSize);
+        try (PrefixIterator iterator = new PrefixIterator(storage.newIterator(storage.keys()), prefix, after)) {
+            while (iterator.isValid() && ids.size() < chunkSize) {
+                ids.add(iterator.suffix());
+                iterator.next();
+            }
+        }
+        move(RocksDBStorage.prefix(targetProcessId, targetProcessVersion), ids);
+        return ids;
+    }
+
+    /**
+     * Rewrites the keys of the given instances, and of their index entries, from the prefix of this process to the target prefix.
+     * The chunk is written as one batch, so it is either moved as a whole or not at all.
+     */
+    private void move(byte[] targetPrefix, List<String> ids) {
+        if (ids.isEmpty() || Arrays.equals(prefix, targetPrefix)) {
+            return;
+        }
+        try {
+            storage.write(unitOfWorkManager, batch -> {
+                for (String id : ids) {
+                    byte[] key = key(id);
+                    byte[] data = storage.get(batch, storage.instances(), key);
+                    byte[] indexed = storage.get(batch, storage.keys(), key);
+                    if (data != null && indexed != null) {
+                        delete(batch, storage, prefix, id);
+                        put(batch, storage, targetPrefix, id, data, indexed[0], indexed.length > 1 ? string(indexed, 1) : null);
+                    }
+                }
+            });
+        } catch (RocksDBException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    /**
+     * Writes a process instance together with its index entries, replacing the entries of its previous status and business key
+     */
+    static void put(WriteBatchWithIndex batch, RocksDBStorage storage, byte[] prefix, String id, byte[] data, int status, String businessKey) throws RocksDBException {
+        byte[] key = concat(prefix, bytes(id));
+        deleteIndexes(batch, storage, prefix, id, key);
+        batch.put(storage.instances(), key, data);
+        byte[] businessKeyBytes = businessKey == null ? new byte[0] : bytes(businessKey);
+        batch.put(storage.keys(), key, concat(new byte[] { (byte) status }, businessKeyBytes));
+        batch.put(storage.statuses(), concat(prefix, new byte[] { (byte) status }, bytes(id)), new byte[0]);
+        if (businessKeyBytes.length > 0) {
+            batch.put(storage.businessKeys(), concat(prefix, businessKeyBytes), bytes(id));
+        }
+    }
+
+    static void delete(WriteBatchWithIndex batch, RocksDBStorage storage, byte[] prefix, String id) throws RocksDBException {
+        byte[] key = concat(prefix, bytes(id));
+        deleteIndexes(batch, storage, prefix, id, key);
+        batch.delete(storage.instances(), key);
+        batch.delete(storage.keys(), key);
+    }
+
+    private static void deleteIndexes(WriteBatchWithIndex batch, RocksDBStorage storage, byte[] prefix, String id, byte[] key) throws RocksDBException {
+        byte[] previous = storage.get(batch, storage.keys(), key);
+        if (previous != null) {
+            batch.delete(storage.statuses(), concat(prefix, new byte[] { previous[0] }, bytes(id)));
+            if (previous.length > 1) {
+                batch.delete(storage.businessKeys(), concat(prefix, Arrays.copyOfRange(previous, 1, previous.length)));
+            }
+        }
+    }
+
+    private byte[] key(String id) {
+        return concat(prefix, bytes(id));
+    }
+
+    private byte[] statusPrefix(int status) {
+        return concat(prefix, new byte[] { (byte) status });
+    }
+
     @SuppressWarnings("unchecked")
-    private ProcessInstance<T> unmarshall(byte[] data) {
-        return (ProcessInstance<T>) marshaller.unmarshallProcessInstance(data, process);
+    private ProcessInstance<T> unmarshall(byte[] data, ProcessInstanceReadMode mode) {
+        return (ProcessInstance<T>) marshaller.unmarshallProcessInstance(data, process, mode);
     }
 }
@@ -18,27 +18,82 @@
  */
 package org.kie.kogito.persistence.rocksdb;
 
+import org.jbpm.flow.serialization.ProcessInstanceHeader;
+import org.jbpm.flow.serialization.ProcessInstanceMarshallerService;
 import org.kie.kogito.process.Process;
 import org.kie.kogito.process.ProcessInstancesFactory;
+import org.rocksdb.ColumnFamilyOptions;
+import org.rocksdb.DBOptions;
 import org.rocksdb.Options;
-import org.rocksdb.RocksDB;
 import org.rocksdb.RocksDBException;
+import org.rocksdb.RocksIterator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 public class RocksDBProcessInstancesFactory implements ProcessInstancesFactory, AutoCloseable {
 
-    private final RocksDB db;
+    private static final Logger LOGGER = LoggerFactory.getLogger(RocksDBProcessInstancesFactory.class);
+
+    private final RocksDBStorage storage;
+    private final DBOptions dbOptions;
+    private final ColumnFamilyOptions columnFamilyOptions;
 
     public RocksDBProcessInstancesFactory(Options options, String dbLocation) throws RocksDBException {
-        this.db = RocksDB.open(options, dbLocation);
+        this(new DBOptions(options), new ColumnFamilyOptions(options), dbLocation, true);
+    }
+
+    /**
+     * @param dbOptions database wide options, such as parallelism or write buffer limits
+     * @param columnFamilyOptions options of the column families, such as block cache, bloom filter or compression
+     * @param dbLocation directory of the database
+     */
+    public RocksDBProcessInstancesFactory(DBOptions dbOptions, ColumnFamilyOptions columnFamilyOptions, String dbLocation) throws RocksDBException {
+        this(dbOptions, columnFamilyOptions, dbLocation, false);
+    }
+
+    private RocksDBProcessInstancesFactory(DBOptions dbOptions, ColumnFamilyOptions columnFamilyOptions, String dbLocation, boolean ownsOptions) throws RocksDBException {
+        this.storage = new RocksDBStorage(dbOptions, columnFamilyOptions, dbLocation);
+        this.dbOptions = ownsOptions ? dbOptions : null;
+        this.columnFamilyOptions = ownsOptions ? columnFamilyOptions : null;
+        migrateLegacyEntries();
     }
 
     @Override
     public RocksDBProcessInstances<?> createProcessInstances(Process<?> process) {
-        return new RocksDBProcessInstances<>(process, db);
+        return new RocksDBProcessInstances<>(process, storage);
+    }
+
+    /**
+     * Moves the instances stored by previous versions, keyed by instance id only in the default column family,
+     * to the keys of their process, reading process id, version, status and business key from the header of each instance
+     */
+    private void migrateLegacyEntries() throws RocksDBException {
+        ProcessInstanceMarshallerService marshaller = ProcessInstanceMarshallerService.newBuilder().build();
+        int migrated = 0;
+        try (RocksIterator iterator = storage.newIterator(storage.legacy())) {
+            for (iterator.seekToFirst(); iterator.isValid(); iterator.next()) {
+                byte[] legacyKey = iterator.key();
+                byte[] data = iterator.value();
+                ProcessInstanceHeader header = marshaller.readProcessInstanceHeader(data);
+                storage.write(null, batch -> {
+                    RocksDBProcessInstances.put(batch, storage, RocksDBStorage.prefix(header.getProcessId(), header.getProcessVersion()), header.getId(), data, header.getState(),
+                            header.getBusinessKey());
+                    batch.delete(storage.legacy(), legacyKey);
+                });
+                migrated++;
+            }
+        }
+        if (migrated > 0) {
+            LOGGER.info("Migrated {} process instances to per process keys", migrated);
+        }
     }
 
     @Override
     public void close() {
-        db.close();
+        storage.close();
+        if (dbOptions != null) {
+            dbOptions.close();
+            columnFamilyOptions.close();
+        }
     }
 }
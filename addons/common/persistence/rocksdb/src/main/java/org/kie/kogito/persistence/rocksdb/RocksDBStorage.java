@@ -0,0 +1,221 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.kie.kogito.persistence.rocksdb;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.kie.kogito.uow.UnitOfWorkManager;
+import org.kie.kogito.uow.WorkUnit;
+import org.rocksdb.ColumnFamilyDescriptor;
+import org.rocksdb.ColumnFamilyHandle;
+import org.rocksdb.ColumnFamilyOptions;
+import org.rocksdb.DBOptions;
+import org.rocksdb.ReadOptions;
+import org.rocksdb.RocksDB;
+import org.rocksdb.RocksDBException;
+import org.rocksdb.RocksIterator;
+import org.rocksdb.WriteBatchWithIndex;
+import org.rocksdb.WriteOptions;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Column families shared by the process instances of every process stored in a RocksDB database.
+ * <p>
+ * Keys of every column family start with the process id and version (see {@link #prefix(String, String)}),
+ * so the instances of a process are a contiguous key range reachable with a prefix seek:
+ * <ul>
+ * <li>{@value #PROCESS_INSTANCES}: prefix + instance id, the marshalled instance</li>
+ * <li>{@value #PROCESS_INSTANCE_KEYS}: prefix + instance id, status and business key the indexes were written with</li>
+ * <li>{@value #BUSINESS_KEY_INDEX}: prefix + business key, instance id</li>
+ * <li>{@value #STATUS_INDEX}: prefix + status + instance id, no value</li>
+ * </ul>
+ * Writes performed by the unit of work running on a thread are collected in a single batch, readable by that thread,
+ * and written atomically once the unit of work ends.
+ */
+class RocksDBStorage implements AutoCloseable {
+
+    static final String PROCESS_INSTANCES = "process-instances";
+    static final String PROCESS_INSTANCE_KEYS = "process-instance-keys";
+    static final String BUSINESS_KEY_INDEX = "business-key-index";
+    static final String STATUS_INDEX = "status-index";
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(RocksDBStorage.class);
+
+    private static final byte SEPARATOR = 0;
+
+    @FunctionalInterface
+    interface BatchWriter {
+        void write(WriteBatchWithIndex batch) throws RocksDBException;
+    }
+
+    private final RocksDB db;
+    private final List<ColumnFamilyHandle> handles;
+    private final ColumnFamilyHandle legacy;
+    private final ColumnFamilyHandle instances;
+    private final ColumnFamilyHandle keys;
+    private final ColumnFamilyHandle businessKeys;
+    private final ColumnFamilyHandle statuses;
+    private final ReadOptions readOptions;
+    private final WriteOptions writeOptions;
+    private final ThreadLocal<WriteBatchWithIndex> pendingWrites = new ThreadLocal<>();
+
+    RocksDBStorage(DBOptions dbOptions, ColumnFamilyOptions columnFamilyOptions, String dbLocation) throws RocksDBException {
+        dbOptions.setCreateIfMissing(true).setCreateMissingColumnFamilies(true);
+        List<ColumnFamilyDescriptor> descriptors = Arrays.asList(
+                new ColumnFamilyDescriptor(RocksDB.DEFAULT_COLUMN_FAMILY, columnFamilyOptions),
+                new ColumnFamilyDescriptor(bytes(PROCESS_INSTANCES), columnFamilyOptions),
+                new ColumnFamilyDescriptor(bytes(PROCESS_INSTANCE_KEYS), columnFamilyOptions),
+                new ColumnFamilyDescriptor(bytes(BUSINESS_KEY_INDEX), columnFamilyOptions),
+                new ColumnFamilyDescriptor(bytes(STATUS_INDEX), columnFamilyOptions));
+        this.handles = new ArrayList<>();
+        this.db = RocksDB.open(dbOptions, dbLocation, descriptors, handles);
+        this.legacy = handles.get(0);
+        this.instances = handles.get(1);
+        this.keys = handles.get(2);
+        this.businessKeys = handles.get(3);
+        this.statuses = handles.get(4);
+        this.readOptions = new ReadOptions();
+        this.writeOptions = new WriteOptions();
+    }
+
+    ColumnFamilyHandle legacy() {
+        return legacy;
+    }
+
+    ColumnFamilyHandle instances() {
+        return instances;
+    }
+
+    ColumnFamilyHandle keys() {
+        return keys;
+    }
+
+    ColumnFamilyHandle businessKeys() {
+        return businessKeys;
+    }
+
+    ColumnFamilyHandle statuses() {
+        return statuses;
+    }
+
+    /**
+     * Reads a value, including the writes still pending in the unit of work of the current thread
+     */
+    byte[] get(ColumnFamilyHandle columnFamily, byte[] key) throws RocksDBException {
+        WriteBatchWithIndex batch = pendingWrites.get();
+        return batch == null ? db.get(columnFamily, readOptions, key) : batch.getFromBatchAndDB(db, columnFamily, readOptions, key);
+    }
+
+    byte[] get(WriteBatchWithIndex batch, ColumnFamilyHandle columnFamily, byte[] key) throws RocksDBException {
+        return batch.getFromBatchAndDB(db, columnFamily, readOptions, key);
+    }
+
+    RocksIterator newIterator(ColumnFamilyHandle columnFamily) {
+        return db.newIterator(columnFamily, readOptions);
+    }
+
+    /**
+     * Adds the writes to the batch of the unit of work running on the current thread, registering the batch
+     * in the unit of work when it is the first write. Without unit of work manager the writes are applied right away.
+     */
+    void write(UnitOfWorkManager unitOfWorkManager, BatchWriter writer) throws RocksDBException {
+        WriteBatchWithIndex batch = pendingWrites.get();
+        if (batch != null) {
+            writer.write(batch);
+            return;
+        }
+        WriteBatchWithIndex newBatch = new WriteBatchWithIndex(true);
+        try {
+            pendingWrites.set(newBatch);
+            writer.write(newBatch);
+        } catch (RocksDBException | RuntimeException e) {
+            pendingWrites.remove();
+            newBatch.close();
+            throw e;
+        }
+        if (unitOfWorkManager == null) {
+            flush(newBatch);
+        } else {
+            // registered after the first write, a pass through unit of work flushes right away
+            unitOfWorkManager.currentUnitOfWork().intercept(WorkUnit.create(newBatch, this::flush, this::discard));
+        }
+    }
+
+    private void flush(WriteBatchWithIndex batch) {
+        pendingWrites.remove();
+        try {
+            LOGGER.debug("Writing {} process instance changes", batch.count());
+            db.write(writeOptions, batch);
+        } catch (RocksDBException e) {
+            throw new IllegalStateException(e);
+        } finally {
+            batch.close();
+        }
+    }
+
+    private void discard(WriteBatchWithIndex batch) {
+        pendingWrites.remove();
+        batch.close();
+    }
+
+    @Override
+    public void close() {
+        readOptions.close();
+        writeOptions.close();
+        handles.forEach(ColumnFamilyHandle::close);
+        db.close();
+    }
+
+    /**
+     * Prefix shared by all the keys of a process. The separators keep a process id from being a prefix of another.
+     */
+    static byte[] prefix(String processId, String processVersion) {
+        return concat(bytes(processId), new byte[] { SEPARATOR }, bytes(processVersion == null ? "" : processVersion), new byte[] { SEPARATOR });
+    }
+
+    static byte[] concat(byte[]... parts) {
+        int length = 0;
+        for (byte[] part : parts) {
+            length += part.length;
+        }
+        byte[] result = new byte[length];
+        int offset = 0;
+        for (byte[] part : parts) {
+            System.arraycopy(part, 0, result, offset, part.length);
+            offset += part.length;
+        }
+        return result;
+    }
+
+    static boolean startsWith(byte[] key, byte[] prefix) {
+        return key.length >= prefix.length && Arrays.equals(key, 0, prefix.length, prefix, 0, prefix.length);
+    }
+
+    static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    static String string(byte[] value, int offset) {
+        return new String(value, offset, value.length - offset, StandardCharsets.UTF_8);
+    }
+}
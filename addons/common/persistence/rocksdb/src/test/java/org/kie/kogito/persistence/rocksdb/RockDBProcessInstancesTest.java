@@ -23,6 +23,7 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Date;
+import java.util.List;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
@@ -31,6 +32,7 @@ import java.util.concurrent.TimeUnit;
 import java.util.stream.Stream;
 
 import org.drools.io.ClassPathResource;
+import org.jbpm.flow.serialization.ProcessInstanceMarshallerService;
 import org.jbpm.workflow.instance.WorkflowProcessInstance;
 import org.junit.jupiter.api.AfterAll;
 import org.junit.jupiter.api.AfterEach;
@@ -41,6 +43,7 @@ import org.junit.jupiter.api.io.TempDir;
 import org.kie.kogito.process.MutableProcessInstances;
 import org.kie.kogito.process.Process;
 import org.kie.kogito.process.ProcessInstance;
+import org.kie.kogito.process.ProcessInstanceQuery;
 import org.kie.kogito.process.bpmn2.BpmnProcess;
 import org.kie.kogito.process.bpmn2.BpmnVariables;
 import org.kie.kogito.process.impl.AbstractProcessInstance;
@@ -48,6 +51,7 @@ import org.kie.kogito.process.impl.DefaultWorkItemHandlerConfig;
 import org.kie.kogito.process.impl.StaticProcessConfig;
 import org.kie.kogito.process.workitems.impl.DefaultKogitoWorkItemHandler;
 import org.rocksdb.Options;
+import org.rocksdb.RocksDB;
 import org.rocksdb.RocksDBException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -132,6 +136,72 @@ class RockDBProcessInstancesTest {
         }
     }
 
+    @Test
+    void testFindByBusinessKey() {
+        WorkflowProcessInstance instance = ((AbstractProcessInstance<?>) process.createInstance(BpmnVariables.create(Collections.singletonMap("test", "test")))).internalGetProcessInstance();
+        AbstractProcessInstance<?> mockPi = mockProcessInstance(instance, process);
+        when(mockPi.businessKey()).thenReturn("bk-1");
+        pi.create(instance.getId(), mockPi);
+
+        assertThat(pi.findByBusinessKey("bk-1")).isPresent();
+        assertThat(pi.findByBusinessKey("bk-2")).isEmpty();
+
+        when(mockPi.businessKey()).thenReturn("bk-2");
+        pi.update(instance.getId(), mockPi);
+        assertThat(pi.findByBusinessKey("bk-1")).isEmpty();
+        assertThat(pi.findByBusinessKey("bk-2")).isPresent();
+
+        pi.remove(instance.getId());
+        assertThat(pi.findByBusinessKey("bk-2")).isEmpty();
+    }
+
+    @Test
+    void testFindByStatus() {
+        WorkflowProcessInstance instance = createProcessInstance();
+        try (Stream<ProcessInstance<?>> stream = pi.find(ProcessInstanceQuery.builder().withStatus(ProcessInstance.STATE_COMPLETED).build())) {
+            assertThat(stream.count()).isZero();
+        }
+        removeProcessInstance(instance);
+    }
+
+    @Test
+    void testLegacyEntriesAreMigrated(@TempDir Path legacyDir) throws RocksDBException {
+        WorkflowProcessInstance instance = ((AbstractProcessInstance<?>) process.createInstance(BpmnVariables.create(Collections.singletonMap("test", "test")))).internalGetProcessInstance();
+        byte[] data = ProcessInstanceMarshallerService.newBuilder().withDefaultObjectMarshallerStrategies().withDefaultListeners().build()
+                .marshallProcessInstance(mockProcessInstance(instance, process));
+        try (RocksDB db = RocksDB.open(options, legacyDir.toString())) {
+            db.put(instance.getId().getBytes(), data);
+        }
+        try (RocksDBProcessInstancesFactory legacyFactory = new RocksDBProcessInstancesFactory(options, legacyDir.toString())) {
+            MutableProcessInstances<?> legacyInstances = legacyFactory.createProcessInstances(process);
+            assertThat(legacyInstances.exists(instance.getId())).isTrue();
+            try (Stream<? extends ProcessInstance<?>> stream = legacyInstances.stream()) {
+                assertThat(stream.count()).isOne();
+            }
+        }
+    }
+
+    @Test
+    void testMigrateChunk() {
+        List<String> ids = Stream.of(createProcessInstance(), createProcessInstance(), createProcessInstance()).map(WorkflowProcessInstance::getId).sorted().toList();
+        Process<?> target = mock(Process.class);
+        when(target.id()).thenReturn(process.id());
+        when(target.version()).thenReturn("2.0");
+        MutableProcessInstances<?> targetInstances = factory.createProcessInstances(target);
+
+        assertThat(pi.migrateChunk(target.id(), target.version(), null, 2)).containsExactlyElementsOf(ids.subList(0, 2));
+        assertThat(pi.migrateChunk(target.id(), target.version(), ids.get(1), 2)).containsExactly(ids.get(2));
+        assertThat(pi.migrateChunk(target.id(), target.version(), ids.get(2), 2)).isEmpty();
+
+        for (String id : ids) {
+            assertThat(pi.exists(id)).isFalse();
+            assertThat(targetInstances.exists(id)).isTrue();
+        }
+        try (Stream<ProcessInstance<?>> stream = pi.find(ProcessInstanceQuery.builder().withStatus(ProcessInstance.STATE_ACTIVE).build())) {
+            assertThat(stream.count()).isZero();
+        }
+    }
+
     WorkflowProcessInstance createProcessInstance() {
         WorkflowProcessInstance instance = ((AbstractProcessInstance<?>) process.createInstance(BpmnVariables.create(Collections.singletonMap("test", "test")))).internalGetProcessInstance();
         logger.debug("Created instance {}", instance.getId());
@@ -36,6 +36,7 @@ import org.kie.kogito.process.Process;
 import org.kie.kogito.process.ProcessError;
 import org.kie.kogito.process.ProcessInstance;
 import org.kie.kogito.process.ProcessInstanceExecutionException;
+import org.kie.kogito.process.ProcessInstances;
 import org.kie.kogito.process.Processes;
 import org.kie.kogito.process.WorkItem;
 import org.kie.kogito.process.impl.AbstractProcess;
@@ -50,18 +51,26 @@ public abstract class BaseProcessInstanceManagementResource<T> implements Proces
     private static final String PROCESS_NOT_FOUND = "Process with id %s not found";
     private static final String PROCESS_INSTANCE_NOT_FOUND = "Process instance with id %s not found";
     private static final String PROCESS_INSTANCE_NOT_IN_ERROR = "Process instance with id %s is not in error state";
+    private static final String MIGRATION_NOT_FOUND = "No migration found for process with id %s";
 
     private Supplier<Processes> processes;
 
     private Application application;
 
+    private final ProcessInstanceMigrationJobs migrationJobs;
+
     public BaseProcessInstanceManagementResource(Processes processes, Application application) {
         this(() -> processes, application);
     }
 
     public BaseProcessInstanceManagementResource(Supplier<Processes> processes, Application application) {
+        this(processes, application, new ProcessInstanceMigrationJobs());
+    }
+
+    public BaseProcessInstanceManagementResource(Supplier<Processes> processes, Application application, ProcessInstanceMigrationJobs migrationJobs) {
         this.processes = processes;
         this.application = application;
+        this.migrationJobs = migrationJobs;
     }
 
     public T doGetProcesses() {
@@ -153,6 +162,26 @@ public abstract class BaseProcessInstanceManagementResource<T> implements Proces
         }
     }
 
+    public T doStartMigration(String processId, ProcessMigrationSpec migrationSpec) {
+        return executeOnProcess(processId, process -> {
+            try {
+                int chunkSize = migrationSpec.getChunkSize() == null ? ProcessInstances.DEFAULT_MIGRATION_CHUNK_SIZE : migrationSpec.getChunkSize();
+                long delayMillis = migrationSpec.getDelayMillis() == null ? 0L : migrationSpec.getDelayMillis();
+                return buildOkResponse(migrationJobs.start(process, migrationSpec.getTargetProcessId(), migrationSpec.getTargetProcessVersion(), chunkSize, delayMillis).toMap());
+            } catch (Exception e) {
+                return badRequestResponse(e.getMessage());
+            }
+        });
+    }
+
+    public T doGetMigration(String processId) {
+        return migrationJobs.get(processId).map(job -> buildOkResponse(job.toMap())).orElseGet(() -> notFoundResponse(String.format(MIGRATION_NOT_FOUND, processId)));
+    }
+
+    public T doCancelMigration(String processId) {
+        return migrationJobs.cancel(processId).map(job -> buildOkResponse(job.toMap())).orElseGet(() -> notFoundResponse(String.format(MIGRATION_NOT_FOUND, processId)));
+    }
+
     public T doGetWorkItemsInProcessInstance(String processId, String processInstanceId) {
 
         return executeOnProcessInstance(processId, processInstanceId, processInstance -> {
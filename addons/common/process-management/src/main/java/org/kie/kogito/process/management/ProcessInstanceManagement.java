@@ -46,4 +46,10 @@ public interface ProcessInstanceManagement<T> {
 
     T migrateInstance(String processId, String processInstanceId, ProcessMigrationSpec migrationSpec);
 
+    T startMigration(String processId, ProcessMigrationSpec migrationSpec);
+
+    T getMigration(String processId);
+
+    T cancelMigration(String processId);
+
 }
@@ -0,0 +1,187 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+package org.kie.kogito.process.management;
+
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.kie.kogito.process.ProcessInstances;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Migrates all the instances of a process in chunks, each one committed on its own. After every chunk the id of
+ * its last instance is kept as checkpoint, so a failed or cancelled job can be resumed where it stopped.
+ * An optional delay between chunks throttles the load put on the storage while the job runs in background.
+ */
+public class ProcessInstanceMigrationJob implements Runnable {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ProcessInstanceMigrationJob.class);
+
+    public enum Status {
+        RUNNING,
+        COMPLETED,
+        CANCELLED,
+        FAILED
+    }
+
+    private final String processId;
+    private final String targetProcessId;
+    private final String targetProcessVersion;
+    private final ProcessInstances<?> instances;
+    private final int chunkSize;
+    private final long delayMillis;
+    private final Date startDate;
+
+    private volatile Status status = Status.RUNNING;
+    private volatile String checkpoint;
+    private volatile long migrated;
+    private volatile String error;
+    private volatile Date lastUpdate;
+    private volatile boolean cancelled;
+
+    public ProcessInstanceMigrationJob(String processId, String targetProcessId, String targetProcessVersion, ProcessInstances<?> instances, int chunkSize, long delayMillis) {
+        this(processId, targetProcessId, targetProcessVersion, instances, chunkSize, delayMillis, null, 0);
+    }
+
+    /**
+     * @param checkpoint id of the last instance migrated by a previous run of the job, null to start from the beginning
+     * @param migrated number of instances migrated by a previous run of the job
+     */
+    public ProcessInstanceMigrationJob(String processId, String targetProcessId, String targetProcessVersion, ProcessInstances<?> instances, int chunkSize, long delayMillis,
+            String checkpoint, long migrated) {
+        if (chunkSize <= 0) {
+            throw new IllegalArgumentException("Chunk size must be a positive number, was " + chunkSize);
+        }
+        this.processId = processId;
+        this.targetProcessId = targetProcessId;
+        this.targetProcessVersion = targetProcessVersion;
+        this.instances = instances;
+        this.chunkSize = chunkSize;
+        this.delayMillis = Math.max(0, delayMillis);
+        this.checkpoint = checkpoint;
+        this.migrated = migrated;
+        this.startDate = new Date();
+        this.lastUpdate = startDate;
+    }
+
+    @Override
+    public void run() {
+        LOGGER.info("Migrating instances of process {} to {} {} in chunks of {}, starting after {}", processId, targetProcessId, targetProcessVersion, chunkSize, checkpoint);
+        try {
+            List<String> chunk;
+            do {
+                if (cancelled) {
+                    finish(Status.CANCELLED);
+                    return;
+                }
+                chunk = instances.migrateChunk(targetProcessId, targetProcessVersion, checkpoint, chunkSize);
+                if (!chunk.isEmpty()) {
+                    checkpoint = chunk.get(chunk.size() - 1);
+                    migrated += chunk.size();
+                }
+                lastUpdate = new Date();
+                LOGGER.debug("Migrated {} instances of process {}, checkpoint {}", migrated, processId, checkpoint);
+                if (chunk.size() == chunkSize && delayMillis > 0) {
+                    TimeUnit.MILLISECONDS.sleep(delayMillis);
+                }
+            } while (chunk.size() == chunkSize);
+            finish(Status.COMPLETED);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            finish(Status.CANCELLED);
+        } catch (RuntimeException e) {
+            LOGGER.error("Migration of instances of process {} failed after {} instances, checkpoint {}", processId, migrated, checkpoint, e);
+            error = e.getMessage();
+            finish(Status.FAILED);
+        }
+    }
+
+    private void finish(Status status) {
+        this.lastUpdate = new Date();
+        this.status = status;
+        LOGGER.info("Migration of instances of process {} to {} {} finished as {}, {} instances migrated", processId, targetProcessId, targetProcessVersion, status, migrated);
+    }
+
+    /**
+     * Requests the job to stop once the chunk being migrated, if any, is committed
+     */
+    public void cancel() {
+        cancelled = true;
+    }
+
+    public boolean isRunning() {
+        return status == Status.RUNNING;
+    }
+
+    /**
+     * @return true if this job can be resumed by a job migrating the same process to the given target
+     */
+    public boolean isResumableBy(String targetProcessId, String targetProcessVersion) {
+        return (status == Status.FAILED || status == Status.CANCELLED) && this.targetProcessId.equals(targetProcessId)
+                && (this.targetProcessVersion == null ? targetProcessVersion == null : this.targetProcessVersion.equals(targetProcessVersion));
+    }
+
+    public String getProcessId() {
+        return processId;
+    }
+
+    public String getTargetProcessId() {
+        return targetProcessId;
+    }
+
+    public String getTargetProcessVersion() {
+        return targetProcessVersion;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public String getCheckpoint() {
+        return checkpoint;
+    }
+
+    public long getMigrated() {
+        return migrated;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public Map<String, Object> toMap() {
+        Map<String, Object> data = new HashMap<>();
+        data.put("processId", processId);
+        data.put("targetProcessId", targetProcessId);
+        data.put("targetProcessVersion", targetProcessVersion);
+        data.put("status", status);
+        data.put("numberOfProcessInstanceMigrated", migrated);
+        data.put("checkpoint", checkpoint);
+        data.put("chunkSize", chunkSize);
+        data.put("startDate", startDate);
+        data.put("lastUpdate", lastUpdate);
+        if (error != null) {
+            data.put("error", error);
+        }
+        return data;
+    }
+}
@@ -0,0 +1,81 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+package org.kie.kogito.process.management;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+
+import org.kie.kogito.process.Process;
+
+/**
+ * Keeps the last migration job of every process, which holds its progress and checkpoint, and runs new jobs
+ * in background. Jobs are run one at a time, so concurrent migrations of different processes do not add up
+ * on the storage. Starting a migration for a process whose last job failed or was cancelled, with the same
+ * target, resumes it from its checkpoint.
+ * <p>
+ * Jobs and their checkpoints are kept in memory only: after a restart a migration starts over from the first
+ * instance still bound to the source process, which skips the instances migrated before the restart.
+ */
+public class ProcessInstanceMigrationJobs {
+
+    private final Map<String, ProcessInstanceMigrationJob> jobs = new ConcurrentHashMap<>();
+    private final Executor executor;
+
+    public ProcessInstanceMigrationJobs() {
+        this(Executors.newSingleThreadExecutor(r -> {
+            Thread thread = new Thread(r, "kogito-process-migration");
+            thread.setDaemon(true);
+            return thread;
+        }));
+    }
+
+    public ProcessInstanceMigrationJobs(Executor executor) {
+        this.executor = executor;
+    }
+
+    public ProcessInstanceMigrationJob start(Process<?> process, String targetProcessId, String targetProcessVersion, int chunkSize, long delayMillis) {
+        if (!process.instances().supportsMigration()) {
+            throw new UnsupportedOperationException("Instances of process " + process.id() + " cannot be migrated, their storage does not support migration");
+        }
+        ProcessInstanceMigrationJob job = jobs.compute(process.id(), (id, previous) -> {
+            if (previous != null && previous.isRunning()) {
+                throw new IllegalStateException("Migration of instances of process " + id + " is already running");
+            }
+            if (previous != null && previous.isResumableBy(targetProcessId, targetProcessVersion)) {
+                return new ProcessInstanceMigrationJob(id, targetProcessId, targetProcessVersion, process.instances(), chunkSize, delayMillis, previous.getCheckpoint(),
+                        previous.getMigrated());
+            }
+            return new ProcessInstanceMigrationJob(id, targetProcessId, targetProcessVersion, process.instances(), chunkSize, delayMillis);
+        });
+        executor.execute(job);
+        return job;
+    }
+
+    public Optional<ProcessInstanceMigrationJob> get(String processId) {
+        return Optional.ofNullable(jobs.get(processId));
+    }
+
+    public Optional<ProcessInstanceMigrationJob> cancel(String processId) {
+        Optional<ProcessInstanceMigrationJob> job = get(processId);
+        job.ifPresent(ProcessInstanceMigrationJob::cancel);
+        return job;
+    }
+}
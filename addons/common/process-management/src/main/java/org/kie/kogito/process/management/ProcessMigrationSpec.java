@@ -24,6 +24,10 @@ public class ProcessMigrationSpec {
 
     private String targetProcessVersion;
 
+    private Integer chunkSize;
+
+    private Long delayMillis;
+
     public String getTargetProcessId() {
         return targetProcessId;
     }
@@ -40,4 +44,26 @@ public class ProcessMigrationSpec {
         this.targetProcessVersion = targetProcessVersion;
     }
 
+    /**
+     * @return number of instances migrated per chunk by a background migration, null to use the default
+     */
+    public Integer getChunkSize() {
+        return chunkSize;
+    }
+
+    public void setChunkSize(Integer chunkSize) {
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * @return pause between chunks of a background migration, null for no pause
+     */
+    public Long getDelayMillis() {
+        return delayMillis;
+    }
+
+    public void setDelayMillis(Long delayMillis) {
+        this.delayMillis = delayMillis;
+    }
+
 }
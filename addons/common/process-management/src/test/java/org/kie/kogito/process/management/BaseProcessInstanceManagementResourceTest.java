@@ -210,6 +210,21 @@ class BaseProcessInstanceManagementResourceTest {
             public Object migrateInstance(String processId, String processInstanceId, ProcessMigrationSpec migrationSpec) {
                 return null;
             }
+
+            @Override
+            public Object startMigration(String processId, ProcessMigrationSpec migrationSpec) {
+                return null;
+            }
+
+            @Override
+            public Object getMigration(String processId) {
+                return null;
+            }
+
+            @Override
+            public Object cancelMigration(String processId) {
+                return null;
+            }
         });
     }
 
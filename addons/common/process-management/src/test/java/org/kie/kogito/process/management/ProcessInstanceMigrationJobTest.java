@@ -0,0 +1,114 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+package org.kie.kogito.process.management;
+
+import java.util.List;
+import java.util.concurrent.Executor;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.kie.kogito.process.Process;
+import org.kie.kogito.process.ProcessInstances;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ProcessInstanceMigrationJobTest {
+
+    private static final String PROCESS_ID = "processId";
+    private static final String TARGET_ID = "target";
+    private static final String TARGET_VERSION = "2";
+
+    @Mock
+    private ProcessInstances<?> instances;
+
+    @Mock
+    private Process<?> process;
+
+    @Test
+    void testMigratesInChunksUntilExhausted() {
+        when(instances.migrateChunk(TARGET_ID, TARGET_VERSION, null, 2)).thenReturn(List.of("a", "b"));
+        when(instances.migrateChunk(TARGET_ID, TARGET_VERSION, "b", 2)).thenReturn(List.of("c", "d"));
+        when(instances.migrateChunk(TARGET_ID, TARGET_VERSION, "d", 2)).thenReturn(List.of("e"));
+
+        ProcessInstanceMigrationJob job = new ProcessInstanceMigrationJob(PROCESS_ID, TARGET_ID, TARGET_VERSION, instances, 2, 0);
+        job.run();
+
+        assertThat(job.getStatus()).isEqualTo(ProcessInstanceMigrationJob.Status.COMPLETED);
+        assertThat(job.getMigrated()).isEqualTo(5);
+        assertThat(job.getCheckpoint()).isEqualTo("e");
+    }
+
+    @Test
+    void testFailedJobIsResumedFromCheckpoint() {
+        when(process.id()).thenReturn(PROCESS_ID);
+        when(process.instances()).thenReturn((ProcessInstances) instances);
+        when(instances.supportsMigration()).thenReturn(true);
+        when(instances.migrateChunk(TARGET_ID, TARGET_VERSION, null, 2)).thenReturn(List.of("a", "b"));
+        when(instances.migrateChunk(TARGET_ID, TARGET_VERSION, "b", 2)).thenThrow(new IllegalStateException("connection lost")).thenReturn(List.of("c"));
+
+        ProcessInstanceMigrationJobs jobs = new ProcessInstanceMigrationJobs(Runnable::run);
+        ProcessInstanceMigrationJob failed = jobs.start(process, TARGET_ID, TARGET_VERSION, 2, 0);
+        assertThat(failed.getStatus()).isEqualTo(ProcessInstanceMigrationJob.Status.FAILED);
+        assertThat(failed.getCheckpoint()).isEqualTo("b");
+        assertThat(failed.getError()).isEqualTo("connection lost");
+
+        ProcessInstanceMigrationJob resumed = jobs.start(process, TARGET_ID, TARGET_VERSION, 2, 0);
+        assertThat(resumed.getStatus()).isEqualTo(ProcessInstanceMigrationJob.Status.COMPLETED);
+        assertThat(resumed.getMigrated()).isEqualTo(3);
+        assertThat(jobs.get(PROCESS_ID)).containsSame(resumed);
+        verify(instances).migrateChunk(TARGET_ID, TARGET_VERSION, null, 2);
+    }
+
+    @Test
+    void testCancelledJobStopsBeforeNextChunk() {
+        ProcessInstanceMigrationJob job = new ProcessInstanceMigrationJob(PROCESS_ID, TARGET_ID, TARGET_VERSION, instances, 2, 0);
+        job.cancel();
+        job.run();
+        assertThat(job.getStatus()).isEqualTo(ProcessInstanceMigrationJob.Status.CANCELLED);
+        assertThat(job.getMigrated()).isZero();
+    }
+
+    @Test
+    void testOnlyOneMigrationPerProcessRuns() {
+        when(process.id()).thenReturn(PROCESS_ID);
+        when(process.instances()).thenReturn((ProcessInstances) instances);
+        when(instances.supportsMigration()).thenReturn(true);
+        Executor queued = command -> {
+        };
+        ProcessInstanceMigrationJobs jobs = new ProcessInstanceMigrationJobs(queued);
+        jobs.start(process, TARGET_ID, TARGET_VERSION, 2, 0);
+        assertThatExceptionOfType(IllegalStateException.class).isThrownBy(() -> jobs.start(process, TARGET_ID, TARGET_VERSION, 2, 0));
+    }
+
+    @Test
+    void testMigrationIsRejectedWhenStorageCannotMigrate() {
+        when(process.id()).thenReturn(PROCESS_ID);
+        when(process.instances()).thenReturn((ProcessInstances) instances);
+
+        ProcessInstanceMigrationJobs jobs = new ProcessInstanceMigrationJobs(Runnable::run);
+        assertThatExceptionOfType(UnsupportedOperationException.class).isThrownBy(() -> jobs.start(process, TARGET_ID, TARGET_VERSION, 2, 0))
+                .withMessageContaining(PROCESS_ID);
+        assertThat(jobs.get(PROCESS_ID)).isEmpty();
+    }
+}
@@ -30,4 +30,11 @@ public interface CorrelationService {
 
     void delete(Correlation correlation);
 
+    /**
+     * Removes the correlation of the given instance, unless it has been already replaced by another correlated instance
+     */
+    default void delete(CorrelationInstance correlationInstance) {
+        delete(correlationInstance.getCorrelation());
+    }
+
 }
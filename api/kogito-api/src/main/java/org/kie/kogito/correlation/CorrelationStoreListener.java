@@ -0,0 +1,52 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.kie.kogito.correlation;
+
+/**
+ * Notified of the changes of the in memory correlation stores, so their size and evictions can be monitored.
+ * Implementations are discovered through {@link java.util.ServiceLoader} and must be thread safe and fast,
+ * since they are invoked on every correlation created or removed.
+ */
+public interface CorrelationStoreListener {
+
+    /**
+     * Invoked once a new correlation has been added to the store
+     *
+     * @param store name of the store
+     */
+    default void onAdded(String store) {
+    }
+
+    /**
+     * Invoked once a correlation has been deleted from the store
+     *
+     * @param store name of the store
+     */
+    default void onRemoved(String store) {
+    }
+
+    /**
+     * Invoked once a correlation has been removed to keep the store bounded, or because it was not used for too long
+     *
+     * @param store name of the store
+     * @param expired true if the correlation was not used for longer than the store time to live
+     */
+    default void onEvicted(String store, boolean expired) {
+    }
+}
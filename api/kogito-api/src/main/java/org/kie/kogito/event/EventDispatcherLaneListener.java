@@ -0,0 +1,47 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.kie.kogito.event;
+
+/**
+ * Receives notifications from the lanes used to serialize the events dispatched to the same process instance.
+ * Implementations are discovered through {@link java.util.ServiceLoader} and must be thread safe.
+ */
+public interface EventDispatcherLaneListener {
+
+    /**
+     * Invoked once an event has been queued
+     *
+     * @param name name of the dispatcher, usually the process id
+     * @param lane index of the lane the event was queued into
+     * @param queueDepth number of events waiting in that lane, including this one
+     */
+    default void onQueued(String name, int lane, int queueDepth) {
+    }
+
+    /**
+     * Invoked right before an event is processed
+     *
+     * @param name name of the dispatcher, usually the process id
+     * @param lane index of the lane the event was taken from
+     * @param queueDepth number of events still waiting in that lane
+     * @param waitNanos time the event has been waiting in the lane
+     */
+    default void onStarted(String name, int lane, int queueDepth, long waitNanos) {
+    }
+}
@@ -44,6 +44,28 @@ public interface KogitoWorkItemHandler {
         return getClass().getSimpleName();
     }
 
+    /**
+     * Tells whether the handler may be invoked away from the thread executing the process instance, e.g. by the
+     * concurrent mode of multi-instance loops. Such a handler must not rely on anything bound to the calling thread,
+     * like the current unit of work, transaction or request context. Handlers are not thread safe by default.
+     *
+     * @return <code>true</code> if the handler can run on another thread
+     */
+    default boolean isThreadSafe() {
+        return false;
+    }
+
+    /**
+     * Tells whether the given work item may be started away from the thread executing the process instance, for handlers
+     * whose thread safety depends on the parameters of the work item. Defaults to {@link #isThreadSafe()}.
+     *
+     * @param workItem the work item about to be started
+     * @return <code>true</code> if the handler can run the work item on another thread
+     */
+    default boolean isThreadSafe(KogitoWorkItem workItem) {
+        return isThreadSafe();
+    }
+
     /*
      * Transition to another phase from initial
      */
@@ -18,6 +18,10 @@
  */
 package org.kie.kogito.jobs;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
 /**
  * JobsService provides an entry point for working with different types of jobs
  * that are meant by default to run in background.
@@ -42,4 +46,34 @@ public interface JobsService {
      * @return returns true if the cancellation was successful, otherwise false
      */
     boolean cancelJob(String id);
+
+    /**
+     * Schedules all the given jobs. Implementations backed by a remote jobs service
+     * are expected to submit them in a single request.
+     *
+     * @param descriptions jobs to be scheduled
+     * @return returns the unique ids of the scheduled jobs, in the same order as the descriptions
+     */
+    default List<String> scheduleJobs(Collection<? extends JobDescription> descriptions) {
+        List<String> ids = new ArrayList<>(descriptions.size());
+        for (JobDescription description : descriptions) {
+            ids.add(scheduleJob(description));
+        }
+        return ids;
+    }
+
+    /**
+     * Cancels all the given jobs. Implementations backed by a remote jobs service
+     * are expected to submit them in a single request.
+     *
+     * @param ids unique ids of the jobs
+     * @return returns true if all the cancellations were successful, otherwise false
+     */
+    default boolean cancelJobs(Collection<String> ids) {
+        boolean cancelled = true;
+        for (String id : ids) {
+            cancelled &= cancelJob(id);
+        }
+        return cancelled;
+    }
 }
@@ -35,4 +35,12 @@ public interface MutableProcessInstances<T> extends ProcessInstances<T> {
     default boolean lock() {
         return false;
     }
+
+    /**
+     * Whether creates, updates and removals are deferred until the unit of work ends. Such storages report the time
+     * spent flushing the writes to {@link ProcessPersistenceListener#onRepositoryWrite(String, String, long)} themselves.
+     */
+    default boolean writeBehind() {
+        return false;
+    }
 }
@@ -26,6 +26,13 @@ import org.kie.kogito.signal.SignalManagerHub;
 import org.kie.kogito.uow.UnitOfWorkManager;
 
 public interface ProcessConfig extends KogitoConfig {
+
+    String WORK_ITEM_MAX_CONCURRENCY_PROPERTY = "kogito.workitem.max-concurrency";
+    int DEFAULT_WORK_ITEM_MAX_CONCURRENCY = 8;
+    String JSON_NODE_BINARY_PROPERTY = "kogito.serialization.json-node.binary";
+    String JSON_NODE_COMPRESSION_THRESHOLD_PROPERTY = "kogito.serialization.json-node.compression-threshold";
+    int DEFAULT_JSON_NODE_COMPRESSION_THRESHOLD = 16 * 1024;
+
     WorkItemHandlerConfig workItemHandlers();
 
     ProcessEventListenerConfig processEventListeners();
@@ -41,4 +48,25 @@ public interface ProcessConfig extends KogitoConfig {
     IdentityProvider identityProvider();
 
     BusinessCalendar getBusinessCalendar();
+
+    /**
+     * Maximum number of thread safe work item handlers a process runs at the same time on its own threads.
+     */
+    default int workItemMaxConcurrency() {
+        return DEFAULT_WORK_ITEM_MAX_CONCURRENCY;
+    }
+
+    /**
+     * Whether JsonNode variables are persisted in their binary encoding rather than as text.
+     */
+    default boolean jsonNodeBinary() {
+        return Boolean.getBoolean(JSON_NODE_BINARY_PROPERTY);
+    }
+
+    /**
+     * Size in bytes above which binary JsonNode variables are compressed, a negative value disables compression.
+     */
+    default int jsonNodeCompressionThreshold() {
+        return Integer.getInteger(JSON_NODE_COMPRESSION_THRESHOLD_PROPERTY, DEFAULT_JSON_NODE_COMPRESSION_THRESHOLD);
+    }
 }
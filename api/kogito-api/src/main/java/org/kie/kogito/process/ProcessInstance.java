@@ -177,6 +177,16 @@ public interface ProcessInstance<T> {
      */
     void abortWorkItem(String id, Policy... policies);
 
+    /**
+     * Fails work item belonging to this process instance, handling the error as if the work item handler had thrown it
+     *
+     * @param id id of the work item to fail
+     * @param error error the work item failed with
+     */
+    default void failWorkItem(String id, RuntimeException error) {
+        throw new UnsupportedOperationException("Failing work items is not supported by " + getClass().getSimpleName());
+    }
+
     /**
      * Transition work item belonging to this process instance not another life cycle phase
      *
@@ -0,0 +1,90 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.kie.kogito.process;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Helper for storages implementing {@link ProcessInstances#find(ProcessInstanceQuery, ProcessInstanceReadMode)} on top of
+ * a keyset paginated lookup. Pages are loaded lazily, the criteria that could not be pushed down to the storage
+ * are checked through {@link ProcessInstanceQuery#matches(ProcessInstance)} and loading stops as soon as the query limit is reached.
+ */
+public final class ProcessInstancePages {
+
+    public static final int DEFAULT_PAGE_SIZE = 500;
+
+    @FunctionalInterface
+    public interface PageLoader<R> {
+        /**
+         * Loads, ordered by id, at most pageSize records whose id is greater than after (or from the beginning if after is null)
+         */
+        List<R> load(String after, int pageSize);
+    }
+
+    private ProcessInstancePages() {
+    }
+
+    public static <P extends ProcessInstance<?>> Stream<P> fetch(ProcessInstanceQuery query, PageLoader<P> loader) {
+        return fetch(query, loader, ProcessInstance::id, query::matches, Function.identity());
+    }
+
+    /**
+     * Same as {@link #fetch(ProcessInstanceQuery, PageLoader)} for storages loading the stored records, so the records
+     * that do not match the query (e.g. checked on their header) are skipped without being unmarshalled.
+     *
+     * @param id returns the process instance id of a record, used as cursor of the next page
+     * @param matches checks the record against the criteria that were not pushed down to the storage
+     * @param unmarshaller converts a matching record into a process instance
+     */
+    public static <R, P extends ProcessInstance<?>> Stream<P> fetch(ProcessInstanceQuery query, PageLoader<R> loader, Function<? super R, String> id,
+            Predicate<? super R> matches, Function<? super R, P> unmarshaller) {
+        int pageSize = Math.min(query.getLimit(), DEFAULT_PAGE_SIZE);
+        return StreamSupport.stream(new Spliterators.AbstractSpliterator<P>(Long.MAX_VALUE, Spliterator.ORDERED | Spliterator.NONNULL) {
+            private final Deque<P> current = new ArrayDeque<>();
+            private String cursor = query.getAfter();
+            private boolean exhausted;
+
+            @Override
+            public boolean tryAdvance(Consumer<? super P> action) {
+                while (current.isEmpty() && !exhausted) {
+                    List<R> page = loader.load(cursor, pageSize);
+                    exhausted = page.size() < pageSize;
+                    if (!page.isEmpty()) {
+                        cursor = id.apply(page.get(page.size() - 1));
+                    }
+                    page.stream().filter(matches).map(unmarshaller).forEach(current::add);
+                }
+                if (current.isEmpty()) {
+                    return false;
+                }
+                action.accept(current.poll());
+                return true;
+            }
+        }, false).limit(query.getLimit());
+    }
+}
@@ -0,0 +1,191 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.kie.kogito.process;
+
+import java.util.Collections;
+import java.util.Date;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * Filter and keyset pagination criteria used to look up process instances of a single process.
+ * Results are ordered by process instance id; {@link #getAfter()} is the id of the last instance of the
+ * previous page, so the next page starts with the first id that is greater than it.
+ * Storages push down as much of the query as they can, and {@link #matches(ProcessInstance)} is used
+ * to check the remaining criteria on the unmarshalled instances.
+ */
+public class ProcessInstanceQuery {
+
+    public static final int NO_LIMIT = Integer.MAX_VALUE;
+
+    private final Set<Integer> statuses;
+    private final String businessKey;
+    private final Date startedFrom;
+    private final Date startedTo;
+    private final String after;
+    private final int limit;
+
+    private ProcessInstanceQuery(Set<Integer> statuses, String businessKey, Date startedFrom, Date startedTo, String after, int limit) {
+        this.statuses = statuses;
+        this.businessKey = businessKey;
+        this.startedFrom = startedFrom;
+        this.startedTo = startedTo;
+        this.after = after;
+        this.limit = limit;
+    }
+
+    /**
+     * @return accepted status values, empty if any status is accepted
+     */
+    public Set<Integer> getStatuses() {
+        return statuses;
+    }
+
+    public String getBusinessKey() {
+        return businessKey;
+    }
+
+    /**
+     * @return inclusive lower bound of the start date, or null
+     */
+    public Date getStartedFrom() {
+        return startedFrom;
+    }
+
+    /**
+     * @return exclusive upper bound of the start date, or null
+     */
+    public Date getStartedTo() {
+        return startedTo;
+    }
+
+    /**
+     * @return cursor (exclusive) of the page to be returned, or null for the first page
+     */
+    public String getAfter() {
+        return after;
+    }
+
+    public int getLimit() {
+        return limit;
+    }
+
+    public boolean hasStartDateRange() {
+        return startedFrom != null || startedTo != null;
+    }
+
+    public boolean matchesStatus(int status) {
+        return statuses.isEmpty() || statuses.contains(status);
+    }
+
+    public boolean matchesId(String id) {
+        return after == null || id.compareTo(after) > 0;
+    }
+
+    public boolean matches(ProcessInstance<?> instance) {
+        return matches(instance.id(), instance.status(), instance.businessKey(), instance.startDate());
+    }
+
+    /**
+     * Checks the query against the given header values, so storages able to decode them cheaply can skip full unmarshalling
+     */
+    public boolean matches(String id, int status, String businessKey, Date startDate) {
+        if (!matchesId(id) || !matchesStatus(status)) {
+            return false;
+        }
+        if (this.businessKey != null && !this.businessKey.equals(businessKey)) {
+            return false;
+        }
+        if (hasStartDateRange()) {
+            if (startDate == null || (startedFrom != null && startDate.before(startedFrom)) || (startedTo != null && !startDate.before(startedTo))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Creates a query for the page that follows the given process instance id, keeping the rest of the criteria.
+     */
+    public ProcessInstanceQuery next(String lastId) {
+        return new ProcessInstanceQuery(statuses, businessKey, startedFrom, startedTo, lastId, limit);
+    }
+
+    @Override
+    public String toString() {
+        return "ProcessInstanceQuery [statuses=" + statuses + ", businessKey=" + businessKey + ", startedFrom=" + startedFrom + ", startedTo=" + startedTo + ", after=" + after + ", limit="
+                + limit + "]";
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public static class Builder {
+
+        private final Set<Integer> statuses = new LinkedHashSet<>();
+        private String businessKey;
+        private Date startedFrom;
+        private Date startedTo;
+        private String after;
+        private int limit = NO_LIMIT;
+
+        public Builder() {
+        }
+
+        public Builder withStatus(int... statuses) {
+            for (int status : statuses) {
+                this.statuses.add(status);
+            }
+            return this;
+        }
+
+        public Builder withBusinessKey(String businessKey) {
+            this.businessKey = businessKey;
+            return this;
+        }
+
+        public Builder withStartedFrom(Date startedFrom) {
+            this.startedFrom = startedFrom;
+            return this;
+        }
+
+        public Builder withStartedTo(Date startedTo) {
+            this.startedTo = startedTo;
+            return this;
+        }
+
+        public Builder withAfter(String after) {
+            this.after = after;
+            return this;
+        }
+
+        public Builder withLimit(int limit) {
+            if (limit <= 0) {
+                throw new IllegalArgumentException("Limit must be a positive number, was " + limit);
+            }
+            this.limit = limit;
+            return this;
+        }
+
+        public ProcessInstanceQuery build() {
+            return new ProcessInstanceQuery(Collections.unmodifiableSet(new LinkedHashSet<>(statuses)), businessKey, startedFrom, startedTo, after, limit);
+        }
+    }
+}
@@ -18,11 +18,16 @@
  */
 package org.kie.kogito.process;
 
+import java.util.Comparator;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 public interface ProcessInstances<T> {
 
+    int DEFAULT_MIGRATION_CHUNK_SIZE = 1000;
+
     default Optional<ProcessInstance<T>> findById(String id) {
         return findById(id, ProcessInstanceReadMode.MUTABLE);
     }
@@ -37,8 +42,57 @@ public interface ProcessInstances<T> {
         throw new UnsupportedOperationException();
     }
 
+    /**
+     * Tells whether this storage can migrate instances to another process definition, so long running migrations
+     * can be rejected before they start. Storages implementing {@link #migrateProcessInstances(String, String, String...)}
+     * must return true.
+     */
+    default boolean supportsMigration() {
+        return false;
+    }
+
+    /**
+     * Migrates all the instances of this process, one chunk of {@link #DEFAULT_MIGRATION_CHUNK_SIZE} instances at a time,
+     * so no single operation has to lock every instance of the process.
+     *
+     * @return number of migrated instances
+     */
     default long migrateAll(String targetProcessId, String targetProcessVersion) {
-        throw new UnsupportedOperationException();
+        long migrated = 0;
+        String after = null;
+        List<String> chunk;
+        do {
+            chunk = migrateChunk(targetProcessId, targetProcessVersion, after, DEFAULT_MIGRATION_CHUNK_SIZE);
+            migrated += chunk.size();
+            if (!chunk.isEmpty()) {
+                after = chunk.get(chunk.size() - 1);
+            }
+        } while (chunk.size() == DEFAULT_MIGRATION_CHUNK_SIZE);
+        return migrated;
+    }
+
+    /**
+     * Migrates, ordered by id, at most chunkSize instances whose id is greater than the given one. Each chunk is
+     * migrated atomically, so the id of the last migrated instance can be used as a checkpoint to resume a migration.
+     * The default implementation looks up the chunk through {@link #find(ProcessInstanceQuery)} and migrates it
+     * with {@link #migrateProcessInstances(String, String, String...)}; storages are expected to override it to
+     * select and migrate the chunk in a single round trip.
+     *
+     * @param after exclusive lower bound of the id, null to start from the first instance
+     * @return ids of the migrated instances, ordered; fewer than chunkSize once there is nothing left to migrate
+     */
+    default List<String> migrateChunk(String targetProcessId, String targetProcessVersion, String after, int chunkSize) {
+        if (!supportsMigration()) {
+            throw new UnsupportedOperationException("Process instance migration is not supported by " + getClass().getSimpleName());
+        }
+        List<String> ids;
+        try (Stream<ProcessInstance<T>> chunk = find(ProcessInstanceQuery.builder().withAfter(after).withLimit(chunkSize).build())) {
+            ids = chunk.map(ProcessInstance::id).collect(Collectors.toList());
+        }
+        if (!ids.isEmpty()) {
+            migrateProcessInstances(targetProcessId, targetProcessVersion, ids.toArray(String[]::new));
+        }
+        return ids;
     }
 
     default Optional<ProcessInstance<T>> findByBusinessKey(String id, ProcessInstanceReadMode mode) {
@@ -51,4 +105,17 @@ public interface ProcessInstances<T> {
         return stream(ProcessInstanceReadMode.READ_ONLY);
     }
 
+    default Stream<ProcessInstance<T>> find(ProcessInstanceQuery query) {
+        return find(query, ProcessInstanceReadMode.READ_ONLY);
+    }
+
+    /**
+     * Returns the process instances matching the given query, ordered by id and limited to {@link ProcessInstanceQuery#getLimit()}.
+     * The default implementation filters the whole {@link #stream(ProcessInstanceReadMode)}; storages are expected to
+     * override it to push filtering and pagination down to the underlying store.
+     */
+    default Stream<ProcessInstance<T>> find(ProcessInstanceQuery query, ProcessInstanceReadMode mode) {
+        return stream(mode).filter(query::matches).sorted(Comparator.comparing(ProcessInstance::id)).limit(query.getLimit());
+    }
+
 }
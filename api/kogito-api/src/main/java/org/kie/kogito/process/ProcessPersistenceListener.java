@@ -0,0 +1,74 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.kie.kogito.process;
+
+/**
+ * Receives the cost of persisting process instances: serialization, repository writes, unit of work commits and optimistic lock retries.
+ * Implementations are discovered through {@link java.util.ServiceLoader} or registered through {@link ProcessPersistenceListeners#register(ProcessPersistenceListener)}
+ * and must be thread safe.
+ */
+public interface ProcessPersistenceListener {
+
+    /**
+     * Invoked once a process instance has been serialized
+     *
+     * @param processId id of the process definition
+     * @param nanos time spent serializing
+     * @param bytes size of the serialized payload
+     */
+    default void onMarshalled(String processId, long nanos, int bytes) {
+    }
+
+    /**
+     * Invoked once a process instance has been deserialized
+     *
+     * @param processId id of the process definition
+     * @param nanos time spent deserializing
+     * @param bytes size of the serialized payload
+     */
+    default void onUnmarshalled(String processId, long nanos, int bytes) {
+    }
+
+    /**
+     * Invoked once a process instance has been created, updated or removed in its repository. Storages deferring their
+     * writes (see {@link MutableProcessInstances#writeBehind()}) invoke it once per flush instead.
+     *
+     * @param backend name of the repository implementation
+     * @param processId id of the process definition
+     * @param nanos time spent in the repository
+     */
+    default void onRepositoryWrite(String backend, String processId, long nanos) {
+    }
+
+    /**
+     * Invoked once a unit of work has been committed
+     *
+     * @param nanos time spent committing the unit of work, including event publishing
+     */
+    default void onUnitOfWorkEnded(long nanos) {
+    }
+
+    /**
+     * Invoked when a job is retried because of an optimistic lock failure
+     *
+     * @param processId id of the process (or user task) definition
+     */
+    default void onOptimisticLockRetry(String processId) {
+    }
+}
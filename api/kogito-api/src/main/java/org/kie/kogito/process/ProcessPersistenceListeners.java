@@ -0,0 +1,81 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.kie.kogito.process;
+
+import java.util.List;
+import java.util.ServiceLoader;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.Collectors;
+
+/**
+ * Gives access to the {@link ProcessPersistenceListener} registered in the classpath, or by the application through
+ * {@link #register(ProcessPersistenceListener)} when the listener depends on application beans.
+ * Callers are expected to check {@link #isEnabled()} before measuring, so nothing is timed when there is no listener.
+ */
+public final class ProcessPersistenceListeners {
+
+    private static final List<ProcessPersistenceListener> LISTENERS = new CopyOnWriteArrayList<>(
+            ServiceLoader.load(ProcessPersistenceListener.class).stream().map(ServiceLoader.Provider::get).collect(Collectors.toList()));
+
+    private static final ProcessPersistenceListener COMPOSITE = new ProcessPersistenceListener() {
+        @Override
+        public void onMarshalled(String processId, long nanos, int bytes) {
+            LISTENERS.forEach(l -> l.onMarshalled(processId, nanos, bytes));
+        }
+
+        @Override
+        public void onUnmarshalled(String processId, long nanos, int bytes) {
+            LISTENERS.forEach(l -> l.onUnmarshalled(processId, nanos, bytes));
+        }
+
+        @Override
+        public void onRepositoryWrite(String backend, String processId, long nanos) {
+            LISTENERS.forEach(l -> l.onRepositoryWrite(backend, processId, nanos));
+        }
+
+        @Override
+        public void onUnitOfWorkEnded(long nanos) {
+            LISTENERS.forEach(l -> l.onUnitOfWorkEnded(nanos));
+        }
+
+        @Override
+        public void onOptimisticLockRetry(String processId) {
+            LISTENERS.forEach(l -> l.onOptimisticLockRetry(processId));
+        }
+    };
+
+    private ProcessPersistenceListeners() {
+    }
+
+    public static void register(ProcessPersistenceListener listener) {
+        LISTENERS.add(listener);
+    }
+
+    public static void unregister(ProcessPersistenceListener listener) {
+        LISTENERS.remove(listener);
+    }
+
+    public static boolean isEnabled() {
+        return !LISTENERS.isEmpty();
+    }
+
+    public static ProcessPersistenceListener get() {
+        return COMPOSITE;
+    }
+}
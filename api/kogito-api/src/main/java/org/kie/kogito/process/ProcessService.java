@@ -22,6 +22,8 @@ import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
 import java.util.function.Function;
 
 import org.kie.kogito.MapOutput;
@@ -61,6 +63,14 @@ public interface ProcessService {
 
     <T extends MappableToModel<R>, R> Optional<R> findById(Process<T> process, String id);
 
+    /**
+     * Same as {@link #findById(Process, String)} but does not block the caller when the process instances
+     * storage is a {@link ReactiveProcessInstances}.
+     */
+    default <T extends MappableToModel<R>, R> CompletionStage<Optional<R>> findByIdAsync(Process<T> process, String id) {
+        return CompletableFuture.supplyAsync(() -> findById(process, id));
+    }
+
     <T extends MappableToModel<R>, R> Optional<R> signalProcessInstance(Process<T> process, String id, Object data, String signalName);
 
     <T> void migrateProcessInstances(Process<T> process, String targetProcessId, String targetProcessVersion, String... id) throws UnsupportedOperationException;
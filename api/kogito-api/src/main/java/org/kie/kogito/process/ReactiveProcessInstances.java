@@ -0,0 +1,44 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.kie.kogito.process;
+
+import java.util.Optional;
+import java.util.concurrent.CompletionStage;
+
+/**
+ * Non blocking counterpart of {@link MutableProcessInstances}, implemented by storages backed by an asynchronous client.
+ * Returned stages are completed by the client itself, so callers must not block on them from the thread
+ * (usually an event loop) that completes them.
+ */
+public interface ReactiveProcessInstances<T> {
+
+    default CompletionStage<Optional<ProcessInstance<T>>> findByIdAsync(String id) {
+        return findByIdAsync(id, ProcessInstanceReadMode.MUTABLE);
+    }
+
+    CompletionStage<Optional<ProcessInstance<T>>> findByIdAsync(String id, ProcessInstanceReadMode mode);
+
+    CompletionStage<Boolean> existsAsync(String id);
+
+    CompletionStage<Void> createAsync(String id, ProcessInstance<T> instance);
+
+    CompletionStage<Void> updateAsync(String id, ProcessInstance<T> instance);
+
+    CompletionStage<Void> removeAsync(String id);
+}
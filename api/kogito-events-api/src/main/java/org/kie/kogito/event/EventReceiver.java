@@ -40,6 +40,18 @@ public interface EventReceiver extends AutoCloseable {
      */
     <T> void subscribe(Function<DataEvent<T>, CompletionStage<?>> consumer, Class<T> dataClass);
 
+    /**
+     * Subscribe an event consumer that is only interested in events whose cloud event type or source is the given one.
+     * Implementations might use it to avoid decoding events for consumers that will ignore them, the consumer must still be ready to receive any event.
+     * 
+     * @param consumer consumer function that accepts the data event object and return a completion stage with the result of the consumption.
+     * @param dataClass the model object class wrapped into the data event
+     * @param type the cloud event type (or source) the consumer is interested in, null if it is interested in every event
+     */
+    default <T> void subscribe(Function<DataEvent<T>, CompletionStage<?>> consumer, Class<T> dataClass, String type) {
+        subscribe(consumer, dataClass);
+    }
+
     @Override
     default void close() throws Exception {
     }
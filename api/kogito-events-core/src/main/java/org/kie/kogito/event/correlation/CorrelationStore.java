@@ -0,0 +1,207 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.kie.kogito.event.correlation;
+
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+
+import org.kie.kogito.correlation.CorrelationInstance;
+import org.kie.kogito.correlation.CorrelationStoreListener;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Correlation instances indexed by encoded correlation id and by correlated id.
+ * <p>
+ * Lookups never lock. The store is unbounded when the maximum size is zero or negative. When it grows beyond it, correlations not
+ * used since the previous eviction pass are removed (clock algorithm), by a single thread at a time; as such a correlation
+ * may still belong to a waiting instance, every eviction is logged as a warning. When a time to live is set, correlations not used
+ * for longer are treated as missing once looked up and swept at most once per time to live period.
+ */
+final class CorrelationStore {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(CorrelationStore.class);
+
+    private static class Entry {
+        private final CorrelationInstance instance;
+        private volatile long lastAccess;
+        private volatile boolean referenced;
+
+        private Entry(CorrelationInstance instance, long lastAccess) {
+            this.instance = instance;
+            this.lastAccess = lastAccess;
+            // a new correlation survives the first eviction pass, so it is not removed before it can be used
+            this.referenced = true;
+        }
+    }
+
+    private final String name;
+    private final int maxSize;
+    private final long ttlNanos;
+    private final LongSupplier clock;
+    private final Collection<CorrelationStoreListener> listeners;
+
+    private final Map<String, Entry> correlations = new ConcurrentHashMap<>();
+    private final Map<String, Entry> correlated = new ConcurrentHashMap<>();
+    private final ReentrantLock evictionLock = new ReentrantLock();
+    private final AtomicLong lastSweep;
+    private Iterator<Entry> clockHand;
+
+    CorrelationStore(String name, int maxSize, long ttlNanos, LongSupplier clock, Collection<CorrelationStoreListener> listeners) {
+        this.name = name;
+        // zero or negative means unbounded
+        this.maxSize = maxSize > 0 ? maxSize : Integer.MAX_VALUE;
+        this.ttlNanos = ttlNanos;
+        this.clock = clock;
+        this.listeners = listeners;
+        this.lastSweep = new AtomicLong(clock.getAsLong());
+    }
+
+    void put(CorrelationInstance instance) {
+        long now = clock.getAsLong();
+        Entry entry = new Entry(instance, now);
+        Entry replaced = correlations.put(instance.getCorrelationId(), entry);
+        if (replaced != null) {
+            // the correlation now belongs to another instance
+            correlated.remove(replaced.instance.getCorrelatedId(), replaced);
+        } else {
+            listeners.forEach(l -> l.onAdded(name));
+        }
+        Entry previous = correlated.put(instance.getCorrelatedId(), entry);
+        if (previous != null && previous != replaced && correlations.remove(previous.instance.getCorrelationId(), previous)) {
+            listeners.forEach(l -> l.onRemoved(name));
+        }
+        if (correlations.size() > maxSize) {
+            evict();
+        }
+        if (ttlNanos > 0 && now - lastSweep.get() > ttlNanos) {
+            sweep(now);
+        }
+    }
+
+    CorrelationInstance get(String correlationId) {
+        return access(correlations.get(correlationId));
+    }
+
+    CorrelationInstance getByCorrelatedId(String correlatedId) {
+        return access(correlated.get(correlatedId));
+    }
+
+    CorrelationInstance remove(String correlationId) {
+        Entry entry = correlations.remove(correlationId);
+        if (entry == null) {
+            return null;
+        }
+        correlated.remove(entry.instance.getCorrelatedId(), entry);
+        listeners.forEach(l -> l.onRemoved(name));
+        return entry.instance;
+    }
+
+    void remove(CorrelationInstance instance) {
+        Entry entry = correlated.get(instance.getCorrelatedId());
+        if (entry != null && entry.instance.getCorrelationId().equals(instance.getCorrelationId())) {
+            correlated.remove(instance.getCorrelatedId(), entry);
+            if (correlations.remove(instance.getCorrelationId(), entry)) {
+                listeners.forEach(l -> l.onRemoved(name));
+            }
+        }
+    }
+
+    int size() {
+        return correlations.size();
+    }
+
+    void clear() {
+        for (Entry entry : correlations.values()) {
+            if (correlations.remove(entry.instance.getCorrelationId(), entry)) {
+                correlated.remove(entry.instance.getCorrelatedId(), entry);
+                listeners.forEach(l -> l.onRemoved(name));
+            }
+        }
+    }
+
+    private CorrelationInstance access(Entry entry) {
+        if (entry == null) {
+            return null;
+        }
+        if (ttlNanos > 0) {
+            long now = clock.getAsLong();
+            if (now - entry.lastAccess > ttlNanos) {
+                evict(entry, true);
+                return null;
+            }
+            entry.lastAccess = now;
+        }
+        entry.referenced = true;
+        return entry.instance;
+    }
+
+    private void evict() {
+        // a thread already evicting will bring the size back under the limit
+        if (!evictionLock.tryLock()) {
+            return;
+        }
+        try {
+            while (correlations.size() > maxSize) {
+                if (clockHand == null || !clockHand.hasNext()) {
+                    clockHand = correlations.values().iterator();
+                }
+                Entry entry = clockHand.next();
+                if (entry.referenced) {
+                    entry.referenced = false;
+                } else if (evict(entry, false)) {
+                    LOGGER.warn("Correlation store {} is full ({} correlations), evicted correlation {} of {}", name, maxSize, entry.instance.getCorrelationId(),
+                            entry.instance.getCorrelatedId());
+                }
+            }
+        } finally {
+            evictionLock.unlock();
+        }
+    }
+
+    private void sweep(long now) {
+        if (!evictionLock.tryLock()) {
+            return;
+        }
+        try {
+            lastSweep.set(now);
+            for (Entry entry : correlations.values()) {
+                if (now - entry.lastAccess > ttlNanos) {
+                    evict(entry, true);
+                }
+            }
+        } finally {
+            evictionLock.unlock();
+        }
+    }
+
+    private boolean evict(Entry entry, boolean expired) {
+        if (correlations.remove(entry.instance.getCorrelationId(), entry)) {
+            correlated.remove(entry.instance.getCorrelatedId(), entry);
+            listeners.forEach(l -> l.onEvicted(name, expired));
+            return true;
+        }
+        return false;
+    }
+}
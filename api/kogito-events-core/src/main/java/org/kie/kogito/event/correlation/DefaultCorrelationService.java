@@ -18,49 +18,92 @@
  */
 package org.kie.kogito.event.correlation;
 
-import java.util.Map;
+import java.util.Collection;
 import java.util.Optional;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.ServiceLoader;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+import java.util.stream.Collectors;
 
 import org.kie.kogito.correlation.Correlation;
 import org.kie.kogito.correlation.CorrelationEncoder;
 import org.kie.kogito.correlation.CorrelationInstance;
 import org.kie.kogito.correlation.CorrelationService;
+import org.kie.kogito.correlation.CorrelationStoreListener;
 
+/**
+ * In memory correlation service. Every instance owns its correlations, keeping at most {@value #MAX_SIZE_PROPERTY}
+ * of them ({@value #DEFAULT_MAX_SIZE} by default, zero or negative for no limit). Beyond it, the least recently used ones
+ * are evicted, even if their instance is still waiting. When {@value #TTL_PROPERTY} is set, correlations expire once they
+ * have not been used for that many milliseconds; they never expire by default, as an instance may wait for its event
+ * much longer than any sensible default.
+ */
 public class DefaultCorrelationService implements CorrelationService {
 
-    private static final Map<String, CorrelationInstance> correlationRepository = new ConcurrentHashMap<>();
-    private static final Map<String, CorrelationInstance> correlatedRepository = new ConcurrentHashMap<>();
+    public static final String MAX_SIZE_PROPERTY = "kogito.correlation.store.max-size";
+    public static final String TTL_PROPERTY = "kogito.correlation.store.ttl-millis";
+    public static final int DEFAULT_MAX_SIZE = 100_000;
+    public static final long DEFAULT_TTL_MILLIS = 0L;
+    public static final String DEFAULT_NAME = "default";
+
+    private static final Collection<CorrelationStoreListener> listeners = ServiceLoader.load(CorrelationStoreListener.class).stream()
+            .map(ServiceLoader.Provider::get).collect(Collectors.toUnmodifiableList());
+
+    private final CorrelationStore store;
 
     private CorrelationEncoder correlationEncoder = new MD5CorrelationEncoder();
 
+    public DefaultCorrelationService() {
+        this(DEFAULT_NAME, Integer.getInteger(MAX_SIZE_PROPERTY, DEFAULT_MAX_SIZE), Long.getLong(TTL_PROPERTY, DEFAULT_TTL_MILLIS), TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * @param name name of the store, reported to the {@link CorrelationStoreListener}s
+     * @param maxSize maximum number of correlations kept, zero or negative to keep all of them
+     * @param ttl time a correlation is kept without being used, zero or negative to keep it until deleted or evicted
+     * @param unit unit of the time to live
+     */
+    public DefaultCorrelationService(String name, int maxSize, long ttl, TimeUnit unit) {
+        this(name, maxSize, unit.toNanos(ttl), System::nanoTime);
+    }
+
+    DefaultCorrelationService(String name, int maxSize, long ttlNanos, LongSupplier clock) {
+        this.store = new CorrelationStore(name, maxSize, ttlNanos, clock, listeners);
+    }
+
     @Override
     public CorrelationInstance create(Correlation correlation, String correlatedId) {
         String encodedCorrelationId = correlationEncoder.encode(correlation);
         CorrelationInstance correlationInstance = new CorrelationInstance(encodedCorrelationId, correlatedId, correlation);
-        correlationRepository.put(encodedCorrelationId, correlationInstance);
-        correlatedRepository.put(correlatedId, correlationInstance);
+        store.put(correlationInstance);
         return correlationInstance;
     }
 
     @Override
     public Optional<CorrelationInstance> find(Correlation correlation) {
-        return Optional.ofNullable(correlationRepository.get(correlationEncoder.encode(correlation)));
+        return Optional.ofNullable(store.get(correlationEncoder.encode(correlation)));
     }
 
     @Override
     public Optional<CorrelationInstance> findByCorrelatedId(String correlatedId) {
-        return Optional.ofNullable(correlatedRepository.get(correlatedId));
+        return Optional.ofNullable(store.getByCorrelatedId(correlatedId));
     }
 
     @Override
     public void delete(Correlation correlation) {
-        CorrelationInstance removed = correlationRepository.remove(correlationEncoder.encode(correlation));
-        correlatedRepository.remove(removed.getCorrelatedId());
+        store.remove(correlationEncoder.encode(correlation));
+    }
+
+    @Override
+    public void delete(CorrelationInstance correlationInstance) {
+        store.remove(correlationInstance);
+    }
+
+    public int size() {
+        return store.size();
     }
 
     public final void clear() {
-        correlationRepository.clear();
-        correlatedRepository.clear();
+        store.clear();
     }
 }
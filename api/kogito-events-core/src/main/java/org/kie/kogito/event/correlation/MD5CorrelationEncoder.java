@@ -20,6 +20,7 @@ package org.kie.kogito.event.correlation;
 
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
 import java.util.StringJoiner;
 
 import org.kie.kogito.correlation.CompositeCorrelation;
@@ -30,16 +31,14 @@ import static java.util.stream.Collectors.joining;
 
 public class MD5CorrelationEncoder implements CorrelationEncoder {
 
+    private static final HexFormat HEX = HexFormat.of();
+    private static final MessageDigest PROTOTYPE = newDigest();
+
     @Override
     public String encode(Correlation<?> correlation) {
-        try {
-            String rawCorrelationString = encodeCorrelation(correlation);
-            MessageDigest md = MessageDigest.getInstance("MD5");
-            md.update(rawCorrelationString.getBytes());
-            return bytesToHex(md.digest());
-        } catch (NoSuchAlgorithmException e) {
-            throw new IllegalStateException(e);
-        }
+        MessageDigest md = digest();
+        md.update(encodeCorrelation(correlation).getBytes());
+        return HEX.formatHex(md.digest());
     }
 
     private String encodeCorrelation(Correlation<?> correlation) {
@@ -50,11 +49,20 @@ public class MD5CorrelationEncoder implements CorrelationEncoder {
         return new StringJoiner("|").add(correlation.getKey()).add(correlation.asString()).toString();
     }
 
-    private static String bytesToHex(byte[] bytes) {
-        StringBuilder sb = new StringBuilder();
-        for (byte b : bytes) {
-            sb.append(String.format("%02x", b));
+    private static MessageDigest digest() {
+        // cloning skips the security provider lookup done by getInstance
+        try {
+            return (MessageDigest) PROTOTYPE.clone();
+        } catch (CloneNotSupportedException e) {
+            return newDigest();
+        }
+    }
+
+    private static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance("MD5");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
         }
-        return sb.toString();
     }
 }
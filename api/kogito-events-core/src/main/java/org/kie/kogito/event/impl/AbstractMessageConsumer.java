@@ -51,7 +51,7 @@ public abstract class AbstractMessageConsumer<M extends Model, D> {
             Set<String> correlations) {
         this.trigger = trigger;
         this.eventDispatcher = new ProcessEventDispatcher<>(process, getModelConverter(), processService, executorService, correlations, getDataResolver());
-        eventReceiver.subscribe(this::consume, dataClass);
+        eventReceiver.subscribe(this::consume, dataClass, trigger);
         logger.info("Consumer for {} started", trigger);
     }
 
@@ -0,0 +1,100 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.kie.kogito.event.impl;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Function;
+
+/**
+ * Keeps the subscribers of an event receiver indexed by the cloud event type they are interested in, so an incoming event is only delivered
+ * to the subscribers that would not ignore it (see {@link ProcessEventDispatcher}). Subscribers registered without type receive every event.
+ *
+ * @param <S> subscriber type
+ */
+public class EventRouter<S> {
+
+    private final Collection<S> all = new CopyOnWriteArrayList<>();
+    private final Collection<S> untyped = new CopyOnWriteArrayList<>();
+    private final Map<String, Collection<S>> typed = new ConcurrentHashMap<>();
+
+    public void add(S subscriber, String type) {
+        if (type == null) {
+            untyped.add(subscriber);
+        } else {
+            typed.computeIfAbsent(type, k -> new CopyOnWriteArrayList<>()).add(subscriber);
+        }
+        all.add(subscriber);
+    }
+
+    public boolean isEmpty() {
+        return all.isEmpty();
+    }
+
+    public Collection<S> all() {
+        return Collections.unmodifiableCollection(all);
+    }
+
+    /**
+     * Returns the subscribers interested in an event, in subscription order for each group.
+     * An event without type or source is delivered to every subscriber, otherwise it is delivered to those registered for its type, for its source
+     * and without type.
+     */
+    public Collection<S> route(String type, URI source) {
+        if (type == null || source == null || typed.isEmpty()) {
+            return all();
+        }
+        Collection<S> byType = typed.getOrDefault(type, Collections.emptyList());
+        Collection<S> bySource = typed.getOrDefault(source.toString(), Collections.emptyList());
+        if (byType.isEmpty() && bySource.isEmpty()) {
+            return Collections.unmodifiableCollection(untyped);
+        }
+        List<S> result = new ArrayList<>(byType.size() + bySource.size() + untyped.size());
+        result.addAll(byType);
+        if (bySource != byType) {
+            result.addAll(bySource);
+        }
+        result.addAll(untyped);
+        return result;
+    }
+
+    /**
+     * Invokes every consumer and returns a stage that completes once all of them have completed.
+     * A consumer throwing an exception does not prevent the remaining ones from being invoked.
+     */
+    public static <T> CompletableFuture<Void> dispatch(Collection<T> targets, Function<T, CompletionStage<?>> consumer) {
+        List<CompletableFuture<?>> futures = new ArrayList<>();
+        for (T target : targets) {
+            try {
+                futures.add(consumer.apply(target).toCompletableFuture());
+            } catch (RuntimeException e) {
+                futures.add(CompletableFuture.failedFuture(e));
+            }
+        }
+        return CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new));
+    }
+}
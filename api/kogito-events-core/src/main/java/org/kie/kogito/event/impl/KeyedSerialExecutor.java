@@ -0,0 +1,174 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.kie.kogito.event.impl;
+
+import java.util.Collection;
+import java.util.Queue;
+import java.util.ServiceLoader;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+import org.kie.kogito.event.EventDispatcherLaneListener;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Executes tasks sharing the same key one after the other, in submission order, while tasks with different keys
+ * run in parallel on the underlying executor.
+ * Keys are hashed onto a fixed set of lanes; each lane is drained by at most one thread at a time, so no thread
+ * is ever blocked waiting for a busy key.
+ */
+public class KeyedSerialExecutor {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(KeyedSerialExecutor.class);
+
+    /**
+     * Maximum number of tasks run by a lane before giving back its thread, so a busy key does not starve the others
+     */
+    private static final int MAX_DRAIN = 64;
+
+    private final String name;
+    private final Executor executor;
+    private final Lane[] lanes;
+    private final Collection<EventDispatcherLaneListener> listeners;
+
+    public KeyedSerialExecutor(String name, Executor executor) {
+        this(name, executor, Runtime.getRuntime().availableProcessors() * 4, loadListeners());
+    }
+
+    public KeyedSerialExecutor(String name, Executor executor, int lanes, Collection<EventDispatcherLaneListener> listeners) {
+        this.name = name;
+        this.executor = executor;
+        this.listeners = listeners;
+        this.lanes = new Lane[powerOfTwo(lanes)];
+        for (int i = 0; i < this.lanes.length; i++) {
+            this.lanes[i] = new Lane(i);
+        }
+    }
+
+    /**
+     * Runs the task after every task previously submitted with a key falling in the same lane.
+     * A null key means no ordering is required and the task is submitted straight to the underlying executor.
+     */
+    public <T> CompletableFuture<T> submit(Object key, Supplier<T> task) {
+        if (key == null) {
+            return CompletableFuture.supplyAsync(task, executor);
+        }
+        QueuedTask<T> queued = new QueuedTask<>(task);
+        lanes[laneOf(key)].enqueue(queued);
+        return queued.future;
+    }
+
+    public int lanes() {
+        return lanes.length;
+    }
+
+    public int queueDepth(int lane) {
+        return lanes[lane].depth.get();
+    }
+
+    int laneOf(Object key) {
+        int h = key.hashCode();
+        return (h ^ (h >>> 16)) & (lanes.length - 1);
+    }
+
+    private static int powerOfTwo(int value) {
+        int lanes = Math.max(1, Math.min(value, 1 << 16));
+        return Integer.bitCount(lanes) == 1 ? lanes : Integer.highestOneBit(lanes) << 1;
+    }
+
+    private static Collection<EventDispatcherLaneListener> loadListeners() {
+        return ServiceLoader.load(EventDispatcherLaneListener.class).stream().map(ServiceLoader.Provider::get).collect(Collectors.toList());
+    }
+
+    private static class QueuedTask<T> {
+        private final Supplier<T> task;
+        private final CompletableFuture<T> future = new CompletableFuture<>();
+        private final long queuedAt = System.nanoTime();
+
+        private QueuedTask(Supplier<T> task) {
+            this.task = task;
+        }
+
+        private void run() {
+            try {
+                future.complete(task.get());
+            } catch (Throwable ex) {
+                future.completeExceptionally(ex);
+            }
+        }
+    }
+
+    private class Lane implements Runnable {
+
+        private final int index;
+        private final Queue<QueuedTask<?>> queue = new ConcurrentLinkedQueue<>();
+        private final AtomicInteger depth = new AtomicInteger();
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+
+        private Lane(int index) {
+            this.index = index;
+        }
+
+        private void enqueue(QueuedTask<?> task) {
+            queue.add(task);
+            int queueDepth = depth.incrementAndGet();
+            listeners.forEach(l -> l.onQueued(name, index, queueDepth));
+            schedule();
+        }
+
+        private void schedule() {
+            if (scheduled.compareAndSet(false, true)) {
+                try {
+                    executor.execute(this);
+                } catch (RejectedExecutionException ex) {
+                    LOGGER.warn("Executor for {} rejected lane {}, failing its {} pending tasks", name, index, depth.get());
+                    QueuedTask<?> task;
+                    while ((task = queue.poll()) != null) {
+                        depth.decrementAndGet();
+                        task.future.completeExceptionally(ex);
+                    }
+                    scheduled.set(false);
+                }
+            }
+        }
+
+        @Override
+        public void run() {
+            QueuedTask<?> task;
+            int drained = 0;
+            while (drained++ < MAX_DRAIN && (task = queue.poll()) != null) {
+                int queueDepth = depth.decrementAndGet();
+                long waitNanos = System.nanoTime() - task.queuedAt;
+                listeners.forEach(l -> l.onStarted(name, index, queueDepth, waitNanos));
+                task.run();
+            }
+            scheduled.set(false);
+            if (!queue.isEmpty()) {
+                schedule();
+            }
+        }
+    }
+}
@@ -52,11 +52,16 @@ public class ProcessEventDispatcher<M extends Model, D> implements EventDispatch
     private final ProcessService processService;
     private final Optional<Function<D, M>> modelConverter;
     private final Process<M> process;
-    private final ExecutorService executor;
+    private final KeyedSerialExecutor executor;
     private final Function<DataEvent<D>, D> dataResolver;
 
     public ProcessEventDispatcher(Process<M> process, Optional<Function<D, M>> modelConverter, ProcessService processService, ExecutorService executor, Set<String> correlationKeys,
             Function<DataEvent<D>, D> dataResolver) {
+        this(process, modelConverter, processService, new KeyedSerialExecutor(process.id(), executor), correlationKeys, dataResolver);
+    }
+
+    public ProcessEventDispatcher(Process<M> process, Optional<Function<D, M>> modelConverter, ProcessService processService, KeyedSerialExecutor executor, Set<String> correlationKeys,
+            Function<DataEvent<D>, D> dataResolver) {
         this.process = process;
         this.modelConverter = modelConverter;
         this.processService = processService;
@@ -73,33 +78,60 @@ public class ProcessEventDispatcher<M extends Model, D> implements EventDispatch
             }
             return CompletableFuture.completedFuture(null);
         }
-        return resolveCorrelationId(event)
-                .map(kogitoReferenceId -> asCompletable(trigger, event, findById(kogitoReferenceId)))
-                .orElseGet(() -> {
-                    // check processInstanceId
-                    String processInstanceId = event.getKogitoReferenceId();
-                    if (processInstanceId != null) {
-                        return asCompletable(trigger, event, findById(processInstanceId));
-                    }
-                    // check businessKey
-                    String businessKey = event.getKogitoBusinessKey();
-                    if (businessKey != null) {
-                        return asCompletable(trigger, event, findByBusinessKey(businessKey));
-                    }
-                    // try to start a new instance if possible
-                    return CompletableFuture.supplyAsync(() -> startNewInstance(trigger, event), executor);
-                });
-    }
-
-    private CompletableFuture<ProcessInstance<M>> asCompletable(String trigger, DataEvent<D> event, Optional<ProcessInstance<M>> processInstance) {
-
-        return CompletableFuture.supplyAsync(() -> processInstance.map(pi -> {
+        // events targeting the same instance are processed in arrival order, so they do not compete for the same persisted version.
+        // The instance is resolved before queuing, so events resolved through different keys share the lane of that instance
+        Optional<CompositeCorrelation> correlation = compositeCorrelation(event);
+        String processInstanceId = resolveProcessInstanceId(event, correlation);
+        return executor.submit(orderingKey(event, correlation, processInstanceId), () -> dispatch(trigger, event, correlation, processInstanceId));
+    }
+
+    private Object orderingKey(DataEvent<D> event, Optional<CompositeCorrelation> correlation, String processInstanceId) {
+        if (processInstanceId != null) {
+            return processInstanceId;
+        }
+        // no instance yet, events that may start the same one are kept together
+        return correlation.isPresent() ? correlation.get() : event.getKogitoBusinessKey();
+    }
+
+    private String resolveProcessInstanceId(DataEvent<D> event, Optional<CompositeCorrelation> correlation) {
+        Optional<String> correlatedId = correlation.flatMap(process.correlations()::find).map(CorrelationInstance::getCorrelatedId);
+        if (correlatedId.isPresent()) {
+            return correlatedId.get();
+        }
+        // check processInstanceId
+        String processInstanceId = event.getKogitoReferenceId();
+        if (processInstanceId != null) {
+            return processInstanceId;
+        }
+        // check businessKey
+        String businessKey = event.getKogitoBusinessKey();
+        if (businessKey != null) {
+            return findByBusinessKey(businessKey).map(ProcessInstance::id).orElse(null);
+        }
+        return null;
+    }
+
+    private ProcessInstance<M> dispatch(String trigger, DataEvent<D> event, Optional<CompositeCorrelation> correlation, String processInstanceId) {
+        if (processInstanceId != null) {
+            return signalOrStart(trigger, event, findById(processInstanceId));
+        }
+        // nothing matched when the event arrived, but an earlier event of the same lane may have started the instance since
+        String startedId = resolveProcessInstanceId(event, correlation);
+        if (startedId != null) {
+            return signalOrStart(trigger, event, findById(startedId));
+        }
+        // try to start a new instance if possible
+        return startNewInstance(trigger, event);
+    }
+
+    private ProcessInstance<M> signalOrStart(String trigger, DataEvent<D> event, Optional<ProcessInstance<M>> processInstance) {
+        return processInstance.map(pi -> {
             if (LOGGER.isDebugEnabled()) {
                 LOGGER.debug("Sending signal {} to process instance id '{}'", trigger, pi.id());
             }
             signalProcessInstance(trigger, pi.id(), event);
             return pi;
-        }).orElseGet(() -> startNewInstance(trigger, event)), executor);
+        }).orElseGet(() -> startNewInstance(trigger, event));
     }
 
     private Optional<ProcessInstance<M>> findById(String id) {
@@ -126,12 +158,6 @@ public class ProcessEventDispatcher<M extends Model, D> implements EventDispatch
                 correlationKeys.stream().map(k -> new SimpleCorrelation<>(k, resolve(event, k))).collect(Collectors.toSet()))) : Optional.empty();
     }
 
-    private Optional<String> resolveCorrelationId(DataEvent<?> event) {
-        return compositeCorrelation(event).flatMap(process.correlations()::find)
-                .map(CorrelationInstance::getCorrelatedId);
-
-    }
-
     private Object resolve(DataEvent<?> event, String key) {
         if (event.getAttributeNames().contains(key)) {
             return event.getAttribute(key);
@@ -0,0 +1,159 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.kie.kogito.event.correlation;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Test;
+import org.kie.kogito.correlation.Correlation;
+import org.kie.kogito.correlation.CorrelationInstance;
+import org.kie.kogito.correlation.SimpleCorrelation;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class DefaultCorrelationServiceTest {
+
+    @Test
+    void testCreateFindAndDelete() {
+        DefaultCorrelationService service = new DefaultCorrelationService();
+        Correlation<String> correlation = new SimpleCorrelation<>("key", "value");
+        CorrelationInstance instance = service.create(correlation, "pi1");
+
+        assertThat(service.find(new SimpleCorrelation<>("key", "value"))).containsSame(instance);
+        assertThat(service.findByCorrelatedId("pi1")).containsSame(instance);
+
+        service.delete(correlation);
+        assertThat(service.find(correlation)).isEmpty();
+        assertThat(service.findByCorrelatedId("pi1")).isEmpty();
+        assertThat(service.size()).isZero();
+    }
+
+    @Test
+    void testDeleteMissingCorrelation() {
+        DefaultCorrelationService service = new DefaultCorrelationService();
+        service.delete(new SimpleCorrelation<>("key", "missing"));
+        assertThat(service.size()).isZero();
+    }
+
+    @Test
+    void testServicesDoNotShareCorrelations() {
+        DefaultCorrelationService service = new DefaultCorrelationService();
+        Correlation<String> correlation = new SimpleCorrelation<>("key", "value");
+        service.create(correlation, "pi1");
+
+        assertThat(new DefaultCorrelationService().find(correlation)).isEmpty();
+    }
+
+    @Test
+    void testDeleteInstanceKeepsReplacedCorrelation() {
+        DefaultCorrelationService service = new DefaultCorrelationService();
+        Correlation<String> correlation = new SimpleCorrelation<>("key", "value");
+        CorrelationInstance first = service.create(correlation, "pi1");
+        CorrelationInstance second = service.create(correlation, "pi2");
+        assertThat(service.findByCorrelatedId("pi1")).isEmpty();
+
+        // the first instance completes after its correlation was taken by the second one
+        service.delete(first);
+        assertThat(service.find(correlation)).containsSame(second);
+
+        service.delete(second);
+        assertThat(service.find(correlation)).isEmpty();
+        assertThat(service.findByCorrelatedId("pi2")).isEmpty();
+        assertThat(service.size()).isZero();
+    }
+
+    @Test
+    void testSizeEviction() {
+        DefaultCorrelationService service = new DefaultCorrelationService("test", 10, 0, TimeUnit.MILLISECONDS);
+        Correlation<String> used = new SimpleCorrelation<>("key", "used");
+        service.create(used, "used");
+        for (int i = 0; i < 100; i++) {
+            service.create(new SimpleCorrelation<>("key", "value" + i), "pi" + i);
+            assertThat(service.find(used)).isPresent();
+        }
+        assertThat(service.size()).isEqualTo(10);
+        assertThat(service.find(new SimpleCorrelation<>("key", "value0"))).isEmpty();
+        assertThat(service.findByCorrelatedId("pi0")).isEmpty();
+        assertThat(service.find(new SimpleCorrelation<>("key", "value99"))).isPresent();
+    }
+
+    @Test
+    void testExpiration() {
+        AtomicLong clock = new AtomicLong();
+        DefaultCorrelationService service = new DefaultCorrelationService("test", 100, TimeUnit.SECONDS.toNanos(10), clock::get);
+        Correlation<String> used = new SimpleCorrelation<>("key", "used");
+        Correlation<String> idle = new SimpleCorrelation<>("key", "idle");
+        service.create(used, "pi1");
+        service.create(idle, "pi2");
+
+        clock.set(TimeUnit.SECONDS.toNanos(6));
+        assertThat(service.findByCorrelatedId("pi1")).isPresent();
+        clock.set(TimeUnit.SECONDS.toNanos(12));
+        assertThat(service.find(used)).isPresent();
+        assertThat(service.find(idle)).isEmpty();
+        assertThat(service.findByCorrelatedId("pi2")).isEmpty();
+
+        // creating a correlation sweeps the ones idle for longer than the time to live
+        clock.set(TimeUnit.SECONDS.toNanos(30));
+        service.create(new SimpleCorrelation<>("key", "other"), "pi3");
+        assertThat(service.size()).isEqualTo(1);
+    }
+
+    @Test
+    void testUnboundedStoreKeepsEveryCorrelation() {
+        DefaultCorrelationService service = new DefaultCorrelationService("test", 0, 0, TimeUnit.MILLISECONDS);
+        for (int i = 0; i < 1000; i++) {
+            service.create(new SimpleCorrelation<>("key", "value" + i), "pi" + i);
+        }
+        assertThat(service.size()).isEqualTo(1000);
+        assertThat(service.findByCorrelatedId("pi0")).isPresent();
+    }
+
+    @Test
+    void testDefaultStoreIsBounded() {
+        DefaultCorrelationService service = new DefaultCorrelationService("test", DefaultCorrelationService.DEFAULT_MAX_SIZE,
+                DefaultCorrelationService.DEFAULT_TTL_MILLIS, TimeUnit.MILLISECONDS);
+        int evicted = 0;
+        for (int i = 0; i < DefaultCorrelationService.DEFAULT_MAX_SIZE + 1000; i++) {
+            int size = service.size();
+            service.create(new SimpleCorrelation<>("key", "value" + i), "pi" + i);
+            if (service.size() == size) {
+                evicted++;
+            }
+        }
+        assertThat(service.size()).isEqualTo(DefaultCorrelationService.DEFAULT_MAX_SIZE);
+        assertThat(evicted).isEqualTo(1000);
+    }
+
+    @Test
+    void testSizeStaysBounded() {
+        int maxSize = 100;
+        DefaultCorrelationService service = new DefaultCorrelationService("test", maxSize, 0, TimeUnit.MILLISECONDS);
+        for (int i = 0; i < 10_000; i++) {
+            String id = Integer.toString(i);
+            CorrelationInstance instance = service.create(new SimpleCorrelation<>("key", id), id);
+            if (i % 3 == 0) {
+                // a third of the instances complete, the rest is left behind
+                service.delete(instance);
+            }
+            assertThat(service.size()).isLessThanOrEqualTo(maxSize);
+        }
+    }
+}
@@ -0,0 +1,78 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.kie.kogito.event.impl;
+
+import java.net.URI;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class EventRouterTest {
+
+    private static final URI SOURCE = URI.create("/source");
+
+    @Test
+    void testRouteByType() {
+        EventRouter<String> router = new EventRouter<>();
+        router.add("one", "typeOne");
+        router.add("two", "typeTwo");
+        router.add("any", null);
+        assertThat(router.route("typeOne", SOURCE)).containsExactly("one", "any");
+        assertThat(router.route("typeThree", SOURCE)).containsExactly("any");
+    }
+
+    @Test
+    void testRouteBySource() {
+        EventRouter<String> router = new EventRouter<>();
+        router.add("one", "typeOne");
+        router.add("source", SOURCE.toString());
+        assertThat(router.route("typeOne", SOURCE)).containsExactly("one", "source");
+        assertThat(router.route("typeTwo", SOURCE)).containsExactly("source");
+    }
+
+    @Test
+    void testRouteWithoutTypeOrSource() {
+        EventRouter<String> router = new EventRouter<>();
+        router.add("one", "typeOne");
+        router.add("two", "typeTwo");
+        assertThat(router.route(null, SOURCE)).containsExactly("one", "two");
+        assertThat(router.route("typeThree", null)).containsExactly("one", "two");
+    }
+
+    @Test
+    void testDispatchTracksCompletion() {
+        CompletableFuture<Object> pending = new CompletableFuture<>();
+        CompletableFuture<Void> result = EventRouter.dispatch(List.of("pending", "failing", "done"), s -> {
+            switch (s) {
+                case "pending":
+                    return pending;
+                case "failing":
+                    throw new IllegalStateException();
+                default:
+                    return CompletableFuture.completedFuture(s);
+            }
+        });
+        assertThat(result).isNotDone();
+        pending.complete(null);
+        assertThat(result).isCompletedExceptionally();
+    }
+}
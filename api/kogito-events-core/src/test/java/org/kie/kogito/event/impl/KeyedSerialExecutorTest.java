@@ -0,0 +1,111 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.kie.kogito.event.impl;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.kie.kogito.event.EventDispatcherLaneListener;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class KeyedSerialExecutorTest {
+
+    private ExecutorService executor;
+
+    @BeforeEach
+    void setup() {
+        executor = Executors.newFixedThreadPool(8);
+    }
+
+    @AfterEach
+    void close() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void testTasksWithSameKeyRunInOrder() throws Exception {
+        KeyedSerialExecutor keyed = new KeyedSerialExecutor("test", executor, 4, List.of());
+        Map<String, List<Integer>> executed = new ConcurrentHashMap<>();
+        Map<String, AtomicInteger> running = new ConcurrentHashMap<>();
+        List<CompletableFuture<Integer>> futures = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            String key = "instance-" + (i % 10);
+            int value = i;
+            futures.add(keyed.submit(key, () -> {
+                assertThat(running.computeIfAbsent(key, k -> new AtomicInteger()).incrementAndGet()).isOne();
+                executed.computeIfAbsent(key, k -> new CopyOnWriteArrayList<>()).add(value);
+                running.get(key).decrementAndGet();
+                return value;
+            }));
+        }
+        CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).get(10, TimeUnit.SECONDS);
+
+        assertThat(executed).hasSize(10);
+        executed.values().forEach(values -> assertThat(values).hasSize(100).isSorted());
+    }
+
+    @Test
+    void testFailedTaskDoesNotBlockLane() throws Exception {
+        KeyedSerialExecutor keyed = new KeyedSerialExecutor("test", executor, 1, List.of());
+        CompletableFuture<Object> failed = keyed.submit("key", () -> {
+            throw new IllegalStateException("failed");
+        });
+        CompletableFuture<String> next = keyed.submit("key", () -> "done");
+
+        assertThat(next.get(10, TimeUnit.SECONDS)).isEqualTo("done");
+        assertThatThrownBy(failed::join).hasCauseInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    void testListenerIsNotified() throws Exception {
+        AtomicInteger queued = new AtomicInteger();
+        AtomicInteger started = new AtomicInteger();
+        KeyedSerialExecutor keyed = new KeyedSerialExecutor("test", executor, 2, List.of(new EventDispatcherLaneListener() {
+            @Override
+            public void onQueued(String name, int lane, int queueDepth) {
+                queued.incrementAndGet();
+            }
+
+            @Override
+            public void onStarted(String name, int lane, int queueDepth, long waitNanos) {
+                assertThat(waitNanos).isNotNegative();
+                started.incrementAndGet();
+            }
+        }));
+        keyed.submit("key", () -> 1).get(10, TimeUnit.SECONDS);
+        keyed.submit(null, () -> 2).get(10, TimeUnit.SECONDS);
+
+        assertThat(queued.get()).isOne();
+        assertThat(started.get()).isOne();
+        assertThat(keyed.queueDepth(keyed.laneOf("key"))).isZero();
+    }
+}
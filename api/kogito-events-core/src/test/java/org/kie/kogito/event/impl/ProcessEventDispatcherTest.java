@@ -252,4 +252,30 @@ class ProcessEventDispatcherTest {
         assertThat(processInstanceId.getValue()).isEqualTo("1");
         assertThat(processInstance).isEqualTo(instance);
     }
+
+    @Test
+    void testEventsForSameInstanceShareOrderingKey() throws Exception {
+        String userId = "userId";
+        CompositeCorrelation compositeCorrelation = new CompositeCorrelation(Set.of(new SimpleCorrelation<>(userId, "aaaa")));
+        correlationService.create(compositeCorrelation, "1");
+        when(processInstances.findByBusinessKey("businessKey")).thenReturn(Optional.of(processInstance));
+        KeyedSerialExecutor serialExecutor = spy(new KeyedSerialExecutor(DUMMY_TOPIC, executor));
+        EventDispatcher<DummyModel, TestEvent> dispatcher = new ProcessEventDispatcher<>(process, modelConverter(), processService, serialExecutor, Set.of(userId), o -> o.getData());
+
+        TestCloudEvent<TestEvent> correlated = new TestCloudEvent<>(new TestEvent("pepe"), DUMMY_TOPIC, "source");
+        correlated.addExtensionAttribute(userId, "aaaa");
+        TestCloudEvent<TestEvent> referenced = new TestCloudEvent<>(new TestEvent("pepe"), DUMMY_TOPIC, "source", "1");
+        TestCloudEvent<TestEvent> keyed = new TestCloudEvent<>(new TestEvent("pepe"), DUMMY_TOPIC, "source");
+        keyed.setKogitoBusinessKey("businessKey");
+
+        dispatcher.dispatch(DUMMY_TOPIC, correlated).toCompletableFuture().get();
+        dispatcher.dispatch(DUMMY_TOPIC, referenced).toCompletableFuture().get();
+        dispatcher.dispatch(DUMMY_TOPIC, keyed).toCompletableFuture().get();
+
+        ArgumentCaptor<Object> keys = ArgumentCaptor.forClass(Object.class);
+        verify(serialExecutor, times(3)).submit(keys.capture(), any());
+        assertThat(keys.getAllValues()).containsOnly("1");
+        verify(processService, times(3)).signalProcessInstance(eq(process), eq("1"), any(), eq("Message-" + DUMMY_TOPIC));
+        verify(processService, never()).createProcessInstance(any(), any(), any(), any(), any(), any(), any(), any());
+    }
 }
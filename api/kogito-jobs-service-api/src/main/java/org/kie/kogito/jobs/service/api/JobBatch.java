@@ -0,0 +1,78 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.kie.kogito.jobs.service.api;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import org.eclipse.microprofile.openapi.annotations.media.Schema;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+
+import static org.kie.kogito.jobs.service.api.JobBatch.CREATE_PROPERTY;
+import static org.kie.kogito.jobs.service.api.JobBatch.DELETE_PROPERTY;
+
+@Schema(description = "Set of jobs to create and jobs to delete that are submitted to the jobs service in a single request. Deletions are applied before creations.")
+@JsonPropertyOrder({ DELETE_PROPERTY, CREATE_PROPERTY })
+public class JobBatch {
+
+    static final String CREATE_PROPERTY = "create";
+    static final String DELETE_PROPERTY = "delete";
+
+    @Schema(description = "Jobs to create.")
+    private List<Job> create = new ArrayList<>();
+    @Schema(description = "Jobs to delete.")
+    private List<JobLookupId> delete = new ArrayList<>();
+
+    private JobBatch() {
+        // Marshalling constructor.
+    }
+
+    private JobBatch(Collection<Job> create, Collection<JobLookupId> delete) {
+        this.create = new ArrayList<>(create);
+        this.delete = new ArrayList<>(delete);
+    }
+
+    public List<Job> getCreate() {
+        return create;
+    }
+
+    public List<JobLookupId> getDelete() {
+        return delete;
+    }
+
+    @JsonIgnore
+    public boolean isEmpty() {
+        return create.isEmpty() && delete.isEmpty();
+    }
+
+    public static JobBatch of(Collection<Job> create, Collection<JobLookupId> delete) {
+        return new JobBatch(create, delete);
+    }
+
+    @Override
+    public String toString() {
+        return "JobBatch{" +
+                "create=" + create +
+                ", delete=" + delete +
+                '}';
+    }
+}
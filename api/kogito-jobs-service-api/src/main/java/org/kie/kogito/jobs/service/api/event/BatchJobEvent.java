@@ -0,0 +1,53 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.kie.kogito.jobs.service.api.event;
+
+import org.kie.kogito.jobs.service.api.JobBatch;
+
+public class BatchJobEvent extends JobCloudEvent<JobBatch> {
+
+    public static final String TYPE = "job.batch";
+
+    public BatchJobEvent() {
+        // Marshalling constructor.
+        setType(TYPE);
+    }
+
+    @Override
+    public void setType(String type) {
+        assertExpectedType(type, TYPE);
+        super.setType(type);
+    }
+
+    public static Builder builder() {
+        return new Builder(new BatchJobEvent());
+    }
+
+    public static class Builder extends AbstractJobCloudEventBuilder<Builder, JobBatch, BatchJobEvent> {
+
+        private Builder(BatchJobEvent event) {
+            super(event);
+        }
+
+        public Builder batch(JobBatch batch) {
+            event.setData(batch);
+            return this;
+        }
+    }
+}
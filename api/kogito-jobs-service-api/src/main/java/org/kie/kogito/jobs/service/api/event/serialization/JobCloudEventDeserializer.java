@@ -22,7 +22,9 @@ import java.io.IOException;
 import java.util.Objects;
 
 import org.kie.kogito.jobs.service.api.Job;
+import org.kie.kogito.jobs.service.api.JobBatch;
 import org.kie.kogito.jobs.service.api.JobLookupId;
+import org.kie.kogito.jobs.service.api.event.BatchJobEvent;
 import org.kie.kogito.jobs.service.api.event.CreateJobEvent;
 import org.kie.kogito.jobs.service.api.event.DeleteJobEvent;
 import org.kie.kogito.jobs.service.api.event.JobCloudEvent;
@@ -76,6 +78,12 @@ public class JobCloudEventDeserializer {
                         .withValuesFrom(cloudEvent)
                         .lookupId(lookupId)
                         .build();
+            } else if (cloudEvent.getType().equals(BatchJobEvent.TYPE)) {
+                JobBatch batch = objectMapper.readValue(cloudEventData.toBytes(), JobBatch.class);
+                return BatchJobEvent.builder()
+                        .withValuesFrom(cloudEvent)
+                        .batch(batch)
+                        .build();
             }
             throw new DeserializationException("Unknown JobCloudEvent event type: " + cloudEvent.getType());
         } catch (IOException e) {
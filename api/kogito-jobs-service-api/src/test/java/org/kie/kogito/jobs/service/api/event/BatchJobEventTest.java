@@ -0,0 +1,66 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.kie.kogito.jobs.service.api.event;
+
+import java.util.List;
+
+import org.kie.kogito.jobs.service.api.JobBatch;
+import org.kie.kogito.jobs.service.api.JobLookupId;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.kie.kogito.jobs.service.api.event.TestConstants.CORRELATION_ID;
+import static org.kie.kogito.jobs.service.api.event.TestConstants.DATA_SCHEMA;
+import static org.kie.kogito.jobs.service.api.event.TestConstants.ID;
+import static org.kie.kogito.jobs.service.api.event.TestConstants.JOB_ID;
+import static org.kie.kogito.jobs.service.api.event.TestConstants.SOURCE;
+import static org.kie.kogito.jobs.service.api.event.TestConstants.SUBJECT;
+import static org.kie.kogito.jobs.service.api.event.TestConstants.TIME;
+import static org.kie.kogito.jobs.service.api.event.TestConstants.buildJob;
+
+class BatchJobEventTest extends AbstractJobCloudEventTest<BatchJobEvent> {
+
+    @Override
+    BatchJobEvent buildEvent() {
+        return BatchJobEvent.builder()
+                .id(ID)
+                .source(SOURCE)
+                .dataSchema(DATA_SCHEMA)
+                .time(TIME)
+                .subject(SUBJECT)
+                .batch(JobBatch.of(List.of(buildJob()), List.of(JobLookupId.fromId(JOB_ID))))
+                .build();
+    }
+
+    @Override
+    String eventType() {
+        return BatchJobEvent.TYPE;
+    }
+
+    @Override
+    void assertFields(BatchJobEvent event) {
+        super.assertFields(event);
+        JobBatch batch = event.getData();
+        assertThat(batch).isNotNull();
+        assertThat(batch.isEmpty()).isFalse();
+        assertThat(batch.getCreate()).hasSize(1);
+        assertThat(batch.getCreate().get(0).getCorrelationId()).isEqualTo(CORRELATION_ID);
+        assertThat(batch.getDelete()).hasSize(1);
+        assertThat(batch.getDelete().get(0).getId()).isEqualTo(JOB_ID);
+    }
+}
@@ -27,8 +27,10 @@ import java.util.Objects;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.kie.kogito.jobs.service.api.Job;
+import org.kie.kogito.jobs.service.api.JobBatch;
 import org.kie.kogito.jobs.service.api.JobLookupId;
 import org.kie.kogito.jobs.service.api.Retry;
+import org.kie.kogito.jobs.service.api.event.BatchJobEvent;
 import org.kie.kogito.jobs.service.api.event.CreateJobEvent;
 import org.kie.kogito.jobs.service.api.event.DeleteJobEvent;
 import org.kie.kogito.jobs.service.api.event.JobCloudEvent;
@@ -77,6 +79,7 @@ class JobCloudEventDeserializerTest {
     private static final String CREATE_JOB_EVENT_DATA_CONTENT_RESOURCE = "org/kie/kogito/jobs/service/api/event/serialization/CreateJobEventDataContent.json";
     private static final String DELETE_JOB_EVENT_RESOURCE = "org/kie/kogito/jobs/service/api/event/serialization/DeleteJobEvent.json";
     private static final String DELETE_JOB_EVENT_DATA_CONTENT_RESOURCE = "org/kie/kogito/jobs/service/api/event/serialization/DeleteJobEventDataContent.json";
+    private static final String BATCH_JOB_EVENT_RESOURCE = "org/kie/kogito/jobs/service/api/event/serialization/BatchJobEvent.json";
     private static final String UNEXPECTED_TYPE_EVENT_RESOURCE = "org/kie/kogito/jobs/service/api/event/serialization/UnexpectedTypeEvent.json";
 
     private JobCloudEventDeserializer deserializer;
@@ -128,6 +131,23 @@ class JobCloudEventDeserializerTest {
         assertDeleteJobEvent(result);
     }
 
+    @Test
+    void deserializeBatchJobEvent() throws Exception {
+        JobCloudEvent<?> result = deserializer.deserialize(readFileContent(BATCH_JOB_EVENT_RESOURCE));
+        assertThat(result).isInstanceOf(BatchJobEvent.class);
+        BatchJobEvent event = (BatchJobEvent) result;
+        assertBaseFields(event);
+        JobBatch batch = event.getData();
+        assertThat(batch.getDelete()).hasSize(1);
+        assertThat(batch.getDelete().get(0).getCorrelationId()).isEqualTo(CORRELATION_ID);
+        assertThat(batch.getCreate()).hasSize(1);
+        Job job = batch.getCreate().get(0);
+        assertThat(job.getId()).isEqualTo(JOB_ID);
+        assertThat(job.getCorrelationId()).isEqualTo(CORRELATION_ID);
+        assertThat(job.getSchedule()).isInstanceOf(TimerSchedule.class);
+        assertThat(job.getRecipient()).isInstanceOf(HttpRecipient.class);
+    }
+
     @Test
     void deserializeUnexpectedType() throws Exception {
         byte[] fileContent = readFileContent(UNEXPECTED_TYPE_EVENT_RESOURCE);
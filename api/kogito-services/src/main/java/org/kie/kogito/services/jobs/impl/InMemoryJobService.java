@@ -90,7 +90,7 @@ public class InMemoryJobService implements JobsService, AutoCloseable {
         return jobDescription.id();
     }
 
-    private Optional<JobExecutorFactory> findJobExecutorFactory(JobDescription jobDescription) {
+    protected Optional<JobExecutorFactory> findJobExecutorFactory(JobDescription jobDescription) {
         return jobExecutorFactories.stream().filter(factory -> factory.accept(jobDescription)).findFirst();
     }
 
@@ -0,0 +1,97 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.kie.kogito.services.jobs.impl;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Job store that keeps the jobs in memory, for single replica deployments and tests.
+ */
+public class InMemoryJobStore implements JobStore {
+
+    private record Row(StoredJob job, String owner, long leaseUntil) {
+    }
+
+    private final Map<String, Row> rows = new ConcurrentHashMap<>();
+
+    @Override
+    public void save(StoredJob job) {
+        rows.compute(job.id(), (k, v) -> new Row(job.withVersion(v == null ? 0L : v.job().version() + 1), null, 0L));
+    }
+
+    @Override
+    public boolean delete(String id) {
+        return rows.remove(id) != null;
+    }
+
+    @Override
+    public boolean delete(StoredJob job) {
+        AtomicBoolean deleted = new AtomicBoolean();
+        rows.computeIfPresent(job.id(), (k, v) -> {
+            if (v.job().version() != job.version()) {
+                return v;
+            }
+            deleted.set(true);
+            return null;
+        });
+        return deleted.get();
+    }
+
+    @Override
+    public boolean replace(StoredJob job, StoredJob next) {
+        AtomicBoolean replaced = new AtomicBoolean();
+        rows.computeIfPresent(job.id(), (k, v) -> {
+            if (v.job().version() != job.version()) {
+                return v;
+            }
+            replaced.set(true);
+            return new Row(next.withVersion(job.version() + 1), null, 0L);
+        });
+        return replaced.get();
+    }
+
+    @Override
+    public List<StoredJob> findDue(long until, long now, int limit) {
+        return rows.values().stream()
+                .filter(row -> row.job().fireTime() <= until && row.leaseUntil() < now)
+                .map(Row::job)
+                .sorted(Comparator.comparingLong(StoredJob::fireTime))
+                .limit(limit)
+                .toList();
+    }
+
+    @Override
+    public List<StoredJob> claim(Collection<String> ids, String owner, long now, long leaseUntil) {
+        List<StoredJob> claimed = new ArrayList<>(ids.size());
+        for (String id : ids) {
+            Row row = rows.computeIfPresent(id,
+                    (k, v) -> v.job().fireTime() <= now && v.leaseUntil() < now ? new Row(v.job(), owner, leaseUntil) : v);
+            if (row != null && owner.equals(row.owner()) && row.leaseUntil() == leaseUntil) {
+                claimed.add(row.job());
+            }
+        }
+        return claimed;
+    }
+}
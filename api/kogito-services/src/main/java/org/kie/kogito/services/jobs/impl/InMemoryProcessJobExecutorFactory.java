@@ -28,6 +28,7 @@ import org.kie.kogito.jobs.descriptors.ProcessInstanceJobDescription;
 import org.kie.kogito.jobs.descriptors.ProcessJobDescription;
 import org.kie.kogito.process.Process;
 import org.kie.kogito.process.ProcessInstanceOptimisticLockingException;
+import org.kie.kogito.process.ProcessPersistenceListeners;
 import org.kie.kogito.services.uow.UnitOfWorkExecutor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -127,6 +128,10 @@ class SignalProcessInstanceOnExpiredTimer implements Runnable {
             LOGGER.debug("Job {} completed", id);
         } catch (ProcessInstanceOptimisticLockingException ex) {
             LOGGER.info("Retrying Job {} due to: {}", id, ex.getMessage());
+            if (ProcessPersistenceListeners.isEnabled()) {
+                jobsConfiguration.processes().processByProcessInstanceId(processInstanceId)
+                        .ifPresent(p -> ProcessPersistenceListeners.get().onOptimisticLockRetry(p.id()));
+            }
             limit++;
             run();
         } finally {
@@ -25,6 +25,7 @@ import org.kie.kogito.jobs.JobDescription;
 import org.kie.kogito.jobs.JobsService;
 import org.kie.kogito.jobs.descriptors.UserTaskInstanceJobDescription;
 import org.kie.kogito.process.ProcessInstanceOptimisticLockingException;
+import org.kie.kogito.process.ProcessPersistenceListeners;
 import org.kie.kogito.usertask.UserTaskInstance;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -112,6 +113,10 @@ class SignalUserTaskInstanceOnExpiredTimer implements Runnable {
             LOGGER.debug("Job {} completed", jobId);
         } catch (ProcessInstanceOptimisticLockingException ex) {
             LOGGER.info("Retrying Job {} due to: {}", jobId, ex.getMessage());
+            if (ProcessPersistenceListeners.isEnabled()) {
+                jobsConfiguration.userTasks().instances().findById(userTaskInstanceId)
+                        .ifPresent(u -> ProcessPersistenceListeners.get().onOptimisticLockRetry(u.getUserTaskId()));
+            }
             limit++;
             run();
         } finally {
@@ -0,0 +1,79 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.kie.kogito.services.jobs.impl;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Durable storage of the jobs handled by {@link PersistentJobService}.
+ * Several replicas may share the same store, a job is executed by the replica holding its lease.
+ * Implementations must be thread safe.
+ */
+public interface JobStore {
+
+    /**
+     * Inserts or replaces the given job, releasing any lease on it and incrementing its version
+     */
+    void save(StoredJob job);
+
+    /**
+     * Removes the job
+     *
+     * @return true if the job existed
+     */
+    boolean delete(String id);
+
+    /**
+     * Removes the given job, unless it has been saved again since it was loaded
+     *
+     * @return true if the job has been removed
+     */
+    boolean delete(StoredJob job);
+
+    /**
+     * Replaces the given job with its next expiration, releasing its lease, unless it has been saved again since it was loaded
+     *
+     * @param job job as loaded from the store
+     * @param next job to store instead
+     * @return true if the job has been replaced
+     */
+    boolean replace(StoredJob job, StoredJob next);
+
+    /**
+     * Returns the jobs whose fire time is not after the given limit and that are not leased (or whose lease expired),
+     * ordered by fire time
+     *
+     * @param until upper bound of the fire time, in epoch milliseconds
+     * @param now current time, in epoch milliseconds
+     * @param limit maximum number of jobs returned
+     */
+    List<StoredJob> findDue(long until, long now, int limit);
+
+    /**
+     * Leases the given jobs to the owner. Only jobs that exist, are due and are not leased by another owner are claimed.
+     *
+     * @param ids jobs to claim
+     * @param owner identifier of the replica claiming the jobs
+     * @param now current time, in epoch milliseconds
+     * @param leaseUntil time the lease expires, in epoch milliseconds
+     * @return the jobs that have been claimed
+     */
+    List<StoredJob> claim(Collection<String> ids, String owner, long now, long leaseUntil);
+}
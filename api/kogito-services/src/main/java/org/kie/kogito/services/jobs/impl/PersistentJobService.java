@@ -0,0 +1,385 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.kie.kogito.services.jobs.impl;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.BooleanSupplier;
+
+import org.kie.kogito.jobs.JobDescription;
+import org.kie.kogito.uow.UnitOfWorkManager;
+import org.kie.kogito.uow.WorkUnit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Job service that keeps the jobs in a {@link JobStore}, so they survive restarts, and fires them from a hashed timing wheel.
+ * <p>
+ * Only the jobs due within the horizon are kept in memory, the store is polled periodically to load the next ones. Expired
+ * jobs are claimed in batches through a lease in the store before being executed on a bounded executor, so several replicas
+ * sharing the same store execute every job once; a job whose replica dies while executing it is executed again once the lease
+ * expires. Jobs starting new process instances are not stored, they are registered again by every replica when the process
+ * is activated, as with {@link InMemoryJobService}.
+ * <p>
+ * Jobs are saved and deleted when the unit of work scheduling or cancelling them ends, so an aborted unit of work leaves the store
+ * untouched. An executed job is only removed, or replaced by its next expiration, if it was not saved again meanwhile; a job whose
+ * execution fails is kept and executed again once its lease expires.
+ */
+public class PersistentJobService extends InMemoryJobService {
+
+    public static final String OWNER_PROPERTY = "kogito.persistent.job-service.owner";
+    public static final String POOL_SIZE_PROPERTY = "kogito.persistent.job-service.pool-size";
+    public static final String QUEUE_SIZE_PROPERTY = "kogito.persistent.job-service.queue-size";
+    public static final String TICK_PROPERTY = "kogito.persistent.job-service.tick";
+    public static final String WHEEL_SIZE_PROPERTY = "kogito.persistent.job-service.wheel-size";
+    public static final String HORIZON_PROPERTY = "kogito.persistent.job-service.horizon";
+    public static final String LEASE_PROPERTY = "kogito.persistent.job-service.lease";
+    public static final String BATCH_SIZE_PROPERTY = "kogito.persistent.job-service.batch-size";
+    public static final String POLL_SIZE_PROPERTY = "kogito.persistent.job-service.poll-size";
+
+    public static final int DEFAULT_POOL_SIZE = 10;
+    public static final int DEFAULT_QUEUE_SIZE = 1000;
+    public static final long DEFAULT_TICK_MILLIS = 100L;
+    public static final int DEFAULT_WHEEL_SIZE = 512;
+    public static final long DEFAULT_HORIZON_MILLIS = 60_000L;
+    public static final long DEFAULT_LEASE_MILLIS = 300_000L;
+    public static final int DEFAULT_BATCH_SIZE = 500;
+    public static final int DEFAULT_POLL_SIZE = 10_000;
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(PersistentJobService.class);
+
+    private static final class TransientJob {
+        private final JobDescription description;
+        private final Runnable runnable;
+        private final Long repeatInterval;
+        private volatile long fireTime;
+
+        private TransientJob(JobDescription description, Runnable runnable, long fireTime) {
+            this.description = description;
+            this.runnable = runnable;
+            this.repeatInterval = description.expirationTime().repeatInterval();
+            this.fireTime = fireTime;
+        }
+    }
+
+    private final JobStore store;
+    private final UnitOfWorkManager unitOfWorkManager;
+    private final String owner;
+    private final Executor executor;
+    private final long tickMillis;
+    private final long horizonMillis;
+    private final long leaseMillis;
+    private final int batchSize;
+    private final int pollSize;
+
+    private final TimingWheel wheel;
+    // guarded by wheel
+    private final Map<String, TimingWheel.Entry> entries = new HashMap<>();
+    private final Map<String, TransientJob> transientJobs = new ConcurrentHashMap<>();
+    // thread executing each stored job
+    private final Map<String, Thread> running = new ConcurrentHashMap<>();
+    // stored jobs that cancelled themselves while executing
+    private final Set<String> cancelled = ConcurrentHashMap.newKeySet();
+    private final AtomicBoolean started = new AtomicBoolean();
+    // stored jobs due before this time are in the wheel
+    private volatile long horizon;
+    private long nextPoll;
+    private ScheduledFuture<?> ticker;
+
+    /**
+     * Creates a job service configured through system properties, for applications not managed by a container.
+     * Quarkus and Spring Boot applications read the same properties from the application configuration instead.
+     */
+    public PersistentJobService(JobStore store, UnitOfWorkManager unitOfWorkManager) {
+        this(store,
+                unitOfWorkManager,
+                System.getProperty(OWNER_PROPERTY),
+                newExecutor(Integer.getInteger(POOL_SIZE_PROPERTY, DEFAULT_POOL_SIZE), Integer.getInteger(QUEUE_SIZE_PROPERTY, DEFAULT_QUEUE_SIZE)),
+                new ScheduledThreadPoolExecutor(1),
+                Long.getLong(TICK_PROPERTY, DEFAULT_TICK_MILLIS),
+                Integer.getInteger(WHEEL_SIZE_PROPERTY, DEFAULT_WHEEL_SIZE),
+                Long.getLong(HORIZON_PROPERTY, DEFAULT_HORIZON_MILLIS),
+                Long.getLong(LEASE_PROPERTY, DEFAULT_LEASE_MILLIS),
+                Integer.getInteger(BATCH_SIZE_PROPERTY, DEFAULT_BATCH_SIZE),
+                Integer.getInteger(POLL_SIZE_PROPERTY, DEFAULT_POLL_SIZE));
+    }
+
+    /**
+     * @param store where the jobs are kept
+     * @param unitOfWorkManager unit of work the store writes of scheduleJob and cancelJob are registered with, performed at once when null
+     * @param owner identifier of this replica, used to lease the jobs; a random one is generated when null
+     * @param executor where the jobs are executed, should be bounded
+     * @param scheduler drives the wheel, a single thread is enough
+     * @param tickMillis resolution of the wheel
+     * @param wheelSize number of buckets of the wheel, a power of two
+     * @param horizonMillis how far ahead the store is polled
+     * @param leaseMillis how long a replica holds a job once claimed
+     * @param batchSize maximum number of jobs claimed at once
+     * @param pollSize maximum number of jobs loaded from the store at once
+     */
+    public PersistentJobService(JobStore store, UnitOfWorkManager unitOfWorkManager, String owner, Executor executor, ScheduledExecutorService scheduler, long tickMillis,
+            int wheelSize, long horizonMillis, long leaseMillis, int batchSize, int pollSize) {
+        super(scheduler);
+        this.store = store;
+        this.unitOfWorkManager = unitOfWorkManager;
+        this.owner = owner == null ? UUID.randomUUID().toString() : owner;
+        this.executor = executor;
+        this.tickMillis = tickMillis;
+        this.horizonMillis = horizonMillis;
+        this.leaseMillis = leaseMillis;
+        this.batchSize = batchSize;
+        this.pollSize = pollSize;
+        this.wheel = new TimingWheel(tickMillis, wheelSize, System.currentTimeMillis());
+    }
+
+    /**
+     * @return a bounded executor for the jobs, with poolSize threads and room for queueSize waiting jobs
+     */
+    public static ExecutorService newExecutor(int poolSize, int queueSize) {
+        // when the queue is full the wheel thread executes the job itself, slowing down the firing of further jobs
+        return new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(queueSize), new ThreadPoolExecutor.CallerRunsPolicy());
+    }
+
+    /**
+     * Loads the jobs due within the horizon and starts the wheel. Invoked when the first job executor factory is registered.
+     */
+    public void start() {
+        if (started.compareAndSet(false, true)) {
+            poll(System.currentTimeMillis());
+            ticker = scheduler.scheduleAtFixedRate(this::onTick, tickMillis, tickMillis, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    @Override
+    public PersistentJobService registerJobExecutorFactory(JobExecutorFactory jobExecutorFactory) {
+        super.registerJobExecutorFactory(jobExecutorFactory);
+        start();
+        return this;
+    }
+
+    @Override
+    public String scheduleJob(JobDescription jobDescription) {
+        LOGGER.debug("ScheduleProcessJob: {}", jobDescription);
+        Optional<JobExecutorFactory> jobExecutorFactory = findJobExecutorFactory(jobDescription);
+        if (jobExecutorFactory.isEmpty()) {
+            throw new IllegalArgumentException("Could not schedule " + jobDescription + ". No job executor factory provided");
+        }
+        long fireTime = jobDescription.expirationTime().get().toInstant().toEpochMilli();
+        if (StoredJob.isSupported(jobDescription)) {
+            StoredJob job = StoredJob.of(jobDescription);
+            inUnitOfWork(() -> {
+                store.save(job);
+                if (fireTime < horizon) {
+                    schedule(job.id(), fireTime);
+                }
+                return true;
+            });
+        } else {
+            Runnable runnable = isRepeatable(jobDescription.expirationTime().repeatInterval()) ? jobExecutorFactory.get().createNewRepeteableRunnable(this, jobDescription)
+                    : jobExecutorFactory.get().createNewRunnable(this, jobDescription);
+            transientJobs.put(jobDescription.id(), new TransientJob(jobDescription, runnable, fireTime));
+            schedule(jobDescription.id(), fireTime);
+        }
+        return jobDescription.id();
+    }
+
+    /**
+     * Cancels the job. The result of cancelling a stored job within a unit of work is only known once the unit ends, true is returned meanwhile.
+     */
+    @Override
+    public boolean cancelJob(String id, boolean force) {
+        LOGGER.debug("Cancel Job: {}", id);
+        if (running.get(id) == Thread.currentThread()) {
+            // the job is done, it is completed by run once its execution returns
+            cancelled.add(id);
+            return true;
+        }
+        if (transientJobs.remove(id) != null) {
+            unschedule(id);
+            return true;
+        }
+        return inUnitOfWork(() -> {
+            unschedule(id);
+            return store.delete(id);
+        });
+    }
+
+    @Override
+    public void close() throws Exception {
+        LOGGER.info("closing persistent job service");
+        if (ticker != null) {
+            ticker.cancel(false);
+        }
+        if (executor instanceof ExecutorService executorService) {
+            executorService.shutdown();
+        }
+        super.close();
+    }
+
+    private void onTick() {
+        try {
+            long now = System.currentTimeMillis();
+            if (now >= nextPoll) {
+                poll(now);
+            }
+            tick(now);
+        } catch (RuntimeException e) {
+            LOGGER.error("Error firing jobs", e);
+        }
+    }
+
+    void poll(long now) {
+        long until = now + horizonMillis;
+        // raised before querying, so jobs stored meanwhile are added to the wheel by scheduleJob
+        horizon = until;
+        List<StoredJob> due = store.findDue(until, now, pollSize);
+        if (due.size() >= pollSize) {
+            horizon = due.get(due.size() - 1).fireTime();
+        }
+        for (StoredJob job : due) {
+            schedule(job.id(), job.fireTime());
+        }
+        nextPoll = Math.min(now + horizonMillis / 2, horizon);
+        LOGGER.debug("Loaded {} jobs due before {}", due.size(), horizon);
+    }
+
+    void tick(long now) {
+        List<String> expired = new ArrayList<>();
+        synchronized (wheel) {
+            wheel.advance(now, entry -> {
+                entries.remove(entry.id(), entry);
+                expired.add(entry.id());
+            });
+        }
+        if (expired.isEmpty()) {
+            return;
+        }
+        List<String> stored = new ArrayList<>(expired.size());
+        for (String id : expired) {
+            TransientJob transientJob = transientJobs.get(id);
+            if (transientJob != null) {
+                executor.execute(() -> run(transientJob));
+            } else {
+                stored.add(id);
+            }
+        }
+        for (int i = 0; i < stored.size(); i += batchSize) {
+            for (StoredJob job : store.claim(stored.subList(i, Math.min(i + batchSize, stored.size())), owner, now, now + leaseMillis)) {
+                executor.execute(() -> run(job));
+            }
+        }
+    }
+
+    private boolean inUnitOfWork(BooleanSupplier write) {
+        if (unitOfWorkManager == null) {
+            return write.getAsBoolean();
+        }
+        // a unit of work that is not started performs the work at once
+        AtomicBoolean result = new AtomicBoolean(true);
+        unitOfWorkManager.currentUnitOfWork().intercept(WorkUnit.create(write, w -> result.set(w.getAsBoolean())));
+        return result.get();
+    }
+
+    private void unschedule(String id) {
+        synchronized (wheel) {
+            TimingWheel.Entry entry = entries.remove(id);
+            if (entry != null) {
+                wheel.remove(entry);
+            }
+        }
+    }
+
+    private void schedule(String id, long fireTime) {
+        synchronized (wheel) {
+            TimingWheel.Entry entry = entries.get(id);
+            if (entry != null) {
+                if (entry.deadline() == fireTime) {
+                    return;
+                }
+                wheel.remove(entry);
+            }
+            entries.put(id, wheel.add(id, fireTime));
+        }
+    }
+
+    private void run(StoredJob job) {
+        JobDescription description = job.toDescription();
+        Optional<JobExecutorFactory> jobExecutorFactory = findJobExecutorFactory(description);
+        if (jobExecutorFactory.isEmpty()) {
+            LOGGER.warn("No job executor factory for job {}, it will be retried once its lease expires", job.id());
+            return;
+        }
+        running.put(job.id(), Thread.currentThread());
+        boolean failed = false;
+        try {
+            (job.isRepeatable() ? jobExecutorFactory.get().createNewRepeteableRunnable(this, description) : jobExecutorFactory.get().createNewRunnable(this, description)).run();
+        } catch (RuntimeException e) {
+            LOGGER.error("Error executing job {}, it will be retried once its lease expires", job.id(), e);
+            failed = true;
+        } finally {
+            running.remove(job.id());
+        }
+        boolean done = cancelled.remove(job.id());
+        if (failed) {
+            return;
+        }
+        StoredJob next = done ? null : job.next(System.currentTimeMillis());
+        if (next == null ? !store.delete(job) : !store.replace(job, next)) {
+            LOGGER.debug("Job {} was saved again or cancelled while executing, keeping the stored one", job.id());
+        } else if (next != null && next.fireTime() < horizon) {
+            schedule(next.id(), next.fireTime());
+        }
+    }
+
+    private void run(TransientJob job) {
+        String id = job.description.id();
+        try {
+            job.runnable.run();
+        } catch (RuntimeException e) {
+            LOGGER.error("Error executing job {}", id, e);
+        }
+        if (isRepeatable(job.repeatInterval)) {
+            if (transientJobs.get(id) == job) {
+                job.fireTime = Math.max(job.fireTime + job.repeatInterval, System.currentTimeMillis());
+                schedule(id, job.fireTime);
+            }
+        } else {
+            transientJobs.remove(id, job);
+        }
+    }
+
+    private static boolean isRepeatable(Long repeatInterval) {
+        return repeatInterval != null && repeatInterval > 0;
+    }
+}
@@ -0,0 +1,137 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.kie.kogito.services.jobs.impl;
+
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+
+import org.kie.kogito.jobs.ExpirationTime;
+import org.kie.kogito.jobs.JobDescription;
+import org.kie.kogito.jobs.descriptors.ProcessInstanceJobDescription;
+import org.kie.kogito.jobs.descriptors.UserTaskInstanceJobDescription;
+
+/**
+ * Flat representation of a job description kept by a {@link JobStore}.
+ * Only jobs bound to an instance (process instance or user task instance) are stored, jobs starting new process
+ * instances are registered again every time the process is activated.
+ *
+ * @param id id of the job
+ * @param type kind of description, one of {@link #PROCESS_INSTANCE} or {@link #USER_TASK_INSTANCE}
+ * @param fireTime next expiration, in epoch milliseconds
+ * @param repeatInterval interval between expirations in milliseconds, null if the job does not repeat
+ * @param repeatLimit remaining expirations of a repeatable job, negative if unbounded
+ * @param version incremented by the store every time the job is saved, so a job is only completed if it was not saved again
+ *        while being executed
+ */
+public record StoredJob(String id,
+        String type,
+        long fireTime,
+        Long repeatInterval,
+        int repeatLimit,
+        Integer priority,
+        String processInstanceId,
+        String rootProcessInstanceId,
+        String processId,
+        String rootProcessId,
+        String nodeInstanceId,
+        String timerId,
+        String userTaskInstanceId,
+        long version) {
+
+    public static final String PROCESS_INSTANCE = "process-instance";
+    public static final String USER_TASK_INSTANCE = "user-task-instance";
+
+    private record StoredExpirationTime(ZonedDateTime get, Long repeatInterval, Integer repeatLimit) implements ExpirationTime {
+    }
+
+    public static boolean isSupported(JobDescription description) {
+        return description instanceof ProcessInstanceJobDescription || description instanceof UserTaskInstanceJobDescription;
+    }
+
+    public static StoredJob of(JobDescription description) {
+        ExpirationTime expirationTime = description.expirationTime();
+        long fireTime = expirationTime.get().toInstant().toEpochMilli();
+        int repeatLimit = expirationTime.repeatLimit() == null ? -1 : expirationTime.repeatLimit();
+        if (description instanceof ProcessInstanceJobDescription job) {
+            return new StoredJob(job.id(), PROCESS_INSTANCE, fireTime, expirationTime.repeatInterval(), repeatLimit, job.priority(), job.processInstanceId(),
+                    job.rootProcessInstanceId(), job.processId(), job.rootProcessId(), job.nodeInstanceId(), job.timerId(), null, 0L);
+        } else if (description instanceof UserTaskInstanceJobDescription job) {
+            return new StoredJob(job.id(), USER_TASK_INSTANCE, fireTime, expirationTime.repeatInterval(), repeatLimit, job.priority(), null, null, null, null, null, null,
+                    job.getUserTaskInstanceId(), 0L);
+        }
+        throw new IllegalArgumentException("Job description " + description + " cannot be stored");
+    }
+
+    public boolean isRepeatable() {
+        return repeatInterval != null && repeatInterval > 0;
+    }
+
+    /**
+     * Returns the job to be stored once this expiration has been executed, or null if there is no further expiration.
+     * It keeps the version of this job, the one expected by {@link JobStore#replace(StoredJob, StoredJob)}.
+     *
+     * @param now current time, expirations missed while the job was not running are skipped
+     */
+    public StoredJob next(long now) {
+        if (!isRepeatable()) {
+            return null;
+        }
+        int nextLimit = repeatLimit > 0 ? repeatLimit - 1 : repeatLimit;
+        if (nextLimit == 0) {
+            return null;
+        }
+        long nextFireTime = fireTime + repeatInterval;
+        if (nextFireTime < now) {
+            nextFireTime = now;
+        }
+        return new StoredJob(id, type, nextFireTime, repeatInterval, nextLimit, priority, processInstanceId, rootProcessInstanceId, processId, rootProcessId, nodeInstanceId,
+                timerId, userTaskInstanceId, version);
+    }
+
+    StoredJob withVersion(long version) {
+        return new StoredJob(id, type, fireTime, repeatInterval, repeatLimit, priority, processInstanceId, rootProcessInstanceId, processId, rootProcessId, nodeInstanceId,
+                timerId, userTaskInstanceId, version);
+    }
+
+    public JobDescription toDescription() {
+        ExpirationTime expirationTime = new StoredExpirationTime(ZonedDateTime.ofInstant(Instant.ofEpochMilli(fireTime), ZoneId.systemDefault()), repeatInterval, repeatLimit);
+        if (PROCESS_INSTANCE.equals(type)) {
+            return ProcessInstanceJobDescription.newProcessInstanceJobDescriptionBuilder()
+                    .id(id)
+                    .timerId(timerId)
+                    .expirationTime(expirationTime)
+                    .priority(priority == null ? ProcessInstanceJobDescription.DEFAULT_PRIORITY : priority)
+                    .processInstanceId(processInstanceId)
+                    .rootProcessInstanceId(rootProcessInstanceId)
+                    .processId(processId)
+                    .rootProcessId(rootProcessId)
+                    .nodeInstanceId(nodeInstanceId)
+                    .build();
+        } else if (USER_TASK_INSTANCE.equals(type)) {
+            return UserTaskInstanceJobDescription.newUserTaskInstanceJobDescriptionBuilder()
+                    .id(id)
+                    .expirationTime(expirationTime)
+                    .priority(priority == null ? ProcessInstanceJobDescription.DEFAULT_PRIORITY : priority)
+                    .userTaskInstanceId(userTaskInstanceId)
+                    .build();
+        }
+        throw new IllegalStateException("Unknown job type " + type + " for job " + id);
+    }
+}
@@ -0,0 +1,132 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.kie.kogito.services.jobs.impl;
+
+import java.util.function.Consumer;
+
+/**
+ * Hashed timing wheel: adding, removing and expiring an entry are O(1) regardless of the number of entries.
+ * Deadlines are rounded up to the next tick, so an entry never expires before its deadline.
+ * This class is not thread safe, callers are expected to synchronize on it.
+ */
+final class TimingWheel {
+
+    static final class Entry {
+        private final String id;
+        private final long deadline;
+        private long rounds;
+        private int bucket = -1;
+        private Entry previous;
+        private Entry next;
+
+        private Entry(String id, long deadline) {
+            this.id = id;
+            this.deadline = deadline;
+        }
+
+        String id() {
+            return id;
+        }
+
+        long deadline() {
+            return deadline;
+        }
+    }
+
+    private final long tickMillis;
+    private final int mask;
+    private final Entry[] buckets;
+    private long nextTick;
+    private int size;
+
+    TimingWheel(long tickMillis, int wheelSize, long startMillis) {
+        if (tickMillis <= 0) {
+            throw new IllegalArgumentException("Tick must be positive");
+        }
+        if (wheelSize <= 0 || Integer.bitCount(wheelSize) != 1) {
+            throw new IllegalArgumentException("Wheel size must be a power of two");
+        }
+        this.tickMillis = tickMillis;
+        this.mask = wheelSize - 1;
+        this.buckets = new Entry[wheelSize];
+        this.nextTick = startMillis / tickMillis;
+    }
+
+    Entry add(String id, long deadline) {
+        Entry entry = new Entry(id, deadline);
+        long deadlineTick = Math.max(ceilDiv(deadline, tickMillis), nextTick);
+        entry.rounds = (deadlineTick - nextTick) / buckets.length;
+        entry.bucket = (int) (deadlineTick & mask);
+        entry.next = buckets[entry.bucket];
+        if (entry.next != null) {
+            entry.next.previous = entry;
+        }
+        buckets[entry.bucket] = entry;
+        size++;
+        return entry;
+    }
+
+    boolean remove(Entry entry) {
+        if (entry.bucket < 0) {
+            return false;
+        }
+        if (entry.previous != null) {
+            entry.previous.next = entry.next;
+        } else {
+            buckets[entry.bucket] = entry.next;
+        }
+        if (entry.next != null) {
+            entry.next.previous = entry.previous;
+        }
+        entry.bucket = -1;
+        entry.previous = null;
+        entry.next = null;
+        size--;
+        return true;
+    }
+
+    /**
+     * Processes every tick up to the given time, handing the expired entries (already removed from the wheel) to the consumer
+     */
+    void advance(long nowMillis, Consumer<Entry> expired) {
+        long targetTick = nowMillis / tickMillis;
+        while (nextTick <= targetTick) {
+            Entry entry = buckets[(int) (nextTick & mask)];
+            while (entry != null) {
+                Entry next = entry.next;
+                if (entry.rounds <= 0) {
+                    remove(entry);
+                    expired.accept(entry);
+                } else {
+                    entry.rounds--;
+                }
+                entry = next;
+            }
+            nextTick++;
+        }
+    }
+
+    int size() {
+        return size;
+    }
+
+    private static long ceilDiv(long value, long divisor) {
+        return -Math.floorDiv(-value, divisor);
+    }
+}
@@ -32,6 +32,7 @@ public class LightSignalManager implements SignalManager {
 
     private SignalManagerHub signalManagerHub;
     private final EventListenerResolver instanceResolver;
+    // a process instance only has a few listeners per type, signalled in registration order
     private ConcurrentHashMap<String, List<EventListener>> listeners = new ConcurrentHashMap<>();
 
     public LightSignalManager(EventListenerResolver instanceResolver, SignalManagerHub signalManagerHub) {
@@ -42,23 +43,23 @@ public class LightSignalManager implements SignalManager {
     public void addEventListener(String type, EventListener eventListener) {
         listeners.compute(type, (k, v) -> {
             if (v == null) {
+                // the hub only needs to know about the first listener of a type
                 v = new CopyOnWriteArrayList<>();
+                signalManagerHub.subscribe(type, this);
             }
             v.add(eventListener);
             return v;
         });
-        signalManagerHub.subscribe(type, this);
     }
 
     public void removeEventListener(String type, EventListener eventListener) {
         listeners.computeIfPresent(type, (k, v) -> {
-            v.remove(eventListener);
-            if (v.isEmpty()) {
-                listeners.remove(type);
+            if (v.remove(eventListener) && v.isEmpty()) {
+                signalManagerHub.unsubscribe(type, this);
+                return null;
             }
             return v;
         });
-        signalManagerHub.unsubscribe(type, this);
     }
 
     public void signalEvent(String type, Object event) {
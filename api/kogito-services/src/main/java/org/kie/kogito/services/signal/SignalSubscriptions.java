@@ -0,0 +1,155 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.kie.kogito.services.signal;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * Subscribers of signals, grouped by signal type.
+ * <p>
+ * The subscribers of a type are spread over a fixed number of shards, each one a concurrent map counting how many
+ * times a subscriber registered, so subscribing and unsubscribing take constant time whatever the number of
+ * subscribers of the type. A subscriber is delivered a signal once, however many times it registered, and stays
+ * subscribed until it unsubscribed as many times.
+ * <p>
+ * Delivery works on a snapshot taken when the signal is published: subscribers added while a signal is delivered do
+ * not receive it, as with copy on write collections. There is no ordering guarantee between subscribers, which is
+ * why it backs the {@link DefaultSignalManagerHub} only: a process instance keeps its listeners in registration order.
+ *
+ * @param <T> type of the subscribers
+ */
+public class SignalSubscriptions<T> {
+
+    private static final int SHARDS = 1 << (32 - Integer.numberOfLeadingZeros(Math.max(1, Runtime.getRuntime().availableProcessors()) - 1));
+
+    private final ConcurrentHashMap<String, Subscribers<T>> subscriptions = new ConcurrentHashMap<>();
+
+    /**
+     * @return <code>true</code> if the type had no subscriber before this call
+     */
+    public boolean subscribe(String type, T subscriber) {
+        boolean[] first = new boolean[1];
+        subscriptions.compute(type, (key, subscribers) -> {
+            if (subscribers == null) {
+                subscribers = new Subscribers<>();
+                first[0] = true;
+            }
+            subscribers.add(subscriber);
+            return subscribers;
+        });
+        return first[0];
+    }
+
+    /**
+     * @return <code>true</code> if the type has no subscriber left after this call
+     */
+    public boolean unsubscribe(String type, T subscriber) {
+        boolean[] last = new boolean[1];
+        subscriptions.computeIfPresent(type, (key, subscribers) -> {
+            if (subscribers.remove(subscriber) && subscribers.isEmpty()) {
+                last[0] = true;
+                return null;
+            }
+            return subscribers;
+        });
+        return last[0];
+    }
+
+    public boolean hasSubscribers(String type) {
+        return subscriptions.containsKey(type);
+    }
+
+    public int size(String type) {
+        Subscribers<T> subscribers = subscriptions.get(type);
+        return subscribers == null ? 0 : subscribers.size();
+    }
+
+    public void forEach(String type, Consumer<? super T> action) {
+        Subscribers<T> subscribers = subscriptions.get(type);
+        if (subscribers != null) {
+            for (List<T> shard : subscribers.snapshot()) {
+                shard.forEach(action);
+            }
+        }
+    }
+
+    private static final class Subscribers<T> {
+
+        private final List<ConcurrentHashMap<T, Integer>> shards = new ArrayList<>(SHARDS);
+        private final AtomicInteger size = new AtomicInteger();
+
+        private Subscribers() {
+            for (int i = 0; i < SHARDS; i++) {
+                shards.add(new ConcurrentHashMap<>());
+            }
+        }
+
+        void add(T subscriber) {
+            if (shard(subscriber).merge(subscriber, 1, Integer::sum) == 1) {
+                size.incrementAndGet();
+            }
+        }
+
+        boolean remove(T subscriber) {
+            boolean[] removed = new boolean[1];
+            shard(subscriber).computeIfPresent(subscriber, (key, count) -> {
+                if (count > 1) {
+                    return count - 1;
+                }
+                removed[0] = true;
+                return null;
+            });
+            if (removed[0]) {
+                size.decrementAndGet();
+            }
+            return removed[0];
+        }
+
+        boolean isEmpty() {
+            return size.get() == 0;
+        }
+
+        int size() {
+            return size.get();
+        }
+
+        /**
+         * Non empty shards copied to lists, so delivery is not affected by (un)subscriptions it triggers.
+         */
+        List<List<T>> snapshot() {
+            List<List<T>> snapshot = new ArrayList<>(SHARDS);
+            for (ConcurrentHashMap<T, Integer> shard : shards) {
+                if (!shard.isEmpty()) {
+                    snapshot.add(new ArrayList<>(shard.keySet()));
+                }
+            }
+            return snapshot.isEmpty() ? Collections.emptyList() : snapshot;
+        }
+
+        private ConcurrentHashMap<T, Integer> shard(T subscriber) {
+            int hash = subscriber.hashCode();
+            return shards.get((hash ^ (hash >>> 16)) & (SHARDS - 1));
+        }
+    }
+}
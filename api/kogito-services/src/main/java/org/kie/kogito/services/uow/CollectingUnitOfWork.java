@@ -27,6 +27,7 @@ import java.util.Set;
 
 import org.kie.kogito.event.EventBatch;
 import org.kie.kogito.event.EventManager;
+import org.kie.kogito.process.ProcessPersistenceListeners;
 import org.kie.kogito.uow.UnitOfWork;
 import org.kie.kogito.uow.WorkUnit;
 
@@ -35,11 +36,16 @@ import org.kie.kogito.uow.WorkUnit;
  * throughout the life of the unit and invokes all of them at the end
  * when end method is invoked. It does not invoke the work
  * when abort is invoked, only clears the collected items.
+ * 
+ * Work intercepted while the unit is ending (for instance write-behind
+ * flushes registered by persistence stores) is performed before the
+ * events are published, in as many passes as needed.
  *
  */
 public class CollectingUnitOfWork implements UnitOfWork {
 
     private Set<WorkUnit<?>> collectedWork;
+    private Set<WorkUnit<?>> lateWork;
     private boolean done;
 
     private final EventManager eventManager;
@@ -61,13 +67,24 @@ public class CollectingUnitOfWork implements UnitOfWork {
     @Override
     public void end() {
         checkStarted();
-
-        for (WorkUnit<?> work : sorted()) {
-            work.perform();
+        final boolean measured = ProcessPersistenceListeners.isEnabled();
+        final long start = measured ? System.nanoTime() : 0L;
+
+        Collection<WorkUnit<?>> pending = sorted();
+        while (!pending.isEmpty()) {
+            lateWork = new LinkedHashSet<>();
+            for (WorkUnit<?> work : pending) {
+                work.perform();
+            }
+            pending = sorted(lateWork);
         }
+        lateWork = null;
 
         eventManager.publish(batch);
         done();
+        if (measured) {
+            ProcessPersistenceListeners.get().onUnitOfWorkEnded(System.nanoTime() - start);
+        }
     }
 
     @Override
@@ -90,10 +107,18 @@ public class CollectingUnitOfWork implements UnitOfWork {
         batch.append(work.data());
         collectedWork.remove(work);
         collectedWork.add(work);
+        if (lateWork != null) {
+            lateWork.remove(work);
+            lateWork.add(work);
+        }
     }
 
     protected Collection<WorkUnit<?>> sorted() {
-        List<WorkUnit<?>> sortedCollectedWork = new ArrayList<>(collectedWork);
+        return sorted(collectedWork);
+    }
+
+    private static Collection<WorkUnit<?>> sorted(Collection<WorkUnit<?>> work) {
+        List<WorkUnit<?>> sortedCollectedWork = new ArrayList<>(work);
         sortedCollectedWork.sort(Comparator.comparing(WorkUnit::priority));
         return sortedCollectedWork;
     }
@@ -113,5 +138,6 @@ public class CollectingUnitOfWork implements UnitOfWork {
     protected void done() {
         done = true;
         collectedWork = null;
+        lateWork = null;
     }
 }
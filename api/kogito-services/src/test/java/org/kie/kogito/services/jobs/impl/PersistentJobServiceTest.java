@@ -0,0 +1,236 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.kie.kogito.services.jobs.impl;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.function.Consumer;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.kie.kogito.jobs.DurationExpirationTime;
+import org.kie.kogito.jobs.JobDescription;
+import org.kie.kogito.jobs.JobsService;
+import org.kie.kogito.jobs.descriptors.ProcessInstanceJobDescription;
+import org.kie.kogito.services.uow.CollectingUnitOfWorkFactory;
+import org.kie.kogito.services.uow.DefaultUnitOfWorkManager;
+import org.kie.kogito.uow.UnitOfWork;
+import org.kie.kogito.uow.UnitOfWorkManager;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+class PersistentJobServiceTest {
+
+    private static final long TICK = 100L;
+    private static final long HORIZON = 60_000L;
+    // expirations are rounded up to the next tick and measured from the time the job is scheduled
+    private static final long LATE = 3 * TICK;
+    private static final long LEASE = 30_000L;
+
+    private InMemoryJobStore store;
+    private List<String> executed;
+    private Consumer<JobDescription> onExecution;
+    private UnitOfWorkManager unitOfWorkManager;
+    private long now;
+
+    private class RecordingJobExecutorFactory implements JobExecutorFactory {
+
+        @Override
+        public Set<Class<? extends JobDescription>> types() {
+            return Set.of(ProcessInstanceJobDescription.class);
+        }
+
+        @Override
+        public Runnable createNewRunnable(JobsService jobService, JobDescription jobDescription) {
+            return () -> execute(jobDescription);
+        }
+
+        @Override
+        public Runnable createNewRepeteableRunnable(JobsService jobService, JobDescription jobDescription) {
+            return () -> execute(jobDescription);
+        }
+
+        private void execute(JobDescription jobDescription) {
+            executed.add(jobDescription.id());
+            onExecution.accept(jobDescription);
+        }
+    }
+
+    @BeforeEach
+    void setUp() {
+        store = new InMemoryJobStore();
+        executed = new ArrayList<>();
+        onExecution = jobDescription -> {
+        };
+        unitOfWorkManager = new DefaultUnitOfWorkManager(new CollectingUnitOfWorkFactory());
+        now = System.currentTimeMillis();
+    }
+
+    @Test
+    void testJobIsFiredOnceAtItsExpiration() {
+        PersistentJobService jobService = newJobService("replica");
+        jobService.scheduleJob(job("job1", 1000L, null));
+
+        assertThat(store.findDue(Long.MAX_VALUE, now, 10)).extracting(StoredJob::id).containsExactly("job1");
+        jobService.tick(now + 500L);
+        assertThat(executed).isEmpty();
+        jobService.tick(now + 1000L + LATE);
+        assertThat(executed).containsExactly("job1");
+        assertThat(store.findDue(Long.MAX_VALUE, now + 1000L + LATE, 10)).isEmpty();
+        jobService.tick(now + 5000L);
+        assertThat(executed).containsExactly("job1");
+    }
+
+    @Test
+    void testStoredJobsAreRecovered() {
+        PersistentJobService previous = newJobService("replica");
+        previous.scheduleJob(job("job1", 1000L, null));
+
+        PersistentJobService jobService = newJobService("replica");
+        jobService.tick(now + 1000L + LATE);
+        assertThat(executed).containsExactly("job1");
+    }
+
+    @Test
+    void testJobsBeyondHorizonAreLoadedWhenPolling() {
+        PersistentJobService jobService = newJobService("replica");
+        jobService.scheduleJob(job("job1", HORIZON * 2, null));
+
+        jobService.tick(now + HORIZON * 2 + LATE);
+        assertThat(executed).isEmpty();
+        jobService.poll(now + HORIZON * 2 - 1000L);
+        jobService.tick(now + HORIZON * 2 + 2 * LATE);
+        assertThat(executed).containsExactly("job1");
+    }
+
+    @Test
+    void testRepeatableJobIsRescheduledUntilItsLimit() {
+        PersistentJobService jobService = newJobService("replica");
+        jobService.scheduleJob(job("job1", 1000L, 3));
+
+        for (int i = 1; i <= 5; i++) {
+            jobService.tick(now + i * 1000L + LATE);
+        }
+        assertThat(executed).containsExactly("job1", "job1", "job1");
+        assertThat(store.findDue(Long.MAX_VALUE, now + 10_000L, 10)).isEmpty();
+    }
+
+    @Test
+    void testCancelledJobIsNotFired() {
+        PersistentJobService jobService = newJobService("replica");
+        jobService.scheduleJob(job("job1", 1000L, null));
+
+        assertThat(jobService.cancelJob("job1")).isTrue();
+        jobService.tick(now + 1000L + LATE);
+        assertThat(executed).isEmpty();
+        assertThat(jobService.cancelJob("job1")).isFalse();
+    }
+
+    @Test
+    void testReplicasSharingTheStoreFireEachJobOnce() {
+        PersistentJobService replica1 = newJobService("replica1");
+        PersistentJobService replica2 = newJobService("replica2");
+        for (int i = 0; i < 10; i++) {
+            (i % 2 == 0 ? replica1 : replica2).scheduleJob(job("job" + i, 1000L, null));
+        }
+        replica1.poll(now);
+        replica2.poll(now);
+
+        replica1.tick(now + 1000L + LATE);
+        replica2.tick(now + 1000L + LATE);
+        assertThat(executed).hasSize(10).doesNotHaveDuplicates();
+    }
+
+    @Test
+    void testStoreIsWrittenWhenTheUnitOfWorkEnds() {
+        PersistentJobService jobService = newJobService("replica");
+        UnitOfWork unitOfWork = unitOfWorkManager.newUnitOfWork();
+        unitOfWork.start();
+        jobService.scheduleJob(job("job1", 1000L, null));
+        assertThat(store.findDue(Long.MAX_VALUE, now, 10)).isEmpty();
+        unitOfWork.end();
+        assertThat(store.findDue(Long.MAX_VALUE, now, 10)).extracting(StoredJob::id).containsExactly("job1");
+
+        unitOfWork = unitOfWorkManager.newUnitOfWork();
+        unitOfWork.start();
+        jobService.cancelJob("job1");
+        unitOfWork.abort();
+        jobService.tick(now + 1000L + LATE);
+        assertThat(executed).containsExactly("job1");
+    }
+
+    @Test
+    void testAbortedScheduleIsNotStored() {
+        PersistentJobService jobService = newJobService("replica");
+        UnitOfWork unitOfWork = unitOfWorkManager.newUnitOfWork();
+        unitOfWork.start();
+        jobService.scheduleJob(job("job1", 1000L, null));
+        unitOfWork.abort();
+
+        jobService.tick(now + 1000L + LATE);
+        assertThat(executed).isEmpty();
+        assertThat(store.findDue(Long.MAX_VALUE, now, 10)).isEmpty();
+    }
+
+    @Test
+    void testFailedJobIsRetriedOnceItsLeaseExpires() {
+        PersistentJobService jobService = newJobService("replica");
+        jobService.scheduleJob(job("job1", 1000L, null));
+        onExecution = jobDescription -> {
+            // as the process job runnables do, whatever the outcome
+            jobService.cancelJob(jobDescription.id());
+            throw new IllegalStateException("failing job");
+        };
+
+        jobService.tick(now + 1000L + LATE);
+        assertThat(executed).containsExactly("job1");
+        assertThat(store.findDue(Long.MAX_VALUE, now + 1000L + LATE, 10)).isEmpty();
+        assertThat(store.findDue(Long.MAX_VALUE, now + 1000L + LATE + LEASE + 1, 10)).extracting(StoredJob::id).containsExactly("job1");
+    }
+
+    @Test
+    void testJobSavedAgainWhileExecutingIsKept() {
+        PersistentJobService jobService = newJobService("replica");
+        jobService.scheduleJob(job("job1", 1000L, null));
+        onExecution = jobDescription -> jobService.scheduleJob(job(jobDescription.id(), 5000L, null));
+
+        jobService.tick(now + 1000L + LATE);
+        assertThat(executed).containsExactly("job1");
+        assertThat(store.findDue(Long.MAX_VALUE, now + 1000L + LATE, 10)).extracting(StoredJob::id).containsExactly("job1");
+    }
+
+    private PersistentJobService newJobService(String owner) {
+        PersistentJobService jobService = new PersistentJobService(store, unitOfWorkManager, owner, Runnable::run, mock(ScheduledExecutorService.class), TICK, 64, HORIZON, LEASE, 3, 1000);
+        jobService.registerJobExecutorFactory(new RecordingJobExecutorFactory());
+        return jobService;
+    }
+
+    private ProcessInstanceJobDescription job(String id, long delay, Integer repeatLimit) {
+        return ProcessInstanceJobDescription.newProcessInstanceJobDescriptionBuilder()
+                .id(id)
+                .timerId("timer")
+                .expirationTime(repeatLimit == null ? DurationExpirationTime.after(delay) : DurationExpirationTime.repeat(delay, 1000L, repeatLimit))
+                .processInstanceId("processInstance")
+                .processId("process")
+                .build();
+    }
+}
@@ -0,0 +1,78 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.kie.kogito.services.jobs.impl;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class TimingWheelTest {
+
+    @Test
+    void testEntriesExpireAtTheirDeadline() {
+        TimingWheel wheel = new TimingWheel(10, 8, 0);
+        wheel.add("a", 25);
+        wheel.add("b", 30);
+        // beyond a full turn of the wheel
+        wheel.add("c", 1000);
+        List<String> expired = new ArrayList<>();
+
+        wheel.advance(20, e -> expired.add(e.id()));
+        assertThat(expired).isEmpty();
+        wheel.advance(30, e -> expired.add(e.id()));
+        assertThat(expired).containsExactlyInAnyOrder("a", "b");
+        wheel.advance(990, e -> expired.add(e.id()));
+        assertThat(expired).containsExactlyInAnyOrder("a", "b");
+        wheel.advance(1000, e -> expired.add(e.id()));
+        assertThat(expired).containsExactlyInAnyOrder("a", "b", "c");
+        assertThat(wheel.size()).isZero();
+    }
+
+    @Test
+    void testOverdueEntriesExpireOnNextTick() {
+        TimingWheel wheel = new TimingWheel(10, 8, 100);
+        wheel.add("a", 5);
+        List<String> expired = new ArrayList<>();
+
+        wheel.advance(100, e -> expired.add(e.id()));
+        assertThat(expired).containsExactly("a");
+    }
+
+    @Test
+    void testRemovedEntriesDoNotExpire() {
+        TimingWheel wheel = new TimingWheel(10, 8, 0);
+        TimingWheel.Entry a = wheel.add("a", 50);
+        wheel.add("b", 50);
+        assertThat(wheel.remove(a)).isTrue();
+        assertThat(wheel.remove(a)).isFalse();
+        List<String> expired = new ArrayList<>();
+
+        wheel.advance(100, e -> expired.add(e.id()));
+        assertThat(expired).containsExactly("b");
+    }
+
+    @Test
+    void testWheelSizeMustBePowerOfTwo() {
+        assertThatThrownBy(() -> new TimingWheel(10, 6, 0)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
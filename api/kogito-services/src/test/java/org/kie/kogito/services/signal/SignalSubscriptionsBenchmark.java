@@ -0,0 +1,116 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.kie.kogito.services.signal;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Compares {@code subscribers} listeners registering for, receiving and leaving the same signal type with
+ * {@link SignalSubscriptions} and with the copy on write list it replaces.
+ * Run it from the IDE or with {@code mvn test-compile exec:java -Dexec.classpathScope=test -Dexec.mainClass=org.kie.kogito.services.signal.SignalSubscriptionsBenchmark}
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SignalSubscriptionsBenchmark {
+
+    private static final String TYPE = "processInstanceCompleted:shared";
+
+    @Param({ "100000" })
+    private int subscribers;
+
+    private Object[] listeners;
+
+    private SignalSubscriptions<Object> subscriptions;
+
+    private List<Object> copyOnWriteListeners;
+
+    @Setup
+    public void setup() {
+        listeners = new Object[subscribers];
+        for (int i = 0; i < subscribers; i++) {
+            listeners[i] = new Object();
+        }
+        subscriptions = new SignalSubscriptions<>();
+        copyOnWriteListeners = new CopyOnWriteArrayList<>();
+        for (Object listener : listeners) {
+            subscriptions.subscribe(TYPE, listener);
+            copyOnWriteListeners.add(listener);
+        }
+    }
+
+    @Benchmark
+    public int subscribeUnsubscribeCopyOnWrite() {
+        List<Object> list = new CopyOnWriteArrayList<>();
+        for (Object listener : listeners) {
+            list.add(listener);
+        }
+        for (Object listener : listeners) {
+            list.remove(listener);
+        }
+        return list.size();
+    }
+
+    @Benchmark
+    public int subscribeUnsubscribeSharded() {
+        SignalSubscriptions<Object> registry = new SignalSubscriptions<>();
+        for (Object listener : listeners) {
+            registry.subscribe(TYPE, listener);
+        }
+        for (Object listener : listeners) {
+            registry.unsubscribe(TYPE, listener);
+        }
+        return registry.size(TYPE);
+    }
+
+    @Benchmark
+    public void publishCopyOnWrite(Blackhole blackhole) {
+        copyOnWriteListeners.forEach(listener -> blackhole.consume(listener.hashCode()));
+    }
+
+    @Benchmark
+    public void publishSharded(Blackhole blackhole) {
+        subscriptions.forEach(TYPE, listener -> blackhole.consume(listener.hashCode()));
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(SignalSubscriptionsBenchmark.class.getSimpleName()).build()).run();
+    }
+}
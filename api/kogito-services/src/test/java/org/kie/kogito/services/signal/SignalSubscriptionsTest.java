@@ -0,0 +1,110 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.kie.kogito.services.signal;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.jupiter.api.Test;
+import org.kie.api.runtime.process.EventListener;
+import org.kie.kogito.signal.SignalManagerHub;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+public class SignalSubscriptionsTest {
+
+    @Test
+    public void testSubscribeUnsubscribe() {
+        SignalSubscriptions<String> subscriptions = new SignalSubscriptions<>();
+        assertThat(subscriptions.subscribe("signal", "a")).isTrue();
+        assertThat(subscriptions.subscribe("signal", "b")).isFalse();
+        assertThat(subscriptions.subscribe("signal", "a")).isFalse();
+        assertThat(subscriptions.size("signal")).isEqualTo(2);
+
+        assertThat(subscriptions.unsubscribe("signal", "a")).isFalse();
+        assertThat(subscriptions.unsubscribe("signal", "a")).isFalse();
+        assertThat(subscriptions.hasSubscribers("signal")).isTrue();
+        assertThat(subscriptions.unsubscribe("signal", "b")).isTrue();
+        assertThat(subscriptions.hasSubscribers("signal")).isFalse();
+        assertThat(subscriptions.unsubscribe("signal", "b")).isFalse();
+    }
+
+    @Test
+    public void testForEachDeliversOnceToSnapshot() {
+        SignalSubscriptions<String> subscriptions = new SignalSubscriptions<>();
+        for (int i = 0; i < 100; i++) {
+            subscriptions.subscribe("signal", "s" + i);
+        }
+        subscriptions.subscribe("signal", "s0");
+        List<String> delivered = new ArrayList<>();
+        subscriptions.forEach("signal", subscriber -> {
+            delivered.add(subscriber);
+            subscriptions.subscribe("signal", "late-" + subscriber);
+        });
+        assertThat(delivered).hasSize(100).doesNotHaveDuplicates().allMatch(subscriber -> subscriber.startsWith("s"));
+        assertThat(subscriptions.size("signal")).isEqualTo(200);
+    }
+
+    @Test
+    public void testLightSignalManagerSubscribesHubOncePerType() {
+        SignalManagerHub hub = mock(SignalManagerHub.class);
+        LightSignalManager signalManager = new LightSignalManager(id -> Optional.empty(), hub);
+        EventListener first = mock(EventListener.class);
+        EventListener second = mock(EventListener.class);
+
+        signalManager.addEventListener("signal", first);
+        signalManager.addEventListener("signal", second);
+        verify(hub, times(1)).subscribe("signal", signalManager);
+
+        signalManager.removeEventListener("signal", first);
+        verify(hub, never()).unsubscribe(anyString(), any());
+
+        signalManager.signalEvent("signal", "data");
+        verify(second).signalEvent("signal", "data");
+        verify(first, never()).signalEvent(anyString(), any());
+
+        signalManager.removeEventListener("signal", second);
+        verify(hub).unsubscribe("signal", signalManager);
+        assertThat(signalManager.accept("signal", "data")).isFalse();
+    }
+
+    @Test
+    public void testLightSignalManagerSignalsInRegistrationOrder() {
+        LightSignalManager signalManager = new LightSignalManager(id -> Optional.empty(), mock(SignalManagerHub.class));
+        List<EventListener> listeners = new ArrayList<>();
+        List<EventListener> signalled = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            EventListener listener = mock(EventListener.class);
+            doAnswer(invocation -> signalled.add(listener)).when(listener).signalEvent(anyString(), any());
+            listeners.add(listener);
+            signalManager.addEventListener("signal", listener);
+        }
+
+        signalManager.signalEvent("signal", "data");
+        assertThat(signalled).containsExactlyElementsOf(listeners);
+    }
+}
@@ -149,4 +149,26 @@ public class DefaultUnitOfWorkManagerTest {
         assertThat(counter).hasValue(1);
         assertThat(picounter).hasValue(0);
     }
+
+    @Test
+    public void testUnitOfWorkPerformsWorkInterceptedWhileEnding() {
+
+        UnitOfWork unit = unitOfWorkManager.newUnitOfWork();
+
+        final AtomicInteger counter = new AtomicInteger(0);
+        final AtomicInteger flushed = new AtomicInteger(0);
+
+        WorkUnit<AtomicInteger> flushWork = WorkUnit.create(counter, d -> flushed.set(d.get()));
+        ProcessInstanceWorkUnit<?> piWork = new ProcessInstanceWorkUnit<>(null, d -> {
+            counter.incrementAndGet();
+            unitOfWorkManager.currentUnitOfWork().intercept(flushWork);
+        });
+        unit.start();
+        unit.intercept(piWork);
+        unit.end();
+
+        // work registered during end must be performed after the work that registered it
+        assertThat(counter).hasValue(1);
+        assertThat(flushed).hasValue(1);
+    }
 }
@@ -87,6 +87,7 @@ import org.xml.sax.SAXParseException;
 import static java.lang.Thread.currentThread;
 import static org.jbpm.process.core.datatype.DataTypeResolver.fromType;
 import static org.jbpm.ruleflow.core.Metadata.COMPLETION_CONDITION;
+import static org.jbpm.ruleflow.core.Metadata.CUSTOM_MAX_PARALLELISM;
 import static org.jbpm.ruleflow.core.Metadata.MAPPING_VARIABLE;
 import static org.jbpm.ruleflow.core.Metadata.MAPPING_VARIABLE_INPUT;
 import static org.jbpm.ruleflow.core.Metadata.VARIABLE;
@@ -702,6 +703,11 @@ public abstract class AbstractNodeHandler extends BaseAbstractHandler implements
         ForEachNode forEachNode = new ForEachNode(nodeTarget.getId());
         forEachNode.setName(nodeTarget.getName());
         nodeTarget.setMetaData("hidden", true);
+        // concurrent multi instance is configured on the activity itself but executed by the for each node
+        Object maxParallelism = nodeTarget.getMetaData().get(CUSTOM_MAX_PARALLELISM);
+        if (maxParallelism != null) {
+            forEachNode.setMetaData(CUSTOM_MAX_PARALLELISM, maxParallelism);
+        }
         forEachNode.setIoSpecification(nodeTarget.getIoSpecification());
 
         DataDefinition dataInput = multiInstanceSpecification.getInputDataItem();
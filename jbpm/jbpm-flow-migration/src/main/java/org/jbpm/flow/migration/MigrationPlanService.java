@@ -20,6 +20,10 @@ package org.jbpm.flow.migration;
 
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
 
 import org.jbpm.flow.migration.model.MigrationPlan;
 import org.jbpm.flow.migration.model.ProcessDefinitionMigrationPlan;
@@ -39,12 +43,19 @@ import static java.util.stream.Collectors.toMap;
  * The migration system is limited in this way.
  * Cannot have more that one identifier process deployed (version is fixed)
  * if there are several migration plans defined for the same source only one is taken into account
+ * <p>
+ * As the deployed processes do not change, the plan resolved for every pair of process state and process definition
+ * is cached, so it is checked against the deployed target only once.
  */
 public class MigrationPlanService {
     private static final Logger LOGGER = LoggerFactory.getLogger(MigrationPlanService.class);
 
+    private record DefinitionPair(String stateProcessId, String stateProcessVersion, String processId, String processVersion) {
+    }
+
     private MigrationPlanProvider migrationPlanProvider;
     private Map<ProcessDefinitionMigrationPlan, MigrationPlan> migrations;
+    private final Map<DefinitionPair, Optional<ResolvedMigrationPlan>> resolvedPlans = new ConcurrentHashMap<>();
 
     public MigrationPlanService() {
         this(MigrationPlanProvider.newMigrationPlanProviderBuilder().withEnvironmentDefaults().build());
@@ -57,50 +68,64 @@ public class MigrationPlanService {
     }
 
     public void migrateProcessElement(Processes processes, KogitoWorkflowProcessInstance processInstance) {
-        MigrationPlan plan = getMigrationPlan(processes, processInstance);
+        ResolvedMigrationPlan plan = resolveMigrationPlan(() -> processes, processInstance);
         if (plan != null) {
-            // the process will have to do nothing as it is done by the engine itself
-            LOGGER.info("Process instance {} will be migrated from {} to {} with plan {}",
-                    processInstance.getStringId(),
-                    plan.getProcessMigrationPlan().getSourceProcessDefinition(),
-                    plan.getProcessMigrationPlan().getTargetProcessDefinition(),
-                    plan.getName());
-
-            RuleFlowProcessInstance ruleFlowProcessInstance = (RuleFlowProcessInstance) processInstance;
-            ruleFlowProcessInstance.setProcessId(plan.getProcessMigrationPlan().getTargetProcessDefinition().getProcessId());
-            ruleFlowProcessInstance.setProcessVersion(plan.getProcessMigrationPlan().getTargetProcessDefinition().getProcessVersion());
+            migrateProcessElement(plan, processInstance);
         } else {
             LOGGER.debug("Process instance {} won't be migrated", processInstance);
         }
     }
 
+    public void migrateProcessElement(ResolvedMigrationPlan plan, KogitoWorkflowProcessInstance processInstance) {
+        // the process will have to do nothing as it is done by the engine itself
+        LOGGER.info("Process instance {} will be migrated from {} to {} with plan {}",
+                processInstance.getStringId(),
+                plan.getPlan().getProcessMigrationPlan().getSourceProcessDefinition(),
+                plan.getTargetProcessDefinition(),
+                plan.getPlan().getName());
+
+        RuleFlowProcessInstance ruleFlowProcessInstance = (RuleFlowProcessInstance) processInstance;
+        ruleFlowProcessInstance.setProcessId(plan.getTargetProcessDefinition().getProcessId());
+        ruleFlowProcessInstance.setProcessVersion(plan.getTargetProcessDefinition().getProcessVersion());
+    }
+
     public void migrateNodeElement(Processes processes, KogitoNodeInstance nodeInstance) {
         KogitoWorkflowProcessInstance pi = (KogitoWorkflowProcessInstance) nodeInstance.getProcessInstance();
-        MigrationPlan plan = getMigrationPlan(processes, pi);
+        ResolvedMigrationPlan plan = resolveMigrationPlan(() -> processes, pi);
         if (plan == null) {
             return;
         }
+        migrateNodeElement(plan, nodeInstance);
+    }
 
+    public void migrateNodeElement(ResolvedMigrationPlan plan, KogitoNodeInstance nodeInstance) {
         LOGGER.debug("Migration node element {}", nodeInstance);
         NodeInstanceImpl impl = (NodeInstanceImpl) nodeInstance;
-        impl.setNodeId(plan.getProcessMigrationPlan().getNodeMigratedFor(nodeInstance));
+        impl.setNodeId(plan.getNodeMigratedFor(nodeInstance.getNodeId()));
     }
 
-    // we check the target deployed in the container is the same as the target in the migration plan
-    private MigrationPlan getMigrationPlan(Processes processes, KogitoWorkflowProcessInstance processInstance) {
-        // first check if we need a migration as the process being set should be not be the same as the process set in the 
-        // process being loaded.
-        String currentProcessId = processInstance.getProcess().getId();
-        String currentVersion = processInstance.getProcess().getVersion();
-        ProcessDefinitionMigrationPlan currentProcessDefinition = new ProcessDefinitionMigrationPlan(currentProcessId, currentVersion);
-
-        RuleFlowProcessInstance pi = (RuleFlowProcessInstance) processInstance;
-        ProcessDefinitionMigrationPlan processStateDefinition = new ProcessDefinitionMigrationPlan(pi.getProcessId(), pi.getProcessVersion());
-
-        // check if definition and state match. we don't need to perform any migration.
-        if (currentProcessDefinition.equals(processStateDefinition)) {
+    /**
+     * Returns the migration plan to be applied to the given process instance, null if its state already matches
+     * its definition or there is no plan from its state to the deployed definition. Resolutions are cached per pair
+     * of state and definition, the processes are only looked up the first time a pair is seen.
+     */
+    public ResolvedMigrationPlan resolveMigrationPlan(Supplier<Processes> processes, KogitoWorkflowProcessInstance processInstance) {
+        if (isEqualVersion(processInstance)) {
             return null;
         }
+        RuleFlowProcessInstance pi = (RuleFlowProcessInstance) processInstance;
+        DefinitionPair key = new DefinitionPair(pi.getProcessId(), pi.getProcessVersion(), processInstance.getProcess().getId(), processInstance.getProcess().getVersion());
+        Optional<ResolvedMigrationPlan> plan = resolvedPlans.get(key);
+        if (plan == null) {
+            plan = resolvedPlans.computeIfAbsent(key, k -> Optional.ofNullable(getMigrationPlan(processes.get(), k)).map(ResolvedMigrationPlan::new));
+        }
+        return plan.orElse(null);
+    }
+
+    // we check the target deployed in the container is the same as the target in the migration plan
+    private MigrationPlan getMigrationPlan(Processes processes, DefinitionPair definitions) {
+        ProcessDefinitionMigrationPlan currentProcessDefinition = new ProcessDefinitionMigrationPlan(definitions.processId(), definitions.processVersion());
+        ProcessDefinitionMigrationPlan processStateDefinition = new ProcessDefinitionMigrationPlan(definitions.stateProcessId(), definitions.stateProcessVersion());
 
         // there is no migration plan define for the source
         MigrationPlan plan = migrations.get(processStateDefinition);
@@ -131,18 +156,18 @@ public class MigrationPlanService {
     }
 
     public boolean isEqualVersion(Processes processes, KogitoWorkflowProcessInstance processInstance) {
-        String currentProcessId = processInstance.getProcess().getId();
-        String currentVersion = processInstance.getProcess().getVersion();
-        ProcessDefinitionMigrationPlan currentProcessDefinition = new ProcessDefinitionMigrationPlan(currentProcessId, currentVersion);
+        return isEqualVersion(processInstance);
+    }
 
+    /**
+     * Checks whether the process state of the given instance matches its process definition, in which case there is nothing to migrate
+     */
+    public boolean isEqualVersion(KogitoWorkflowProcessInstance processInstance) {
         RuleFlowProcessInstance pi = (RuleFlowProcessInstance) processInstance;
-        ProcessDefinitionMigrationPlan processStateDefinition = new ProcessDefinitionMigrationPlan(pi.getProcessId(), pi.getProcessVersion());
-
-        // check if definition and state match. we don't need to perform any migration.
-        return currentProcessDefinition.equals(processStateDefinition);
+        return Objects.equals(processInstance.getProcess().getId(), pi.getProcessId()) && Objects.equals(processInstance.getProcess().getVersion(), pi.getProcessVersion());
     }
 
     public boolean hasMigrationPlan(Processes processes, KogitoWorkflowProcessInstance processInstance) {
-        return getMigrationPlan(processes, processInstance) != null;
+        return resolveMigrationPlan(() -> processes, processInstance) != null;
     }
 }
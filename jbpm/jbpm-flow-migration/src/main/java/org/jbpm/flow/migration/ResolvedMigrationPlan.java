@@ -0,0 +1,76 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+package org.jbpm.flow.migration;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+import org.jbpm.flow.migration.model.MigrationPlan;
+import org.jbpm.flow.migration.model.NodeInstanceMigrationPlan;
+import org.jbpm.flow.migration.model.ProcessDefinitionMigrationPlan;
+import org.kie.api.definition.process.WorkflowElementIdentifier;
+
+/**
+ * Migration plan already checked against the deployed target definition, with its node mappings
+ * compiled into a lookup table so migrating a node instance does not walk the whole plan.
+ */
+public class ResolvedMigrationPlan {
+
+    private final MigrationPlan plan;
+    private final Map<WorkflowElementIdentifier, WorkflowElementIdentifier> nodeMappings;
+    // source nodes with more than one mapping, reported only if an instance of such a node is migrated
+    private final Set<WorkflowElementIdentifier> ambiguousNodes;
+
+    public ResolvedMigrationPlan(MigrationPlan plan) {
+        this.plan = plan;
+        this.nodeMappings = new HashMap<>();
+        this.ambiguousNodes = new HashSet<>();
+        if (plan.getProcessMigrationPlan().getNodeInstanceMigrationPlan() != null) {
+            for (NodeInstanceMigrationPlan nodePlan : plan.getProcessMigrationPlan().getNodeInstanceMigrationPlan()) {
+                if (nodeMappings.putIfAbsent(nodePlan.getSourceNodeId(), nodePlan.getTargetNodeId()) != null) {
+                    ambiguousNodes.add(nodePlan.getSourceNodeId());
+                }
+            }
+        }
+    }
+
+    public MigrationPlan getPlan() {
+        return plan;
+    }
+
+    public ProcessDefinitionMigrationPlan getTargetProcessDefinition() {
+        return plan.getProcessMigrationPlan().getTargetProcessDefinition();
+    }
+
+    /**
+     * @return the node the given source node is migrated to, the source node itself if the plan does not map it
+     */
+    public WorkflowElementIdentifier getNodeMigratedFor(WorkflowElementIdentifier sourceNodeId) {
+        if (ambiguousNodes.contains(sourceNodeId)) {
+            throw new IllegalArgumentException("more than one node migration plan found for " + sourceNodeId);
+        }
+        return nodeMappings.getOrDefault(sourceNodeId, sourceNodeId);
+    }
+
+    @Override
+    public String toString() {
+        return "ResolvedMigrationPlan [plan=" + plan.getName() + ", nodeMappings=" + nodeMappings + "]";
+    }
+}
@@ -19,6 +19,7 @@
 package org.jbpm.flow.serialization.migration;
 
 import org.jbpm.flow.migration.MigrationPlanService;
+import org.jbpm.flow.migration.ResolvedMigrationPlan;
 import org.jbpm.flow.serialization.ProcessInstanceMarshallerListener;
 import org.jbpm.ruleflow.instance.RuleFlowProcessInstance;
 import org.kie.kogito.internal.process.runtime.KogitoNodeInstance;
@@ -29,42 +30,73 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 /**
- * This class acts as a bridge between migration service and serialization system
+ * This class acts as a bridge between migration service and serialization system.
+ * Instances whose state matches the deployed definition are skipped right away; otherwise the migration plan
+ * is resolved once per unmarshalled instance, when its first node instance is read, and reused for the rest
+ * of its node instances and for the instance itself, which is notified last.
  */
 public class StandardMigrationProcessInstanceMarshallerListener implements ProcessInstanceMarshallerListener {
     private static final Logger LOGGER = LoggerFactory.getLogger(StandardMigrationProcessInstanceMarshallerListener.class);
 
+    private record Resolution(KogitoWorkflowProcessInstance processInstance, ResolvedMigrationPlan plan) {
+    }
+
     private MigrationPlanService migrationPlanService;
 
+    // plan resolved for the instance being unmarshalled on the current thread
+    private final ThreadLocal<Resolution> current = new ThreadLocal<>();
+
     public StandardMigrationProcessInstanceMarshallerListener() {
-        this.migrationPlanService = new MigrationPlanService();
+        this(new MigrationPlanService());
+    }
+
+    public StandardMigrationProcessInstanceMarshallerListener(MigrationPlanService migrationPlanService) {
+        this.migrationPlanService = migrationPlanService;
     }
 
     @SuppressWarnings("deprecation")
     @Override
     public void afterUnmarshallProcess(KogitoProcessRuntime runtime, KogitoWorkflowProcessInstance processInstance) {
-        if (!migrationPlanService.hasMigrationPlan(runtime.getApplication().get(Processes.class), processInstance)) {
-            if (!this.migrationPlanService.isEqualVersion(runtime.getApplication().get(Processes.class), processInstance)) {
-                LOGGER.debug("Process State version and process container mismatch. Migrating process without plan.");
-                RuleFlowProcessInstance ruleFlowProcessInstance = (RuleFlowProcessInstance) processInstance;
-                ruleFlowProcessInstance.setProcess(ruleFlowProcessInstance.getProcess());
-            }
+        if (migrationPlanService.isEqualVersion(processInstance)) {
+            current.remove();
+            return;
+        }
+        ResolvedMigrationPlan plan = resolve(runtime, processInstance);
+        current.remove();
+        if (plan == null) {
+            LOGGER.debug("Process State version and process container mismatch. Migrating process without plan.");
+            RuleFlowProcessInstance ruleFlowProcessInstance = (RuleFlowProcessInstance) processInstance;
+            ruleFlowProcessInstance.setProcess(ruleFlowProcessInstance.getProcess());
             return;
         }
         LOGGER.debug("Migration processInstance state {}-{} and definition {}-{}",
                 processInstance.getProcessId(), processInstance.getProcessVersion(), processInstance.getProcess().getId(), processInstance.getProcess().getVersion());
-        migrationPlanService.migrateProcessElement(runtime.getApplication().get(Processes.class), processInstance);
+        migrationPlanService.migrateProcessElement(plan, processInstance);
         runtime.getProcessEventSupport().fireOnMigration(processInstance, runtime.getKieRuntime());
 
     }
 
     @Override
     public void afterUnmarshallNode(KogitoProcessRuntime runtime, KogitoNodeInstance nodeInstance) {
-        if (!migrationPlanService.hasMigrationPlan(runtime.getApplication().get(Processes.class), (KogitoWorkflowProcessInstance) nodeInstance.getProcessInstance())) {
+        KogitoWorkflowProcessInstance processInstance = (KogitoWorkflowProcessInstance) nodeInstance.getProcessInstance();
+        if (migrationPlanService.isEqualVersion(processInstance)) {
+            return;
+        }
+        ResolvedMigrationPlan plan = resolve(runtime, processInstance);
+        if (plan == null) {
             return;
         }
         LOGGER.debug("Migration nodeInstance {}", nodeInstance);
-        migrationPlanService.migrateNodeElement(runtime.getApplication().get(Processes.class), nodeInstance);
+        migrationPlanService.migrateNodeElement(plan, nodeInstance);
+    }
+
+    private ResolvedMigrationPlan resolve(KogitoProcessRuntime runtime, KogitoWorkflowProcessInstance processInstance) {
+        Resolution resolution = current.get();
+        if (resolution == null || resolution.processInstance() != processInstance) {
+            resolution = new Resolution(processInstance, migrationPlanService.resolveMigrationPlan(() -> runtime.getApplication().get(Processes.class), processInstance));
+            current.set(resolution);
+        }
+        return resolution.plan();
     }
 
 }
@@ -19,6 +19,7 @@
 package org.jbpm.flow.migration;
 
 import java.util.Collections;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.jbpm.ruleflow.instance.RuleFlowProcessInstance;
 import org.jbpm.workflow.instance.impl.ExtendedNodeInstanceImpl;
@@ -184,4 +185,36 @@ public class MigrationPlanServiceTest {
         assertThat(nodeInstanceImpl)
                 .hasFieldOrPropertyWithValue("nodeId", fromExternalFormat("node_3"));
     }
+
+    @Test
+    public void testMigrationPlanIsResolvedOncePerDefinitionPair() {
+        MigrationPlanService service = new MigrationPlanService();
+        AtomicInteger lookups = new AtomicInteger();
+
+        for (int i = 0; i < 3; i++) {
+            WorkflowProcessInstanceImpl processImpl = new RuleFlowProcessInstance();
+            processImpl.setInternalProcess(new DummyProcess("process_B", "2"));
+            processImpl.setProcessId("process_A");
+            processImpl.setProcessVersion("1");
+            ResolvedMigrationPlan plan = service.resolveMigrationPlan(() -> {
+                lookups.incrementAndGet();
+                return processes;
+            }, processImpl);
+            assertThat(plan).isNotNull();
+            assertThat(plan.getNodeMigratedFor(fromExternalFormat("node_1"))).isEqualTo(fromExternalFormat("node_2"));
+            assertThat(plan.getNodeMigratedFor(fromExternalFormat("node_4"))).isEqualTo(fromExternalFormat("node_4"));
+        }
+        assertThat(lookups).hasValue(1);
+    }
+
+    @Test
+    public void testMigrationPlanNotResolvedForSameVersion() {
+        MigrationPlanService service = new MigrationPlanService();
+        WorkflowProcessInstanceImpl processImpl = new RuleFlowProcessInstance();
+        processImpl.setProcess(new DummyProcess("process_A", "1"));
+
+        assertThat(service.resolveMigrationPlan(() -> {
+            throw new IllegalStateException("processes should not be looked up");
+        }, processImpl)).isNull();
+    }
 }
@@ -0,0 +1,134 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+package org.jbpm.flow.serialization.migration;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.jbpm.flow.migration.DummyProcess;
+import org.jbpm.flow.migration.MigrationPlanService;
+import org.jbpm.ruleflow.instance.RuleFlowProcessInstance;
+import org.jbpm.workflow.instance.impl.ExtendedNodeInstanceImpl;
+import org.kie.api.definition.process.WorkflowElementIdentifier;
+import org.kie.kogito.Application;
+import org.kie.kogito.internal.process.event.KogitoProcessEventSupport;
+import org.kie.kogito.internal.process.runtime.KogitoProcessRuntime;
+import org.kie.kogito.process.Process;
+import org.kie.kogito.process.Processes;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.slf4j.LoggerFactory;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+
+import static org.jbpm.ruleflow.core.WorkflowElementIdentifierFactory.fromExternalFormat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+/**
+ * Compares the cost of unmarshalling a process instance with and without the migration listener, replaying the
+ * callbacks the process instance reader performs: one per node instance, then one for the process instance.
+ * The listener is measured both for instances already at the deployed version and for instances migrated by a plan.
+ * Run it from the IDE or with {@code mvn test-compile exec:java -Dexec.classpathScope=test -Dexec.mainClass=org.jbpm.flow.serialization.migration.MigrationListenerBenchmark}
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MigrationListenerBenchmark {
+
+    private static final WorkflowElementIdentifier NODE_ID = fromExternalFormat("node_1");
+
+    @Param({ "10", "100", "1000" })
+    private int nodeInstances;
+
+    @Param({ "off", "sameVersion", "migrated" })
+    private String listenerMode;
+
+    private StandardMigrationProcessInstanceMarshallerListener listener;
+
+    private KogitoProcessRuntime runtime;
+
+    private DummyProcess definition;
+
+    private String stateVersion;
+
+    @Setup
+    public void setup() {
+        ((Logger) LoggerFactory.getLogger(org.slf4j.Logger.ROOT_LOGGER_NAME)).setLevel(Level.WARN);
+
+        Process<?> process = mock(Process.class, withSettings().stubOnly());
+        when(process.id()).thenReturn("process_B");
+        when(process.version()).thenReturn("2");
+        Processes processes = mock(Processes.class, withSettings().stubOnly());
+        when(processes.processIds()).thenReturn(List.of("process_B"));
+        when(processes.processById("process_B")).thenReturn((Process) process);
+        Application application = mock(Application.class, withSettings().stubOnly());
+        when(application.get(Processes.class)).thenReturn(processes);
+        runtime = mock(KogitoProcessRuntime.class, withSettings().stubOnly());
+        when(runtime.getApplication()).thenReturn(application);
+        when(runtime.getProcessEventSupport()).thenReturn(mock(KogitoProcessEventSupport.class, withSettings().stubOnly()));
+
+        listener = new StandardMigrationProcessInstanceMarshallerListener(new MigrationPlanService());
+        definition = new DummyProcess("process_B", "2");
+        // migration plan process_A 1 -> process_B 2 is defined in test resources
+        stateVersion = "migrated".equals(listenerMode) ? "1" : "2";
+    }
+
+    @Benchmark
+    public RuleFlowProcessInstance unmarshall() {
+        boolean enabled = !"off".equals(listenerMode);
+        RuleFlowProcessInstance processInstance = new RuleFlowProcessInstance();
+        processInstance.setInternalProcess(definition);
+        processInstance.setProcessId("1".equals(stateVersion) ? "process_A" : "process_B");
+        processInstance.setProcessVersion(stateVersion);
+        for (int i = 0; i < nodeInstances; i++) {
+            ExtendedNodeInstanceImpl nodeInstance = new ExtendedNodeInstanceImpl() {
+            };
+            nodeInstance.setProcessInstance(processInstance);
+            nodeInstance.setNodeId(NODE_ID);
+            if (enabled) {
+                listener.afterUnmarshallNode(runtime, nodeInstance);
+            }
+        }
+        if (enabled) {
+            listener.afterUnmarshallProcess(runtime, processInstance);
+        }
+        return processInstance;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(MigrationListenerBenchmark.class.getSimpleName()).build()).run();
+    }
+}
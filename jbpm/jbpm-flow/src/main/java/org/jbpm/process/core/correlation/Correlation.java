@@ -21,6 +21,7 @@ package org.jbpm.process.core.correlation;
 import java.io.Serializable;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Set;
 
 public class Correlation implements Serializable {
 
@@ -68,4 +69,8 @@ public class Correlation implements Serializable {
     public boolean hasCorrelationFor(String messageRef) {
         return correlationPropertiesByMessage.containsKey(messageRef);
     }
+
+    public Set<String> getMessageRefs() {
+        return correlationPropertiesByMessage.keySet();
+    }
 }
\ No newline at end of file
@@ -22,19 +22,72 @@ import java.io.Serializable;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Function;
 
 import org.jbpm.process.instance.impl.ReturnValueEvaluator;
 import org.jbpm.util.JbpmClassLoaderUtil;
 
+/**
+ * Correlations and messages of a process definition.
+ * <p>
+ * Once the definition is built, the correlation of every message ref and its property evaluators are compiled on first use
+ * into arrays, and the message types are loaded once, so correlating a message neither scans the correlations nor loads classes.
+ * Registering messages or correlations drops what has been compiled so far.
+ */
 public class CorrelationManager implements Serializable {
 
     private static final long serialVersionUID = -1557112455565607001L;
 
+    private static final String[] NO_NAMES = new String[0];
+    private static final ReturnValueEvaluator[] NO_EVALUATORS = new ReturnValueEvaluator[0];
+
     private Map<String, Correlation> correlations;
     private Map<String, Message> messages;
 
     private transient ClassLoader classLoader;
+    private transient volatile Map<String, CompiledCorrelation> compiledCorrelations;
+    private transient volatile Map<String, Class<?>> messageTypes;
+
+    /**
+     * Correlation of a message ref, with the names of its properties and their evaluators in matching positions
+     */
+    private static final class CompiledCorrelation {
+        private final Correlation correlation;
+        private final String[] names;
+        private final ReturnValueEvaluator[] messageEvaluators;
+        private final String[] subscriptionNames;
+        private final ReturnValueEvaluator[] subscriptionEvaluators;
+        // subscription evaluators in the positions of the message properties, null when their names differ
+        private final ReturnValueEvaluator[] alignedSubscriptionEvaluators;
+
+        private CompiledCorrelation(Correlation correlation, String messageRef) {
+            this.correlation = correlation;
+            CorrelationProperties properties = correlation.getMessageCorrelationFor(messageRef);
+            this.names = properties.names().toArray(NO_NAMES);
+            this.messageEvaluators = evaluators(properties, names);
+            CorrelationProperties subscription = correlation.getProcessSubscription();
+            if (subscription == null) {
+                this.subscriptionNames = null;
+                this.subscriptionEvaluators = null;
+                this.alignedSubscriptionEvaluators = null;
+            } else {
+                this.subscriptionNames = subscription.names().toArray(NO_NAMES);
+                this.subscriptionEvaluators = evaluators(subscription, subscriptionNames);
+                this.alignedSubscriptionEvaluators = subscriptionNames.length == names.length && subscription.names().containsAll(properties.names())
+                        ? evaluators(subscription, names)
+                        : null;
+            }
+        }
+
+        private static ReturnValueEvaluator[] evaluators(CorrelationProperties properties, String[] names) {
+            ReturnValueEvaluator[] evaluators = new ReturnValueEvaluator[names.length];
+            for (int i = 0; i < names.length; i++) {
+                evaluators[i] = properties.getExpressionFor(names[i]);
+            }
+            return evaluators.length == 0 ? NO_EVALUATORS : evaluators;
+        }
+    }
 
     public CorrelationManager() {
         this.correlations = new HashMap<>();
@@ -44,6 +97,7 @@ public class CorrelationManager implements Serializable {
 
     public void setClassLoader(ClassLoader classLoader) {
         this.classLoader = classLoader;
+        this.messageTypes = null;
     }
 
     public void newCorrelation(String correlationRef, String correlationName) {
@@ -52,6 +106,7 @@ public class CorrelationManager implements Serializable {
         }
         Correlation correlation = new Correlation(correlationRef, correlationName);
         correlations.put(correlationRef, correlation);
+        this.compiledCorrelations = null;
     }
 
     public void newMessage(String id, String name, String type) {
@@ -60,10 +115,11 @@ public class CorrelationManager implements Serializable {
         }
         Message correlatedMessage = new Message(id, name, type);
         messages.put(id, correlatedMessage);
+        this.messageTypes = null;
     }
 
     public boolean isSubscribe(String messageRef) {
-        return correlations.values().stream().anyMatch(correlation -> correlation.hasCorrelationFor(messageRef));
+        return compiledCorrelations().containsKey(messageRef);
     }
 
     public void subscribeTo(String correlationRef) {
@@ -71,72 +127,129 @@ public class CorrelationManager implements Serializable {
             throw new IllegalStateException("Correlation " + correlationRef + " does not exist");
         }
         correlations.get(correlationRef).subscribe();
+        this.compiledCorrelations = null;
     }
 
     public CorrelationInstance computeCorrelationInstance(String messageRef, Object event) {
-        if (event == null) {
-            throw new IllegalArgumentException("cannot compute a correlation from a null object");
-        }
-        if (!messages.containsKey(messageRef)) {
-            throw new IllegalArgumentException("Message ref " + messageRef + " is not a correlated message");
-        }
+        checkMessage(messageRef, event);
+        CompiledCorrelation compiled = findCorrelationByMessageRef(messageRef);
+        return newCorrelationInstance(compiled.correlation, compiled.names, compiled.messageEvaluators, messageRef, "Message property", event, null);
+    }
 
-        Message message = messages.get(messageRef);
+    public CorrelationInstance computeSubscription(String messageRef, Function<String, Object> resolver) {
+        CompiledCorrelation compiled = findSubscriptionByMessageRef(messageRef);
+        return newCorrelationInstance(compiled.correlation, compiled.subscriptionNames, compiled.subscriptionEvaluators, messageRef, "Process Subscription property", null, resolver);
+    }
 
-        try {
-            if (!classLoader.loadClass(message.getMessageType()).isInstance(event)) {
-                throw new IllegalArgumentException("Object event type is not appropiate for this correlation. The message type was "
-                        + event.getClass().getCanonicalName() + " and was expecting " + message.getMessageType() + " in message " + message.getMessageName() + "(" + message.getMessageName() + ")");
+    /**
+     * Checks if the event correlates with the process subscription, comparing every message property with the subscription property
+     * of the same name in a single pass, without building the correlation instances compared by
+     * {@link #computeCorrelationInstance(String, Object)} and {@link #computeSubscription(String, Function)}.
+     */
+    public boolean correlates(String messageRef, Object event, Function<String, Object> resolver) {
+        checkMessage(messageRef, event);
+        CompiledCorrelation compiled = findSubscriptionByMessageRef(messageRef);
+        ReturnValueEvaluator[] subscriptionEvaluators = compiled.alignedSubscriptionEvaluators;
+        if (subscriptionEvaluators == null) {
+            return false;
+        }
+        for (int i = 0; i < compiled.names.length; i++) {
+            Object messageValue = compiled.messageEvaluators[i].eval(event);
+            if (messageValue == null) {
+                throw new IllegalArgumentException("Message property evaluated to null is not possible: " + messageRef + " property " + compiled.names[i]);
+            }
+            Object subscriptionValue = subscriptionEvaluators[i].eval(resolver);
+            if (subscriptionValue == null) {
+                throw new IllegalArgumentException("Process Subscription property evaluated to null is not possible: " + messageRef + " property " + compiled.names[i]);
+            }
+            if (!messageValue.equals(subscriptionValue)) {
+                return false;
             }
-        } catch (ClassNotFoundException e) {
-            throw new IllegalArgumentException("Object event type is not found", e);
         }
+        return true;
+    }
 
-        Correlation correlation = findCorrelationByMessageRef(messageRef);
+    private static CorrelationInstance newCorrelationInstance(Correlation correlation, String[] names, ReturnValueEvaluator[] evaluators, String messageRef, String kind, Object event,
+            Function<String, Object> resolver) {
         CorrelationInstance correlationInstance = new CorrelationInstance(correlation.getId(), correlation.getName());
-        CorrelationProperties properties = correlation.getMessageCorrelationFor(messageRef);
-        for (String name : properties.names()) {
-            ReturnValueEvaluator evaluator = properties.getExpressionFor(name);
-            Object val = evaluator.eval(event);
+        for (int i = 0; i < names.length; i++) {
+            Object val = resolver == null ? evaluators[i].eval(event) : evaluators[i].eval(resolver);
             if (val == null) {
-                throw new IllegalArgumentException("Message property evaluated to null is not possible: " + messageRef + " property " + name);
+                throw new IllegalArgumentException(kind + " evaluated to null is not possible: " + messageRef + " property " + names[i]);
             }
-            correlationInstance.setProperty(name, val);
+            correlationInstance.setProperty(names[i], val);
         }
         return correlationInstance;
     }
 
-    public CorrelationInstance computeSubscription(String messageRef, Function<String, Object> resolver) {
-        Correlation correlation = findCorrelationByMessageRef(messageRef);
-        if (!correlation.isSubscribed()) {
-            throw new IllegalArgumentException("There is no subscription for correlation by message ref " + messageRef + " is not subscribed");
+    private void checkMessage(String messageRef, Object event) {
+        if (event == null) {
+            throw new IllegalArgumentException("cannot compute a correlation from a null object");
         }
-        CorrelationInstance correlationInstance = new CorrelationInstance(correlation.getId(), correlation.getName());
-        CorrelationProperties properties = correlation.getProcessSubscription();
+        Message message = messages.get(messageRef);
+        if (message == null) {
+            throw new IllegalArgumentException("Message ref " + messageRef + " is not a correlated message");
+        }
+        if (!messageType(message).isInstance(event)) {
+            throw new IllegalArgumentException("Object event type is not appropiate for this correlation. The message type was "
+                    + event.getClass().getCanonicalName() + " and was expecting " + message.getMessageType() + " in message " + message.getMessageName() + "(" + message.getMessageName() + ")");
+        }
+    }
 
-        for (String name : properties.names()) {
-            ReturnValueEvaluator evaluator = properties.getExpressionFor(name);
-            Object val = evaluator.eval(resolver);
-            if (val == null) {
-                throw new IllegalArgumentException("Process Subscription property evaluated to null is not possible: " + messageRef + " property " + name);
+    private Class<?> messageType(Message message) {
+        Map<String, Class<?>> types = messageTypes;
+        if (types == null) {
+            types = new ConcurrentHashMap<>();
+            messageTypes = types;
+        }
+        Class<?> type = types.get(message.getMessageRef());
+        if (type == null) {
+            try {
+                type = classLoader.loadClass(message.getMessageType());
+            } catch (ClassNotFoundException e) {
+                throw new IllegalArgumentException("Object event type is not found", e);
             }
-            correlationInstance.setProperty(name, val);
+            types.put(message.getMessageRef(), type);
         }
+        return type;
+    }
 
-        return correlationInstance;
+    private CompiledCorrelation findSubscriptionByMessageRef(String messageRef) {
+        CompiledCorrelation compiled = findCorrelationByMessageRef(messageRef);
+        if (compiled.subscriptionEvaluators == null) {
+            throw new IllegalArgumentException("There is no subscription for correlation by message ref " + messageRef + " is not subscribed");
+        }
+        return compiled;
+    }
+
+    private CompiledCorrelation findCorrelationByMessageRef(String messageRef) {
+        CompiledCorrelation compiled = compiledCorrelations().get(messageRef);
+        if (compiled == null) {
+            throw new IllegalArgumentException("Correlation for message ref " + messageRef + " does not exist");
+        }
+        return compiled;
     }
 
-    private Correlation findCorrelationByMessageRef(String messageRef) {
-        for (Correlation correlation : correlations.values()) {
-            if (correlation.hasCorrelationFor(messageRef)) {
-                return correlation;
+    private Map<String, CompiledCorrelation> compiledCorrelations() {
+        Map<String, CompiledCorrelation> compiled = compiledCorrelations;
+        if (compiled == null) {
+            // like the former linear scan, the first correlation found for a message ref wins
+            compiled = new HashMap<>();
+            for (Correlation correlation : correlations.values()) {
+                for (String messageRef : correlation.getMessageRefs()) {
+                    if (!compiled.containsKey(messageRef)) {
+                        compiled.put(messageRef, new CompiledCorrelation(correlation, messageRef));
+                    }
+                }
             }
+            compiledCorrelations = compiled;
         }
-        throw new IllegalArgumentException("Correlation for message ref " + messageRef + " does not exist");
+        return compiled;
     }
 
     public void addMessagePropertyExpression(String correlationRef, String messageRef, String propertyName, ReturnValueEvaluator expression) {
         correlations.get(correlationRef).getMessageCorrelationFor(messageRef).addProperty(propertyName, expression);
+        this.compiledCorrelations = null;
     }
 
     public void addProcessSubscriptionPropertyExpression(String correlationRef, String propertyName, ReturnValueEvaluator expression) {
@@ -144,6 +257,7 @@ public class CorrelationManager implements Serializable {
             return;
         }
         correlations.get(correlationRef).getProcessSubscription().addProperty(propertyName, expression);
+        this.compiledCorrelations = null;
     }
 
     public Set<String> getMessagesId() {
@@ -162,4 +276,4 @@ public class CorrelationManager implements Serializable {
         return correlations.get(correlationId);
     }
 
-}
\ No newline at end of file
+}
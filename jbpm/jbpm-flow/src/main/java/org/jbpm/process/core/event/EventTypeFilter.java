@@ -29,7 +29,6 @@ import java.util.Set;
 import java.util.function.Function;
 import java.util.regex.Matcher;
 
-import org.jbpm.process.core.correlation.CorrelationInstance;
 import org.jbpm.process.core.correlation.CorrelationManager;
 import org.jbpm.util.PatternConstants;
 import org.slf4j.Logger;
@@ -88,10 +87,9 @@ public class EventTypeFilter implements EventFilter, Serializable {
                 logger.debug("Cannot compute subscription for messageref {} and type {}", messageRef, type);
                 return false;
             }
-            CorrelationInstance messageCorrelation = correlationManager.computeCorrelationInstance(messageRef, event);
-            CorrelationInstance processCorrelation = correlationManager.computeSubscription(messageRef, resolver);
-            logger.debug("The event type {} is correlated, computing correlations. Message correlation is {}; process correlation is: {} ", type, messageCorrelation, processCorrelation);
-            return messageCorrelation.equals(processCorrelation);
+            boolean correlates = correlationManager.correlates(messageRef, event, resolver);
+            logger.debug("The event type {} is correlated, message ref {} correlates with the process subscription: {}", type, messageRef, correlates);
+            return correlates;
         }
 
         return isAccepted(type, resolver);
@@ -28,6 +28,7 @@ import org.kie.kogito.internal.process.event.KogitoProcessEventListener;
 import org.kie.kogito.internal.process.event.KogitoProcessEventSupport;
 import org.kie.kogito.internal.process.workitem.KogitoWorkItemManager;
 import org.kie.kogito.jobs.JobsService;
+import org.kie.kogito.process.ProcessConfig;
 import org.kie.kogito.process.ProcessEventListenerConfig;
 import org.kie.kogito.process.WorkItemHandlerConfig;
 import org.kie.kogito.services.signal.LightSignalManager;
@@ -51,6 +52,17 @@ public class AbstractProcessRuntimeServiceProvider implements ProcessRuntimeServ
             SignalManagerHub compositeSignalManager,
             UnitOfWorkManager unitOfWorkManager,
             IdentityProvider identityProvider) {
+        this(jobsService, workItemHandlerProvider, processEventListenerProvider, compositeSignalManager, unitOfWorkManager, identityProvider,
+                ProcessConfig.DEFAULT_WORK_ITEM_MAX_CONCURRENCY);
+    }
+
+    public AbstractProcessRuntimeServiceProvider(JobsService jobsService,
+            WorkItemHandlerConfig workItemHandlerProvider,
+            ProcessEventListenerConfig processEventListenerProvider,
+            SignalManagerHub compositeSignalManager,
+            UnitOfWorkManager unitOfWorkManager,
+            IdentityProvider identityProvider,
+            int workItemMaxConcurrency) {
         this.unitOfWorkManager = unitOfWorkManager;
         processInstanceManager = new DefaultProcessInstanceManager();
         signalManager = new LightSignalManager(
@@ -59,7 +71,7 @@ public class AbstractProcessRuntimeServiceProvider implements ProcessRuntimeServ
                 compositeSignalManager);
         this.eventSupport = new KogitoProcessEventSupportImpl(identityProvider);
         this.jobsService = jobsService;
-        this.workItemManager = new LightWorkItemManager(processInstanceManager, signalManager, eventSupport);
+        this.workItemManager = new LightWorkItemManager(processInstanceManager, signalManager, eventSupport, workItemMaxConcurrency);
 
         for (String workItem : workItemHandlerProvider.names()) {
             workItemManager.registerWorkItemHandler(
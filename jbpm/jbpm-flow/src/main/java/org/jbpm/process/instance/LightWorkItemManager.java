@@ -24,7 +24,15 @@ import java.util.HashMap;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Function;
 import java.util.stream.Stream;
 
@@ -37,6 +45,7 @@ import org.kie.kogito.internal.process.workitem.KogitoWorkItemHandlerNotFoundExc
 import org.kie.kogito.internal.process.workitem.Policy;
 import org.kie.kogito.internal.process.workitem.WorkItemNotFoundException;
 import org.kie.kogito.internal.process.workitem.WorkItemTransition;
+import org.kie.kogito.process.ProcessConfig;
 import org.kie.kogito.process.workitems.InternalKogitoWorkItem;
 import org.kie.kogito.process.workitems.InternalKogitoWorkItemManager;
 import org.kie.kogito.signal.SignalManager;
@@ -52,10 +61,24 @@ public class LightWorkItemManager implements InternalKogitoWorkItemManager {
     private final SignalManager signalManager;
     private final KogitoProcessEventSupport eventSupport;
 
+    private static final AtomicInteger THREAD_COUNTER = new AtomicInteger();
+
+    private final int maxConcurrency;
+    // runs thread safe handlers started through internalStartWorkItem, created on first use
+    private volatile ExecutorService executor;
+
     public LightWorkItemManager(ProcessInstanceManager processInstanceManager, SignalManager signalManager, KogitoProcessEventSupport eventSupport) {
+        this(processInstanceManager, signalManager, eventSupport, ProcessConfig.DEFAULT_WORK_ITEM_MAX_CONCURRENCY);
+    }
+
+    public LightWorkItemManager(ProcessInstanceManager processInstanceManager, SignalManager signalManager, KogitoProcessEventSupport eventSupport, int maxConcurrency) {
+        if (maxConcurrency < 1) {
+            throw new IllegalArgumentException("Work item max concurrency must be positive but was " + maxConcurrency);
+        }
         this.processInstanceManager = processInstanceManager;
         this.signalManager = signalManager;
         this.eventSupport = eventSupport;
+        this.maxConcurrency = maxConcurrency;
     }
 
     @Override
@@ -95,6 +118,62 @@ public class LightWorkItemManager implements InternalKogitoWorkItemManager {
         transitionWorkItem(workItem, transition, true);
     }
 
+    /**
+     * Starts a work item whose handler is thread safe: the before transition notification is fired on the calling thread,
+     * then the starting transition of the handler runs on the executor of this manager. Anything else is left to
+     * the returned action, so listeners observe the same sequence as with {@link #internalExecuteWorkItem(InternalKogitoWorkItem)}.
+     */
+    @Override
+    public CompletionStage<Runnable> internalStartWorkItem(InternalKogitoWorkItem workItem) {
+        KogitoWorkItemHandler handler = this.workItemHandlers.get(workItem.getName());
+        if (handler == null || !handler.isThreadSafe(workItem)) {
+            // executed on the calling thread, the missing handler is reported as usual
+            return CompletableFuture.completedFuture(() -> internalExecuteWorkItem(workItem));
+        }
+        internalAddWorkItem(workItem);
+        WorkItemTransition transition = handler.startingTransition(Collections.emptyMap());
+        this.eventSupport.fireBeforeWorkItemTransition(workItem.getProcessInstance(), workItem, transition, null);
+        return CompletableFuture.supplyAsync(() -> handler.transitionToPhase(this, workItem, transition), executor())
+                .handle((nextTransition, failure) -> (Runnable) () -> completeStartedWorkItem(workItem, transition, nextTransition, failure));
+    }
+
+    private void completeStartedWorkItem(InternalKogitoWorkItem workItem, WorkItemTransition transition, Optional<WorkItemTransition> nextTransition, Throwable failure) {
+        if (failure != null) {
+            Throwable cause = failure instanceof CompletionException && failure.getCause() != null ? failure.getCause() : failure;
+            if (cause instanceof Error error) {
+                throw error;
+            }
+            throw cause instanceof RuntimeException runtimeException ? runtimeException : new IllegalStateException(cause);
+        }
+        KogitoProcessInstance processInstance = processInstanceManager.getProcessInstance(workItem.getProcessInstanceStringId());
+        processInstance.signalEvent("workItemTransition", transition);
+        this.eventSupport.fireAfterWorkItemTransition(workItem.getProcessInstance(), workItem, transition, null);
+        if (nextTransition.isPresent()) {
+            transitionWorkItem(workItem, nextTransition.get(), true);
+        } else {
+            signalTermination(processInstance, workItem, transition);
+        }
+    }
+
+    private ExecutorService executor() {
+        ExecutorService result = executor;
+        if (result == null) {
+            synchronized (this) {
+                result = executor;
+                if (result == null) {
+                    ThreadPoolExecutor threadPool = new ThreadPoolExecutor(maxConcurrency, maxConcurrency, 60L, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), runnable -> {
+                        Thread thread = new Thread(runnable, "kogito-workitem-" + THREAD_COUNTER.incrementAndGet());
+                        thread.setDaemon(true);
+                        return thread;
+                    });
+                    threadPool.allowCoreThreadTimeOut(true);
+                    executor = result = threadPool;
+                }
+            }
+        }
+        return result;
+    }
+
     public KogitoWorkItemHandler getWorkItemHandler(String workItemId) throws KogitoWorkItemHandlerNotFoundException {
         InternalKogitoWorkItem workItem = workItems.get(workItemId);
         if (workItem == null) {
@@ -204,21 +283,23 @@ public class LightWorkItemManager implements InternalKogitoWorkItemManager {
             this.eventSupport.fireAfterWorkItemTransition(workItem.getProcessInstance(), workItem, lastTransition, null);
         }
 
-        if (lastTransition.termination().isPresent()) {
+        if (signal) {
+            signalTermination(processInstance, workItem, lastTransition);
+        }
+    }
 
-            if (signal) {
-                switch (lastTransition.termination().get()) {
-                    case COMPLETE:
-                        workItem.setState(KogitoWorkItem.COMPLETED);
-                        processInstance.signalEvent("workItemCompleted", workItem);
-                        break;
-                    case ABORT:
-                        workItem.setState(KogitoWorkItem.ABORTED);
-                        processInstance.signalEvent("workItemAborted", workItem);
-                        break;
-                }
+    private void signalTermination(KogitoProcessInstance processInstance, InternalKogitoWorkItem workItem, WorkItemTransition lastTransition) {
+        if (lastTransition.termination().isPresent()) {
+            switch (lastTransition.termination().get()) {
+                case COMPLETE:
+                    workItem.setState(KogitoWorkItem.COMPLETED);
+                    processInstance.signalEvent("workItemCompleted", workItem);
+                    break;
+                case ABORT:
+                    workItem.setState(KogitoWorkItem.ABORTED);
+                    processInstance.signalEvent("workItemAborted", workItem);
+                    break;
             }
-
         }
     }
 
@@ -66,6 +66,7 @@ public class Metadata {
     public static final String CORRELATION_KEY = "CorrelationKey";
     public static final String CUSTOM_ASYNC = "customAsync";
     public static final String CUSTOM_AUTO_START = "customAutoStart";
+    public static final String CUSTOM_MAX_PARALLELISM = "customMaxParallelism";
     public static final String COMPENSATION = "Compensation";
     public static final String CUSTOM_SLA_DUE_DATE = "customSLADueDate";
     public static final String INCOMING_CONNECTION = "IncomingConnection";
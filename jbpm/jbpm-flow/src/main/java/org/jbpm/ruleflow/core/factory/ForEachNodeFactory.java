@@ -40,6 +40,7 @@ public class ForEachNodeFactory<T extends RuleFlowNodeContainerFactory<T, ?>> ex
     public static final String METHOD_OUTPUT_TEMP = "tempVariable";
     public static final String METHOD_SEQUENTIAL = "sequential";
     public static final String METHOD_COMPLETE_CONDITION = "completionCondition";
+    public static final String METHOD_MAX_PARALLELISM = "maxParallelism";
 
     public ForEachNodeFactory(T nodeContainerFactory, NodeContainer nodeContainer, WorkflowElementIdentifier id) {
         super(nodeContainerFactory, nodeContainer, new ForEachNode(id), id);
@@ -121,4 +122,9 @@ public class ForEachNodeFactory<T extends RuleFlowNodeContainerFactory<T, ?>> ex
         getForEachNode().setSequential(sequential);
         return this;
     }
+
+    public ForEachNodeFactory<T> maxParallelism(int maxParallelism) {
+        getForEachNode().setMaxParallelism(maxParallelism);
+        return this;
+    }
 }
@@ -0,0 +1,113 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.jbpm.workflow.core.impl;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.jbpm.process.core.event.EventFilter;
+import org.jbpm.process.core.event.EventTypeFilter;
+import org.jbpm.process.core.event.ExpressionEventTypeFilter;
+import org.jbpm.process.core.event.NonAcceptingEventTypeFilter;
+import org.jbpm.util.PatternConstants;
+import org.jbpm.workflow.core.node.BoundaryEventNode;
+import org.jbpm.workflow.core.node.EventNode;
+import org.jbpm.workflow.core.node.EventNodeInterface;
+import org.kie.api.definition.process.Node;
+
+/**
+ * Maps an event type to the nodes of a container that might accept it, keeping the container order.
+ * Only event nodes whose filters all match on a fixed event type are narrowed down, every other
+ * event node interface (composites, event sub processes, expression based types...) is a candidate
+ * for any event type. Candidates still have to be checked with {@link EventNodeInterface#acceptsEvent}.
+ */
+final class EventNodeLookup {
+
+    private static final Node[] NO_NODES = new Node[0];
+
+    private final Map<String, Node[]> byType = new HashMap<>();
+    private final Node[] anyType;
+
+    EventNodeLookup(Node[] nodes) {
+        // null stands for any event type
+        List<Set<String>> nodeTypes = new ArrayList<>(nodes.length);
+        Set<String> types = new LinkedHashSet<>();
+        List<Node> any = new ArrayList<>();
+        for (Node node : nodes) {
+            Set<String> fixedTypes = node instanceof EventNodeInterface ? fixedEventTypes(node) : Collections.emptySet();
+            nodeTypes.add(fixedTypes);
+            if (fixedTypes == null) {
+                any.add(node);
+            } else {
+                types.addAll(fixedTypes);
+            }
+        }
+        this.anyType = any.toArray(NO_NODES);
+        for (String type : types) {
+            List<Node> candidates = new ArrayList<>();
+            for (int i = 0; i < nodes.length; i++) {
+                Set<String> fixedTypes = nodeTypes.get(i);
+                if (fixedTypes == null || fixedTypes.contains(type)) {
+                    candidates.add(nodes[i]);
+                }
+            }
+            byType.put(type, candidates.toArray(NO_NODES));
+        }
+    }
+
+    Node[] get(String type) {
+        return byType.getOrDefault(type, anyType);
+    }
+
+    /**
+     * Returns the event types the node might accept, or null when it cannot be known without evaluating the filters.
+     */
+    private static Set<String> fixedEventTypes(Node node) {
+        if (node.getClass() != EventNode.class && node.getClass() != BoundaryEventNode.class) {
+            return null;
+        }
+        List<EventFilter> filters = ((EventNode) node).getEventFilters();
+        if (filters == null || filters.isEmpty()) {
+            return null;
+        }
+        Set<String> types = new LinkedHashSet<>();
+        for (EventFilter filter : filters) {
+            if (filter instanceof NonAcceptingEventTypeFilter) {
+                continue;
+            }
+            if (!(filter instanceof ExpressionEventTypeFilter) && filter.getClass() != EventTypeFilter.class) {
+                return null;
+            }
+            String type = ((EventTypeFilter) filter).getType();
+            if (type != null) {
+                if (!(filter instanceof ExpressionEventTypeFilter) && PatternConstants.PARAMETER_MATCHER.matcher(type).find()) {
+                    // resolved against the process variables
+                    return null;
+                }
+                types.add(type);
+            }
+        }
+        return types;
+    }
+}
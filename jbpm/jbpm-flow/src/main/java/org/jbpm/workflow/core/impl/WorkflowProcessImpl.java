@@ -57,6 +57,7 @@ public class WorkflowProcessImpl extends ProcessImpl implements WorkflowProcess,
     private WorkflowModelValidator outputValidator;
     private org.jbpm.workflow.core.NodeContainer nodeContainer;
     private String exprLanguage;
+    private transient volatile EventNodeLookup eventNodeLookup;
 
     private transient BiFunction<String, ProcessInstance, String> expressionEvaluator = (expression, p) -> {
 
@@ -129,12 +130,27 @@ public class WorkflowProcessImpl extends ProcessImpl implements WorkflowProcess,
     public void removeNode(final org.kie.api.definition.process.Node node) {
         nodeContainer.removeNode(node);
         ((Node) node).setParentContainer(null);
+        eventNodeLookup = null;
     }
 
     @Override
     public void addNode(final org.kie.api.definition.process.Node node) {
         nodeContainer.addNode(node);
         ((Node) node).setParentContainer(this);
+        eventNodeLookup = null;
+    }
+
+    /**
+     * Returns the top level nodes that might accept the given event type, in the same order as {@link #getNodes()}.
+     * The lookup is built on first use, once the process definition is complete.
+     */
+    public org.kie.api.definition.process.Node[] getEventNodes(String type) {
+        EventNodeLookup lookup = eventNodeLookup;
+        if (lookup == null) {
+            lookup = new EventNodeLookup(getNodes());
+            eventNodeLookup = lookup;
+        }
+        return lookup.get(type);
     }
 
     @Override
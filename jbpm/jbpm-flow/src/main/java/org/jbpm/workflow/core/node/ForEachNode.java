@@ -28,6 +28,7 @@ import org.jbpm.process.core.context.variable.VariableScope;
 import org.jbpm.process.core.datatype.DataType;
 import org.jbpm.process.instance.impl.Action;
 import org.jbpm.process.instance.impl.ReturnValueEvaluator;
+import org.jbpm.ruleflow.core.Metadata;
 import org.jbpm.ruleflow.core.WorkflowElementIdentifierFactory;
 import org.jbpm.workflow.core.Node;
 import org.jbpm.workflow.core.impl.ConnectionImpl;
@@ -363,6 +364,30 @@ public class ForEachNode extends CompositeContextNode {
         this.getMultiInstanceSpecification().setSequential(sequential);
     }
 
+    /**
+     * Maximum number of iterations whose work items are dispatched concurrently, or <code>0</code>
+     * when the node runs in the regular parallel (or sequential) mode.
+     */
+    public int getMaxParallelism() {
+        Object maxParallelism = getMetaData().get(Metadata.CUSTOM_MAX_PARALLELISM);
+        if (maxParallelism == null) {
+            return 0;
+        }
+        try {
+            return Math.max(0, Integer.parseInt(maxParallelism.toString().trim()));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid " + Metadata.CUSTOM_MAX_PARALLELISM + " value " + maxParallelism + " for node " + getName(), e);
+        }
+    }
+
+    public void setMaxParallelism(int maxParallelism) {
+        setMetaData(Metadata.CUSTOM_MAX_PARALLELISM, Integer.toString(maxParallelism));
+    }
+
+    public boolean isConcurrent() {
+        return !isSequential() && getMaxParallelism() > 0;
+    }
+
     public boolean hasCompletionCondition() {
         return completionConditionExpression != null;
     }
@@ -47,6 +47,12 @@ public interface NodeInstanceContainer extends KogitoNodeInstanceContainer {
 
     void removeNodeInstance(NodeInstance nodeInstance);
 
+    /**
+     * Called when the node of a node instance held by this container changes, e.g. when the process instance is migrated.
+     */
+    default void nodeInstanceNodeIdChanged(NodeInstance nodeInstance, WorkflowElementIdentifier oldNodeId) {
+    }
+
     NodeContainer getNodeContainer();
 
     void nodeInstanceCompleted(NodeInstance nodeInstance, String outType);
@@ -26,6 +26,7 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.Objects;
 import java.util.function.Function;
 import java.util.regex.Matcher;
 
@@ -113,7 +114,11 @@ public abstract class NodeInstanceImpl implements org.jbpm.workflow.instance.Nod
     }
 
     public void setNodeId(WorkflowElementIdentifier nodeId) {
+        WorkflowElementIdentifier oldNodeId = this.nodeId;
         this.nodeId = nodeId;
+        if (nodeInstanceContainer != null && !Objects.equals(oldNodeId, nodeId)) {
+            nodeInstanceContainer.nodeInstanceNodeIdChanged(this, oldNodeId);
+        }
     }
 
     @Override
@@ -251,15 +256,9 @@ public abstract class NodeInstanceImpl implements org.jbpm.workflow.instance.Nod
         try {
             internalTrigger(from, type);
         } catch (Exception e) {
-            if (!WORKFLOW_PARAM_TRANSACTIONS.get(getProcessInstance().getProcess())) {
-                logger.error("Node instance causing process instance error in id {} in a non transactional environment", this.getStringId());
-                captureError(e);
-                return;
-            } else {
-                logger.error("Node instance causing process instance error in id {} in a transactional environment (Wrapping)", this.getStringId());
-                throw new ProcessInstanceExecutionException(this.getProcessInstance().getId(), this.getNodeDefinitionId(), e.getMessage(), e);
-            }
+            handleTriggerException(e);
             // stop after capturing error
+            return;
         }
         if (!hidden) {
             ((InternalProcessRuntime) kruntime.getProcessRuntime())
@@ -267,6 +266,19 @@ public abstract class NodeInstanceImpl implements org.jbpm.workflow.instance.Nod
         }
     }
 
+    /**
+     * Puts the process instance in error, or rethrows the exception in a transactional environment.
+     */
+    protected void handleTriggerException(Exception e) {
+        if (!WORKFLOW_PARAM_TRANSACTIONS.get(getProcessInstance().getProcess())) {
+            logger.error("Node instance causing process instance error in id {} in a non transactional environment", this.getStringId());
+            captureError(e);
+        } else {
+            logger.error("Node instance causing process instance error in id {} in a transactional environment (Wrapping)", this.getStringId());
+            throw new ProcessInstanceExecutionException(this.getProcessInstance().getId(), this.getNodeDefinitionId(), e.getMessage(), e);
+        }
+    }
+
     protected void captureError(Exception e) {
         getProcessInstance().setErrorState(this, e);
     }
@@ -0,0 +1,112 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.jbpm.workflow.instance.impl;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.jbpm.workflow.instance.NodeInstance;
+import org.kie.api.definition.process.WorkflowElementIdentifier;
+
+/**
+ * Lookup structures for the node instances directly held by a node instance container,
+ * by node instance id and by node id. Node instances of the same node are kept in insertion order.
+ * It is not thread safe, access is guarded by the owning process instance.
+ */
+public final class NodeInstanceIndex implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private final Map<String, NodeInstance> byId = new HashMap<>();
+    private final Map<WorkflowElementIdentifier, Map<String, NodeInstance>> byNodeId = new HashMap<>();
+
+    public void add(NodeInstance nodeInstance) {
+        byId.put(nodeInstance.getStringId(), nodeInstance);
+        if (nodeInstance.getNodeId() != null) {
+            byNodeId.computeIfAbsent(nodeInstance.getNodeId(), k -> new LinkedHashMap<>()).put(nodeInstance.getStringId(), nodeInstance);
+        }
+    }
+
+    public void remove(NodeInstance nodeInstance) {
+        String id = nodeInstance.getStringId();
+        if (!byId.remove(id, nodeInstance)) {
+            // the id changed after the instance was added
+            byId.values().removeIf(candidate -> candidate == nodeInstance);
+        }
+        removeFromNode(nodeInstance, nodeInstance.getNodeId());
+    }
+
+    private void removeFromNode(NodeInstance nodeInstance, WorkflowElementIdentifier nodeId) {
+        Map<String, NodeInstance> instances = nodeId == null ? null : byNodeId.get(nodeId);
+        if (instances != null) {
+            if (!instances.remove(nodeInstance.getStringId(), nodeInstance)) {
+                instances.values().removeIf(candidate -> candidate == nodeInstance);
+            }
+            if (instances.isEmpty()) {
+                byNodeId.remove(nodeId);
+            }
+        }
+    }
+
+    /**
+     * Moves an indexed node instance from the node it was indexed under to its current node.
+     */
+    public void rekey(NodeInstance nodeInstance, WorkflowElementIdentifier oldNodeId) {
+        if (byId.get(nodeInstance.getStringId()) != nodeInstance) {
+            return;
+        }
+        removeFromNode(nodeInstance, oldNodeId);
+        if (nodeInstance.getNodeId() != null) {
+            byNodeId.computeIfAbsent(nodeInstance.getNodeId(), k -> new LinkedHashMap<>()).put(nodeInstance.getStringId(), nodeInstance);
+        }
+    }
+
+    public NodeInstance get(String nodeInstanceId) {
+        return byId.get(nodeInstanceId);
+    }
+
+    /**
+     * Returns a live, read only view of the node instances of the given node.
+     */
+    public Collection<NodeInstance> get(WorkflowElementIdentifier nodeId) {
+        Map<String, NodeInstance> instances = nodeId == null ? null : byNodeId.get(nodeId);
+        return instances == null ? Collections.emptyList() : Collections.unmodifiableCollection(instances.values());
+    }
+
+    /**
+     * Returns a copy of the node instances of the given nodes, to be used while the container is being modified.
+     */
+    public List<org.kie.api.runtime.process.NodeInstance> snapshot(Collection<WorkflowElementIdentifier> nodeIds) {
+        List<org.kie.api.runtime.process.NodeInstance> result = new ArrayList<>();
+        for (WorkflowElementIdentifier nodeId : nodeIds) {
+            result.addAll(get(nodeId));
+        }
+        return result;
+    }
+
+    public int size() {
+        return byId.size();
+    }
+}
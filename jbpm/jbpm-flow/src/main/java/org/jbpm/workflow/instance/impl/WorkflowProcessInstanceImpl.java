@@ -27,7 +27,6 @@ import java.util.HashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
-import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
@@ -58,6 +57,7 @@ import org.jbpm.util.PatternConstants;
 import org.jbpm.workflow.core.DroolsAction;
 import org.jbpm.workflow.core.Node;
 import org.jbpm.workflow.core.impl.NodeImpl;
+import org.jbpm.workflow.core.impl.WorkflowProcessImpl;
 import org.jbpm.workflow.core.node.BoundaryEventNode;
 import org.jbpm.workflow.core.node.CompositeContextNode;
 import org.jbpm.workflow.core.node.CompositeNode;
@@ -133,6 +133,7 @@ public abstract class WorkflowProcessInstanceImpl extends ProcessInstanceImpl im
     private static final Logger logger = LoggerFactory.getLogger(WorkflowProcessInstanceImpl.class);
 
     private final List<NodeInstance> nodeInstances = new ArrayList<>();
+    private final NodeInstanceIndex nodeInstanceIndex = new NodeInstanceIndex();
 
     private Map<String, List<KogitoEventListener>> eventListeners = new HashMap<>();
     private Map<String, List<KogitoEventListener>> externalEventListeners = new HashMap<>();
@@ -181,6 +182,7 @@ public abstract class WorkflowProcessInstanceImpl extends ProcessInstanceImpl im
             ((NodeInstanceImpl) nodeInstance).setId(UUID.randomUUID().toString());
         }
         this.nodeInstances.add(nodeInstance);
+        this.nodeInstanceIndex.add(nodeInstance);
     }
 
     @Override
@@ -208,7 +210,15 @@ public abstract class WorkflowProcessInstanceImpl extends ProcessInstanceImpl im
             getKnowledgeRuntime().delete(
                     getKnowledgeRuntime().getFactHandle(nodeInstance));
         }
-        this.nodeInstances.remove(nodeInstance);
+        int position = this.nodeInstances.indexOf(nodeInstance);
+        if (position >= 0) {
+            this.nodeInstanceIndex.remove(this.nodeInstances.remove(position));
+        }
+    }
+
+    @Override
+    public void nodeInstanceNodeIdChanged(final NodeInstance nodeInstance, WorkflowElementIdentifier oldNodeId) {
+        this.nodeInstanceIndex.rekey(nodeInstance, oldNodeId);
     }
 
     @Override
@@ -258,10 +268,18 @@ public abstract class WorkflowProcessInstanceImpl extends ProcessInstanceImpl im
 
     @Override
     public NodeInstance getNodeInstance(String nodeInstanceId, boolean recursive) {
-        return getNodeInstances(recursive).stream()
-                .filter(nodeInstance -> Objects.equals(nodeInstance.getStringId(), nodeInstanceId))
-                .findFirst()
-                .orElse(null);
+        NodeInstance result = nodeInstanceIndex.get(nodeInstanceId);
+        if (result == null && recursive) {
+            for (NodeInstance nodeInstance : nodeInstances) {
+                if (nodeInstance instanceof org.jbpm.workflow.instance.NodeInstanceContainer) {
+                    result = ((org.jbpm.workflow.instance.NodeInstanceContainer) nodeInstance).getNodeInstance(nodeInstanceId, true);
+                    if (result != null) {
+                        break;
+                    }
+                }
+            }
+        }
+        return result;
     }
 
     public List<String> getActiveNodeIds() {
@@ -281,8 +299,8 @@ public abstract class WorkflowProcessInstanceImpl extends ProcessInstanceImpl im
 
     @Override
     public NodeInstance getFirstNodeInstance(WorkflowElementIdentifier nodeId) {
-        for (final NodeInstance nodeInstance : this.nodeInstances) {
-            if (nodeInstance.getNodeId().equals(nodeId) && nodeInstance.getLevel() == getCurrentLevel()) {
+        for (final NodeInstance nodeInstance : nodeInstanceIndex.get(nodeId)) {
+            if (nodeInstance.getLevel() == getCurrentLevel()) {
                 return nodeInstance;
             }
         }
@@ -290,13 +308,7 @@ public abstract class WorkflowProcessInstanceImpl extends ProcessInstanceImpl im
     }
 
     public List<NodeInstance> getNodeInstances(WorkflowElementIdentifier nodeId) {
-        List<NodeInstance> result = new ArrayList<>();
-        for (final NodeInstance nodeInstance : this.nodeInstances) {
-            if (nodeInstance.getNodeId().equals(nodeId)) {
-                result.add(nodeInstance);
-            }
-        }
-        return result;
+        return new ArrayList<>(nodeInstanceIndex.get(nodeId));
     }
 
     public List<org.kie.api.runtime.process.NodeInstance> getNodeInstances(WorkflowElementIdentifier nodeId, final List<org.kie.api.runtime.process.NodeInstance> currentView) {
@@ -709,7 +721,7 @@ public abstract class WorkflowProcessInstanceImpl extends ProcessInstanceImpl im
                     }
                 }
 
-                signal(this, (node) -> this.getNodeInstance(node), () -> this.getWorkflowProcess().getNodes(), type, event);
+                signal(this, (node) -> this.getNodeInstance(node), () -> getEventNodes(type), type, event);
 
                 if (((org.jbpm.workflow.core.WorkflowProcess) getWorkflowProcess()).isDynamic()) {
                     for (org.kie.api.definition.process.Node node : getWorkflowProcess().getNodes()) {
@@ -726,7 +738,7 @@ public abstract class WorkflowProcessInstanceImpl extends ProcessInstanceImpl im
                             }
                             nodeInstance.trigger(null, Node.CONNECTION_DEFAULT_TYPE);
                         } else if (node instanceof CompositeNode) {
-                            Optional<NodeInstance> instance = this.nodeInstances.stream().filter(ni -> Objects.equals(ni.getNodeId(), node.getId())).findFirst();
+                            Optional<NodeInstance> instance = nodeInstanceIndex.get(node.getId()).stream().findFirst();
                             instance.ifPresent(n -> ((CompositeNodeInstance) n).signalEvent(type, event));
                         }
                     }
@@ -740,11 +752,30 @@ public abstract class WorkflowProcessInstanceImpl extends ProcessInstanceImpl im
         }
     }
 
+    private org.kie.api.definition.process.Node[] getEventNodes(String type) {
+        if (getWorkflowProcess() instanceof WorkflowProcessImpl workflowProcess) {
+            return workflowProcess.getEventNodes(type);
+        }
+        return getWorkflowProcess().getNodes();
+    }
+
     private void signal(org.kie.api.runtime.process.NodeInstanceContainer container, Function<org.kie.api.definition.process.Node, org.kie.api.runtime.process.NodeInstance> nodeInstanceSupplier,
             Supplier<org.kie.api.definition.process.Node[]> resolveNodes, String type, Object event) {
 
-        List<org.kie.api.runtime.process.NodeInstance> currentView = container.getNodeInstances().stream().map(NodeInstance.class::cast).collect(Collectors.toList());
-        for (org.kie.api.definition.process.Node node : resolveNodes.get()) {
+        org.kie.api.definition.process.Node[] nodes = resolveNodes.get();
+        if (nodes.length == 0) {
+            return;
+        }
+        // only the node instances looked up while dispatching, taken before any of them reacts to the event
+        Set<WorkflowElementIdentifier> viewNodeIds = new LinkedHashSet<>();
+        for (org.kie.api.definition.process.Node node : nodes) {
+            viewNodeIds.add(node.getId());
+            if (node instanceof BoundaryEventNode boundaryEventNode && boundaryEventNode.getAttachedToNodeId() != null) {
+                viewNodeIds.add(WorkflowElementIdentifierFactory.fromExternalFormat(boundaryEventNode.getAttachedToNodeId()));
+            }
+        }
+        List<org.kie.api.runtime.process.NodeInstance> currentView = nodeInstanceIndex.snapshot(viewNodeIds);
+        for (org.kie.api.definition.process.Node node : nodes) {
             if (node instanceof EventNodeInterface && ((EventNodeInterface) node).acceptsEvent(type, event, getEventFilterResolver(container, node, currentView))) {
                 if (node instanceof BoundaryEventNode boundaryEventNode) {
                     WorkflowElementIdentifier id = WorkflowElementIdentifierFactory.fromExternalFormat(boundaryEventNode.getAttachedToNodeId());
@@ -41,6 +41,7 @@ import org.jbpm.workflow.instance.WorkflowProcessInstance;
 import org.jbpm.workflow.instance.impl.NodeInstanceFactory;
 import org.jbpm.workflow.instance.impl.NodeInstanceFactoryRegistry;
 import org.jbpm.workflow.instance.impl.NodeInstanceImpl;
+import org.jbpm.workflow.instance.impl.NodeInstanceIndex;
 import org.jbpm.workflow.instance.impl.WorkflowProcessInstanceImpl;
 import org.kie.api.definition.process.Connection;
 import org.kie.api.definition.process.NodeContainer;
@@ -62,6 +63,7 @@ public class CompositeNodeInstance extends StateBasedNodeInstance implements Nod
     private static final long serialVersionUID = 510l;
 
     private final List<NodeInstance> nodeInstances = new ArrayList<>();
+    private final NodeInstanceIndex nodeInstanceIndex = new NodeInstanceIndex();
 
     private int state = STATE_ACTIVE;
     private Map<String, Integer> iterationLevels = new HashMap<>();
@@ -196,11 +198,20 @@ public class CompositeNodeInstance extends StateBasedNodeInstance implements Nod
             ((NodeInstanceImpl) nodeInstance).setId(UUID.randomUUID().toString());
         }
         this.nodeInstances.add(nodeInstance);
+        this.nodeInstanceIndex.add(nodeInstance);
     }
 
     @Override
     public void removeNodeInstance(final NodeInstance nodeInstance) {
-        this.nodeInstances.remove(nodeInstance);
+        int position = this.nodeInstances.indexOf(nodeInstance);
+        if (position >= 0) {
+            this.nodeInstanceIndex.remove(this.nodeInstances.remove(position));
+        }
+    }
+
+    @Override
+    public void nodeInstanceNodeIdChanged(final NodeInstance nodeInstance, WorkflowElementIdentifier oldNodeId) {
+        this.nodeInstanceIndex.rekey(nodeInstance, oldNodeId);
     }
 
     @Override
@@ -247,28 +258,29 @@ public class CompositeNodeInstance extends StateBasedNodeInstance implements Nod
 
     @Override
     public NodeInstance getNodeInstance(String nodeInstanceId) {
-        for (NodeInstance nodeInstance : nodeInstances) {
-            if (nodeInstance.getStringId().equals(nodeInstanceId)) {
-                return nodeInstance;
-            }
-        }
-        return null;
+        return nodeInstanceIndex.get(nodeInstanceId);
     }
 
     @Override
     public NodeInstance getNodeInstance(String nodeInstanceId, boolean recursive) {
-        for (NodeInstance nodeInstance : getNodeInstances(recursive)) {
-            if (nodeInstance.getStringId().equals(nodeInstanceId)) {
-                return nodeInstance;
+        NodeInstance result = nodeInstanceIndex.get(nodeInstanceId);
+        if (result == null && recursive) {
+            for (NodeInstance nodeInstance : nodeInstances) {
+                if (nodeInstance instanceof NodeInstanceContainer) {
+                    result = ((NodeInstanceContainer) nodeInstance).getNodeInstance(nodeInstanceId, true);
+                    if (result != null) {
+                        break;
+                    }
+                }
             }
         }
-        return null;
+        return result;
     }
 
     @Override
     public NodeInstance getFirstNodeInstance(WorkflowElementIdentifier nodeId) {
-        for (final NodeInstance nodeInstance : this.nodeInstances) {
-            if (nodeInstance.getNodeId().equals(nodeId) && nodeInstance.getLevel() == getCurrentLevel()) {
+        for (final NodeInstance nodeInstance : nodeInstanceIndex.get(nodeId)) {
+            if (nodeInstance.getLevel() == getCurrentLevel()) {
                 return nodeInstance;
             }
         }
@@ -346,13 +358,7 @@ public class CompositeNodeInstance extends StateBasedNodeInstance implements Nod
     }
 
     public List<NodeInstance> getNodeInstances(WorkflowElementIdentifier nodeId) {
-        List<NodeInstance> result = new ArrayList<>();
-        for (final NodeInstance nodeInstance : this.nodeInstances) {
-            if (nodeInstance.getNodeId().equals(nodeId)) {
-                result.add(nodeInstance);
-            }
-        }
-        return result;
+        return new ArrayList<>(nodeInstanceIndex.get(nodeId));
     }
 
     public List<org.kie.api.runtime.process.NodeInstance> getNodeInstances(WorkflowElementIdentifier nodeId, List<org.kie.api.runtime.process.NodeInstance> currentView) {
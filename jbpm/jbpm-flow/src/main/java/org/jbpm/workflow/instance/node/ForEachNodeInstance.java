@@ -18,10 +18,13 @@
  */
 package org.jbpm.workflow.instance.node;
 
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.Comparator;
 import java.util.Date;
+import java.util.Deque;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -65,11 +68,20 @@ public class ForEachNodeInstance extends CompositeContextNodeInstance {
     private static final Set<Class<? extends org.kie.api.runtime.process.NodeInstance>> NOT_SERIALIZABLE_CLASSES = Set.of(ForEachJoinNodeInstance.class); // using Arrays.asList to allow multiple exclusions
 
     public static final String TEMP_OUTPUT_VAR = "foreach_output";
+    // position of an iteration in the input collection and of every collected output, used by the concurrent mode
+    private static final String TEMP_ITERATION_INDEX_VAR = "foreach_iteration_index";
+    private static final String TEMP_OUTPUT_INDEX_VAR = "foreach_output_index";
 
     private int totalInstances;
     private int executedInstances;
     boolean hasAsyncInstances;
 
+    private transient ForEachWorkItemDispatcher workItemDispatcher;
+    // concurrent mode: iterations not triggered yet in input order, and the number of running ones
+    private transient Deque<CompositeContextNodeInstance> pendingIterations;
+    private transient int runningIterations;
+    private transient boolean triggeringIterations;
+
     public ForEachNode getForEachNode() {
         return (ForEachNode) getNode();
     }
@@ -141,6 +153,89 @@ public class ForEachNodeInstance extends CompositeContextNodeInstance {
         return getForEachNode().isSequential() || hasAsyncInstances;
     }
 
+    private boolean isConcurrent() {
+        return !isSequential() && getForEachNode().isConcurrent();
+    }
+
+    boolean deferWorkItem(WorkItemNodeInstance nodeInstance) {
+        return workItemDispatcher != null && workItemDispatcher.defer(nodeInstance);
+    }
+
+    boolean withdrawWorkItem(WorkItemNodeInstance nodeInstance) {
+        return workItemDispatcher != null && workItemDispatcher.withdraw(nodeInstance);
+    }
+
+    /**
+     * Triggers pending iterations, in input order, until <code>maxParallelism</code> of them are running.
+     * Work items of the triggered iterations are executed concurrently by the dispatcher.
+     */
+    private void triggerConcurrentIterations(KogitoNodeInstance from) {
+        if (triggeringIterations) {
+            // an iteration completed while being triggered, the running loop takes the slot it freed
+            return;
+        }
+        if (workItemDispatcher == null) {
+            workItemDispatcher = new ForEachWorkItemDispatcher();
+        }
+        if (pendingIterations == null) {
+            collectPendingIterations();
+        }
+        int maxParallelism = getForEachNode().getMaxParallelism();
+        workItemDispatcher.dispatch(() -> {
+            triggeringIterations = true;
+            try {
+                while (runningIterations < maxParallelism && !pendingIterations.isEmpty()) {
+                    CompositeContextNodeInstance nextIteration = pendingIterations.poll();
+                    if (getNodeInstance(nextIteration.getStringId()) == null) {
+                        // cancelled, e.g. by the completion condition of an iteration that just completed
+                        continue;
+                    }
+                    runningIterations++;
+                    logger.debug("Triggering [{}] in concurrent multi-instance loop.", nextIteration.getNodeId());
+                    nextIteration.trigger(from, getForEachNode().getForEachSplitNode().getTo().getToType());
+                }
+            } finally {
+                triggeringIterations = false;
+            }
+        });
+    }
+
+    private void concurrentIterationCompleted() {
+        if (pendingIterations != null) {
+            runningIterations--;
+        }
+    }
+
+    /**
+     * Rebuilds the pending iterations from the node instances, once per loaded node instance.
+     */
+    private void collectPendingIterations() {
+        List<CompositeContextNodeInstance> pending = new ArrayList<>();
+        runningIterations = 0;
+        for (org.kie.api.runtime.process.NodeInstance nodeInstance : getNodeInstances()) {
+            if (nodeInstance instanceof CompositeContextNodeInstance iteration) {
+                // an iteration that has been triggered and is not completed always holds at least one node instance
+                if (!iteration.getNodeInstances().isEmpty()) {
+                    runningIterations++;
+                } else {
+                    pending.add(iteration);
+                }
+            }
+        }
+        pending.sort(Comparator.comparingInt(ForEachNodeInstance::getIterationIndex));
+        pendingIterations = new ArrayDeque<>(pending);
+    }
+
+    private static int getIterationIndex(KogitoNodeInstance iteration) {
+        Object index = iteration instanceof ContextableInstance container ? getVariables(container).get(TEMP_ITERATION_INDEX_VAR) : null;
+        return index instanceof Number number ? number.intValue() : Integer.MAX_VALUE;
+    }
+
+    private static Map<String, Object> getVariables(ContextableInstance container) {
+        VariableScopeInstance variableScopeInstance = (VariableScopeInstance) container.getContextInstance(VariableScope.VARIABLE_SCOPE);
+        return variableScopeInstance != null ? variableScopeInstance.getVariables() : Collections.emptyMap();
+    }
+
     public class ForEachSplitNodeInstance extends NodeInstanceImpl implements ContextableInstance {
 
         private static final long serialVersionUID = 510l;
@@ -159,24 +254,38 @@ public class ForEachNodeInstance extends CompositeContextNodeInstance {
             if (collection.isEmpty()) {
                 ForEachNodeInstance.this.triggerCompleted(Node.CONNECTION_DEFAULT_TYPE, true);
             } else {
+                boolean concurrent = isConcurrent();
                 List<NodeInstance> nodeInstances = new ArrayList<>();
                 for (Object o : collection) {
                     String variableName = getForEachNode().getVariableName();
                     NodeInstance nodeInstance = ((NodeInstanceContainer) getNodeInstanceContainer()).getNodeInstance(getForEachSplitNode().getTo().getTo());
                     VariableScopeInstance variableScopeInstance = (VariableScopeInstance) nodeInstance.resolveContextInstance(VariableScope.VARIABLE_SCOPE, variableName);
                     variableScopeInstance.setVariable(nodeInstance, variableName, o);
+                    if (concurrent) {
+                        ((VariableScopeInstance) ((ContextableInstance) nodeInstance).getContextInstance(VariableScope.VARIABLE_SCOPE))
+                                .internalSetVariable(TEMP_ITERATION_INDEX_VAR, nodeInstances.size());
+                    }
                     nodeInstances.add(nodeInstance);
                 }
 
-                for (NodeInstance nodeInstance : nodeInstances) {
-                    logger.debug("Triggering [{}] in multi-instance loop.", nodeInstance.getNodeId());
-                    nodeInstance.trigger(this, getForEachSplitNode().getTo().getToType());
-
-                    //this is required because Parallel instances execution does not work with async, so it fallbacks to sequential
-                    hasAsyncInstances = checkAsyncInstance(nodeInstance);
-                    if (isSequential()) {
-                        // for sequential mode trigger only first item from the list
-                        break;
+                if (concurrent) {
+                    pendingIterations = new ArrayDeque<>();
+                    runningIterations = 0;
+                    for (NodeInstance nodeInstance : nodeInstances) {
+                        pendingIterations.add((CompositeContextNodeInstance) nodeInstance);
+                    }
+                    triggerConcurrentIterations(this);
+                } else {
+                    for (NodeInstance nodeInstance : nodeInstances) {
+                        logger.debug("Triggering [{}] in multi-instance loop.", nodeInstance.getNodeId());
+                        nodeInstance.trigger(this, getForEachSplitNode().getTo().getToType());
+
+                        //this is required because Parallel instances execution does not work with async, so it fallbacks to sequential
+                        hasAsyncInstances = checkAsyncInstance(nodeInstance);
+                        if (isSequential()) {
+                            // for sequential mode trigger only first item from the list
+                            break;
+                        }
                     }
                 }
 
@@ -244,6 +353,9 @@ public class ForEachNodeInstance extends CompositeContextNodeInstance {
         public void internalTrigger(KogitoNodeInstance from, String type) {
             triggerTime = new Date();
             setExecutedInstances(getExecutedInstances() + 1);
+            if (isConcurrent()) {
+                concurrentIterationCompleted();
+            }
 
             Map<String, Object> tempVariables = new HashMap<>();
             if (getForEachNode().getOutputVariableName() != null) {
@@ -254,7 +366,14 @@ public class ForEachNodeInstance extends CompositeContextNodeInstance {
                     outputCollection = new ArrayList<>();
                 }
 
-                outputCollection.add(outputVariable);
+                if (isConcurrent()) {
+                    // iterations complete in any order, keep the collected outputs in input order
+                    List<Object> orderedCollection = outputCollection instanceof List ? (List<Object>) outputCollection : new ArrayList<>(outputCollection);
+                    addInIterationOrder(from, orderedCollection, outputVariable);
+                    outputCollection = orderedCollection;
+                } else {
+                    outputCollection.add(outputVariable);
+                }
 
                 setVariable(TEMP_OUTPUT_VAR, outputCollection);
                 tempVariables.put(getForEachNode().getOutputVariableName(), outputVariable);
@@ -273,6 +392,8 @@ public class ForEachNodeInstance extends CompositeContextNodeInstance {
                             logger.debug("Triggering [{}] in multi-instance loop.", nodeInstance.getNodeId());
                             nodeInstance.trigger(null, getForEachNode().getForEachSplitNode().getTo().getToType());
                         });
+            } else if (isConcurrent() && !isCompletionConditionMet && !areNodeInstancesCompleted()) {
+                triggerConcurrentIterations(null);
             }
 
             if (areNodeInstancesCompleted() || isCompletionConditionMet) {
@@ -311,6 +432,22 @@ public class ForEachNodeInstance extends CompositeContextNodeInstance {
             }
         }
 
+        @SuppressWarnings("unchecked")
+        private void addInIterationOrder(KogitoNodeInstance from, List<Object> outputCollection, Object outputVariable) {
+            VariableScopeInstance variableScopeInstance = (VariableScopeInstance) resolveContextInstance(VariableScope.VARIABLE_SCOPE, TEMP_OUTPUT_VAR);
+            if (variableScopeInstance == null) {
+                variableScopeInstance = (VariableScopeInstance) getProcessInstance().getContextInstance(VariableScope.VARIABLE_SCOPE);
+            }
+            Collection<Integer> storedIndexes = (Collection<Integer>) variableScopeInstance.getVariables().get(TEMP_OUTPUT_INDEX_VAR);
+            List<Integer> indexes = storedIndexes != null ? new ArrayList<>(storedIndexes) : new ArrayList<>();
+            int index = getIterationIndex(from);
+            int position = Collections.binarySearch(indexes, index);
+            position = position < 0 ? -position - 1 : position;
+            indexes.add(position, index);
+            outputCollection.add(position, outputVariable);
+            variableScopeInstance.internalSetVariable(TEMP_OUTPUT_INDEX_VAR, indexes);
+        }
+
         private Optional<NodeInstance> getFirstCompositeNodeInstance() {
             return ((CompositeNodeInstance) getNodeInstanceContainer()).getNodeInstances(false).stream()
                     .filter(CompositeContextNodeInstance.class::isInstance)
@@ -0,0 +1,148 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.jbpm.workflow.instance.node;
+
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.IdentityHashMap;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import org.jbpm.process.instance.InternalProcessRuntime;
+import org.kie.kogito.internal.process.runtime.KogitoProcessInstance;
+import org.kie.kogito.process.workitems.InternalKogitoWorkItemManager;
+
+/**
+ * Dispatches the work items of a concurrent for each node.
+ * <p>
+ * While {@link #dispatch(Runnable)} runs, work item nodes triggered inside the iterations whose handler is thread safe
+ * hand their work item over instead of executing it. Each of them is started right away through
+ * {@link InternalKogitoWorkItemManager#internalStartWorkItem}, so its handler runs on the executor of the work item manager,
+ * and is applied to the process instance on the dispatching thread as soon as its handler returns. Iterations triggered
+ * meanwhile (the for each node refilling its window) are started as they come, so at most <code>maxParallelism</code>
+ * handlers are in flight. When no handler returns within {@value #TIMEOUT_PROPERTY} milliseconds (5 minutes by default),
+ * one of the work items still in flight is failed, putting the process instance in error instead of blocking its thread.
+ */
+class ForEachWorkItemDispatcher {
+
+    static final String TIMEOUT_PROPERTY = "org.jbpm.foreach.workitem.timeout";
+    private static final long DEFAULT_TIMEOUT_MILLIS = TimeUnit.MINUTES.toMillis(5);
+
+    private final Deque<WorkItemNodeInstance> deferred = new ArrayDeque<>();
+    private final Set<WorkItemNodeInstance> unfinished = Collections.newSetFromMap(new IdentityHashMap<>());
+    private boolean dispatching;
+
+    private record StartedWorkItem(WorkItemNodeInstance nodeInstance, Runnable completion) {
+    }
+
+    void dispatch(Runnable trigger) {
+        if (dispatching) {
+            trigger.run();
+            return;
+        }
+        dispatching = true;
+        BlockingQueue<StartedWorkItem> started = new LinkedBlockingQueue<>();
+        long timeout = Long.getLong(TIMEOUT_PROPERTY, DEFAULT_TIMEOUT_MILLIS);
+        try {
+            trigger.run();
+            while (!unfinished.isEmpty()) {
+                startDeferred(started);
+                StartedWorkItem next = poll(started, timeout);
+                if (unfinished.remove(next.nodeInstance())) {
+                    next.nodeInstance().executeWorkItem(next.completion());
+                    if (next.nodeInstance().getProcessInstance().getState() != KogitoProcessInstance.STATE_ACTIVE) {
+                        // a failed work item put the process instance in error, outcomes still in flight are discarded
+                        break;
+                    }
+                }
+            }
+        } finally {
+            dispatching = false;
+            deferred.clear();
+            unfinished.clear();
+        }
+    }
+
+    boolean defer(WorkItemNodeInstance nodeInstance) {
+        if (!dispatching) {
+            return false;
+        }
+        deferred.add(nodeInstance);
+        unfinished.add(nodeInstance);
+        return true;
+    }
+
+    /**
+     * Removes a node instance whose work item has not been applied to the process instance yet, typically
+     * because its iteration got cancelled by the completion condition. A handler already running is left to
+     * finish, its outcome is discarded.
+     *
+     * @return <code>true</code> if the node instance was waiting for this dispatcher
+     */
+    boolean withdraw(WorkItemNodeInstance nodeInstance) {
+        if (!unfinished.remove(nodeInstance)) {
+            return false;
+        }
+        deferred.removeIf(deferredNodeInstance -> deferredNodeInstance == nodeInstance);
+        return true;
+    }
+
+    private void startDeferred(BlockingQueue<StartedWorkItem> started) {
+        WorkItemNodeInstance nodeInstance;
+        while ((nodeInstance = deferred.poll()) != null) {
+            WorkItemNodeInstance owner = nodeInstance;
+            try {
+                CompletionStage<Runnable> execution = workItemManager(owner).internalStartWorkItem(owner.getWorkItem());
+                execution.whenComplete((completion, failure) -> started.add(new StartedWorkItem(owner, failure == null ? completion : () -> {
+                    throw failure instanceof RuntimeException runtimeException ? runtimeException : new IllegalStateException(failure);
+                })));
+            } catch (RuntimeException e) {
+                started.add(new StartedWorkItem(owner, () -> {
+                    throw e;
+                }));
+            }
+        }
+    }
+
+    private StartedWorkItem poll(BlockingQueue<StartedWorkItem> started, long timeout) {
+        StartedWorkItem next;
+        try {
+            next = started.poll(timeout, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for work items of a concurrent multi-instance loop", e);
+        }
+        if (next != null) {
+            return next;
+        }
+        WorkItemNodeInstance stuck = unfinished.iterator().next();
+        return new StartedWorkItem(stuck, () -> {
+            throw new IllegalStateException("Work item " + stuck.getWorkItem().getStringId() + " of a concurrent multi-instance loop did not complete within " + timeout + " ms");
+        });
+    }
+
+    private static InternalKogitoWorkItemManager workItemManager(WorkItemNodeInstance nodeInstance) {
+        return (InternalKogitoWorkItemManager) InternalProcessRuntime
+                .asKogitoProcessRuntime(nodeInstance.getProcessInstance().getKnowledgeRuntime()).getKogitoWorkItemManager();
+    }
+}
@@ -62,6 +62,7 @@ import org.kie.kogito.Model;
 import org.kie.kogito.internal.process.runtime.KogitoNodeInstance;
 import org.kie.kogito.internal.process.runtime.KogitoProcessRuntime;
 import org.kie.kogito.internal.process.runtime.KogitoWorkItemNodeInstance;
+import org.kie.kogito.internal.process.workitem.KogitoWorkItemHandler;
 import org.kie.kogito.process.EventDescription;
 import org.kie.kogito.process.GroupedNamedDataType;
 import org.kie.kogito.process.IOEventDescription;
@@ -164,14 +165,57 @@ public class WorkItemNodeInstance extends StateBasedNodeInstance implements Even
             parameters.forEach(workItem::setParameter);
         }
 
-        processWorkItemHandler(() -> ((InternalKogitoWorkItemManager) InternalProcessRuntime.asKogitoProcessRuntime(getProcessInstance().getKnowledgeRuntime()).getKogitoWorkItemManager())
-                .internalExecuteWorkItem(workItem));
+        if (!deferWorkItem()) {
+            processWorkItemHandler(() -> ((InternalKogitoWorkItemManager) InternalProcessRuntime.asKogitoProcessRuntime(getProcessInstance().getKnowledgeRuntime()).getKogitoWorkItemManager())
+                    .internalExecuteWorkItem(workItem));
+        }
         if (!workItemNode.isWaitForCompletion()) {
             triggerCompleted();
         }
         this.workItemId = workItem.getStringId();
     }
 
+    /**
+     * Hands the work item over to the enclosing for each node when it runs its iterations concurrently.
+     * Only plain work items waiting for completion whose handler declares itself thread safe qualify,
+     * any other handler runs inline, within the unit of work of the caller.
+     */
+    private boolean deferWorkItem() {
+        if (!getWorkItemNode().isWaitForCompletion() || isInversionOfControl() || this instanceof HumanTaskNodeInstance) {
+            return false;
+        }
+        ForEachNodeInstance forEachNodeInstance = getEnclosingForEachNodeInstance();
+        if (forEachNodeInstance == null) {
+            return false;
+        }
+        KogitoWorkItemHandler handler = InternalProcessRuntime.asKogitoProcessRuntime(getProcessInstance().getKnowledgeRuntime()).getKogitoWorkItemManager()
+                .getKogitoWorkItemHandler(workItem.getName());
+        return handler != null && handler.isThreadSafe(workItem) && forEachNodeInstance.deferWorkItem(this);
+    }
+
+    private boolean withdrawWorkItem() {
+        ForEachNodeInstance forEachNodeInstance = getEnclosingForEachNodeInstance();
+        return forEachNodeInstance != null && forEachNodeInstance.withdrawWorkItem(this);
+    }
+
+    private ForEachNodeInstance getEnclosingForEachNodeInstance() {
+        if (getNodeInstanceContainer() instanceof CompositeContextNodeInstance iteration && iteration.getNodeInstanceContainer() instanceof ForEachNodeInstance forEachNodeInstance) {
+            return forEachNodeInstance;
+        }
+        return null;
+    }
+
+    /**
+     * Applies a deferred work item, with the error handling its trigger would have applied.
+     */
+    void executeWorkItem(Runnable execution) {
+        try {
+            processWorkItemHandler(execution);
+        } catch (Exception e) {
+            handleTriggerException(e);
+        }
+    }
+
     private void processWorkItemHandler(Runnable handler) {
         if (isInversionOfControl()) {
             ((ProcessInstance) getProcessInstance()).getKnowledgeRuntime()
@@ -299,7 +343,13 @@ public class WorkItemNodeInstance extends StateBasedNodeInstance implements Even
         InternalKogitoWorkItem item = getWorkItem();
         if (item != null && !List.of(COMPLETED, ABORTED).contains(item.getState())) {
             try {
-                ((InternalKogitoWorkItemManager) getProcessInstance().getKnowledgeRuntime().getWorkItemManager()).internalAbortWorkItem(item.getStringId());
+                InternalKogitoWorkItemManager workItemManager = (InternalKogitoWorkItemManager) getProcessInstance().getKnowledgeRuntime().getWorkItemManager();
+                if (withdrawWorkItem()) {
+                    // never applied to the process instance, there is no handler state to abort
+                    workItemManager.internalRemoveWorkItem(item.getStringId());
+                } else {
+                    workItemManager.internalAbortWorkItem(item.getStringId());
+                }
             } catch (WorkItemHandlerNotFoundException wihnfe) {
                 getProcessInstance().setState(STATE_ABORTED);
                 throw wihnfe;
@@ -374,6 +424,20 @@ public class WorkItemNodeInstance extends StateBasedNodeInstance implements Even
         }
     }
 
+    /**
+     * Handles an error raised for the work item after its handler returned, such as a failed asynchronous request,
+     * the same way as an error thrown by the handler itself, so error boundary events catch it.
+     */
+    public void workItemFailed(RuntimeException error) {
+        try {
+            processWorkItemHandler(() -> {
+                throw error;
+            });
+        } catch (Exception e) {
+            handleTriggerException(e);
+        }
+    }
+
     public void workItemCompleted(InternalKogitoWorkItem workItem) {
         if (workItem.getStringId().equals(workItemId) || (workItemId == null && getWorkItem().getStringId().equals(workItem.getStringId()))) {
             workItem.setState(WorkItem.COMPLETED);
@@ -67,6 +67,7 @@ import org.kie.kogito.process.ProcessInstancesFactory;
 import org.kie.kogito.process.ProcessVersionResolver;
 import org.kie.kogito.process.Signal;
 import org.kie.kogito.process.WorkItem;
+import org.kie.kogito.uow.UnitOfWorkManager;
 
 import static org.kie.kogito.internal.process.workitem.KogitoWorkItemHandlerFactory.findAllKogitoWorkItemHandlersRegistered;
 
@@ -215,6 +216,10 @@ public abstract class AbstractProcess<T extends Model> implements Process<T>, Pr
         return this.processRuntime;
     }
 
+    public UnitOfWorkManager getUnitOfWorkManager() {
+        return services.getUnitOfWorkManager();
+    }
+
     @Override
     public void activate() {
         if (this.activated) {
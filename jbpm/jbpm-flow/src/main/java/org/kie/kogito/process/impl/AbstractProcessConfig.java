@@ -54,6 +54,9 @@ public abstract class AbstractProcessConfig implements ProcessConfig {
     private final ProcessVersionResolver versionResolver;
     private final IdentityProvider identityProvider;
     private final BusinessCalendar businessCalendar;
+    private final int workItemMaxConcurrency;
+    private final boolean jsonNodeBinary;
+    private final int jsonNodeCompressionThreshold;
 
     protected AbstractProcessConfig(
             Iterable<WorkItemHandlerConfig> workItemHandlerConfig,
@@ -67,6 +70,43 @@ public abstract class AbstractProcessConfig implements ProcessConfig {
             Iterable<ProcessVersionResolver> versionResolver,
             Iterable<IdentityProvider> identityProvider,
             Iterable<BusinessCalendar> businessCalendar) {
+        this(workItemHandlerConfig, processEventListenerConfigs, processEventListeners, unitOfWorkManager, jobsService, eventPublishers, kogitoService,
+                unitOfWorkListeners, versionResolver, identityProvider, businessCalendar, DEFAULT_WORK_ITEM_MAX_CONCURRENCY);
+    }
+
+    protected AbstractProcessConfig(
+            Iterable<WorkItemHandlerConfig> workItemHandlerConfig,
+            Iterable<ProcessEventListenerConfig> processEventListenerConfigs,
+            Iterable<ProcessEventListener> processEventListeners,
+            Iterable<UnitOfWorkManager> unitOfWorkManager,
+            Iterable<JobsService> jobsService,
+            Iterable<EventPublisher> eventPublishers,
+            String kogitoService,
+            Iterable<UnitOfWorkEventListener> unitOfWorkListeners,
+            Iterable<ProcessVersionResolver> versionResolver,
+            Iterable<IdentityProvider> identityProvider,
+            Iterable<BusinessCalendar> businessCalendar,
+            int workItemMaxConcurrency) {
+        this(workItemHandlerConfig, processEventListenerConfigs, processEventListeners, unitOfWorkManager, jobsService, eventPublishers, kogitoService,
+                unitOfWorkListeners, versionResolver, identityProvider, businessCalendar, workItemMaxConcurrency, Boolean.getBoolean(JSON_NODE_BINARY_PROPERTY),
+                Integer.getInteger(JSON_NODE_COMPRESSION_THRESHOLD_PROPERTY, DEFAULT_JSON_NODE_COMPRESSION_THRESHOLD));
+    }
+
+    protected AbstractProcessConfig(
+            Iterable<WorkItemHandlerConfig> workItemHandlerConfig,
+            Iterable<ProcessEventListenerConfig> processEventListenerConfigs,
+            Iterable<ProcessEventListener> processEventListeners,
+            Iterable<UnitOfWorkManager> unitOfWorkManager,
+            Iterable<JobsService> jobsService,
+            Iterable<EventPublisher> eventPublishers,
+            String kogitoService,
+            Iterable<UnitOfWorkEventListener> unitOfWorkListeners,
+            Iterable<ProcessVersionResolver> versionResolver,
+            Iterable<IdentityProvider> identityProvider,
+            Iterable<BusinessCalendar> businessCalendar,
+            int workItemMaxConcurrency,
+            boolean jsonNodeBinary,
+            int jsonNodeCompressionThreshold) {
 
         this.workItemHandlerConfig = mergeWorkItemHandler(workItemHandlerConfig, DefaultWorkItemHandlerConfig::new);
         this.processEventListenerConfig = merge(processEventListenerConfigs, processEventListeners);
@@ -75,6 +115,9 @@ public abstract class AbstractProcessConfig implements ProcessConfig {
         this.versionResolver = orDefault(versionResolver, () -> null);
         this.identityProvider = orDefault(identityProvider, NoOpIdentityProvider::new);
         this.businessCalendar = orDefault(businessCalendar, () -> null);
+        this.workItemMaxConcurrency = workItemMaxConcurrency;
+        this.jsonNodeBinary = jsonNodeBinary;
+        this.jsonNodeCompressionThreshold = jsonNodeCompressionThreshold;
 
         eventPublishers.forEach(publisher -> unitOfWorkManager().eventManager().addPublisher(publisher));
         unitOfWorkListeners.forEach(listener -> unitOfWorkManager().register(listener));
@@ -132,6 +175,21 @@ public abstract class AbstractProcessConfig implements ProcessConfig {
         return this.businessCalendar;
     }
 
+    @Override
+    public int workItemMaxConcurrency() {
+        return workItemMaxConcurrency;
+    }
+
+    @Override
+    public boolean jsonNodeBinary() {
+        return jsonNodeBinary;
+    }
+
+    @Override
+    public int jsonNodeCompressionThreshold() {
+        return jsonNodeCompressionThreshold;
+    }
+
     public org.kie.kogito.Addons addons() {
         return Addons.EMTPY;
     }
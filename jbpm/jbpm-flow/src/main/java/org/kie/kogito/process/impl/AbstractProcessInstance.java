@@ -67,6 +67,7 @@ import org.kie.kogito.process.Process;
 import org.kie.kogito.process.ProcessError;
 import org.kie.kogito.process.ProcessInstance;
 import org.kie.kogito.process.ProcessInstanceNotFoundException;
+import org.kie.kogito.process.ProcessPersistenceListeners;
 import org.kie.kogito.process.Signal;
 import org.kie.kogito.process.WorkItem;
 import org.kie.kogito.process.flexible.AdHocFragment;
@@ -282,10 +283,10 @@ public abstract class AbstractProcessInstance<T extends Model> implements Proces
         getProcessRuntime().getProcessInstanceManager().addProcessInstance(this.processInstance);
         this.id = processInstance.getStringId();
         addCompletionEventListener();
-        addToUnitOfWork(pi -> ((MutableProcessInstances<T>) process.instances()).create(id, this));
+        addToUnitOfWork(pi -> writeToRepository(instances -> instances.create(id, this)));
         KogitoProcessInstance kogitoProcessInstance = getProcessRuntime().getKogitoProcessRuntime().startProcessInstance(this.id, trigger);
         if (kogitoProcessInstance.getState() != STATE_ABORTED && kogitoProcessInstance.getState() != STATE_COMPLETED) {
-            addToUnitOfWork(pi -> ((MutableProcessInstances<T>) process.instances()).update(pi.id(), pi));
+            addToUnitOfWork(pi -> writeToRepository(instances -> instances.update(pi.id(), pi)));
         }
         unbind(variables, kogitoProcessInstance.getVariables());
         if (this.processInstance != null) {
@@ -298,6 +299,17 @@ public abstract class AbstractProcessInstance<T extends Model> implements Proces
         getProcessRuntime().getUnitOfWorkManager().currentUnitOfWork().intercept(new ProcessInstanceWorkUnit(this, action));
     }
 
+    private void writeToRepository(Consumer<MutableProcessInstances<T>> write) {
+        MutableProcessInstances<T> instances = (MutableProcessInstances<T>) process.instances();
+        if (!ProcessPersistenceListeners.isEnabled() || instances.writeBehind()) {
+            write.accept(instances);
+            return;
+        }
+        long start = System.nanoTime();
+        write.accept(instances);
+        ProcessPersistenceListeners.get().onRepositoryWrite(instances.getClass().getSimpleName(), process.id(), System.nanoTime() - start);
+    }
+
     @Override
     public void abort() {
         String pid = processInstance().getStringId();
@@ -382,7 +394,7 @@ public abstract class AbstractProcessInstance<T extends Model> implements Proces
         for (Entry<String, Object> entry : map.entrySet()) {
             processInstance().setVariable(entry.getKey(), entry.getValue());
         }
-        addToUnitOfWork(pi -> ((MutableProcessInstances<T>) process.instances()).update(pi.id(), pi));
+        addToUnitOfWork(pi -> writeToRepository(instances -> instances.update(pi.id(), pi)));
         return variables;
     }
 
@@ -415,7 +427,7 @@ public abstract class AbstractProcessInstance<T extends Model> implements Proces
         processInstance.setStartDate(new Date());
         processInstance.setState(STATE_ACTIVE);
         getProcessRuntime().getProcessInstanceManager().addProcessInstance(this.processInstance);
-        addToUnitOfWork(pi -> ((MutableProcessInstances<T>) process.instances()).create(id, this));
+        addToUnitOfWork(pi -> writeToRepository(instances -> instances.create(id, this)));
 
         this.id = processInstance.getStringId();
         addCompletionEventListener();
@@ -446,7 +458,7 @@ public abstract class AbstractProcessInstance<T extends Model> implements Proces
         }
         nodeInstance.trigger(null, Node.CONNECTION_DEFAULT_TYPE);
 
-        addToUnitOfWork(pi -> ((MutableProcessInstances<T>) process.instances()).update(pi.id(), pi));
+        addToUnitOfWork(pi -> writeToRepository(instances -> instances.update(pi.id(), pi)));
     }
 
     @Override
@@ -562,7 +574,7 @@ public abstract class AbstractProcessInstance<T extends Model> implements Proces
     public <R> R updateWorkItem(String id, Function<KogitoWorkItem, R> updater, Policy... policies) {
         syncWorkItems();
         R result = getProcessRuntime().getKogitoProcessRuntime().getKogitoWorkItemManager().updateWorkItem(id, updater, policies);
-        addToUnitOfWork(pi -> ((MutableProcessInstances<T>) process.instances()).update(pi.id(), pi));
+        addToUnitOfWork(pi -> writeToRepository(instances -> instances.update(pi.id(), pi)));
         return result;
     }
 
@@ -573,6 +585,19 @@ public abstract class AbstractProcessInstance<T extends Model> implements Proces
         removeOnFinish();
     }
 
+    @Override
+    public void failWorkItem(String id, RuntimeException error) {
+        syncWorkItems();
+        processInstance().getNodeInstances(true).stream()
+                .filter(WorkItemNodeInstance.class::isInstance)
+                .map(WorkItemNodeInstance.class::cast)
+                .filter(ni -> id.equals(ni.getWorkItemId()))
+                .findAny()
+                .orElseThrow(() -> new WorkItemNotFoundException("Work item with id " + id + " was not found in process instance " + id(), id))
+                .workItemFailed(error);
+        removeOnFinish();
+    }
+
     @Override
     public void transitionWorkItem(String id, WorkItemTransition transition) {
         syncWorkItems();
@@ -609,7 +634,7 @@ public abstract class AbstractProcessInstance<T extends Model> implements Proces
             syncProcessInstance(processInstance);
             remove();
         } else {
-            addToUnitOfWork(pi -> ((MutableProcessInstances<T>) process.instances()).update(pi.id(), pi));
+            addToUnitOfWork(pi -> writeToRepository(instances -> instances.update(pi.id(), pi)));
         }
         unbind(this.variables, processInstance().getVariables());
         this.status = processInstance.getState();
@@ -620,11 +645,8 @@ public abstract class AbstractProcessInstance<T extends Model> implements Proces
             //already removed
             return;
         }
-        correlationInstance.map(CorrelationInstance::getCorrelation)
-                .ifPresent(c -> addToUnitOfWork(pi -> process.correlations().delete(c)));
-        addToUnitOfWork(pi -> {
-            ((MutableProcessInstances<T>) process.instances()).remove(pi.id());
-        });
+        correlationInstance.ifPresent(c -> addToUnitOfWork(pi -> process.correlations().delete(c)));
+        addToUnitOfWork(pi -> writeToRepository(instances -> instances.remove(pi.id())));
     }
 
     // this must be overridden at compile time
@@ -29,7 +29,8 @@ public class ConfiguredProcessServices extends AbstractProcessRuntimeServiceProv
                 config.processEventListeners(),
                 config.signalManagerHub(),
                 config.unitOfWorkManager(),
-                config.identityProvider());
+                config.identityProvider(),
+                config.workItemMaxConcurrency());
 
     }
 }
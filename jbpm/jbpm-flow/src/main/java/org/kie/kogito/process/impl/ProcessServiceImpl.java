@@ -21,6 +21,7 @@ package org.kie.kogito.process.impl;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CompletionStage;
 import java.util.function.Function;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
@@ -44,6 +45,7 @@ import org.kie.kogito.process.ProcessInstance;
 import org.kie.kogito.process.ProcessInstanceNotFoundException;
 import org.kie.kogito.process.ProcessInstanceReadMode;
 import org.kie.kogito.process.ProcessService;
+import org.kie.kogito.process.ReactiveProcessInstances;
 import org.kie.kogito.process.WorkItem;
 import org.kie.kogito.services.uow.UnitOfWorkExecutor;
 
@@ -110,6 +112,17 @@ public class ProcessServiceImpl implements ProcessService {
         return mappable.map(MappableToModel::toModel);
     }
 
+    @SuppressWarnings("unchecked")
+    @Override
+    public <T extends MappableToModel<R>, R> CompletionStage<Optional<R>> findByIdAsync(Process<T> process, String id) {
+        if (process.instances() instanceof ReactiveProcessInstances) {
+            return ((ReactiveProcessInstances<T>) process.instances())
+                    .findByIdAsync(id, ProcessInstanceReadMode.READ_ONLY)
+                    .thenApply(instance -> instance.map(ProcessInstance::variables).map(MappableToModel::toModel));
+        }
+        return ProcessService.super.findByIdAsync(process, id);
+    }
+
     @Override
     public <T> void migrateProcessInstances(Process<T> process, String targetProcessId, String targetProcessVersion, String... processIds) throws UnsupportedOperationException {
         process.instances().migrateProcessInstances(targetProcessId, targetProcessVersion, processIds);
@@ -19,25 +19,52 @@
 package org.jbpm.process;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.jbpm.process.core.datatype.impl.type.ObjectDataType;
+import org.jbpm.process.workitem.builtin.ServiceTaskHandler;
 import org.jbpm.ruleflow.core.RuleFlowProcessFactory;
 import org.jbpm.ruleflow.core.WorkflowElementIdentifierFactory;
+import org.jbpm.ruleflow.core.factory.ForEachNodeFactory;
 import org.jbpm.test.util.AbstractBaseTest;
+import org.jbpm.workflow.instance.WorkflowProcessInstance;
 import org.junit.jupiter.api.Test;
+import org.kie.api.definition.process.Process;
 import org.kie.api.definition.process.WorkflowElementIdentifier;
+import org.kie.kogito.internal.process.event.KogitoProcessEventListener;
+import org.kie.kogito.internal.process.event.ProcessWorkItemTransitionEvent;
+import org.kie.kogito.internal.process.runtime.KogitoProcessInstance;
 import org.kie.kogito.internal.process.runtime.KogitoProcessRuntime;
+import org.kie.kogito.internal.process.runtime.KogitoWorkflowProcessInstance;
+import org.kie.kogito.internal.process.workitem.KogitoWorkItem;
+import org.kie.kogito.internal.process.workitem.KogitoWorkItemHandler;
+import org.kie.kogito.internal.process.workitem.KogitoWorkItemManager;
+import org.kie.kogito.internal.process.workitem.WorkItemTransition;
+import org.kie.kogito.process.workitems.impl.DefaultKogitoWorkItemHandler;
+import org.kie.kogito.services.uow.CollectingUnitOfWorkFactory;
+import org.kie.kogito.services.uow.DefaultUnitOfWorkManager;
+import org.kie.kogito.uow.UnitOfWork;
+import org.kie.kogito.uow.UnitOfWorkManager;
 import org.slf4j.LoggerFactory;
 
+import static org.assertj.core.api.Assertions.assertThat;
+
 public class ForEachTest extends AbstractBaseTest {
 
     private static WorkflowElementIdentifier one = WorkflowElementIdentifierFactory.fromExternalFormat("one");
     private static WorkflowElementIdentifier two = WorkflowElementIdentifierFactory.fromExternalFormat("two");
     private static WorkflowElementIdentifier three = WorkflowElementIdentifierFactory.fromExternalFormat("three");
     private static WorkflowElementIdentifier five = WorkflowElementIdentifierFactory.fromExternalFormat("five");
+    private static WorkflowElementIdentifier six = WorkflowElementIdentifierFactory.fromExternalFormat("six");
 
     public void addLogger() {
         logger = LoggerFactory.getLogger(this.getClass());
@@ -99,4 +126,223 @@ public class ForEachTest extends AbstractBaseTest {
         kruntime.startProcess("ParentProcess", parameters);
     }
 
+    @Test
+    public void testConcurrentWorkItems() {
+        SlowWorkItemHandler handler = new SlowWorkItemHandler(null);
+        KogitoProcessRuntime kruntime = createKogitoProcessRuntime(concurrentProcess());
+        kruntime.getKogitoWorkItemManager().registerWorkItemHandler("Slow", handler);
+        List<String> events = Collections.synchronizedList(new ArrayList<>());
+        handler.events = events;
+        kruntime.getProcessEventManager().addEventListener(new KogitoProcessEventListener() {
+            @Override
+            public void beforeWorkItemTransition(ProcessWorkItemTransitionEvent event) {
+                events.add("before " + event.getWorkItem().getParameter("Input"));
+            }
+
+            @Override
+            public void afterWorkItemTransition(ProcessWorkItemTransitionEvent event) {
+                events.add("after " + event.getWorkItem().getParameter("Input"));
+            }
+        });
+
+        KogitoProcessInstance processInstance = kruntime.startProcess("ConcurrentProcess", concurrentParameters());
+
+        assertThat(processInstance.getState()).isEqualTo(KogitoProcessInstance.STATE_COMPLETED);
+        // later items complete first, outputs must still follow the input order
+        assertThat(((WorkflowProcessInstance) processInstance).getVariable("listOut")).isEqualTo(List.of("A", "B", "C", "D", "E", "F", "G"));
+        assertThat(handler.maxRunning.get()).isGreaterThan(1).isLessThanOrEqualTo(3);
+        assertThat(handler.threads).doesNotContain(Thread.currentThread());
+        for (String input : List.of("a", "b", "c", "d", "e", "f", "g")) {
+            // listeners observe every work item as if its handler ran inline
+            assertThat(events.indexOf("before " + input)).isLessThan(events.indexOf("run " + input));
+            assertThat(events.indexOf("run " + input)).isLessThan(events.indexOf("after " + input));
+        }
+    }
+
+    @Test
+    public void testConcurrentWorkItemFailure() {
+        SlowWorkItemHandler handler = new SlowWorkItemHandler("c");
+        KogitoProcessRuntime kruntime = createKogitoProcessRuntime(concurrentProcess());
+        kruntime.getKogitoWorkItemManager().registerWorkItemHandler("Slow", handler);
+
+        KogitoProcessInstance processInstance = kruntime.startProcess("ConcurrentProcess", concurrentParameters());
+
+        assertThat(processInstance.getState()).isEqualTo(KogitoProcessInstance.STATE_ERROR);
+        assertThat(((KogitoWorkflowProcessInstance) processInstance).getErrorMessage()).contains("Failed c");
+    }
+
+    @Test
+    public void testConcurrentModeRunsUnsafeHandlersInCallerUnitOfWork() {
+        UnitOfWorkManager unitOfWorkManager = new DefaultUnitOfWorkManager(new CollectingUnitOfWorkFactory());
+        UnsafeWorkItemHandler handler = new UnsafeWorkItemHandler(unitOfWorkManager);
+        KogitoProcessRuntime kruntime = createKogitoProcessRuntime(concurrentProcess());
+        kruntime.getKogitoWorkItemManager().registerWorkItemHandler("Slow", handler);
+
+        UnitOfWork unitOfWork = unitOfWorkManager.newUnitOfWork();
+        unitOfWork.start();
+        KogitoProcessInstance processInstance;
+        try {
+            processInstance = kruntime.startProcess("ConcurrentProcess", concurrentParameters());
+        } finally {
+            unitOfWork.end();
+        }
+
+        assertThat(processInstance.getState()).isEqualTo(KogitoProcessInstance.STATE_COMPLETED);
+        assertThat(((WorkflowProcessInstance) processInstance).getVariable("listOut")).isEqualTo(List.of("A", "B", "C", "D", "E", "F", "G"));
+        assertThat(handler.threads).hasSize(7).containsOnly(Thread.currentThread());
+        assertThat(handler.unitsOfWork).hasSize(7).containsOnly(unitOfWork);
+    }
+
+    @Test
+    public void testConcurrentServiceTasks() {
+        KogitoProcessRuntime kruntime = createKogitoProcessRuntime(concurrentProcess("Service Task", SlowService.class.getName()));
+        kruntime.getKogitoWorkItemManager().registerWorkItemHandler("Service Task", new ServiceTaskHandler("Output"));
+        SlowService.threads.clear();
+
+        KogitoProcessInstance processInstance = kruntime.startProcess("ConcurrentProcess", concurrentParameters());
+
+        assertThat(processInstance.getState()).isEqualTo(KogitoProcessInstance.STATE_COMPLETED);
+        assertThat(((WorkflowProcessInstance) processInstance).getVariable("listOut")).isEqualTo(List.of("A", "B", "C", "D", "E", "F", "G"));
+        assertThat(SlowService.threads).isNotEmpty().doesNotContain(Thread.currentThread());
+    }
+
+    @Test
+    public void testConcurrentWorkItemTimeout() {
+        CountDownLatch release = new CountDownLatch(1);
+        SlowWorkItemHandler handler = new SlowWorkItemHandler(null) {
+            @Override
+            public Optional<WorkItemTransition> activateWorkItemHandler(KogitoWorkItemManager manager, KogitoWorkItemHandler handler, KogitoWorkItem workItem, WorkItemTransition transition) {
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return Optional.empty();
+            }
+        };
+        KogitoProcessRuntime kruntime = createKogitoProcessRuntime(concurrentProcess());
+        kruntime.getKogitoWorkItemManager().registerWorkItemHandler("Slow", handler);
+
+        System.setProperty("org.jbpm.foreach.workitem.timeout", "200");
+        try {
+            KogitoProcessInstance processInstance = kruntime.startProcess("ConcurrentProcess", concurrentParameters());
+
+            assertThat(processInstance.getState()).isEqualTo(KogitoProcessInstance.STATE_ERROR);
+            assertThat(((KogitoWorkflowProcessInstance) processInstance).getErrorMessage()).contains("did not complete within 200 ms");
+        } finally {
+            System.clearProperty("org.jbpm.foreach.workitem.timeout");
+            release.countDown();
+        }
+    }
+
+    private static Process concurrentProcess() {
+        return concurrentProcess("Slow", null);
+    }
+
+    private static Process concurrentProcess(String workName, String service) {
+        RuleFlowProcessFactory factory = RuleFlowProcessFactory.createProcess("ConcurrentProcess");
+        factory.variable("list", new ObjectDataType("java.util.List"));
+        factory.variable("listOut", new ObjectDataType("java.util.List"));
+        factory.name("Concurrent Process");
+        factory.packageName("org.drools.bpmn2");
+        factory.dynamic(false);
+        factory.version("1.0");
+        factory.startNode(one).name("StartProcess").done();
+        ForEachNodeFactory<RuleFlowProcessFactory> forEachNode = factory.forEachNode(two);
+        forEachNode.collectionExpression("list");
+        forEachNode.variable("x", new ObjectDataType("java.lang.String"));
+        forEachNode.outputCollectionExpression("listOut");
+        forEachNode.outputVariable("y", new ObjectDataType("java.lang.String"));
+        forEachNode.tempVariable("foreach_output", new ObjectDataType("java.util.Collection"));
+        forEachNode.maxParallelism(3);
+
+        if (service == null) {
+            forEachNode.workItemNode(six).workName(workName).inMapping("x", "Input").outMapping("Output", "y").done();
+        } else {
+            forEachNode.workItemNode(six).workName(workName).workParameter("Interface", service).workParameter("Operation", "upper")
+                    .workParameter("ParameterType", String.class.getName()).inMapping("x", "Parameter").outMapping("Output", "y").done();
+        }
+        forEachNode.linkIncomingConnections(six);
+        forEachNode.linkOutgoingConnections(six);
+        forEachNode.done();
+        factory.endNode(three).name("EndProcess").terminate(true).done();
+        factory.connection(one, two, "_1-_2");
+        factory.connection(two, three, "_2-_3");
+        factory.validate();
+        return factory.getProcess();
+    }
+
+    private static Map<String, Object> concurrentParameters() {
+        Map<String, Object> parameters = new HashMap<>();
+        parameters.put("list", new ArrayList<>(List.of("a", "b", "c", "d", "e", "f", "g")));
+        parameters.put("listOut", new ArrayList<>());
+        return parameters;
+    }
+
+    public static class SlowService {
+
+        private static final Set<Thread> threads = ConcurrentHashMap.newKeySet();
+
+        public String upper(String input) throws InterruptedException {
+            threads.add(Thread.currentThread());
+            TimeUnit.MILLISECONDS.sleep(20);
+            return input.toUpperCase();
+        }
+    }
+
+    private static class SlowWorkItemHandler extends DefaultKogitoWorkItemHandler {
+
+        private final String failOn;
+        private final AtomicInteger running = new AtomicInteger();
+        private final AtomicInteger maxRunning = new AtomicInteger();
+        private final Set<Thread> threads = ConcurrentHashMap.newKeySet();
+        private List<String> events = new ArrayList<>();
+
+        SlowWorkItemHandler(String failOn) {
+            this.failOn = failOn;
+        }
+
+        @Override
+        public boolean isThreadSafe() {
+            return true;
+        }
+
+        @Override
+        public Optional<WorkItemTransition> activateWorkItemHandler(KogitoWorkItemManager manager, KogitoWorkItemHandler handler, KogitoWorkItem workItem, WorkItemTransition transition) {
+            String input = (String) workItem.getParameter("Input");
+            threads.add(Thread.currentThread());
+            events.add("run " + input);
+            maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+            try {
+                TimeUnit.MILLISECONDS.sleep(100L - 10L * (input.charAt(0) - 'a'));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                running.decrementAndGet();
+            }
+            if (input.equals(failOn)) {
+                throw new IllegalStateException("Failed " + input);
+            }
+            return Optional.of(handler.completeTransition(workItem.getPhaseStatus(), Map.of("Output", input.toUpperCase())));
+        }
+    }
+
+    private static class UnsafeWorkItemHandler extends DefaultKogitoWorkItemHandler {
+
+        private final UnitOfWorkManager unitOfWorkManager;
+        private final List<Thread> threads = new ArrayList<>();
+        private final List<UnitOfWork> unitsOfWork = new ArrayList<>();
+
+        UnsafeWorkItemHandler(UnitOfWorkManager unitOfWorkManager) {
+            this.unitOfWorkManager = unitOfWorkManager;
+        }
+
+        @Override
+        public Optional<WorkItemTransition> activateWorkItemHandler(KogitoWorkItemManager manager, KogitoWorkItemHandler handler, KogitoWorkItem workItem, WorkItemTransition transition) {
+            threads.add(Thread.currentThread());
+            unitsOfWork.add(unitOfWorkManager.currentUnitOfWork());
+            String input = (String) workItem.getParameter("Input");
+            return Optional.of(handler.completeTransition(workItem.getPhaseStatus(), Map.of("Output", input.toUpperCase())));
+        }
+    }
 }
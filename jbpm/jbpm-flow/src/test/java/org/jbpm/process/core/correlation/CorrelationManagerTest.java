@@ -0,0 +1,134 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.jbpm.process.core.correlation;
+
+import java.util.Map;
+import java.util.function.Function;
+
+import org.jbpm.process.instance.impl.ReturnValueEvaluator;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class CorrelationManagerTest {
+
+    private CorrelationManager correlationManager;
+
+    @BeforeEach
+    public void setup() {
+        correlationManager = new CorrelationManager();
+        correlationManager.setClassLoader(getClass().getClassLoader());
+        correlationManager.newMessage("orderMessage", "order", Map.class.getName());
+        correlationManager.newMessage("otherMessage", "other", Map.class.getName());
+        correlationManager.newCorrelation("orderCorrelation", "order");
+        correlationManager.addMessagePropertyExpression("orderCorrelation", "orderMessage", "orderId", messageProperty("orderId"));
+        correlationManager.subscribeTo("orderCorrelation");
+        correlationManager.addProcessSubscriptionPropertyExpression("orderCorrelation", "orderId", context -> context.getVariable("orderId"));
+    }
+
+    @Test
+    public void testComputeCorrelationInstance() {
+        CorrelationInstance messageCorrelation = correlationManager.computeCorrelationInstance("orderMessage", Map.of("orderId", "1"));
+        CorrelationInstance processCorrelation = correlationManager.computeSubscription("orderMessage", variables("1"));
+
+        assertThat(messageCorrelation).isEqualTo(processCorrelation);
+        assertThat(correlationManager.computeSubscription("orderMessage", variables("2"))).isNotEqualTo(messageCorrelation);
+    }
+
+    @Test
+    public void testCorrelates() {
+        assertThat(correlationManager.correlates("orderMessage", Map.of("orderId", "1"), variables("1"))).isTrue();
+        assertThat(correlationManager.correlates("orderMessage", Map.of("orderId", "1"), variables("2"))).isFalse();
+    }
+
+    @Test
+    public void testCorrelatesWithDifferentProperties() {
+        correlationManager.addProcessSubscriptionPropertyExpression("orderCorrelation", "customerId", context -> context.getVariable("customerId"));
+
+        assertThat(correlationManager.correlates("orderMessage", Map.of("orderId", "1"), variables("1"))).isFalse();
+    }
+
+    @Test
+    public void testCorrelatesNullProperty() {
+        assertThatThrownBy(() -> correlationManager.correlates("orderMessage", Map.of("customerId", "1"), variables("1")))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Message property evaluated to null");
+        assertThatThrownBy(() -> correlationManager.correlates("orderMessage", Map.of("orderId", "1"), variables(null)))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Process Subscription property evaluated to null");
+    }
+
+    @Test
+    public void testWrongMessageType() {
+        assertThatThrownBy(() -> correlationManager.computeCorrelationInstance("orderMessage", "1"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Object event type is not appropiate");
+        assertThatThrownBy(() -> correlationManager.correlates("orderMessage", "1", variables("1")))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Object event type is not appropiate");
+    }
+
+    @Test
+    public void testMessageTypeNotFound() {
+        correlationManager.newMessage("unknownMessage", "unknown", "org.acme.Unknown");
+
+        assertThatThrownBy(() -> correlationManager.computeCorrelationInstance("unknownMessage", Map.of()))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Object event type is not found");
+    }
+
+    @Test
+    public void testMissingCorrelation() {
+        assertThat(correlationManager.isSubscribe("orderMessage")).isTrue();
+        assertThat(correlationManager.isSubscribe("otherMessage")).isFalse();
+        assertThatThrownBy(() -> correlationManager.computeCorrelationInstance("otherMessage", Map.of("orderId", "1")))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Correlation for message ref otherMessage does not exist");
+    }
+
+    @Test
+    public void testCorrelationAddedAfterFirstUse() {
+        assertThat(correlationManager.isSubscribe("otherMessage")).isFalse();
+
+        correlationManager.addMessagePropertyExpression("orderCorrelation", "otherMessage", "orderId", messageProperty("id"));
+
+        assertThat(correlationManager.isSubscribe("otherMessage")).isTrue();
+        assertThat(correlationManager.correlates("otherMessage", Map.of("id", "1"), variables("1"))).isTrue();
+    }
+
+    @Test
+    public void testNotSubscribed() {
+        correlationManager.newCorrelation("customerCorrelation", "customer");
+        correlationManager.addMessagePropertyExpression("customerCorrelation", "otherMessage", "customerId", messageProperty("customerId"));
+
+        assertThatThrownBy(() -> correlationManager.computeSubscription("otherMessage", variables("1")))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("is not subscribed");
+    }
+
+    private static ReturnValueEvaluator messageProperty(String name) {
+        return context -> ((Map<?, ?>) context.getVariable("value")).get(name);
+    }
+
+    private static Function<String, Object> variables(String orderId) {
+        return name -> "orderId".equals(name) ? orderId : null;
+    }
+}
@@ -0,0 +1,82 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.jbpm.workflow.core.impl;
+
+import org.jbpm.process.core.event.EventTypeFilter;
+import org.jbpm.process.core.event.NonAcceptingEventTypeFilter;
+import org.jbpm.ruleflow.core.WorkflowElementIdentifierFactory;
+import org.jbpm.workflow.core.node.BoundaryEventNode;
+import org.jbpm.workflow.core.node.CompositeNode;
+import org.jbpm.workflow.core.node.EventNode;
+import org.jbpm.workflow.core.node.HumanTaskNode;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class EventNodeLookupTest {
+
+    @Test
+    public void testCandidatesByEventType() {
+        WorkflowProcessImpl process = new WorkflowProcessImpl();
+        EventNode message = eventNode(1, "Message-order", new EventNode());
+        EventNode dynamic = eventNode(2, "Message-#{orderId}", new EventNode());
+        BoundaryEventNode boundary = (BoundaryEventNode) eventNode(3, "Timer-1", new BoundaryEventNode());
+        EventNode nonAccepting = new EventNode();
+        nonAccepting.setId(WorkflowElementIdentifierFactory.newRandom());
+        nonAccepting.addEventFilter(new NonAcceptingEventTypeFilter());
+        CompositeNode composite = new CompositeNode();
+        composite.setId(WorkflowElementIdentifierFactory.newRandom());
+        HumanTaskNode task = new HumanTaskNode();
+        task.setId(WorkflowElementIdentifierFactory.newRandom());
+
+        process.addNode(task);
+        process.addNode(message);
+        process.addNode(dynamic);
+        process.addNode(boundary);
+        process.addNode(nonAccepting);
+        process.addNode(composite);
+
+        assertThat(process.getEventNodes("Message-order")).containsExactly(message, dynamic, composite);
+        assertThat(process.getEventNodes("Timer-1")).containsExactly(dynamic, boundary, composite);
+        assertThat(process.getEventNodes("unknown")).containsExactly(dynamic, composite);
+    }
+
+    @Test
+    public void testLookupIsRebuiltWhenNodesChange() {
+        WorkflowProcessImpl process = new WorkflowProcessImpl();
+        EventNode message = eventNode(1, "Message-order", new EventNode());
+        process.addNode(message);
+        assertThat(process.getEventNodes("Message-order")).containsExactly(message);
+
+        EventNode other = eventNode(2, "Message-order", new EventNode());
+        process.addNode(other);
+        assertThat(process.getEventNodes("Message-order")).containsExactly(message, other);
+
+        process.removeNode(message);
+        assertThat(process.getEventNodes("Message-order")).containsExactly(other);
+    }
+
+    private static EventNode eventNode(long id, String type, EventNode node) {
+        node.setId(WorkflowElementIdentifierFactory.fromExternalFormat("event-" + id));
+        EventTypeFilter filter = new EventTypeFilter();
+        filter.setType(type);
+        node.addEventFilter(filter);
+        return node;
+    }
+}
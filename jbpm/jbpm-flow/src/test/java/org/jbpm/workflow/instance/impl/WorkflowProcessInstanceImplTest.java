@@ -0,0 +1,151 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.jbpm.workflow.instance.impl;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+import org.jbpm.process.core.event.EventTypeFilter;
+import org.jbpm.process.instance.ProcessInstance;
+import org.jbpm.ruleflow.core.WorkflowElementIdentifierFactory;
+import org.jbpm.ruleflow.instance.RuleFlowProcessInstance;
+import org.jbpm.workflow.core.impl.WorkflowProcessImpl;
+import org.jbpm.workflow.core.node.EventNode;
+import org.jbpm.workflow.instance.node.EventNodeInstanceInterface;
+import org.jbpm.workflow.instance.node.MockNode;
+import org.jbpm.workflow.instance.node.MockNodeInstance;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class WorkflowProcessInstanceImplTest {
+
+    @Test
+    public void testNodeInstanceLookups() {
+        MockNode first = node("first");
+        MockNode second = node("second");
+        RuleFlowProcessInstance processInstance = processInstance(first, second);
+
+        MockNodeInstance a = nodeInstance(processInstance, first);
+        MockNodeInstance b = nodeInstance(processInstance, second);
+        MockNodeInstance c = nodeInstance(processInstance, second);
+
+        assertThat(processInstance.getNodeInstance(a.getStringId())).isSameAs(a);
+        assertThat(processInstance.getNodeInstance(c.getStringId(), true)).isSameAs(c);
+        assertThat(processInstance.getNodeInstances(second.getId())).containsExactly(b, c);
+        assertThat(processInstance.getFirstNodeInstance(second.getId())).isSameAs(b);
+        assertThat(processInstance.getNodeInstances(WorkflowElementIdentifierFactory.fromExternalFormat("unknown"))).isEmpty();
+
+        processInstance.removeNodeInstance(a);
+
+        assertThat(processInstance.getNodeInstance(a.getStringId())).isNull();
+        assertThat(processInstance.getNodeInstances(first.getId())).isEmpty();
+        assertThat(processInstance.getNodeInstances(false)).containsExactly(b, c);
+    }
+
+    @Test
+    public void testSignalWithoutCandidateNodesKeepsNodeInstances() {
+        MockNode task = node("task");
+        RuleFlowProcessInstance processInstance = processInstance(task);
+        for (int i = 0; i < 100; i++) {
+            nodeInstance(processInstance, task);
+        }
+
+        processInstance.signalEvent("unknown", null);
+
+        assertThat(processInstance.getNodeInstances(task.getId())).hasSize(100);
+    }
+
+    @Test
+    public void testMigratedNodeInstanceIsSignalled() {
+        MockNode task = node("task");
+        EventNode event = new EventNode();
+        event.setId(WorkflowElementIdentifierFactory.fromExternalFormat("event"));
+        EventTypeFilter filter = new EventTypeFilter();
+        filter.setType("go");
+        event.addEventFilter(filter);
+        RuleFlowProcessInstance processInstance = processInstance(task);
+        ((WorkflowProcessImpl) processInstance.getProcess()).addNode(event);
+
+        SignalledNodeInstance nodeInstance = new SignalledNodeInstance(task);
+        nodeInstance.setNodeId(task.getId());
+        nodeInstance.setProcessInstance(processInstance);
+        processInstance.addNodeInstance(nodeInstance);
+
+        // migration moves the node instance to another node once it belongs to its container
+        nodeInstance.setNodeId(event.getId());
+
+        assertThat(processInstance.getNodeInstances(task.getId())).isEmpty();
+        assertThat(processInstance.getFirstNodeInstance(event.getId())).isSameAs(nodeInstance);
+
+        processInstance.signalEvent("go", "data");
+
+        assertThat(nodeInstance.events).containsExactly("data");
+
+        processInstance.removeNodeInstance(nodeInstance);
+
+        assertThat(processInstance.getNodeInstances(event.getId())).isEmpty();
+        assertThat(processInstance.getNodeInstances(task.getId())).isEmpty();
+    }
+
+    static MockNode node(String id) {
+        MockNode node = new MockNode();
+        node.setId(WorkflowElementIdentifierFactory.fromExternalFormat(id));
+        node.setName(id);
+        return node;
+    }
+
+    static RuleFlowProcessInstance processInstance(MockNode... nodes) {
+        WorkflowProcessImpl process = new WorkflowProcessImpl();
+        process.setId("process");
+        for (MockNode node : nodes) {
+            process.addNode(node);
+        }
+        RuleFlowProcessInstance processInstance = new RuleFlowProcessInstance();
+        processInstance.setId("process-instance");
+        processInstance.setProcess(process);
+        processInstance.setState(ProcessInstance.STATE_ACTIVE);
+        return processInstance;
+    }
+
+    static MockNodeInstance nodeInstance(RuleFlowProcessInstance processInstance, MockNode node) {
+        MockNodeInstance nodeInstance = new MockNodeInstance(node);
+        nodeInstance.setNodeId(node.getId());
+        nodeInstance.setProcessInstance(processInstance);
+        processInstance.addNodeInstance(nodeInstance);
+        return nodeInstance;
+    }
+
+    private static class SignalledNodeInstance extends MockNodeInstance implements EventNodeInstanceInterface {
+
+        private static final long serialVersionUID = 1L;
+
+        private final List<Object> events = new ArrayList<>();
+
+        SignalledNodeInstance(MockNode node) {
+            super(node);
+        }
+
+        @Override
+        public void signalEvent(String type, Object event, Function<String, Object> varResolver) {
+            events.add(event);
+        }
+    }
+}
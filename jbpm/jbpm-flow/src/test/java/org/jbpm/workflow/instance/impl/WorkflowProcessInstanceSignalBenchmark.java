@@ -0,0 +1,132 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.jbpm.workflow.instance.impl;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.jbpm.process.core.event.EventTypeFilter;
+import org.jbpm.process.instance.ProcessInstance;
+import org.jbpm.ruleflow.core.WorkflowElementIdentifierFactory;
+import org.jbpm.ruleflow.instance.RuleFlowProcessInstance;
+import org.jbpm.workflow.core.impl.WorkflowProcessImpl;
+import org.jbpm.workflow.core.node.EventNode;
+import org.jbpm.workflow.instance.NodeInstance;
+import org.jbpm.workflow.instance.node.MockNode;
+import org.jbpm.workflow.instance.node.MockNodeInstance;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Measures signals and node instance lookups on a process instance holding {@code nodeInstances} active node instances,
+ * spread over a few task nodes, with a set of message catching event nodes that have no active instance.
+ * Run it from the IDE or with {@code mvn test-compile exec:java -Dexec.classpathScope=test -Dexec.mainClass=org.jbpm.workflow.instance.impl.WorkflowProcessInstanceSignalBenchmark}
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class WorkflowProcessInstanceSignalBenchmark {
+
+    private static final int TASK_NODES = 10;
+    private static final int EVENT_NODES = 50;
+
+    @Param({ "10000" })
+    private int nodeInstances;
+
+    private RuleFlowProcessInstance processInstance;
+
+    private MockNode[] tasks;
+
+    private List<String> nodeInstanceIds;
+
+    private int next;
+
+    @Setup
+    public void setup() {
+        WorkflowProcessImpl process = new WorkflowProcessImpl();
+        process.setId("benchmark");
+        tasks = new MockNode[TASK_NODES];
+        for (int i = 0; i < TASK_NODES; i++) {
+            tasks[i] = new MockNode();
+            tasks[i].setId(WorkflowElementIdentifierFactory.fromExternalFormat("task-" + i));
+            process.addNode(tasks[i]);
+        }
+        for (int i = 0; i < EVENT_NODES; i++) {
+            EventNode eventNode = new EventNode();
+            eventNode.setId(WorkflowElementIdentifierFactory.fromExternalFormat("event-" + i));
+            EventTypeFilter filter = new EventTypeFilter();
+            filter.setType("Message-" + i);
+            eventNode.addEventFilter(filter);
+            process.addNode(eventNode);
+        }
+
+        processInstance = new RuleFlowProcessInstance();
+        processInstance.setId("benchmark-instance");
+        processInstance.setProcess(process);
+        processInstance.setState(ProcessInstance.STATE_ACTIVE);
+        nodeInstanceIds = new ArrayList<>(nodeInstances);
+        for (int i = 0; i < nodeInstances; i++) {
+            MockNodeInstance nodeInstance = new MockNodeInstance(tasks[i % TASK_NODES]);
+            nodeInstance.setNodeId(tasks[i % TASK_NODES].getId());
+            nodeInstance.setProcessInstance(processInstance);
+            processInstance.addNodeInstance(nodeInstance);
+            nodeInstanceIds.add(nodeInstance.getStringId());
+        }
+    }
+
+    @Benchmark
+    public void signalUnhandledEvent() {
+        processInstance.signalEvent("unknown", null);
+    }
+
+    @Benchmark
+    public void signalHandledEvent() {
+        processInstance.signalEvent("Message-" + (next++ % EVENT_NODES), null);
+    }
+
+    @Benchmark
+    public NodeInstance getNodeInstanceById() {
+        return processInstance.getNodeInstance(nodeInstanceIds.get(next++ % nodeInstanceIds.size()), true);
+    }
+
+    @Benchmark
+    public List<NodeInstance> getNodeInstancesByNodeId() {
+        return processInstance.getNodeInstances(tasks[next++ % TASK_NODES].getId());
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(WorkflowProcessInstanceSignalBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -21,12 +21,12 @@ package org.kie.kogito.usertask.impl;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
-import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Function;
 
 import org.kie.kogito.auth.IdentityProvider;
@@ -38,18 +38,30 @@ import org.slf4j.LoggerFactory;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 
+/**
+ * Thread safe in memory storage of user task instances.
+ * <p>
+ * Instances are kept as serialized snapshots so callers never share state with the store, together with the
+ * assignments they were stored with. Secondary indexes from users (admin, actual owner, potential) and groups
+ * (admin, potential) to task ids turn {@link #findByIdentity(IdentityProvider)} into a union of index lookups;
+ * only the visible tasks are deserialized.
+ */
 public class InMemoryUserTaskInstances implements UserTaskInstances {
 
     private static Logger LOG = LoggerFactory.getLogger(InMemoryUserTaskInstances.class);
 
-    private Map<String, byte[]> userTaskInstances;
+    private Map<String, StoredUserTaskInstance> userTaskInstances;
+    private Map<String, Set<String>> userIndex;
+    private Map<String, Set<String>> groupIndex;
     private Function<UserTaskInstance, UserTaskInstance> reconnectUserTaskInstance;
     private Function<UserTaskInstance, UserTaskInstance> disconnectUserTaskInstance;
     private ObjectMapper mapper;
 
     public InMemoryUserTaskInstances() {
         LOG.info("Initializing InMemoryUsertaskInstances");
-        this.userTaskInstances = new HashMap<>();
+        this.userTaskInstances = new ConcurrentHashMap<>();
+        this.userIndex = new ConcurrentHashMap<>();
+        this.groupIndex = new ConcurrentHashMap<>();
         this.reconnectUserTaskInstance = null;
         this.disconnectUserTaskInstance = null;
         this.mapper = new ObjectMapper();
@@ -69,11 +81,11 @@ public class InMemoryUserTaskInstances implements UserTaskInstances {
     @Override
     public Optional<UserTaskInstance> findById(String userTaskInstanceId) {
         try {
-            if (!userTaskInstances.containsKey(userTaskInstanceId)) {
+            StoredUserTaskInstance stored = userTaskInstances.get(userTaskInstanceId);
+            if (stored == null) {
                 return Optional.empty();
             }
-            UserTaskInstance userTaskInstance = mapper.readValue(userTaskInstances.get(userTaskInstanceId), DefaultUserTaskInstance.class);
-            return Optional.ofNullable(reconnectUserTaskInstance.apply(userTaskInstance));
+            return Optional.ofNullable(reconnectUserTaskInstance.apply(read(stored)));
         } catch (Exception e) {
             LOG.error("during find by Id {}", userTaskInstanceId, e);
             return Optional.empty();
@@ -85,11 +97,21 @@ public class InMemoryUserTaskInstances implements UserTaskInstances {
         try {
             String user = identity.getName();
             Collection<String> roles = identity.getRoles();
+            Set<String> candidates = new HashSet<>();
+            if (user != null) {
+                candidates.addAll(userIndex.getOrDefault(user, Collections.emptySet()));
+            }
+            if (roles != null) {
+                for (String role : roles) {
+                    candidates.addAll(groupIndex.getOrDefault(role, Collections.emptySet()));
+                }
+            }
             List<UserTaskInstance> users = new ArrayList<>();
-            for (String id : userTaskInstances.keySet()) {
-                UserTaskInstance userTaskInstance = mapper.readValue(userTaskInstances.get(id), DefaultUserTaskInstance.class);
-                if (checkVisibility(userTaskInstance, user, roles)) {
-                    users.add(reconnectUserTaskInstance.apply(userTaskInstance));
+            for (String id : candidates) {
+                StoredUserTaskInstance stored = userTaskInstances.get(id);
+                // indexes are updated after the instance so a stale candidate is verified against the stored assignments
+                if (stored != null && stored.isVisible(user, roles)) {
+                    users.add(reconnectUserTaskInstance.apply(read(stored)));
                 }
             }
             return users;
@@ -99,38 +121,6 @@ public class InMemoryUserTaskInstances implements UserTaskInstances {
         }
     }
 
-    private boolean checkVisibility(UserTaskInstance userTaskInstance, String user, Collection<String> roles) {
-        Set<String> adminUsers = userTaskInstance.getAdminUsers();
-        if (adminUsers.contains(user)) {
-            return true;
-        }
-
-        Set<String> userAdminGroups = new HashSet<>(userTaskInstance.getAdminGroups());
-        userAdminGroups.retainAll(roles);
-        if (!userAdminGroups.isEmpty()) {
-            return true;
-        }
-
-        if (userTaskInstance.getActualOwner() != null && userTaskInstance.getActualOwner().equals(user)) {
-            return true;
-        }
-
-        // there is no user
-        Set<String> users = new HashSet<>(userTaskInstance.getPotentialUsers());
-        users.removeAll(userTaskInstance.getExcludedUsers());
-        if (users.contains(user)) {
-            return true;
-        }
-
-        Set<String> userPotGroups = new HashSet<>(userTaskInstance.getPotentialGroups());
-        userPotGroups.retainAll(roles);
-        if (!userPotGroups.isEmpty()) {
-            return true;
-        }
-
-        return false;
-    }
-
     @Override
     public boolean exists(String userTaskInstanceId) {
         return userTaskInstances.containsKey(userTaskInstanceId);
@@ -140,8 +130,7 @@ public class InMemoryUserTaskInstances implements UserTaskInstances {
     public UserTaskInstance create(UserTaskInstance userTaskInstance) {
         try {
             LOG.trace("create {}", userTaskInstance);
-            byte[] data = mapper.writeValueAsBytes(userTaskInstance);
-            userTaskInstances.put(userTaskInstance.getId(), data);
+            store(userTaskInstance);
             return reconnectUserTaskInstance.apply(userTaskInstance);
         } catch (Exception e) {
             LOG.error("during create {}", userTaskInstance.getId(), e);
@@ -153,8 +142,7 @@ public class InMemoryUserTaskInstances implements UserTaskInstances {
     public UserTaskInstance update(UserTaskInstance userTaskInstance) {
         try {
             LOG.trace("update {}", userTaskInstance);
-            byte[] data = mapper.writeValueAsBytes(userTaskInstance);
-            userTaskInstances.put(userTaskInstance.getId(), data);
+            store(userTaskInstance);
             return userTaskInstance;
         } catch (Exception e) {
             LOG.error("during udpate {}", userTaskInstance.getId(), e);
@@ -165,11 +153,16 @@ public class InMemoryUserTaskInstances implements UserTaskInstances {
     @Override
     public UserTaskInstance remove(UserTaskInstance userTaskInstance) {
         try {
-            if (!userTaskInstances.containsKey(userTaskInstance.getId())) {
+            StoredUserTaskInstance[] removed = new StoredUserTaskInstance[1];
+            userTaskInstances.computeIfPresent(userTaskInstance.getId(), (id, previous) -> {
+                unindex(id, previous);
+                removed[0] = previous;
+                return null;
+            });
+            if (removed[0] == null) {
                 return null;
             }
             LOG.trace("remove {}", userTaskInstance);
-            userTaskInstances.remove(userTaskInstance.getId());
             return disconnectUserTaskInstance.apply(userTaskInstance);
         } catch (Exception e) {
             LOG.error("during remove {}", userTaskInstance, e);
@@ -177,4 +170,104 @@ public class InMemoryUserTaskInstances implements UserTaskInstances {
         }
     }
 
+    private void store(UserTaskInstance userTaskInstance) throws Exception {
+        StoredUserTaskInstance stored = new StoredUserTaskInstance(mapper.writeValueAsBytes(userTaskInstance), userTaskInstance);
+        // the compute lock on the id serializes concurrent writers of the same instance so its index entries stay consistent
+        userTaskInstances.compute(userTaskInstance.getId(), (id, previous) -> {
+            if (previous != null) {
+                unindex(id, previous);
+            }
+            index(id, stored);
+            return stored;
+        });
+    }
+
+    private UserTaskInstance read(StoredUserTaskInstance stored) throws Exception {
+        return mapper.readValue(stored.data, DefaultUserTaskInstance.class);
+    }
+
+    private void index(String id, StoredUserTaskInstance stored) {
+        for (String user : stored.indexedUsers()) {
+            userIndex.computeIfAbsent(user, k -> ConcurrentHashMap.newKeySet()).add(id);
+        }
+        for (String group : stored.indexedGroups()) {
+            groupIndex.computeIfAbsent(group, k -> ConcurrentHashMap.newKeySet()).add(id);
+        }
+    }
+
+    private void unindex(String id, StoredUserTaskInstance stored) {
+        for (String user : stored.indexedUsers()) {
+            unindex(userIndex, user, id);
+        }
+        for (String group : stored.indexedGroups()) {
+            unindex(groupIndex, group, id);
+        }
+    }
+
+    private static void unindex(Map<String, Set<String>> index, String key, String id) {
+        index.computeIfPresent(key, (k, ids) -> {
+            ids.remove(id);
+            return ids.isEmpty() ? null : ids;
+        });
+    }
+
+    private static Set<String> copyOf(Set<String> values) {
+        return values == null || values.isEmpty() ? Collections.emptySet() : new HashSet<>(values);
+    }
+
+    private static class StoredUserTaskInstance {
+
+        private final byte[] data;
+        private final String actualOwner;
+        private final Set<String> potentialUsers;
+        private final Set<String> potentialGroups;
+        private final Set<String> adminUsers;
+        private final Set<String> adminGroups;
+        private final Set<String> excludedUsers;
+
+        StoredUserTaskInstance(byte[] data, UserTaskInstance userTaskInstance) {
+            this.data = data;
+            this.actualOwner = userTaskInstance.getActualOwner();
+            this.potentialUsers = copyOf(userTaskInstance.getPotentialUsers());
+            this.potentialGroups = copyOf(userTaskInstance.getPotentialGroups());
+            this.adminUsers = copyOf(userTaskInstance.getAdminUsers());
+            this.adminGroups = copyOf(userTaskInstance.getAdminGroups());
+            this.excludedUsers = copyOf(userTaskInstance.getExcludedUsers());
+        }
+
+        Set<String> indexedUsers() {
+            Set<String> users = new HashSet<>(adminUsers);
+            users.addAll(potentialUsers);
+            if (actualOwner != null) {
+                users.add(actualOwner);
+            }
+            return users;
+        }
+
+        Set<String> indexedGroups() {
+            Set<String> groups = new HashSet<>(adminGroups);
+            groups.addAll(potentialGroups);
+            return groups;
+        }
+
+        boolean isVisible(String user, Collection<String> roles) {
+            if (user != null) {
+                if (adminUsers.contains(user) || user.equals(actualOwner)) {
+                    return true;
+                }
+                if (potentialUsers.contains(user) && !excludedUsers.contains(user)) {
+                    return true;
+                }
+            }
+            if (roles != null) {
+                for (String role : roles) {
+                    if (adminGroups.contains(role) || potentialGroups.contains(role)) {
+                        return true;
+                    }
+                }
+            }
+            return false;
+        }
+    }
+
 }
@@ -0,0 +1,111 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.kie.kogito.usertask.impl;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import org.kie.kogito.auth.IdentityProvider;
+import org.kie.kogito.auth.IdentityProviders;
+import org.kie.kogito.usertask.UserTaskInstance;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Measures task inbox queries against a store holding {@code tasks} user tasks assigned to users spread across many groups.
+ * Run it from the IDE or with {@code mvn test-compile exec:java -Dexec.classpathScope=test -Dexec.mainClass=org.kie.kogito.usertask.impl.InMemoryUserTaskInstancesBenchmark}
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class InMemoryUserTaskInstancesBenchmark {
+
+    private static final int USERS = 5000;
+    private static final int GROUPS = 500;
+    private static final int GROUPS_PER_USER = 3;
+
+    @Param({ "100000" })
+    private int tasks;
+
+    private InMemoryUserTaskInstances instances;
+
+    private List<IdentityProvider> identities;
+
+    private int next;
+
+    @Setup
+    public void setup() {
+        Random random = new Random(42);
+        instances = new InMemoryUserTaskInstances();
+        instances.setReconnectUserTaskInstance(Function.identity());
+        instances.setDisconnectUserTaskInstance(Function.identity());
+        for (int i = 0; i < tasks; i++) {
+            instances.create(InMemoryUserTaskInstancesTest.task("task-" + i,
+                    random.nextInt(10) == 0 ? user(random.nextInt(USERS)) : null,
+                    Set.of(user(random.nextInt(USERS)), user(random.nextInt(USERS))),
+                    Set.of(group(random.nextInt(GROUPS))),
+                    Set.of()));
+        }
+        identities = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            List<String> roles = new ArrayList<>();
+            for (int j = 0; j < GROUPS_PER_USER; j++) {
+                roles.add(group(random.nextInt(GROUPS)));
+            }
+            identities.add(IdentityProviders.of(user(random.nextInt(USERS)), roles));
+        }
+    }
+
+    @Benchmark
+    public List<UserTaskInstance> findByIdentity() {
+        IdentityProvider identity = identities.get(next++ % identities.size());
+        return instances.findByIdentity(identity);
+    }
+
+    private static String user(int index) {
+        return "user-" + index;
+    }
+
+    private static String group(int index) {
+        return "group-" + index;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(InMemoryUserTaskInstancesBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -0,0 +1,97 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.kie.kogito.usertask.impl;
+
+import java.util.List;
+import java.util.Set;
+import java.util.function.Function;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.kie.kogito.auth.IdentityProviders;
+import org.kie.kogito.usertask.UserTaskInstance;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class InMemoryUserTaskInstancesTest {
+
+    private InMemoryUserTaskInstances instances;
+
+    @BeforeEach
+    public void setup() {
+        instances = new InMemoryUserTaskInstances();
+        instances.setReconnectUserTaskInstance(Function.identity());
+        instances.setDisconnectUserTaskInstance(Function.identity());
+    }
+
+    @Test
+    public void testFindByIdentity() {
+        instances.create(task("owned", "john", Set.of(), Set.of(), Set.of()));
+        instances.create(task("potential", null, Set.of("john", "mary"), Set.of(), Set.of()));
+        instances.create(task("excluded", null, Set.of("john"), Set.of(), Set.of("john")));
+        instances.create(task("group", null, Set.of(), Set.of("managers"), Set.of()));
+        instances.create(task("other", "mary", Set.of(), Set.of("hr"), Set.of()));
+
+        assertThat(ids(instances.findByIdentity(IdentityProviders.of("john")))).containsExactlyInAnyOrder("owned", "potential");
+        assertThat(ids(instances.findByIdentity(IdentityProviders.of("john", "managers")))).containsExactlyInAnyOrder("owned", "potential", "group");
+        assertThat(ids(instances.findByIdentity(IdentityProviders.of("mary")))).containsExactlyInAnyOrder("potential", "other");
+        assertThat(instances.findByIdentity(IdentityProviders.of("nobody", "guests"))).isEmpty();
+    }
+
+    @Test
+    public void testIndexesFollowUpdatesAndRemovals() {
+        DefaultUserTaskInstance task = task("task", null, Set.of("john"), Set.of("managers"), Set.of());
+        instances.create(task);
+        assertThat(ids(instances.findByIdentity(IdentityProviders.of("john")))).containsExactly("task");
+
+        task.setPotentialUsers(Set.of("mary"));
+        instances.update(task);
+        assertThat(instances.findByIdentity(IdentityProviders.of("john"))).isEmpty();
+        assertThat(ids(instances.findByIdentity(IdentityProviders.of("mary")))).containsExactly("task");
+
+        instances.remove(task);
+        assertThat(instances.exists("task")).isFalse();
+        assertThat(instances.findByIdentity(IdentityProviders.of("mary", "managers"))).isEmpty();
+    }
+
+    @Test
+    public void testStoredInstanceIsIsolatedFromCaller() {
+        DefaultUserTaskInstance task = task("task", null, Set.of("john"), Set.of(), Set.of());
+        instances.create(task);
+
+        task.setActualOwner("mary");
+
+        assertThat(instances.findById("task")).hasValueSatisfying(stored -> assertThat(stored.getActualOwner()).isNull());
+        assertThat(instances.findByIdentity(IdentityProviders.of("mary"))).isEmpty();
+    }
+
+    static DefaultUserTaskInstance task(String id, String actualOwner, Set<String> potentialUsers, Set<String> potentialGroups, Set<String> excludedUsers) {
+        DefaultUserTaskInstance task = new DefaultUserTaskInstance();
+        task.setId(id);
+        task.setActualOwner(actualOwner);
+        task.setPotentialUsers(potentialUsers);
+        task.setPotentialGroups(potentialGroups);
+        task.setExcludedUsers(excludedUsers);
+        return task;
+    }
+
+    private static List<String> ids(List<UserTaskInstance> tasks) {
+        return tasks.stream().map(UserTaskInstance::getId).toList();
+    }
+}
@@ -22,12 +22,14 @@ import java.util.function.Supplier;
 
 import org.jbpm.ruleflow.instance.RuleFlowProcessInstance;
 import org.kie.kogito.process.Process;
+import org.kie.kogito.process.ProcessConfig;
 
 public final class MarshallerContextName<T> {
 
     public static final MarshallerContextName<ObjectMarshallerStrategy[]> OBJECT_MARSHALLING_STRATEGIES =
             new MarshallerContextName<>("OBJECT_MARSHALLING_STRATEGIES", () -> new ObjectMarshallerStrategy[0]);
     public static final MarshallerContextName<String> MARSHALLER_FORMAT = new MarshallerContextName<>("FORMAT");
+    public static final MarshallerContextName<ProcessInstanceMessageFormat> MARSHALLER_MESSAGE_FORMAT = new MarshallerContextName<>("MESSAGE_FORMAT");
     public static final MarshallerContextName<Process<?>> MARSHALLER_PROCESS = new MarshallerContextName<>("PROCESS");
     public static final MarshallerContextName<RuleFlowProcessInstance> MARSHALLER_PROCESS_INSTANCE = new MarshallerContextName<>("PROCESS_INSTANCE");
     public static final MarshallerContextName<Boolean> MARSHALLER_INSTANCE_READ_ONLY = new MarshallerContextName<>("READ_ONLY");
@@ -35,6 +37,10 @@ public final class MarshallerContextName<T> {
             new MarshallerContextName<>("MARSHALLER_INSTANCE_LISTENERS", () -> new ProcessInstanceMarshallerListener[0]);
     public static final MarshallerContextName<NodeInstanceReader[]> MARSHALLER_NODE_INSTANCE_READER = new MarshallerContextName<>("MARSHALLER_NODE_INSTANCE_READER", () -> new NodeInstanceReader[0]);
     public static final MarshallerContextName<NodeInstanceWriter[]> MARSHALLER_NODE_INSTANCE_WRITER = new MarshallerContextName<>("MARSHALLER_NODE_INSTANCE_WRITER", () -> new NodeInstanceWriter[0]);
+    public static final MarshallerContextName<Boolean> MARSHALLER_JSON_NODE_BINARY =
+            new MarshallerContextName<>("JSON_NODE_BINARY", () -> Boolean.getBoolean(ProcessConfig.JSON_NODE_BINARY_PROPERTY));
+    public static final MarshallerContextName<Integer> MARSHALLER_JSON_NODE_COMPRESSION_THRESHOLD = new MarshallerContextName<>("JSON_NODE_COMPRESSION_THRESHOLD",
+            () -> Integer.getInteger(ProcessConfig.JSON_NODE_COMPRESSION_THRESHOLD_PROPERTY, ProcessConfig.DEFAULT_JSON_NODE_COMPRESSION_THRESHOLD));
 
     public static final String MARSHALLER_FORMAT_JSON = "json";
 
@@ -37,6 +37,13 @@ public interface ObjectMarshallerStrategy extends Comparable<ObjectMarshallerStr
 
     Any marshall(Object unmarshalled);
 
+    /**
+     * Marshalls the given value within the process instance being written, for strategies whose encoding depends on the context
+     */
+    default Any marshall(MarshallerWriterContext context, Object unmarshalled) {
+        return marshall(unmarshalled);
+    }
+
     boolean acceptForUnmarshalling(Any value);
 
     Object unmarshall(Any marshalled);
@@ -0,0 +1,125 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.jbpm.flow.serialization;
+
+import java.util.Date;
+import java.util.Optional;
+
+import org.jbpm.flow.serialization.protobuf.KogitoProcessInstanceProtobuf;
+import org.jbpm.flow.serialization.protobuf.KogitoTypesProtobuf;
+
+import com.google.protobuf.ByteString;
+import com.google.protobuf.InvalidProtocolBufferException;
+
+/**
+ * Lightweight read only view of a marshalled process instance, exposing only its header fields.
+ * Node instances and variables are kept as raw bytes and only decoded the first time {@link #getWorkflowContext()} is invoked.
+ */
+public class ProcessInstanceHeader {
+
+    private final KogitoProcessInstanceProtobuf.ProcessInstance header;
+    private ByteString rawContext;
+    private KogitoTypesProtobuf.WorkflowContext context;
+
+    public ProcessInstanceHeader(KogitoProcessInstanceProtobuf.ProcessInstance header, ByteString rawContext) {
+        this.header = header;
+        this.rawContext = rawContext;
+    }
+
+    public ProcessInstanceHeader(KogitoProcessInstanceProtobuf.ProcessInstance processInstance) {
+        this.header = processInstance;
+        this.context = processInstance.getContext();
+    }
+
+    public String getId() {
+        return header.getId();
+    }
+
+    public String getProcessId() {
+        return header.getProcessId();
+    }
+
+    public String getProcessVersion() {
+        return header.getProcessVersion();
+    }
+
+    public String getProcessType() {
+        return header.getProcessType();
+    }
+
+    public String getBusinessKey() {
+        return header.hasBusinessKey() ? header.getBusinessKey() : null;
+    }
+
+    public String getDescription() {
+        return header.hasDescription() ? header.getDescription() : null;
+    }
+
+    public int getState() {
+        return header.getState();
+    }
+
+    public Date getStartDate() {
+        return header.hasStartDate() ? new Date(header.getStartDate()) : null;
+    }
+
+    public String getParentProcessInstanceId() {
+        return header.hasParentProcessInstanceId() ? header.getParentProcessInstanceId() : null;
+    }
+
+    public String getRootProcessInstanceId() {
+        return header.hasRootProcessInstanceId() ? header.getRootProcessInstanceId() : null;
+    }
+
+    public String getRootProcessId() {
+        return header.hasRootProcessId() ? header.getRootProcessId() : null;
+    }
+
+    public String getReferenceId() {
+        return header.hasReferenceId() ? header.getReferenceId() : null;
+    }
+
+    public Optional<String> getErrorNodeId() {
+        return header.hasErrorNodeId() ? Optional.of(header.getErrorNodeId()) : Optional.empty();
+    }
+
+    public Optional<String> getErrorMessage() {
+        return header.hasErrorMessage() ? Optional.of(header.getErrorMessage()) : Optional.empty();
+    }
+
+    /**
+     * Decodes, on first invocation, the section holding node instances and variables
+     */
+    public synchronized KogitoTypesProtobuf.WorkflowContext getWorkflowContext() {
+        if (context == null) {
+            try {
+                context = rawContext == null ? KogitoTypesProtobuf.WorkflowContext.getDefaultInstance() : KogitoTypesProtobuf.WorkflowContext.parseFrom(rawContext);
+                rawContext = null;
+            } catch (InvalidProtocolBufferException e) {
+                throw new ProcessInstanceMarshallerException("Error while unmarshalling context of process instance " + getId(), e);
+            }
+        }
+        return context;
+    }
+
+    @Override
+    public String toString() {
+        return "ProcessInstanceHeader [id=" + getId() + ", processId=" + getProcessId() + ", state=" + getState() + ", businessKey=" + getBusinessKey() + "]";
+    }
+}
@@ -30,11 +30,17 @@ import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.function.Supplier;
 
+import org.jbpm.flow.serialization.impl.ProtobufProcessInstanceHeaderReader;
 import org.jbpm.flow.serialization.impl.ProtobufProcessInstanceMarshallerFactory;
 import org.jbpm.util.JbpmClassLoaderUtil;
+import org.kie.kogito.Application;
+import org.kie.kogito.internal.process.runtime.KogitoProcessRuntime;
 import org.kie.kogito.process.Process;
+import org.kie.kogito.process.ProcessConfig;
 import org.kie.kogito.process.ProcessInstance;
 import org.kie.kogito.process.ProcessInstanceReadMode;
+import org.kie.kogito.process.ProcessPersistenceListeners;
+import org.kie.kogito.process.impl.AbstractProcess;
 import org.kie.kogito.process.impl.AbstractProcessInstance;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -142,22 +148,42 @@ public class ProcessInstanceMarshallerService {
         }
     }
 
+    // explicit context entries set through the builder take precedence, as they are applied afterwards
+    private static void setupJsonNodeEncoding(MarshallerContext context, Process<?> process) {
+        KogitoProcessRuntime runtime = process instanceof AbstractProcess ? ((AbstractProcess<?>) process).getProcessRuntime() : null;
+        Application application = runtime != null ? runtime.getApplication() : null;
+        ProcessConfig config = application != null && application.config() != null ? application.config().get(ProcessConfig.class) : null;
+        if (config != null) {
+            context.set(MarshallerContextName.MARSHALLER_JSON_NODE_BINARY, config.jsonNodeBinary());
+            context.set(MarshallerContextName.MARSHALLER_JSON_NODE_COMPRESSION_THRESHOLD, config.jsonNodeCompressionThreshold());
+        }
+    }
+
     public byte[] marshallProcessInstance(ProcessInstance<?> processInstance) {
+        final boolean measured = ProcessPersistenceListeners.isEnabled();
+        final long start = measured ? System.nanoTime() : 0L;
         try (ByteArrayOutputStream baos = new ByteArrayOutputStream()) {
             MarshallerWriterContext context = processInstanceMarshallerFactory.newWriterContext(baos);
             context.set(MarshallerContextName.MARSHALLER_PROCESS, processInstance.process());
             context.set(MarshallerContextName.MARSHALLER_INSTANCE_LISTENER, listeners.toArray(ProcessInstanceMarshallerListener[]::new));
             context.set(MarshallerContextName.MARSHALLER_NODE_INSTANCE_WRITER, this.writers.toArray(NodeInstanceWriter[]::new));
+            setupJsonNodeEncoding(context, processInstance.process());
             setupEnvironment(context);
             org.jbpm.flow.serialization.ProcessInstanceMarshaller marshaller = processInstanceMarshallerFactory.newKogitoProcessInstanceMarshaller();
             marshaller.writeProcessInstance(context, processInstance);
-            return baos.toByteArray();
+            byte[] data = baos.toByteArray();
+            if (measured) {
+                ProcessPersistenceListeners.get().onMarshalled(processInstance.process().id(), System.nanoTime() - start, data.length);
+            }
+            return data;
         } catch (Exception e) {
             throw new ProcessInstanceMarshallerException("Error while marshalling process instance", e);
         }
     }
 
     public ProcessInstance<?> unmarshallProcessInstance(byte[] data, Process<?> process, boolean readOnly) {
+        final boolean measured = ProcessPersistenceListeners.isEnabled();
+        final long start = measured ? System.nanoTime() : 0L;
         try (ByteArrayInputStream bais = new ByteArrayInputStream(data)) {
             MarshallerReaderContext context = processInstanceMarshallerFactory.newReaderContext(bais);
             context.set(MarshallerContextName.MARSHALLER_PROCESS, process);
@@ -166,7 +192,11 @@ public class ProcessInstanceMarshallerService {
             context.set(MarshallerContextName.MARSHALLER_NODE_INSTANCE_READER, this.readers.toArray(NodeInstanceReader[]::new));
             setupEnvironment(context);
             org.jbpm.flow.serialization.ProcessInstanceMarshaller marshaller = processInstanceMarshallerFactory.newKogitoProcessInstanceMarshaller();
-            return marshaller.readProcessInstance(context);
+            ProcessInstance<?> processInstance = marshaller.readProcessInstance(context);
+            if (measured) {
+                ProcessPersistenceListeners.get().onUnmarshalled(process.id(), System.nanoTime() - start, data.length);
+            }
+            return processInstance;
         } catch (Exception e) {
             throw new ProcessInstanceMarshallerException("Error while unmarshalling process instance", e);
         }
@@ -180,6 +210,23 @@ public class ProcessInstanceMarshallerService {
         return unmarshallProcessInstance(data, process, true);
     }
 
+    /**
+     * Decodes only the header of the given process instance (id, state, business key, description...), which is much cheaper
+     * than {@link #unmarshallProcessInstance(byte[], Process, ProcessInstanceReadMode)} when the instance is not going to be executed.
+     */
+    public ProcessInstanceHeader readProcessInstanceHeader(byte[] data) {
+        try {
+            ProtobufProcessInstanceHeaderReader reader = new ProtobufProcessInstanceHeaderReader();
+            ProcessInstanceMessageFormat messageFormat = (ProcessInstanceMessageFormat) contextEntries.get(MarshallerContextName.MARSHALLER_MESSAGE_FORMAT);
+            if (messageFormat != null) {
+                return reader.read(data, messageFormat);
+            }
+            return MarshallerContextName.MARSHALLER_FORMAT_JSON.equals(contextEntries.get(MarshallerContextName.MARSHALLER_FORMAT)) ? reader.readJson(data) : reader.read(data);
+        } catch (Exception e) {
+            throw new ProcessInstanceMarshallerException("Error while unmarshalling process instance header", e);
+        }
+    }
+
     public Consumer<AbstractProcessInstance<?>> createdReloadFunction(Supplier<byte[]> dataSupplier) {
         return (processInstance) -> {
             byte[] data = dataSupplier.get();
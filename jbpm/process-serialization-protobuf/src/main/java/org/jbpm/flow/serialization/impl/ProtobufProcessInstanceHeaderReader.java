@@ -0,0 +1,119 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.jbpm.flow.serialization.impl;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+
+import org.jbpm.flow.serialization.ProcessInstanceHeader;
+import org.jbpm.flow.serialization.ProcessInstanceMessageFormat;
+import org.jbpm.flow.serialization.protobuf.KogitoProcessInstanceProtobuf.ProcessInstance;
+
+import com.google.protobuf.ByteString;
+import com.google.protobuf.CodedInputStream;
+import com.google.protobuf.WireFormat;
+import com.google.protobuf.util.JsonFormat;
+
+import static org.jbpm.flow.serialization.protobuf.ProtobufTypeRegistryFactory.protobufTypeRegistryFactoryInstance;
+
+/**
+ * Reads the header fields of a marshalled process instance, skipping everything else.
+ * For the binary format the workflow context (node instances and variables) is retained as an aliased
+ * {@link ByteString}, so it is neither copied nor parsed unless requested.
+ */
+public class ProtobufProcessInstanceHeaderReader {
+
+    public ProcessInstanceHeader read(byte[] data) throws IOException {
+        CodedInputStream input = CodedInputStream.newInstance(data);
+        input.enableAliasing(true);
+        ProcessInstance.Builder header = ProcessInstance.newBuilder();
+        ByteString rawContext = null;
+        int tag;
+        while ((tag = input.readTag()) != 0) {
+            switch (WireFormat.getTagFieldNumber(tag)) {
+                case ProcessInstance.PROCESS_TYPE_FIELD_NUMBER:
+                    header.setProcessType(input.readStringRequireUtf8());
+                    break;
+                case ProcessInstance.PROCESS_ID_FIELD_NUMBER:
+                    header.setProcessId(input.readStringRequireUtf8());
+                    break;
+                case ProcessInstance.PROCESS_VERSION_FIELD_NUMBER:
+                    header.setProcessVersion(input.readStringRequireUtf8());
+                    break;
+                case ProcessInstance.ID_FIELD_NUMBER:
+                    header.setId(input.readStringRequireUtf8());
+                    break;
+                case ProcessInstance.PARENT_PROCESS_INSTANCE_ID_FIELD_NUMBER:
+                    header.setParentProcessInstanceId(input.readStringRequireUtf8());
+                    break;
+                case ProcessInstance.BUSINESS_KEY_FIELD_NUMBER:
+                    header.setBusinessKey(input.readStringRequireUtf8());
+                    break;
+                case ProcessInstance.DESCRIPTION_FIELD_NUMBER:
+                    header.setDescription(input.readStringRequireUtf8());
+                    break;
+                case ProcessInstance.STATE_FIELD_NUMBER:
+                    header.setState(input.readInt32());
+                    break;
+                case ProcessInstance.START_DATE_FIELD_NUMBER:
+                    header.setStartDate(input.readInt64());
+                    break;
+                case ProcessInstance.ROOT_PROCESS_INSTANCE_ID_FIELD_NUMBER:
+                    header.setRootProcessInstanceId(input.readStringRequireUtf8());
+                    break;
+                case ProcessInstance.ROOT_PROCESS_ID_FIELD_NUMBER:
+                    header.setRootProcessId(input.readStringRequireUtf8());
+                    break;
+                case ProcessInstance.ERROR_NODE_ID_FIELD_NUMBER:
+                    header.setErrorNodeId(input.readStringRequireUtf8());
+                    break;
+                case ProcessInstance.ERROR_MESSAGE_FIELD_NUMBER:
+                    header.setErrorMessage(input.readStringRequireUtf8());
+                    break;
+                case ProcessInstance.REFERENCE_ID_FIELD_NUMBER:
+                    header.setReferenceId(input.readStringRequireUtf8());
+                    break;
+                case ProcessInstance.CONTEXT_FIELD_NUMBER:
+                    // a message field might be split in several chunks, which are merged when parsed
+                    ByteString chunk = input.readBytes();
+                    rawContext = rawContext == null ? chunk : rawContext.concat(chunk);
+                    break;
+                default:
+                    input.skipField(tag);
+            }
+        }
+        return new ProcessInstanceHeader(header.build(), rawContext);
+    }
+
+    public ProcessInstanceHeader readJson(byte[] data) throws IOException {
+        // json has no length prefixed sections to skip, so the whole instance is parsed
+        ProcessInstance.Builder builder = ProcessInstance.newBuilder();
+        JsonFormat.parser().usingTypeRegistry(protobufTypeRegistryFactoryInstance().create()).ignoringUnknownFields()
+                .merge(new InputStreamReader(new ByteArrayInputStream(data), StandardCharsets.UTF_8), builder);
+        return new ProcessInstanceHeader(builder.build());
+    }
+
+    public ProcessInstanceHeader read(byte[] data, ProcessInstanceMessageFormat format) throws IOException {
+        ProcessInstance.Builder builder = ProcessInstance.newBuilder();
+        format.merge(new ByteArrayInputStream(data), builder);
+        return new ProcessInstanceHeader(builder.build());
+    }
+}
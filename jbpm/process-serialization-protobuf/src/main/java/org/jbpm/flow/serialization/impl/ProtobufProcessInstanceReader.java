@@ -32,6 +32,7 @@ import org.jbpm.flow.serialization.MarshallerContextName;
 import org.jbpm.flow.serialization.MarshallerReaderContext;
 import org.jbpm.flow.serialization.NodeInstanceReader;
 import org.jbpm.flow.serialization.ProcessInstanceMarshallerListener;
+import org.jbpm.flow.serialization.ProcessInstanceMessageFormat;
 import org.jbpm.flow.serialization.protobuf.KogitoProcessInstanceProtobuf;
 import org.jbpm.flow.serialization.protobuf.KogitoTypesProtobuf;
 import org.jbpm.flow.serialization.protobuf.KogitoTypesProtobuf.SLAContext;
@@ -80,8 +81,13 @@ public class ProtobufProcessInstanceReader {
         LOGGER.debug("read process");
         KogitoProcessInstanceProtobuf.ProcessInstance processInstanceProtobuf;
 
+        ProcessInstanceMessageFormat messageFormat = this.context.get(MarshallerContextName.MARSHALLER_MESSAGE_FORMAT);
         String format = this.context.get(MarshallerContextName.MARSHALLER_FORMAT);
-        if (format != null && MarshallerContextName.MARSHALLER_FORMAT_JSON.equals(format)) {
+        if (messageFormat != null) {
+            KogitoProcessInstanceProtobuf.ProcessInstance.Builder builder = KogitoProcessInstanceProtobuf.ProcessInstance.newBuilder();
+            messageFormat.merge(input, builder);
+            processInstanceProtobuf = builder.build();
+        } else if (format != null && MarshallerContextName.MARSHALLER_FORMAT_JSON.equals(format)) {
             KogitoProcessInstanceProtobuf.ProcessInstance.Builder builder = KogitoProcessInstanceProtobuf.ProcessInstance.newBuilder();
             JsonFormat.parser().usingTypeRegistry(protobufTypeRegistryFactoryInstance().create()).ignoringUnknownFields().merge(new InputStreamReader(input), builder);
             processInstanceProtobuf = builder.build();
@@ -34,6 +34,7 @@ import org.jbpm.flow.serialization.MarshallerContextName;
 import org.jbpm.flow.serialization.MarshallerWriterContext;
 import org.jbpm.flow.serialization.NodeInstanceWriter;
 import org.jbpm.flow.serialization.ProcessInstanceMarshallerListener;
+import org.jbpm.flow.serialization.ProcessInstanceMessageFormat;
 import org.jbpm.flow.serialization.protobuf.KogitoProcessInstanceProtobuf;
 import org.jbpm.flow.serialization.protobuf.KogitoTypesProtobuf;
 import org.jbpm.flow.serialization.protobuf.KogitoTypesProtobuf.WorkflowContext;
@@ -63,6 +64,7 @@ import com.google.protobuf.util.JsonFormat;
 
 import static org.jbpm.flow.serialization.MarshallerContextName.MARSHALLER_FORMAT;
 import static org.jbpm.flow.serialization.MarshallerContextName.MARSHALLER_FORMAT_JSON;
+import static org.jbpm.flow.serialization.MarshallerContextName.MARSHALLER_MESSAGE_FORMAT;
 import static org.jbpm.flow.serialization.protobuf.ProtobufTypeRegistryFactory.protobufTypeRegistryFactoryInstance;
 
 public class ProtobufProcessInstanceWriter {
@@ -138,8 +140,11 @@ public class ProtobufProcessInstanceWriter {
 
         KogitoProcessInstanceProtobuf.ProcessInstance piProtobuf = instance.build();
 
+        ProcessInstanceMessageFormat messageFormat = this.context.get(MARSHALLER_MESSAGE_FORMAT);
         String format = this.context.get(MARSHALLER_FORMAT);
-        if (format != null && MARSHALLER_FORMAT_JSON.equals(format)) {
+        if (messageFormat != null) {
+            messageFormat.write(piProtobuf, os);
+        } else if (format != null && MARSHALLER_FORMAT_JSON.equals(format)) {
             os.write(JsonFormat.printer().usingTypeRegistry(protobufTypeRegistryFactoryInstance().create()).print(piProtobuf).getBytes());
         } else {
             piProtobuf.writeTo(os);
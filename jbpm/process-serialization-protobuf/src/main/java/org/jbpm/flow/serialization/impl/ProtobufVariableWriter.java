@@ -51,7 +51,7 @@ public class ProtobufVariableWriter {
             if (entry.getValue() != null) {
                 Object value = entry.getValue();
                 ObjectMarshallerStrategy strategy = context.findObjectMarshallerStrategyFor(value);
-                variableBuilder.setDataType(entry.getValue().getClass().getName()).setValue(strategy.marshall(value));
+                variableBuilder.setDataType(entry.getValue().getClass().getName()).setValue(strategy.marshall(context, value));
             } else {
                 variableBuilder.setValue(Any.pack(BytesValue.of(ByteString.EMPTY)));
             }
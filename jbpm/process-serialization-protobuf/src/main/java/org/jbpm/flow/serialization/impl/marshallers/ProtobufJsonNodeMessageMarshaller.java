@@ -18,18 +18,66 @@
  */
 package org.jbpm.flow.serialization.impl.marshallers;
 
+import java.io.IOException;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
+
+import org.jbpm.flow.serialization.MarshallerContextName;
+import org.jbpm.flow.serialization.MarshallerWriterContext;
 import org.jbpm.flow.serialization.ObjectMarshallerStrategy;
 import org.jbpm.flow.serialization.ProcessInstanceMarshallerException;
 import org.jbpm.flow.serialization.protobuf.KogitoTypesProtobuf;
+import org.kie.kogito.jackson.utils.JsonNodeFactoryListener;
 import org.kie.kogito.jackson.utils.ObjectMapperFactory;
+import org.kie.kogito.process.ProcessConfig;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
 import com.google.protobuf.Any;
-import com.google.protobuf.InvalidProtocolBufferException;
+import com.google.protobuf.ByteString;
 
+/**
+ * Stores JsonNode values as text by default, readable by every previous version. When binary encoding is enabled, values are
+ * stored in the binary field of the protobuf message instead: a format byte followed by the Smile encoding of the node, deflated
+ * when it is larger than the compression threshold. Both encodings are always read.
+ * <p>
+ * Set {@value #BINARY_PROPERTY} to true to write binary values, once no node running a previous version is left, and
+ * {@value #COMPRESSION_THRESHOLD_PROPERTY} to change the threshold ({@value #DEFAULT_COMPRESSION_THRESHOLD} bytes by default,
+ * a negative value disables compression). Both are part of the process configuration, which the marshaller reads from the
+ * {@link MarshallerContextName#MARSHALLER_JSON_NODE_BINARY} and {@link MarshallerContextName#MARSHALLER_JSON_NODE_COMPRESSION_THRESHOLD}
+ * context entries of the process instance being written; outside a context they are read from system properties.
+ */
 public class ProtobufJsonNodeMessageMarshaller implements ObjectMarshallerStrategy {
 
+    public static final String BINARY_PROPERTY = ProcessConfig.JSON_NODE_BINARY_PROPERTY;
+    public static final String COMPRESSION_THRESHOLD_PROPERTY = ProcessConfig.JSON_NODE_COMPRESSION_THRESHOLD_PROPERTY;
+    public static final int DEFAULT_COMPRESSION_THRESHOLD = ProcessConfig.DEFAULT_JSON_NODE_COMPRESSION_THRESHOLD;
+
+    static final byte SMILE = 1;
+    static final byte SMILE_DEFLATED = 2;
+
+    private static class SmileObjectMapper {
+        private static final ObjectMapper instance = SmileMapper.builder().build().setNodeFactory(new JsonNodeFactoryListener());
+    }
+
+    // null when the encoding follows the marshaller context
+    private final Boolean binary;
+    private final int compressionThreshold;
+
+    /**
+     * Creates a marshaller following the encoding of the marshaller context, as the ones loaded as services.
+     */
+    public ProtobufJsonNodeMessageMarshaller() {
+        this.binary = null;
+        this.compressionThreshold = DEFAULT_COMPRESSION_THRESHOLD;
+    }
+
+    public ProtobufJsonNodeMessageMarshaller(boolean binary, int compressionThreshold) {
+        this.binary = binary;
+        this.compressionThreshold = compressionThreshold;
+    }
+
     @Override
     public boolean acceptForMarshalling(Object value) {
         return value instanceof JsonNode;
@@ -42,19 +90,72 @@ public class ProtobufJsonNodeMessageMarshaller implements ObjectMarshallerStrate
 
     @Override
     public Any marshall(Object unmarshalled) {
+        return binary == null
+                ? marshall((JsonNode) unmarshalled, MarshallerContextName.MARSHALLER_JSON_NODE_BINARY.defaultValue(),
+                        MarshallerContextName.MARSHALLER_JSON_NODE_COMPRESSION_THRESHOLD.defaultValue())
+                : marshall((JsonNode) unmarshalled, binary, compressionThreshold);
+    }
+
+    @Override
+    public Any marshall(MarshallerWriterContext context, Object unmarshalled) {
+        return binary == null
+                ? marshall((JsonNode) unmarshalled, context.get(MarshallerContextName.MARSHALLER_JSON_NODE_BINARY),
+                        context.get(MarshallerContextName.MARSHALLER_JSON_NODE_COMPRESSION_THRESHOLD))
+                : marshall((JsonNode) unmarshalled, binary, compressionThreshold);
+    }
+
+    private static Any marshall(JsonNode node, boolean binary, int compressionThreshold) {
         KogitoTypesProtobuf.JsonNode.Builder builder = KogitoTypesProtobuf.JsonNode.newBuilder();
-        JsonNode node = (JsonNode) unmarshalled;
-        builder.setContent(node.toPrettyString());
+        if (binary) {
+            builder.setBinary(encode(node, compressionThreshold));
+        } else {
+            builder.setContent(node.toString());
+        }
         return Any.pack(builder.build());
     }
 
+    private static ByteString encode(JsonNode node, int compressionThreshold) {
+        try {
+            byte[] smile = SmileObjectMapper.instance.writeValueAsBytes(node);
+            boolean compress = compressionThreshold >= 0 && smile.length > compressionThreshold;
+            ByteString.Output output = ByteString.newOutput(compress ? smile.length / 4 : smile.length + 1);
+            if (compress) {
+                output.write(SMILE_DEFLATED);
+                try (DeflaterOutputStream deflater = new DeflaterOutputStream(output)) {
+                    deflater.write(smile);
+                }
+            } else {
+                output.write(SMILE);
+                output.write(smile);
+            }
+            return output.toByteString();
+        } catch (IOException e) {
+            throw new ProcessInstanceMarshallerException("Error trying to marshalling a Json Node value", e);
+        }
+    }
+
     @Override
     public Object unmarshall(Any data) {
         try {
             KogitoTypesProtobuf.JsonNode storedValue = data.unpack(KogitoTypesProtobuf.JsonNode.class);
-            return ObjectMapperFactory.listenerAware().readTree(storedValue.getContent());
-        } catch (InvalidProtocolBufferException | JsonProcessingException e1) {
+            ByteString stored = storedValue.getBinary();
+            return stored.isEmpty() ? ObjectMapperFactory.listenerAware().readTree(storedValue.getContent()) : decode(stored);
+        } catch (IOException e1) {
             throw new ProcessInstanceMarshallerException("Error trying to unmarshalling a Json Node value", e1);
         }
     }
-}
\ No newline at end of file
+
+    private JsonNode decode(ByteString stored) throws IOException {
+        byte format = stored.byteAt(0);
+        switch (format) {
+            case SMILE:
+                return SmileObjectMapper.instance.readTree(stored.substring(1).newInput());
+            case SMILE_DEFLATED:
+                try (InflaterInputStream inflater = new InflaterInputStream(stored.substring(1).newInput())) {
+                    return SmileObjectMapper.instance.readTree(inflater);
+                }
+            default:
+                throw new ProcessInstanceMarshallerException("Unsupported Json Node binary format " + format);
+        }
+    }
+}
@@ -54,6 +54,13 @@ public final class KogitoTypesProtobuf {
          */
         com.google.protobuf.ByteString
                 getContentBytes();
+
+        /**
+         * <code>bytes binary = 2;</code>
+         * 
+         * @return The binary.
+         */
+        com.google.protobuf.ByteString getBinary();
     }
 
     /**
@@ -72,6 +79,7 @@ public final class KogitoTypesProtobuf {
 
         private JsonNode() {
             content_ = "";
+            binary_ = com.google.protobuf.ByteString.EMPTY;
         }
 
         @java.lang.Override
@@ -137,6 +145,19 @@ public final class KogitoTypesProtobuf {
             }
         }
 
+        public static final int BINARY_FIELD_NUMBER = 2;
+        private com.google.protobuf.ByteString binary_ = com.google.protobuf.ByteString.EMPTY;
+
+        /**
+         * <code>bytes binary = 2;</code>
+         * 
+         * @return The binary.
+         */
+        @java.lang.Override
+        public com.google.protobuf.ByteString getBinary() {
+            return binary_;
+        }
+
         private byte memoizedIsInitialized = -1;
 
         @java.lang.Override
@@ -157,6 +178,9 @@ public final class KogitoTypesProtobuf {
             if (!com.google.protobuf.GeneratedMessageV3.isStringEmpty(content_)) {
                 com.google.protobuf.GeneratedMessageV3.writeString(output, 1, content_);
             }
+            if (!binary_.isEmpty()) {
+                output.writeBytes(2, binary_);
+            }
             getUnknownFields().writeTo(output);
         }
 
@@ -170,6 +194,10 @@ public final class KogitoTypesProtobuf {
             if (!com.google.protobuf.GeneratedMessageV3.isStringEmpty(content_)) {
                 size += com.google.protobuf.GeneratedMessageV3.computeStringSize(1, content_);
             }
+            if (!binary_.isEmpty()) {
+                size += com.google.protobuf.CodedOutputStream
+                        .computeBytesSize(2, binary_);
+            }
             size += getUnknownFields().getSerializedSize();
             memoizedSize = size;
             return size;
@@ -188,6 +216,9 @@ public final class KogitoTypesProtobuf {
             if (!getContent()
                     .equals(other.getContent()))
                 return false;
+            if (!getBinary()
+                    .equals(other.getBinary()))
+                return false;
             if (!getUnknownFields().equals(other.getUnknownFields()))
                 return false;
             return true;
@@ -202,6 +233,8 @@ public final class KogitoTypesProtobuf {
             hash = (19 * hash) + getDescriptor().hashCode();
             hash = (37 * hash) + CONTENT_FIELD_NUMBER;
             hash = (53 * hash) + getContent().hashCode();
+            hash = (37 * hash) + BINARY_FIELD_NUMBER;
+            hash = (53 * hash) + getBinary().hashCode();
             hash = (29 * hash) + getUnknownFields().hashCode();
             memoizedHashCode = hash;
             return hash;
@@ -351,6 +384,7 @@ public final class KogitoTypesProtobuf {
                 super.clear();
                 bitField0_ = 0;
                 content_ = "";
+                binary_ = com.google.protobuf.ByteString.EMPTY;
                 return this;
             }
 
@@ -389,6 +423,9 @@ public final class KogitoTypesProtobuf {
                 if (((from_bitField0_ & 0x00000001) != 0)) {
                     result.content_ = content_;
                 }
+                if (((from_bitField0_ & 0x00000002) != 0)) {
+                    result.binary_ = binary_;
+                }
             }
 
             @java.lang.Override
@@ -447,6 +484,9 @@ public final class KogitoTypesProtobuf {
                     bitField0_ |= 0x00000001;
                     onChanged();
                 }
+                if (other.getBinary() != com.google.protobuf.ByteString.EMPTY) {
+                    setBinary(other.getBinary());
+                }
                 this.mergeUnknownFields(other.getUnknownFields());
                 onChanged();
                 return this;
@@ -478,6 +518,11 @@ public final class KogitoTypesProtobuf {
                                 bitField0_ |= 0x00000001;
                                 break;
                             } // case 10
+                            case 18: {
+                                binary_ = input.readBytes();
+                                bitField0_ |= 0x00000002;
+                                break;
+                            } // case 18
                             default: {
                                 if (!super.parseUnknownField(input, extensionRegistry, tag)) {
                                     done = true; // was an endgroup tag
@@ -582,6 +627,46 @@ public final class KogitoTypesProtobuf {
                 return this;
             }
 
+            private com.google.protobuf.ByteString binary_ = com.google.protobuf.ByteString.EMPTY;
+
+            /**
+             * <code>bytes binary = 2;</code>
+             * 
+             * @return The binary.
+             */
+            @java.lang.Override
+            public com.google.protobuf.ByteString getBinary() {
+                return binary_;
+            }
+
+            /**
+             * <code>bytes binary = 2;</code>
+             * 
+             * @param value The binary to set.
+             * @return This builder for chaining.
+             */
+            public Builder setBinary(com.google.protobuf.ByteString value) {
+                if (value == null) {
+                    throw new NullPointerException();
+                }
+                binary_ = value;
+                bitField0_ |= 0x00000002;
+                onChanged();
+                return this;
+            }
+
+            /**
+             * <code>bytes binary = 2;</code>
+             * 
+             * @return This builder for chaining.
+             */
+            public Builder clearBinary() {
+                bitField0_ = (bitField0_ & ~0x00000002);
+                binary_ = getDefaultInstance().getBinary();
+                onChanged();
+                return this;
+            }
+
             @java.lang.Override
             public final Builder setUnknownFields(
                     final com.google.protobuf.UnknownFieldSet unknownFields) {
@@ -8962,7 +9047,8 @@ public final class KogitoTypesProtobuf {
                 "\n7org/jbpm/flow/serialization/protobuf/k" +
                         "ogito_types.proto\022$org.jbpm.flow.seriali" +
                         "zation.protobuf\032\031google/protobuf/any.pro" +
-                        "to\"\033\n\010JsonNode\022\017\n\007content\030\001 \001(\t\"\033\n\010Docum" +
+                        "to\"+\n\010JsonNode\022\017\n\007content\030\001 \001(\t\022\016\n\006bina" +
+                        "ry\030\002 \001(\014\"\033\n\010Docum" +
                         "ent\022\017\n\007content\030\001 \001(\t\"_\n\010Variable\022\014\n\004name" +
                         "\030\001 \001(\t\022\021\n\tdata_type\030\002 \001(\t\022(\n\005value\030\003 \001(\013" +
                         "2\024.google.protobuf.AnyH\000\210\001\001B\010\n\006_value\"\350\001" +
@@ -9000,7 +9086,7 @@ public final class KogitoTypesProtobuf {
                 getDescriptor().getMessageTypes().get(0);
         internal_static_org_jbpm_flow_serialization_protobuf_JsonNode_fieldAccessorTable = new com.google.protobuf.GeneratedMessageV3.FieldAccessorTable(
                 internal_static_org_jbpm_flow_serialization_protobuf_JsonNode_descriptor,
-                new java.lang.String[] { "Content", });
+                new java.lang.String[] { "Content", "Binary", });
         internal_static_org_jbpm_flow_serialization_protobuf_Document_descriptor =
                 getDescriptor().getMessageTypes().get(1);
         internal_static_org_jbpm_flow_serialization_protobuf_Document_fieldAccessorTable = new com.google.protobuf.GeneratedMessageV3.FieldAccessorTable(
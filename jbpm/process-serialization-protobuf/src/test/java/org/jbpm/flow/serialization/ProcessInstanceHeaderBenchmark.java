@@ -0,0 +1,106 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.jbpm.flow.serialization;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.jbpm.flow.serialization.impl.ProtobufProcessInstanceHeaderReader;
+import org.jbpm.flow.serialization.protobuf.KogitoProcessInstanceProtobuf;
+import org.jbpm.flow.serialization.protobuf.KogitoTypesProtobuf;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import com.google.protobuf.Any;
+
+/**
+ * Compares decoding the header of a large marshalled process instance against parsing it completely.
+ * Run it from the IDE or with {@code mvn test-compile exec:java -Dexec.classpathScope=test -Dexec.mainClass=org.jbpm.flow.serialization.ProcessInstanceHeaderBenchmark}
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ProcessInstanceHeaderBenchmark {
+
+    @Param({ "10", "100", "1000" })
+    private int nodeInstances;
+
+    private byte[] data;
+
+    private ProtobufProcessInstanceHeaderReader headerReader;
+
+    @Setup
+    public void setup() {
+        KogitoTypesProtobuf.WorkflowContext.Builder context = KogitoTypesProtobuf.WorkflowContext.newBuilder();
+        for (int i = 0; i < nodeInstances; i++) {
+            context.addNodeInstance(KogitoTypesProtobuf.NodeInstance.newBuilder()
+                    .setId("node-instance-" + i)
+                    .setNodeId("node-" + i)
+                    .setLevel(1)
+                    .setTriggerDate(System.currentTimeMillis())
+                    .setContent(Any.pack(KogitoTypesProtobuf.JsonNode.newBuilder().setContent("{\"iteration\":" + i + ",\"payload\":\"" + "x".repeat(64) + "\"}").build())));
+            context.addVariable(KogitoTypesProtobuf.Variable.newBuilder()
+                    .setName("var" + i)
+                    .setDataType("com.fasterxml.jackson.databind.JsonNode")
+                    .setValue(Any.pack(KogitoTypesProtobuf.JsonNode.newBuilder().setContent("{\"value\":" + i + "}").build())));
+        }
+        data = KogitoProcessInstanceProtobuf.ProcessInstance.newBuilder()
+                .setProcessType("RuleFlow")
+                .setProcessId("benchmark")
+                .setProcessVersion("1.0")
+                .setId("6a1c4b3e-0f5a-4a5c-9a0e-36b25b1d8d11")
+                .setBusinessKey("business-key")
+                .setDescription("Benchmark process instance")
+                .setState(1)
+                .setStartDate(System.currentTimeMillis())
+                .setContext(context)
+                .build()
+                .toByteArray();
+        headerReader = new ProtobufProcessInstanceHeaderReader();
+    }
+
+    @Benchmark
+    public int fullParse() throws IOException {
+        return KogitoProcessInstanceProtobuf.ProcessInstance.parseFrom(data).getState();
+    }
+
+    @Benchmark
+    public int headerOnly() throws IOException {
+        return headerReader.read(data).getState();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(ProcessInstanceHeaderBenchmark.class.getSimpleName()).build()).run();
+    }
+}
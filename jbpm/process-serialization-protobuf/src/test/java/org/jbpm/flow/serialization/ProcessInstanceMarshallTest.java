@@ -44,6 +44,7 @@ import javax.xml.transform.dom.DOMSource;
 import javax.xml.transform.stream.StreamResult;
 
 import org.jbpm.flow.serialization.impl.ProtobufMarshallerReaderContext;
+import org.jbpm.flow.serialization.impl.ProtobufProcessInstanceHeaderReader;
 import org.jbpm.flow.serialization.impl.ProtobufProcessInstanceReader;
 import org.jbpm.flow.serialization.impl.ProtobufProcessInstanceWriter;
 import org.jbpm.flow.serialization.impl.ProtobufProcessMarshallerWriteContext;
@@ -241,6 +242,28 @@ public class ProcessInstanceMarshallTest {
                 .hasFieldOrPropertyWithValue("process", toMarshall.getProcess());
     }
 
+    @ParameterizedTest
+    @MethodSource("testProcessInstanceMarshalling")
+    public void testProcessInstanceHeader(RuleFlowProcessInstance toMarshall) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ProtobufProcessMarshallerWriteContext ctxOut = new ProtobufProcessMarshallerWriteContext(out);
+        ctxOut.set(MarshallerContextName.OBJECT_MARSHALLING_STRATEGIES, ObjectMarshallerStrategyHelper.defaultStrategies());
+        ctxOut.set(MarshallerContextName.MARSHALLER_PROCESS, process);
+        new ProtobufProcessInstanceWriter(ctxOut).writeProcessInstance(toMarshall, out);
+
+        ProcessInstanceHeader header = new ProtobufProcessInstanceHeaderReader().read(out.toByteArray());
+
+        assertThat(header.getId()).isEqualTo(toMarshall.getId());
+        assertThat(header.getState()).isEqualTo(toMarshall.getState());
+        assertThat(header.getStartDate()).isEqualTo(toMarshall.getStartDate());
+        assertThat(header.getProcessId()).isEqualTo(toMarshall.getProcessId());
+        assertThat(header.getDescription()).isEqualTo(toMarshall.getDescription());
+        assertThat(header.getRootProcessInstanceId()).isEqualTo(toMarshall.getRootProcessInstanceId());
+        assertThat(header.getRootProcessId()).isEqualTo(toMarshall.getRootProcessId());
+        assertThat(header.getParentProcessInstanceId()).isEqualTo(toMarshall.getParentProcessInstanceId());
+        assertThat(header.getWorkflowContext()).isNotNull();
+    }
+
     @ParameterizedTest
     @MethodSource
     @NullSource
@@ -0,0 +1,113 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.jbpm.flow.serialization.impl.marshallers;
+
+import java.util.concurrent.TimeUnit;
+
+import org.kie.kogito.jackson.utils.ObjectMapperFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.google.protobuf.Any;
+
+/**
+ * Compares the time to marshall and unmarshall serverless workflow data with the text and binary encodings.
+ * Run it from the IDE or with {@code mvn test-compile exec:java -Dexec.classpathScope=test -Dexec.mainClass=org.jbpm.flow.serialization.impl.marshallers.ProtobufJsonNodeMessageMarshallerBenchmark}
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ProtobufJsonNodeMessageMarshallerBenchmark {
+
+    @Param({ "10", "100", "1000" })
+    private int orders;
+
+    @Param({ "text", "binary", "compressed" })
+    private String format;
+
+    private JsonNode workflowData;
+    private Any marshalled;
+    private ProtobufJsonNodeMessageMarshaller marshaller;
+
+    @Setup
+    public void setup() {
+        switch (format) {
+            case "text":
+                marshaller = new ProtobufJsonNodeMessageMarshaller(false, -1);
+                break;
+            case "binary":
+                marshaller = new ProtobufJsonNodeMessageMarshaller(true, -1);
+                break;
+            default:
+                marshaller = new ProtobufJsonNodeMessageMarshaller(true, 0);
+        }
+        workflowData = workflowData(orders);
+        marshalled = marshaller.marshall(workflowData);
+    }
+
+    // shaped like the state of an order processing workflow after a few function calls
+    private static JsonNode workflowData(int orders) {
+        ObjectNode data = ObjectMapperFactory.get().createObjectNode();
+        data.putObject("customer").put("id", "c-1234").put("name", "Javier Perez").put("email", "javier@example.com").put("vip", true);
+        ArrayNode array = data.putArray("orders");
+        for (int i = 0; i < orders; i++) {
+            ObjectNode order = array.addObject();
+            order.put("orderId", "order-" + i).put("status", i % 3 == 0 ? "SHIPPED" : "PENDING").put("total", i * 10.25).put("createdAt", "2024-05-" + (10 + i % 20) + "T10:15:30Z");
+            ArrayNode lines = order.putArray("lines");
+            for (int j = 0; j < 3; j++) {
+                lines.addObject().put("sku", "SKU-" + (i * 3 + j)).put("quantity", j + 1).put("unitPrice", 3.5 * (j + 1)).put("description", "Product description " + j);
+            }
+            order.putObject("shipping").put("street", "Calle Mayor " + i).put("city", "Madrid").put("zip", "28013").put("country", "ES");
+        }
+        data.putObject("validation").put("valid", true).putArray("errors");
+        return data;
+    }
+
+    @Benchmark
+    public Any marshall() {
+        return marshaller.marshall(workflowData);
+    }
+
+    @Benchmark
+    public Object unmarshall() {
+        return marshaller.unmarshall(marshalled);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(ProtobufJsonNodeMessageMarshallerBenchmark.class.getSimpleName()).build()).run();
+    }
+}
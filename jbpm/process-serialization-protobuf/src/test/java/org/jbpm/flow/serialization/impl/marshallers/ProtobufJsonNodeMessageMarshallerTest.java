@@ -0,0 +1,124 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.jbpm.flow.serialization.impl.marshallers;
+
+import java.io.ByteArrayOutputStream;
+
+import org.jbpm.flow.serialization.MarshallerContextName;
+import org.jbpm.flow.serialization.MarshallerWriterContext;
+import org.jbpm.flow.serialization.ProcessInstanceMarshallerException;
+import org.jbpm.flow.serialization.impl.ProtobufProcessMarshallerWriteContext;
+import org.jbpm.flow.serialization.protobuf.KogitoTypesProtobuf;
+import org.junit.jupiter.api.Test;
+import org.kie.kogito.jackson.utils.ObjectMapperFactory;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.google.protobuf.Any;
+import com.google.protobuf.ByteString;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ProtobufJsonNodeMessageMarshallerTest {
+
+    private static JsonNode workflowData(int items) {
+        ObjectNode node = ObjectMapperFactory.get().createObjectNode();
+        node.put("name", "Javierito").put("age", 45).put("active", true).putNull("nothing");
+        ArrayNode array = node.putArray("items");
+        for (int i = 0; i < items; i++) {
+            array.addObject().put("id", i).put("description", "item number " + i).put("price", i * 1.5);
+        }
+        return node;
+    }
+
+    @Test
+    void testBinaryRoundTrip() {
+        ProtobufJsonNodeMessageMarshaller marshaller = new ProtobufJsonNodeMessageMarshaller(true, -1);
+        JsonNode node = workflowData(10);
+        Any any = marshaller.marshall(node);
+        assertThat(marshaller.acceptForUnmarshalling(any)).isTrue();
+        assertThat(unpack(any).getContent()).isEmpty();
+        assertThat(unpack(any).getBinary().byteAt(0)).isEqualTo(ProtobufJsonNodeMessageMarshaller.SMILE);
+        assertThat(marshaller.unmarshall(any)).isEqualTo(node);
+    }
+
+    @Test
+    void testCompressedRoundTrip() {
+        ProtobufJsonNodeMessageMarshaller marshaller = new ProtobufJsonNodeMessageMarshaller(true, 1024);
+        JsonNode node = workflowData(1000);
+        Any any = marshaller.marshall(node);
+        ByteString binary = unpack(any).getBinary();
+        assertThat(binary.byteAt(0)).isEqualTo(ProtobufJsonNodeMessageMarshaller.SMILE_DEFLATED);
+        assertThat(binary.size()).isLessThan(node.toString().length() / 2);
+        assertThat(marshaller.unmarshall(any)).isEqualTo(node);
+    }
+
+    @Test
+    void testTextRoundTrip() {
+        ProtobufJsonNodeMessageMarshaller marshaller = new ProtobufJsonNodeMessageMarshaller(false, -1);
+        JsonNode node = workflowData(10);
+        Any any = marshaller.marshall(node);
+        assertThat(unpack(any).getBinary().isEmpty()).isTrue();
+        assertThat(marshaller.unmarshall(any)).isEqualTo(node);
+    }
+
+    @Test
+    void testTextByDefault() {
+        Any any = new ProtobufJsonNodeMessageMarshaller().marshall(workflowData(10));
+        assertThat(unpack(any).getBinary().isEmpty()).isTrue();
+    }
+
+    @Test
+    void testContextBinary() {
+        ProtobufJsonNodeMessageMarshaller marshaller = new ProtobufJsonNodeMessageMarshaller();
+        MarshallerWriterContext context = new ProtobufProcessMarshallerWriteContext(new ByteArrayOutputStream());
+        context.set(MarshallerContextName.MARSHALLER_JSON_NODE_BINARY, true);
+        context.set(MarshallerContextName.MARSHALLER_JSON_NODE_COMPRESSION_THRESHOLD, -1);
+        JsonNode node = workflowData(10);
+        Any any = marshaller.marshall(context, node);
+        assertThat(unpack(any).getBinary().byteAt(0)).isEqualTo(ProtobufJsonNodeMessageMarshaller.SMILE);
+        assertThat(marshaller.unmarshall(any)).isEqualTo(node);
+        // the context only affects the process instance it belongs to
+        assertThat(unpack(marshaller.marshall(new ProtobufProcessMarshallerWriteContext(new ByteArrayOutputStream()), node)).getBinary().isEmpty()).isTrue();
+    }
+
+    @Test
+    void testReadPreviousFormat() {
+        JsonNode node = workflowData(10);
+        Any any = Any.pack(KogitoTypesProtobuf.JsonNode.newBuilder().setContent(node.toPrettyString()).build());
+        assertThat(new ProtobufJsonNodeMessageMarshaller().unmarshall(any)).isEqualTo(node);
+    }
+
+    @Test
+    void testUnknownFormat() {
+        Any any = Any.pack(KogitoTypesProtobuf.JsonNode.newBuilder().setBinary(ByteString.copyFrom(new byte[] { 99, 1, 2 })).build());
+        ProtobufJsonNodeMessageMarshaller marshaller = new ProtobufJsonNodeMessageMarshaller();
+        assertThatThrownBy(() -> marshaller.unmarshall(any)).isInstanceOf(ProcessInstanceMarshallerException.class);
+    }
+
+    private static KogitoTypesProtobuf.JsonNode unpack(Any any) {
+        try {
+            return any.unpack(KogitoTypesProtobuf.JsonNode.class);
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
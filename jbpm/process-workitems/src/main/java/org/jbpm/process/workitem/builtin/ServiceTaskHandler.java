@@ -47,6 +47,14 @@ public class ServiceTaskHandler extends DefaultKogitoWorkItemHandler {
         this.resultVarName = resultVarName;
     }
 
+    /**
+     * Every work item invokes a new instance of the service, so calls of different work items share no state.
+     */
+    @Override
+    public boolean isThreadSafe() {
+        return true;
+    }
+
     @Override
     public Optional<WorkItemTransition> activateWorkItemHandler(KogitoWorkItemManager manager, KogitoWorkItemHandler handler, KogitoWorkItem workItem, WorkItemTransition transition) {
 
@@ -20,6 +20,8 @@ package org.kie.kogito.process.workitems;
 
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
 
 import org.kie.api.runtime.process.WorkItemHandler;
 import org.kie.kogito.internal.process.workitem.KogitoWorkItemHandler;
@@ -28,6 +30,17 @@ public interface InternalKogitoWorkItemManager extends org.drools.core.process.W
 
     void internalExecuteWorkItem(InternalKogitoWorkItem workItem);
 
+    /**
+     * Starts executing a work item whose handler is thread safe. Implementations may run the handler on a thread of
+     * their own; the returned stage then completes with the action applying its outcome (signals, listener notifications,
+     * the exception thrown by the handler) to the process instance, which the caller runs on the thread of the process
+     * instance, with the error handling it uses around {@link #internalExecuteWorkItem(InternalKogitoWorkItem)}.
+     * The default implementation leaves the whole execution to that action.
+     */
+    default CompletionStage<Runnable> internalStartWorkItem(InternalKogitoWorkItem workItem) {
+        return CompletableFuture.completedFuture(() -> internalExecuteWorkItem(workItem));
+    }
+
     void internalAddWorkItem(InternalKogitoWorkItem workItem);
 
     void internalAbortWorkItem(String id);
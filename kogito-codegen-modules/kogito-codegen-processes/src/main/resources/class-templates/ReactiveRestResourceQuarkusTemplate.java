@@ -90,7 +90,7 @@ public class $Type$ReactiveResource {
     @Path("/{id}")
     @Produces(MediaType.APPLICATION_JSON)
     public CompletionStage<$Type$Output> getResource_$name$(@PathParam("id") String id) {
-        return CompletableFuture.supplyAsync(() -> processService.findById(process, id).orElseThrow(NotFoundException::new));
+        return processService.findByIdAsync(process, id).thenApply(model -> model.orElseThrow(NotFoundException::new));
     }
 
     @DELETE()
@@ -46,7 +46,10 @@ public class ProcessConfig extends org.kie.kogito.process.impl.AbstractProcessCo
             Instance<UnitOfWorkEventListener> unitOfWorkEventListeners,
             Instance<ProcessVersionResolver> versionResolver,
             Instance<IdentityProvider> identityProvider,
-            Instance<BusinessCalendar> businessCalendar) {
+            Instance<BusinessCalendar> businessCalendar,
+            @org.eclipse.microprofile.config.inject.ConfigProperty(name = "kogito.workitem.max-concurrency", defaultValue = "8") int workItemMaxConcurrency,
+            @org.eclipse.microprofile.config.inject.ConfigProperty(name = "kogito.serialization.json-node.binary", defaultValue = "false") boolean jsonNodeBinary,
+            @org.eclipse.microprofile.config.inject.ConfigProperty(name = "kogito.serialization.json-node.compression-threshold", defaultValue = "16384") int jsonNodeCompressionThreshold) {
 
         super(workItemHandlerConfig,
                 processEventListenerConfigs,
@@ -58,7 +61,10 @@ public class ProcessConfig extends org.kie.kogito.process.impl.AbstractProcessCo
                 unitOfWorkEventListeners,
                 versionResolver,
                 identityProvider,
-                businessCalendar);
+                businessCalendar,
+                workItemMaxConcurrency,
+                jsonNodeBinary,
+                jsonNodeCompressionThreshold);
     }
 
 }
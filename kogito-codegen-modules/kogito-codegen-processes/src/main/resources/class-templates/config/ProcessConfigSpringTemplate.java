@@ -46,7 +46,10 @@ public class ProcessConfig extends org.kie.kogito.process.impl.AbstractProcessCo
             List<UnitOfWorkEventListener> unitOfWorkEventListeners,
             List<ProcessVersionResolver> versionResolver,
             List<IdentityProvider> identityProvider,
-            List<BusinessCalendar> businessCalendar) {
+            List<BusinessCalendar> businessCalendar,
+            @org.springframework.beans.factory.annotation.Value("${kogito.workitem.max-concurrency:8}") int workItemMaxConcurrency,
+            @org.springframework.beans.factory.annotation.Value("${kogito.serialization.json-node.binary:false}") boolean jsonNodeBinary,
+            @org.springframework.beans.factory.annotation.Value("${kogito.serialization.json-node.compression-threshold:16384}") int jsonNodeCompressionThreshold) {
 
         super(workItemHandlerConfig,
                 processEventListenerConfigs,
@@ -58,6 +61,9 @@ public class ProcessConfig extends org.kie.kogito.process.impl.AbstractProcessCo
                 unitOfWorkEventListeners,
                 versionResolver,
                 identityProvider,
-                businessCalendar);
+                businessCalendar,
+                workItemMaxConcurrency,
+                jsonNodeBinary,
+                jsonNodeCompressionThreshold);
     }
 }
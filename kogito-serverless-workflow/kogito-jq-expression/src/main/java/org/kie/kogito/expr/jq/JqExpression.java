@@ -21,11 +21,16 @@ package org.kie.kogito.expr.jq;
 import java.lang.reflect.Field;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Supplier;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
 
 import org.kie.kogito.internal.process.runtime.KogitoProcessContext;
 import org.kie.kogito.jackson.utils.FunctionJsonNode;
@@ -55,11 +60,19 @@ public class JqExpression implements Expression {
     static final String LANG = "jq";
 
     private static final Logger logger = LoggerFactory.getLogger(JqExpression.class);
+    // secrets are resolved by key when accessed, so the same node serves every evaluation
+    private static final JsonNode SECRETS = new PrefixJsonNode<>(ExpressionHandlerUtils::getOptionalSecret);
     private final Map<Class<? extends net.thisptr.jackson.jq.Expression>, Collection<Field>> declaredFieldsMap = new ConcurrentHashMap<>();
     private final Map<Class<? extends net.thisptr.jackson.jq.Expression>, Collection<Field>> allFieldsMap = new ConcurrentHashMap<>();
 
+    private static final Pattern VARIABLE_REFERENCE = Pattern.compile("\\$([a-zA-Z_][a-zA-Z0-9_]*)");
+    private static final Set<String> MAGIC_VARIABLES = Set.of(ExpressionHandlerUtils.SECRET_MAGIC, ExpressionHandlerUtils.CONTEXT_MAGIC, ExpressionHandlerUtils.CONST_MAGIC);
+
     private final Supplier<Scope> scope;
     private final String expr;
+    // variables the expression text might reference, only those are bound into the evaluation scope
+    private final Set<String> referencedVariables;
+    private final Set<String> referencedAdditionalVariables;
 
     private net.thisptr.jackson.jq.Expression internalExpr;
     private JsonQueryException validationError;
@@ -77,6 +90,8 @@ public class JqExpression implements Expression {
     public JqExpression(Supplier<Scope> scope, String expr, Version version) {
         this.expr = expr;
         this.scope = scope;
+        this.referencedVariables = referencedVariables(expr);
+        this.referencedAdditionalVariables = referencedVariables.stream().filter(name -> !MAGIC_VARIABLES.contains(name)).collect(Collectors.toUnmodifiableSet());
         try {
             this.internalExpr = compile(version);
             checkFunctionCall(internalExpr);
@@ -85,6 +100,22 @@ public class JqExpression implements Expression {
         }
     }
 
+    /**
+     * Variable names appearing in the expression text. It might contain names that are not variable references
+     * (inside string literals for example), which is harmless, but never misses a referenced variable.
+     */
+    private static Set<String> referencedVariables(String expr) {
+        if (expr.indexOf('$') < 0) {
+            return Collections.emptySet();
+        }
+        Set<String> names = new HashSet<>();
+        Matcher matcher = VARIABLE_REFERENCE.matcher(expr);
+        while (matcher.find()) {
+            names.add(matcher.group(1));
+        }
+        return Collections.unmodifiableSet(names);
+    }
+
     private net.thisptr.jackson.jq.Expression compile(Version version) throws JsonQueryException {
         net.thisptr.jackson.jq.Expression expression;
         try {
@@ -193,7 +224,7 @@ public class JqExpression implements Expression {
 
     @Override
     public <T> T eval(Object target, Class<T> returnClass, KogitoProcessContext context) {
-        return eval(JsonObjectUtils.fromValue(target), returnClass, context);
+        return eval(target instanceof JsonNode ? (JsonNode) target : JsonObjectUtils.fromValue(target), returnClass, context);
     }
 
     @Override
@@ -204,10 +235,21 @@ public class JqExpression implements Expression {
 
     private Scope getScope(KogitoProcessContext processInfo) {
         Scope childScope = Scope.newChildScope(scope.get());
-        childScope.setValue(ExpressionHandlerUtils.SECRET_MAGIC, new PrefixJsonNode<>(ExpressionHandlerUtils::getOptionalSecret));
-        childScope.setValue(ExpressionHandlerUtils.CONTEXT_MAGIC, new FunctionJsonNode(ExpressionHandlerUtils.getContextFunction(processInfo)));
-        childScope.setValue(ExpressionHandlerUtils.CONST_MAGIC, ExpressionHandlerUtils.getConstants(processInfo));
-        VariablesHelper.getAdditionalVariables(processInfo).forEach(childScope::setValue);
+        if (referencedVariables.isEmpty()) {
+            return childScope;
+        }
+        if (referencedVariables.contains(ExpressionHandlerUtils.SECRET_MAGIC)) {
+            childScope.setValue(ExpressionHandlerUtils.SECRET_MAGIC, SECRETS);
+        }
+        if (referencedVariables.contains(ExpressionHandlerUtils.CONTEXT_MAGIC)) {
+            childScope.setValue(ExpressionHandlerUtils.CONTEXT_MAGIC, new FunctionJsonNode(ExpressionHandlerUtils.getContextFunction(processInfo)));
+        }
+        if (referencedVariables.contains(ExpressionHandlerUtils.CONST_MAGIC)) {
+            childScope.setValue(ExpressionHandlerUtils.CONST_MAGIC, ExpressionHandlerUtils.getConstants(processInfo));
+        }
+        if (!referencedAdditionalVariables.isEmpty()) {
+            VariablesHelper.getAdditionalVariables(processInfo, referencedAdditionalVariables::contains).forEach(childScope::setValue);
+        }
         return childScope;
     }
 
@@ -218,7 +260,8 @@ public class JqExpression implements Expression {
         TypedOutput output = output(returnClass);
         try {
             internalExpr.apply(getScope(processInfo), context, output);
-            return JsonObjectUtils.convertValue(output.getResult(), returnClass);
+            Object result = output.getResult();
+            return returnClass.isInstance(result) ? returnClass.cast(result) : JsonObjectUtils.convertValue(result, returnClass);
         } catch (JsonQueryException e) {
             throw new IllegalArgumentException("Unable to evaluate content " + context + " using expr " + expr, e);
         }
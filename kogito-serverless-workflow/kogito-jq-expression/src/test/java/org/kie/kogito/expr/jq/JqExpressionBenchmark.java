@@ -0,0 +1,126 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.kie.kogito.expr.jq;
+
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+import org.kie.kogito.internal.process.runtime.KogitoProcessContext;
+import org.kie.kogito.jackson.utils.ObjectMapperFactory;
+import org.kie.kogito.process.expr.Expression;
+import org.kie.kogito.process.expr.ExpressionHandlerFactory;
+import org.kie.kogito.serverless.workflow.test.MockBuilder;
+import org.mockito.Mockito;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+/**
+ * Measures the evaluation of the kind of jq expressions found in serverless workflows: state and action data filters,
+ * data manipulation, switch conditions and expressions using workflow magic variables.
+ * Run it from the IDE or with {@code mvn test-compile exec:java -Dexec.classpathScope=test -Dexec.mainClass=org.kie.kogito.expr.jq.JqExpressionBenchmark}
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JqExpressionBenchmark {
+
+    private KogitoProcessContext context;
+    private ObjectNode data;
+
+    private Expression stateFilter;
+    private Expression actionFilter;
+    private Expression dataExpression;
+    private Expression condition;
+    private Expression workflowVariable;
+    private Expression constant;
+
+    @Setup
+    public void setup() {
+        context = MockBuilder.kogitoProcessContext()
+                .withProcessInstanceMock(p -> Mockito.when(p.getId()).thenReturn("1111-2222-3333"))
+                .withConstants(Collections.singletonMap("threshold", 100))
+                .build();
+        data = ObjectMapperFactory.get().createObjectNode();
+        data.put("customerId", "c-1").put("age", 42);
+        ArrayNode orders = data.putArray("orders");
+        for (int i = 0; i < 20; i++) {
+            orders.addObject().put("id", "o-" + i).put("amount", i * 10);
+        }
+        data.putObject("result").put("status", "approved");
+
+        stateFilter = ExpressionHandlerFactory.get("jq", "{customerId, result}");
+        actionFilter = ExpressionHandlerFactory.get("jq", ".result");
+        dataExpression = ExpressionHandlerFactory.get("jq", "[.orders[] | select(.amount > 100) | .id]");
+        condition = ExpressionHandlerFactory.get("jq", ".age >= 18 and .result.status == \"approved\"");
+        workflowVariable = ExpressionHandlerFactory.get("jq", "$WORKFLOW.instanceId");
+        constant = ExpressionHandlerFactory.get("jq", ".orders | map(select(.amount > $CONST.threshold)) | length");
+    }
+
+    @Benchmark
+    public JsonNode stateDataFilter() {
+        return stateFilter.eval(data, JsonNode.class, context);
+    }
+
+    @Benchmark
+    public JsonNode actionDataFilter() {
+        return actionFilter.eval(data, JsonNode.class, context);
+    }
+
+    @Benchmark
+    public JsonNode dataExpression() {
+        return dataExpression.eval(data, JsonNode.class, context);
+    }
+
+    @Benchmark
+    public Boolean condition() {
+        return condition.eval(data, Boolean.class, context);
+    }
+
+    @Benchmark
+    public String workflowVariable() {
+        return workflowVariable.eval(data, String.class, context);
+    }
+
+    @Benchmark
+    public JsonNode constant() {
+        return constant.eval(data, JsonNode.class, context);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(JqExpressionBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -275,6 +275,20 @@ class JqExpressionHandlerTest {
         assertThat(parsedExpression.eval(getObjectNode(), String.class, context)).isEqualTo(expectedResult);
     }
 
+    @Test
+    void testJsonNodeResultIsNotCopied() {
+        ObjectNode objectNode = getObjectNode();
+        Expression parsedExpression = ExpressionHandlerFactory.get("jq", ".nested");
+        assertThat(parsedExpression.eval(objectNode, JsonNode.class, getContext())).isSameAs(objectNode.get("nested"));
+    }
+
+    @Test
+    void testVariableReferencedInsideString() {
+        Expression parsedExpression = ExpressionHandlerFactory.get("jq", "\"\\($CONST.someconstant)-\\(.propertyString)\"");
+        assertThat(parsedExpression.isValid()).isTrue();
+        assertThat(parsedExpression.eval(getObjectNode(), String.class, getContext())).isEqualTo("value-string");
+    }
+
     @Test
     void testHardcodedStringIsValidOrNot() {
         assertThat(ExpressionHandlerFactory.get("jq", "kserve_payload = to_kserve(image)").isValid()).isFalse();
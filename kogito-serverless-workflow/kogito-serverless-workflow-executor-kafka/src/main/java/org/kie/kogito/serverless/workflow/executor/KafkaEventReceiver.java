@@ -18,19 +18,16 @@
  */
 package org.kie.kogito.serverless.workflow.executor;
 
-import java.io.IOException;
-import java.util.ArrayList;
-import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.concurrent.CompletionStage;
 import java.util.function.Function;
 
-import org.kie.kogito.event.CloudEventUnmarshaller;
-import org.kie.kogito.event.CloudEventUnmarshallerFactory;
 import org.kie.kogito.event.Converter;
 import org.kie.kogito.event.DataEvent;
+import org.kie.kogito.event.DataEventFactory;
 import org.kie.kogito.event.EventReceiver;
-import org.kie.kogito.event.Subscription;
-import org.kie.kogito.event.impl.CloudEventConverter;
+import org.kie.kogito.event.impl.EventRouter;
 import org.kie.kogito.event.impl.JacksonCloudEventDataConverter;
 import org.kie.kogito.jackson.utils.ObjectMapperFactory;
 import org.slf4j.Logger;
@@ -42,41 +39,44 @@ import io.cloudevents.CloudEventData;
 public class KafkaEventReceiver implements EventReceiver {
 
     private static final Logger logger = LoggerFactory.getLogger(KafkaEventReceiver.class);
-    private final Collection<Subscription<?, CloudEvent>> subscriptions = new ArrayList<>();
 
-    @SuppressWarnings({ "rawtypes", "unchecked" })
-    public void onEvent(CloudEvent value) {
-        for (Subscription subscription : subscriptions) {
-            try {
-                subscription.getConsumer().apply(subscription.getConverter().convert(value));
-            } catch (IOException e) {
-                logger.info("Problem deserializing event {}", value, e);
-            }
+    private static class KafkaSubscriber<T> {
+        private final Function<DataEvent<T>, CompletionStage<?>> consumer;
+        private final Class<T> dataClass;
+        private final Converter<CloudEventData, T> dataConverter;
+
+        private KafkaSubscriber(Function<DataEvent<T>, CompletionStage<?>> consumer, Class<T> dataClass) {
+            this.consumer = consumer;
+            this.dataClass = dataClass;
+            this.dataConverter = new JacksonCloudEventDataConverter<>(ObjectMapperFactory.listenerAware(), dataClass);
+        }
+
+        @SuppressWarnings("unchecked")
+        private CompletionStage<?> accept(DataEvent<?> event) {
+            return consumer.apply((DataEvent<T>) event);
         }
     }
 
+    private final EventRouter<KafkaSubscriber<?>> router = new EventRouter<>();
+
+    public CompletionStage<?> onEvent(CloudEvent value) {
+        // data is decoded lazily and at most once per target class
+        Map<Class<?>, DataEvent<?>> events = new HashMap<>();
+        return EventRouter.dispatch(router.route(value.getType(), value.getSource()),
+                s -> s.accept(events.computeIfAbsent(s.dataClass, c -> DataEventFactory.from(value, s.dataConverter))))
+                .exceptionally(e -> {
+                    logger.info("Problem consuming event {}", value, e);
+                    return null;
+                });
+    }
+
     @Override
     public <T> void subscribe(Function<DataEvent<T>, CompletionStage<?>> consumer, Class<T> dataClass) {
-        subscriptions.add(new Subscription<>(consumer, new CloudEventConverter<>(dataClass, new CloudEventUnmarshallerFactory<CloudEvent>() {
-            @Override
-            public <S> CloudEventUnmarshaller<CloudEvent, S> unmarshaller(Class<S> targetClass) {
-                return new CloudEventUnmarshaller<CloudEvent, S>() {
-                    @Override
-                    public Converter<CloudEvent, CloudEvent> cloudEvent() {
-                        return c -> c;
-                    }
-
-                    @Override
-                    public Converter<CloudEvent, CloudEventData> binaryCloudEvent() {
-                        return c -> c.getData();
-                    }
+        subscribe(consumer, dataClass, null);
+    }
 
-                    @Override
-                    public Converter<CloudEventData, S> data() {
-                        return new JacksonCloudEventDataConverter<>(ObjectMapperFactory.listenerAware(), targetClass);
-                    }
-                };
-            }
-        })));
+    @Override
+    public <T> void subscribe(Function<DataEvent<T>, CompletionStage<?>> consumer, Class<T> dataClass, String type) {
+        router.add(new KafkaSubscriber<>(consumer, dataClass), type);
     }
 }
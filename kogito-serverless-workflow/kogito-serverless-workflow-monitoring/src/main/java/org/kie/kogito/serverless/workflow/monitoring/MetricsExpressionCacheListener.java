@@ -0,0 +1,75 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.kie.kogito.serverless.workflow.monitoring;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import org.kie.kogito.serverless.workflow.utils.ExpressionCacheListener;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Publishes hits, misses, evictions and compilation time of the compiled expression cache, per expression language.
+ */
+public class MetricsExpressionCacheListener implements ExpressionCacheListener {
+
+    private static final String LANG_TAG = "lang";
+
+    private final MeterRegistry meterRegistry;
+    private final Map<String, Counter> hits = new ConcurrentHashMap<>();
+    private final Map<String, Counter> evictions = new ConcurrentHashMap<>();
+    private final Map<String, Timer> compilations = new ConcurrentHashMap<>();
+
+    public MetricsExpressionCacheListener() {
+        this(Metrics.globalRegistry);
+    }
+
+    public MetricsExpressionCacheListener(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public void onHit(String lang) {
+        hits.computeIfAbsent(String.valueOf(lang), k -> Counter.builder("sonataflow_expression_cache_hits")
+                .description("Expressions found already compiled in the cache")
+                .tag(LANG_TAG, k)
+                .register(meterRegistry)).increment();
+    }
+
+    @Override
+    public void onMiss(String lang, long compileNanos) {
+        compilations.computeIfAbsent(String.valueOf(lang), k -> Timer.builder("sonataflow_expression_cache_misses")
+                .description("Time spent compiling expressions not found in the cache")
+                .tag(LANG_TAG, k)
+                .register(meterRegistry)).record(compileNanos, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public void onEviction(String lang) {
+        evictions.computeIfAbsent(String.valueOf(lang), k -> Counter.builder("sonataflow_expression_cache_evictions")
+                .description("Compiled expressions removed from the cache to keep it bounded")
+                .tag(LANG_TAG, k)
+                .register(meterRegistry)).increment();
+    }
+}
@@ -37,32 +37,43 @@ public class SWFProduceEventAction extends ProduceEventAction<JsonNode> {
     protected final String exprLang;
     protected final String data;
 
+    private transient Expression expr;
+    private transient JsonNode value;
+
     public SWFProduceEventAction(String triggerName, String varName, Supplier<MessageProducer<JsonNode>> supplier, String exprLang, String data) {
         super(triggerName, varName, supplier);
         this.exprLang = exprLang;
         this.data = data;
+        if (data != null) {
+            try {
+                compile();
+            } catch (IllegalArgumentException e) {
+                // reported when the event is produced, as it used to be
+                expr = null;
+            }
+        }
     }
 
-    @Override
-    protected JsonNode getObject(Object object, KogitoProcessContext context) {
-        Expression expr = null;
-        JsonNode value = null;
-        if (data != null) {
-            expr = ExpressionHandlerFactory.get(exprLang, data);
-            if (!expr.isValid()) {
-                try {
-                    value = ObjectMapperFactory.get().readTree(data);
-                } catch (JsonProcessingException e) {
-                    throw new IllegalArgumentException("Data " + data + " is not valid json not valid expression");
-                }
+    private void compile() {
+        expr = ExpressionHandlerFactory.get(exprLang, data);
+        if (!expr.isValid()) {
+            try {
+                value = ObjectMapperFactory.get().readTree(data);
+            } catch (JsonProcessingException e) {
+                throw new IllegalArgumentException("Data " + data + " is not valid json not valid expression");
             }
         }
-        if (value != null) {
-            return value;
-        } else if (expr != null) {
-            return expr.eval(object, JsonNode.class, context);
-        } else {
+    }
+
+    @Override
+    protected JsonNode getObject(Object object, KogitoProcessContext context) {
+        if (data == null) {
             return JsonObjectUtils.fromValue(object);
         }
+        if (expr == null) {
+            // transient fields are lost when the action is deserialized
+            compile();
+        }
+        return value != null ? value.deepCopy() : expr.eval(object, JsonNode.class, context);
     }
 }
@@ -18,6 +18,9 @@
  */
 package org.kie.kogito.serverless.workflow.workitemparams;
 
+import java.util.HashMap;
+import java.util.Map;
+
 import org.jbpm.util.ContextFactory;
 import org.kie.kogito.internal.process.runtime.KogitoProcessContext;
 import org.kie.kogito.internal.process.workitem.KogitoWorkItem;
@@ -38,11 +41,23 @@ public abstract class ExpressionWorkItemResolver<T> implements WorkItemParamReso
     protected final String language;
     protected final Object expression;
     private final String paramName;
+    // valid expressions by text, any other text is a literal value
+    private final Map<String, Expression> expressions = new HashMap<>();
 
     protected ExpressionWorkItemResolver(String language, Object expression, String paramName) {
         this.language = language;
         this.expression = expression;
         this.paramName = paramName;
+        // tell expressions from literal values once, so the first evaluation does not pay for compiling them
+        // and literal values are not looked up again on every evaluation
+        JsonNodeVisitor.transformTextNode(JsonObjectUtils.fromValue(expression), node -> {
+            String text = node.asText();
+            if (!expressions.containsKey(text)) {
+                Expression expr = ExpressionHandlerFactory.get(language, text);
+                expressions.put(text, expr.isValid() ? expr : null);
+            }
+            return node;
+        });
     }
 
     protected final JsonNode evalExpression(KogitoWorkItem workItem) {
@@ -50,12 +65,15 @@ public abstract class ExpressionWorkItemResolver<T> implements WorkItemParamReso
     }
 
     private JsonNode transform(JsonNode node, Object inputModel, KogitoProcessContext context) {
-        Expression expr = ExpressionHandlerFactory.get(language, node.asText());
+        Expression expr = expressions.get(node.asText());
+        if (expr == null) {
+            return node;
+        }
         try {
             if (logger.isTraceEnabled()) {
-                logger.trace("Expression: {}, valid: {}", expr.asString(), expr.isValid());
+                logger.trace("Expression: {}", expr.asString());
             }
-            return expr.isValid() ? expr.eval(inputModel, JsonNode.class, context) : node;
+            return expr.eval(inputModel, JsonNode.class, context);
         } catch (Exception ex) {
             logger.info("Error evaluating expression, returning original text {}", node);
             return node;
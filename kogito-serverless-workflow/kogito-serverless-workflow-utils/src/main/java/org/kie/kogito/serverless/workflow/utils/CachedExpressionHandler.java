@@ -18,21 +18,147 @@
  */
 package org.kie.kogito.serverless.workflow.utils;
 
-import java.util.Collections;
+import java.util.Collection;
+import java.util.Iterator;
 import java.util.Map;
-import java.util.WeakHashMap;
+import java.util.ServiceLoader;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Collectors;
 
 import org.kie.kogito.process.expr.Expression;
 import org.kie.kogito.process.expr.ExpressionHandler;
 
+/**
+ * Expression handler keeping the compiled expressions, keyed by their trimmed text, in a bounded cache.
+ * <p>
+ * Lookups never lock. Concurrent misses for the same text might compile it more than once, only one of the results is kept.
+ * When the cache grows beyond its maximum size ({@value #MAX_SIZE_PROPERTY} property, {@value #DEFAULT_MAX_SIZE} by default)
+ * expressions not used since the previous eviction pass are removed (clock algorithm), by a single thread at a time.
+ * Handlers are loaded before the application configuration is available, so the property is read through the
+ * {@link ConfigResolverHolder} the first time an expression is cached.
+ */
 public abstract class CachedExpressionHandler implements ExpressionHandler {
 
-    private Map<String, Expression> expressions = Collections.synchronizedMap(new WeakHashMap<>());
+    public static final String MAX_SIZE_PROPERTY = "kogito.sw.expression.cache.max-size";
+    public static final int DEFAULT_MAX_SIZE = 4096;
+
+    private static final Collection<ExpressionCacheListener> listeners = ServiceLoader.load(ExpressionCacheListener.class).stream()
+            .map(ServiceLoader.Provider::get).collect(Collectors.toUnmodifiableList());
+
+    private static class CachedExpression {
+        private final Expression expression;
+        private volatile boolean referenced;
+
+        private CachedExpression(Expression expression) {
+            this.expression = expression;
+        }
+    }
+
+    private final Map<String, CachedExpression> expressions = new ConcurrentHashMap<>();
+    // zero until read from the configuration
+    private volatile int maxSize;
+    private final ReentrantLock evictionLock = new ReentrantLock();
+    private Iterator<Map.Entry<String, CachedExpression>> clockHand;
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+    private final AtomicLong compileNanos = new AtomicLong();
+
+    protected CachedExpressionHandler() {
+    }
+
+    protected CachedExpressionHandler(int maxSize) {
+        this.maxSize = checkMaxSize(maxSize);
+    }
+
+    private static int checkMaxSize(int maxSize) {
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("Expression cache size must be positive, was " + maxSize);
+        }
+        return maxSize;
+    }
+
+    private int maxSize() {
+        int size = maxSize;
+        if (size == 0) {
+            size = checkMaxSize(ConfigResolverHolder.getConfigResolver().getConfigProperty(MAX_SIZE_PROPERTY, Integer.class).orElse(DEFAULT_MAX_SIZE));
+            maxSize = size;
+        }
+        return size;
+    }
 
     @Override
     public Expression get(String expr) {
-        return expressions.computeIfAbsent(ExpressionHandlerUtils.trimExpr(expr), this::buildExpression);
+        String key = ExpressionHandlerUtils.trimExpr(expr);
+        CachedExpression cached = expressions.get(key);
+        if (cached != null) {
+            cached.referenced = true;
+            hits.incrementAndGet();
+            listeners.forEach(l -> l.onHit(lang()));
+            return cached.expression;
+        }
+        long start = System.nanoTime();
+        Expression expression = buildExpression(key);
+        long elapsed = System.nanoTime() - start;
+        misses.incrementAndGet();
+        compileNanos.addAndGet(elapsed);
+        listeners.forEach(l -> l.onMiss(lang(), elapsed));
+        cached = expressions.putIfAbsent(key, new CachedExpression(expression));
+        if (cached != null) {
+            return cached.expression;
+        }
+        if (expressions.size() > maxSize()) {
+            evict();
+        }
+        return expression;
+    }
+
+    private void evict() {
+        // a thread already evicting will bring the size back under the limit
+        if (!evictionLock.tryLock()) {
+            return;
+        }
+        try {
+            int limit = maxSize();
+            while (expressions.size() > limit) {
+                if (clockHand == null || !clockHand.hasNext()) {
+                    clockHand = expressions.entrySet().iterator();
+                }
+                Map.Entry<String, CachedExpression> entry = clockHand.next();
+                if (entry.getValue().referenced) {
+                    entry.getValue().referenced = false;
+                } else if (expressions.remove(entry.getKey(), entry.getValue())) {
+                    evictions.incrementAndGet();
+                    listeners.forEach(l -> l.onEviction(lang()));
+                }
+            }
+        } finally {
+            evictionLock.unlock();
+        }
     }
 
     protected abstract Expression buildExpression(String expr);
+
+    public int size() {
+        return expressions.size();
+    }
+
+    public long hits() {
+        return hits.get();
+    }
+
+    public long misses() {
+        return misses.get();
+    }
+
+    public long evictions() {
+        return evictions.get();
+    }
+
+    public long compileNanos() {
+        return compileNanos.get();
+    }
 }
@@ -0,0 +1,117 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.kie.kogito.serverless.workflow.utils;
+
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+import org.kie.kogito.process.expr.Expression;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+import static org.mockito.Mockito.mock;
+
+class CachedExpressionHandlerTest {
+
+    private static class CountingExpressionHandler extends CachedExpressionHandler {
+
+        private final AtomicInteger compilations = new AtomicInteger();
+
+        CountingExpressionHandler() {
+        }
+
+        CountingExpressionHandler(int maxSize) {
+            super(maxSize);
+        }
+
+        @Override
+        protected Expression buildExpression(String expr) {
+            compilations.incrementAndGet();
+            return mock(Expression.class);
+        }
+
+        @Override
+        public String lang() {
+            return "test";
+        }
+    }
+
+    @Test
+    void testHitsAndMisses() {
+        CountingExpressionHandler handler = new CountingExpressionHandler(10);
+        Expression expr = handler.get("${.name}");
+        assertThat(handler.get(".name")).isSameAs(expr);
+        assertThat(handler.get("${ .name }")).isSameAs(expr);
+        assertThat(handler.compilations).hasValue(1);
+        assertThat(handler.misses()).isEqualTo(1);
+        assertThat(handler.hits()).isEqualTo(2);
+        assertThat(handler.size()).isEqualTo(1);
+    }
+
+    @Test
+    void testBounded() {
+        CountingExpressionHandler handler = new CountingExpressionHandler(10);
+        for (int i = 0; i < 100; i++) {
+            handler.get(".field" + i);
+        }
+        assertThat(handler.size()).isEqualTo(10);
+        assertThat(handler.evictions()).isEqualTo(90);
+    }
+
+    @Test
+    void testRecentlyUsedSurviveEviction() {
+        CountingExpressionHandler handler = new CountingExpressionHandler(10);
+        Expression hot = handler.get(".hot");
+        for (int i = 0; i < 100; i++) {
+            handler.get(".field" + i);
+            assertThat(handler.get(".hot")).isSameAs(hot);
+        }
+        assertThat(handler.compilations).hasValue(101);
+    }
+
+    @Test
+    void testStronglyReferenced() {
+        CountingExpressionHandler handler = new CountingExpressionHandler(10);
+        handler.get(".name");
+        System.gc();
+        handler.get(".name");
+        assertThat(handler.compilations).hasValue(1);
+    }
+
+    @Test
+    void testInvalidSize() {
+        assertThatIllegalArgumentException().isThrownBy(() -> new CountingExpressionHandler(0));
+    }
+
+    @Test
+    void testSizeFromConfiguration() {
+        ConfigResolver previous = ConfigResolverHolder.getConfigResolver();
+        ConfigResolverHolder.setConfigResolver(new MapConfigResolver(Map.of(CachedExpressionHandler.MAX_SIZE_PROPERTY, 5)));
+        try {
+            CountingExpressionHandler handler = new CountingExpressionHandler();
+            for (int i = 0; i < 20; i++) {
+                handler.get(".field" + i);
+            }
+            assertThat(handler.size()).isEqualTo(5);
+        } finally {
+            ConfigResolverHolder.setConfigResolver(previous);
+        }
+    }
+}
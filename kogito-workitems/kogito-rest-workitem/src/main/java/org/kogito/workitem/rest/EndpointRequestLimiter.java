@@ -0,0 +1,111 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.kogito.workitem.rest;
+
+import java.util.ArrayDeque;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Limits the number of in flight asynchronous requests per endpoint without blocking the caller.
+ * Requests over the limit are queued and started, in arrival order, as soon as a previous request for
+ * the same endpoint releases its permit.
+ */
+class EndpointRequestLimiter {
+
+    private final Map<String, Endpoint> endpoints = new ConcurrentHashMap<>();
+
+    /**
+     * Runs the request now if the endpoint has fewer than {@code maxConcurrentRequests} requests in flight, otherwise queues it.
+     * The request must eventually call {@link #release(String)} exactly once.
+     * 
+     * @param endpoint key of the endpoint (host and port)
+     * @param maxConcurrentRequests the limit, zero or negative means unlimited
+     * @param request the action sending the request
+     */
+    void acquire(String endpoint, int maxConcurrentRequests, Runnable request) {
+        if (maxConcurrentRequests <= 0) {
+            request.run();
+            return;
+        }
+        Endpoint state = endpoints.computeIfAbsent(endpoint, k -> new Endpoint());
+        boolean run;
+        synchronized (state) {
+            state.maxConcurrentRequests = maxConcurrentRequests;
+            run = state.active < maxConcurrentRequests;
+            if (run) {
+                state.active++;
+            } else {
+                state.waiting.add(request);
+            }
+        }
+        if (run) {
+            request.run();
+        }
+    }
+
+    /**
+     * Releases the permit of a finished request, starting the next queued one if any
+     * 
+     * @param endpoint key of the endpoint (host and port)
+     */
+    void release(String endpoint) {
+        Endpoint state = endpoints.get(endpoint);
+        if (state == null) {
+            return;
+        }
+        Runnable next;
+        synchronized (state) {
+            next = state.active <= state.maxConcurrentRequests ? state.waiting.poll() : null;
+            if (next == null) {
+                state.active--;
+            }
+        }
+        if (next != null) {
+            next.run();
+        }
+    }
+
+    int active(String endpoint) {
+        Endpoint state = endpoints.get(endpoint);
+        if (state == null) {
+            return 0;
+        }
+        synchronized (state) {
+            return state.active;
+        }
+    }
+
+    int waiting(String endpoint) {
+        Endpoint state = endpoints.get(endpoint);
+        if (state == null) {
+            return 0;
+        }
+        synchronized (state) {
+            return state.waiting.size();
+        }
+    }
+
+    private static class Endpoint {
+        private final Queue<Runnable> waiting = new ArrayDeque<>();
+        private int active;
+        private int maxConcurrentRequests;
+    }
+}
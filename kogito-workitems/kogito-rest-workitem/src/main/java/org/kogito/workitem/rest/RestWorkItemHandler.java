@@ -29,6 +29,8 @@ import java.util.Map;
 import java.util.Optional;
 import java.util.ServiceLoader;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 import java.util.stream.StreamSupport;
 
@@ -43,7 +45,15 @@ import org.kie.kogito.internal.process.workitem.KogitoWorkItemHandler;
 import org.kie.kogito.internal.process.workitem.KogitoWorkItemManager;
 import org.kie.kogito.internal.process.workitem.WorkItemExecutionException;
 import org.kie.kogito.internal.process.workitem.WorkItemTransition;
+import org.kie.kogito.process.ProcessInstance;
+import org.kie.kogito.process.ProcessInstanceExecutionException;
+import org.kie.kogito.process.ProcessInstanceOptimisticLockingException;
+import org.kie.kogito.process.Processes;
 import org.kie.kogito.process.workitems.impl.DefaultKogitoWorkItemHandler;
+import org.kie.kogito.services.uow.UnitOfWorkExecutor;
+import org.kie.kogito.uow.UnitOfWork;
+import org.kie.kogito.uow.UnitOfWorkManager;
+import org.kie.kogito.uow.WorkUnit;
 import org.kogito.workitem.rest.auth.ApiKeyAuthDecorator;
 import org.kogito.workitem.rest.auth.AuthDecorator;
 import org.kogito.workitem.rest.auth.BasicAuthDecorator;
@@ -60,6 +70,8 @@ import org.kogito.workitem.rest.resulthandlers.RestWorkItemHandlerResult;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import io.smallrye.mutiny.Uni;
+import io.smallrye.mutiny.infrastructure.Infrastructure;
 import io.vertx.core.http.HttpMethod;
 import io.vertx.mutiny.core.buffer.Buffer;
 import io.vertx.mutiny.ext.web.client.HttpRequest;
@@ -90,6 +102,8 @@ public class RestWorkItemHandler extends DefaultKogitoWorkItemHandler {
     public static final String AUTH_METHOD = "AuthMethod";
 
     public static final String REQUEST_TIMEOUT_IN_MILLIS = "RequestTimeout";
+    public static final String ASYNC = "Async";
+    public static final String MAX_CONCURRENT_REQUESTS = "MaxConcurrentRequests";
 
     public static final int DEFAULT_PORT = 80;
     public static final int DEFAULT_SSL_PORT = 443;
@@ -105,6 +119,8 @@ public class RestWorkItemHandler extends DefaultKogitoWorkItemHandler {
     private static final Map<String, PathParamResolver> pathParamsResolvers = new ConcurrentHashMap<>();
     private static final Map<String, AuthDecorator> authDecoratorsMap = new ConcurrentHashMap<>();
     private static final Collection<AuthDecorator> DEFAULT_AUTH_DECORATORS = Arrays.asList(new ApiKeyAuthDecorator(), new BasicAuthDecorator(), new BearerTokenAuthDecorator());
+    private static final EndpointRequestLimiter limiter = new EndpointRequestLimiter();
+    private static final int MAX_RESPONSE_ATTEMPTS = 3;
 
     protected final WebClient httpClient;
     protected final WebClient httpsClient;
@@ -116,6 +132,15 @@ public class RestWorkItemHandler extends DefaultKogitoWorkItemHandler {
         this.requestDecorators = StreamSupport.stream(ServiceLoader.load(RequestDecorator.class).spliterator(), false).collect(Collectors.toList());
     }
 
+    /**
+     * Synchronous requests only use the shared web clients and the parameters of the work item. Asynchronous requests
+     * are sent once the unit of work of the calling thread ends, so they must be started on that thread.
+     */
+    @Override
+    public boolean isThreadSafe(KogitoWorkItem workItem) {
+        return !(getParam(new HashMap<>(workItem.getParameters()), ASYNC, Boolean.class, false) && application != null);
+    }
+
     @Override
     public Optional<WorkItemTransition> activateWorkItemHandler(KogitoWorkItemManager manager, KogitoWorkItemHandler handler, KogitoWorkItem workItem, WorkItemTransition transition) {
         Class<?> targetInfo = getTargetInfo(workItem);
@@ -135,6 +160,8 @@ public class RestWorkItemHandler extends DefaultKogitoWorkItemHandler {
         ParamsDecorator paramsDecorator = getClassParam(parameters, PARAMS_DECORATOR, ParamsDecorator.class, DEFAULT_PARAMS_DECORATOR, paramsDecorators);
         PathParamResolver pathParamResolver = getClassParam(parameters, PATH_PARAM_RESOLVER, PathParamResolver.class, DEFAULT_PATH_PARAM_RESOLVER, pathParamsResolvers);
         Collection<? extends AuthDecorator> authDecorators = getClassListParam(parameters, AUTH_METHOD, AuthDecorator.class, DEFAULT_AUTH_DECORATORS, authDecoratorsMap);
+        boolean async = getParam(parameters, ASYNC, Boolean.class, false);
+        int maxConcurrentRequests = getParam(parameters, MAX_CONCURRENT_REQUESTS, Integer.class, 0);
 
         logger.debug("Filtered parameters are {}", parameters);
         // create request
@@ -184,15 +211,135 @@ public class RestWorkItemHandler extends DefaultKogitoWorkItemHandler {
         authDecorators.forEach(d -> d.decorate(workItem, parameters, request));
         paramsDecorator.decorate(workItem, parameters, request);
         Duration requestTimeout = getRequestTimeout(parameters);
-        HttpResponse<Buffer> response = method.equals(HttpMethod.POST) || method.equals(HttpMethod.PUT)
-                ? sendJson(request, bodyBuilder.apply(parameters), requestTimeout)
-                : send(request, requestTimeout);
+        boolean isJson = method.equals(HttpMethod.POST) || method.equals(HttpMethod.PUT);
+        Object body = isJson ? bodyBuilder.apply(parameters) : null;
+        if (async && application != null) {
+            sendAsync(workItem, endPoint, host + ":" + port, maxConcurrentRequests, () -> isJson ? request.sendJson(body) : request.send(), requestTimeout, resultHandler, targetInfo);
+            return Optional.empty();
+        }
+        HttpResponse<Buffer> response = isJson ? sendJson(request, body, requestTimeout) : send(request, requestTimeout);
+        return Optional.of(this.workItemLifeCycle.newTransition("complete", workItem.getPhaseStatus(), Collections.singletonMap(RESULT, getResult(response, endPoint, resultHandler, targetInfo))));
+    }
+
+    private static Object getResult(HttpResponse<Buffer> response, String endPoint, RestWorkItemHandlerResult resultHandler, Class<?> targetInfo) {
         int statusCode = response.statusCode();
         if (statusCode < 200 || statusCode >= 300) {
             throw new WorkItemExecutionException(Integer.toString(statusCode), "Request for endpoint " + endPoint + " failed with message: " + response.statusMessage());
         }
+        return resultHandler.apply(response, targetInfo);
+    }
+
+    /**
+     * Sends the request once the current unit of work has ended, so the process instance waiting for the response
+     * is already persisted, and completes the work item in a new unit of work from a worker thread. A failed request
+     * fails the work item with the same {@link WorkItemExecutionException} a synchronous request throws, so error
+     * boundary events catch it. The calling thread never waits for the response.
+     */
+    private void sendAsync(KogitoWorkItem workItem, String endPoint, String endpointKey, int maxConcurrentRequests, Supplier<Uni<HttpResponse<Buffer>>> sender,
+            Duration requestTimeout, RestWorkItemHandlerResult resultHandler, Class<?> targetInfo) {
+        String processId = workItem.getProcessInstance().getProcessId();
+        String processInstanceId = workItem.getProcessInstanceStringId();
+        String workItemId = workItem.getStringId();
+        UnitOfWorkManager unitOfWorkManager = application.unitOfWorkManager();
+        Runnable send = () -> {
+            Uni<HttpResponse<Buffer>> response;
+            try {
+                response = sender.get();
+            } catch (RuntimeException e) {
+                onAsyncResponse(endpointKey, maxConcurrentRequests, processId, processInstanceId, workItemId, () -> {
+                    throw e;
+                });
+                return;
+            }
+            if (requestTimeout != null) {
+                response = response.ifNoItem().after(requestTimeout).fail();
+            }
+            response.emitOn(Infrastructure.getDefaultWorkerPool()).subscribe().with(
+                    r -> onAsyncResponse(endpointKey, maxConcurrentRequests, processId, processInstanceId, workItemId, () -> getResult(r, endPoint, resultHandler, targetInfo)),
+                    e -> onAsyncResponse(endpointKey, maxConcurrentRequests, processId, processInstanceId, workItemId, () -> {
+                        throw new WorkItemExecutionException("500", "Request for endpoint " + endPoint + " failed", e);
+                    }));
+        };
+        afterUnitOfWork(unitOfWorkManager, () -> limiter.acquire(endpointKey, maxConcurrentRequests, send));
+    }
+
+    private void onAsyncResponse(String endpointKey, int maxConcurrentRequests, String processId, String processInstanceId, String workItemId, Supplier<Object> result) {
+        if (maxConcurrentRequests > 0) {
+            limiter.release(endpointKey);
+        }
+        Map<String, Object> results = null;
+        RuntimeException failure = null;
+        try {
+            results = Collections.singletonMap(RESULT, result.get());
+        } catch (RuntimeException e) {
+            logger.warn("Asynchronous request for work item {} of process instance {} failed", workItemId, processInstanceId, e);
+            failure = e;
+        }
+        for (int attempt = 1;; attempt++) {
+            Map<String, Object> outcome = results;
+            RuntimeException error = failure;
+            try {
+                handleAsyncResponse(processId, processInstanceId, workItemId, error == null ? instance -> instance.completeWorkItem(workItemId, outcome)
+                        : instance -> instance.failWorkItem(workItemId, error));
+                return;
+            } catch (ProcessInstanceOptimisticLockingException e) {
+                if (attempt >= MAX_RESPONSE_ATTEMPTS) {
+                    logger.error("Process instance {} kept being concurrently modified, giving up handling asynchronous response of work item {} after {} attempts", processInstanceId, workItemId,
+                            attempt, e);
+                    return;
+                }
+                logger.debug("Process instance {} was concurrently modified, retrying asynchronous response of work item {}", processInstanceId, workItemId);
+            } catch (ProcessInstanceExecutionException e) {
+                logger.warn("Process instance {} went into error handling asynchronous response of work item {}", processInstanceId, workItemId, e);
+                return;
+            } catch (RuntimeException e) {
+                if (error != null) {
+                    logger.error("Error failing work item {} of process instance {}", workItemId, processInstanceId, e);
+                    return;
+                }
+                logger.warn("Error completing work item {} of process instance {}, failing it", workItemId, processInstanceId, e);
+                // the completion has been rolled back together with its unit of work, so the instance is failed from its stored state
+                failure = e;
+                attempt = 0;
+            }
+        }
+    }
+
+    private void handleAsyncResponse(String processId, String processInstanceId, String workItemId, Consumer<ProcessInstance<?>> action) {
+        UnitOfWorkExecutor.executeInUnitOfWork(application.unitOfWorkManager(), () -> {
+            Optional<? extends ProcessInstance<?>> processInstance = application.get(Processes.class).processById(processId).instances().findById(processInstanceId);
+            if (processInstance.isEmpty()) {
+                logger.warn("Process instance {} not found, discarding response of work item {}", processInstanceId, workItemId);
+            } else {
+                action.accept(processInstance.get());
+            }
+            return null;
+        });
+    }
 
-        return Optional.of(this.workItemLifeCycle.newTransition("complete", workItem.getPhaseStatus(), Collections.singletonMap(RESULT, resultHandler.apply(response, targetInfo))));
+    private static void afterUnitOfWork(UnitOfWorkManager unitOfWorkManager, Runnable action) {
+        UnitOfWork unitOfWork = unitOfWorkManager.currentUnitOfWork();
+        // intercepted again while the unit is ending so it runs after the work (such as write-behind flushes) it triggers
+        unitOfWork.intercept(lowPriority(action, () -> unitOfWork.intercept(lowPriority(action, action))));
+    }
+
+    private static WorkUnit<Runnable> lowPriority(Runnable data, Runnable action) {
+        return new WorkUnit<>() {
+            @Override
+            public Runnable data() {
+                return data;
+            }
+
+            @Override
+            public void perform() {
+                action.run();
+            }
+
+            @Override
+            public Integer priority() {
+                return LOW_PRIORITY;
+            }
+        };
     }
 
     private static HttpResponse<Buffer> sendJson(HttpRequest<Buffer> request, Object body, Duration requestTimeout) {
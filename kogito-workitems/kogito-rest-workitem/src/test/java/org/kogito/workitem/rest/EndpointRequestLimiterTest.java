@@ -0,0 +1,66 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.kogito.workitem.rest;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class EndpointRequestLimiterTest {
+
+    @Test
+    public void testQueuedRequestsStartOnRelease() {
+        EndpointRequestLimiter limiter = new EndpointRequestLimiter();
+        List<Integer> started = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            int request = i;
+            limiter.acquire("localhost:8080", 2, () -> started.add(request));
+        }
+        assertThat(started).containsExactly(0, 1);
+        assertThat(limiter.active("localhost:8080")).isEqualTo(2);
+        assertThat(limiter.waiting("localhost:8080")).isEqualTo(3);
+
+        limiter.release("localhost:8080");
+        assertThat(started).containsExactly(0, 1, 2);
+        assertThat(limiter.active("localhost:8080")).isEqualTo(2);
+
+        limiter.release("localhost:8080");
+        limiter.release("localhost:8080");
+        limiter.release("localhost:8080");
+        limiter.release("localhost:8080");
+        assertThat(started).containsExactly(0, 1, 2, 3, 4);
+        assertThat(limiter.active("localhost:8080")).isZero();
+        assertThat(limiter.waiting("localhost:8080")).isZero();
+    }
+
+    @Test
+    public void testEndpointsAreLimitedIndependently() {
+        EndpointRequestLimiter limiter = new EndpointRequestLimiter();
+        List<String> started = new ArrayList<>();
+        limiter.acquire("a:80", 1, () -> started.add("a1"));
+        limiter.acquire("a:80", 1, () -> started.add("a2"));
+        limiter.acquire("b:80", 1, () -> started.add("b1"));
+        limiter.acquire("c:80", 0, () -> started.add("c1"));
+        limiter.acquire("c:80", 0, () -> started.add("c2"));
+        assertThat(started).containsExactly("a1", "b1", "c1", "c2");
+    }
+}
@@ -34,10 +34,19 @@ import org.jbpm.workflow.instance.node.WorkItemNodeInstance;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.kie.kogito.Application;
 import org.kie.kogito.internal.process.workitem.KogitoWorkItemManager;
+import org.kie.kogito.internal.process.workitem.WorkItemExecutionException;
 import org.kie.kogito.internal.process.workitem.WorkItemTransition;
 import org.kie.kogito.jackson.utils.ObjectMapperFactory;
+import org.kie.kogito.process.ProcessInstanceOptimisticLockingException;
+import org.kie.kogito.process.ProcessInstances;
+import org.kie.kogito.process.Processes;
 import org.kie.kogito.process.workitems.impl.KogitoWorkItemImpl;
+import org.kie.kogito.services.uow.CollectingUnitOfWorkFactory;
+import org.kie.kogito.services.uow.DefaultUnitOfWorkManager;
+import org.kie.kogito.uow.UnitOfWork;
+import org.kie.kogito.uow.UnitOfWorkManager;
 import org.kogito.workitem.rest.bodybuilders.DefaultWorkItemHandlerBodyBuilder;
 import org.kogito.workitem.rest.resulthandlers.DefaultRestWorkItemHandlerResult;
 import org.kogito.workitem.rest.resulthandlers.RestWorkItemHandlerResult;
@@ -51,6 +60,7 @@ import org.mockito.quality.Strictness;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 
+import io.smallrye.mutiny.Uni;
 import io.vertx.core.http.HttpMethod;
 import io.vertx.mutiny.core.buffer.Buffer;
 import io.vertx.mutiny.ext.web.client.HttpRequest;
@@ -62,7 +72,10 @@ import static org.kogito.workitem.rest.RestWorkItemHandler.BODY_BUILDER;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -100,6 +113,9 @@ public class RestWorkItemHandlerTest {
     @Captor
     private ArgumentCaptor<Map<String, Object>> bodyCaptor;
 
+    @Captor
+    private ArgumentCaptor<Map<String, Object>> resultCaptor;
+
     private ObjectNode workflowData;
 
     private RestWorkItemHandler handler;
@@ -273,6 +289,118 @@ public class RestWorkItemHandlerTest {
 
     }
 
+    @Test
+    public void testAsyncGetCompletesAfterUnitOfWork() {
+        parameters.put(RestWorkItemHandler.URL, "http://localhost:8080/results/sum");
+        parameters.put(RestWorkItemHandler.METHOD, "GET");
+        parameters.put(RestWorkItemHandler.ASYNC, true);
+        when(request.send()).thenReturn(Uni.createFrom().item(response));
+
+        UnitOfWorkManager unitOfWorkManager = new DefaultUnitOfWorkManager(new CollectingUnitOfWorkFactory());
+        org.kie.kogito.process.ProcessInstance<?> processInstance = mockApplication(unitOfWorkManager);
+
+        UnitOfWork unitOfWork = unitOfWorkManager.newUnitOfWork();
+        unitOfWork.start();
+        assertThat(handler.activateWorkItemHandler(manager, handler, workItem, handler.startingTransition(parameters))).isEmpty();
+        verify(request, never()).send();
+        unitOfWork.end();
+
+        verify(request).send();
+        verify(processInstance, timeout(5000)).completeWorkItem(eq("2"), resultCaptor.capture());
+        assertThat(((ObjectNode) resultCaptor.getValue().get(RestWorkItemHandler.RESULT)).get("num").asInt()).isOne();
+    }
+
+    @Test
+    public void testAsyncGetFailsOnError() {
+        parameters.put(RestWorkItemHandler.URL, "http://localhost:8080/results/sum");
+        parameters.put(RestWorkItemHandler.METHOD, "GET");
+        parameters.put(RestWorkItemHandler.ASYNC, true);
+        when(request.send()).thenReturn(Uni.createFrom().item(response));
+        when(response.statusCode()).thenReturn(500);
+
+        UnitOfWorkManager unitOfWorkManager = new DefaultUnitOfWorkManager(new CollectingUnitOfWorkFactory());
+        org.kie.kogito.process.ProcessInstance<?> processInstance = mockApplication(unitOfWorkManager);
+
+        UnitOfWork unitOfWork = unitOfWorkManager.newUnitOfWork();
+        unitOfWork.start();
+        handler.activateWorkItemHandler(manager, handler, workItem, handler.startingTransition(parameters));
+        unitOfWork.end();
+
+        ArgumentCaptor<RuntimeException> errorCaptor = ArgumentCaptor.forClass(RuntimeException.class);
+        verify(processInstance, timeout(5000)).failWorkItem(eq("2"), errorCaptor.capture());
+        verify(processInstance, never()).abortWorkItem(anyString());
+        assertThat(errorCaptor.getValue()).isInstanceOf(WorkItemExecutionException.class);
+        assertThat(((WorkItemExecutionException) errorCaptor.getValue()).getErrorCode()).isEqualTo("500");
+    }
+
+    @Test
+    public void testAsyncGetRetriesCompletionConflict() {
+        parameters.put(RestWorkItemHandler.URL, "http://localhost:8080/results/sum");
+        parameters.put(RestWorkItemHandler.METHOD, "GET");
+        parameters.put(RestWorkItemHandler.ASYNC, true);
+        when(request.send()).thenReturn(Uni.createFrom().item(response));
+
+        UnitOfWorkManager unitOfWorkManager = new DefaultUnitOfWorkManager(new CollectingUnitOfWorkFactory());
+        org.kie.kogito.process.ProcessInstance<?> processInstance = mockApplication(unitOfWorkManager);
+        doThrow(new ProcessInstanceOptimisticLockingException("1")).doNothing().when(processInstance).completeWorkItem(eq("2"), any());
+
+        UnitOfWork unitOfWork = unitOfWorkManager.newUnitOfWork();
+        unitOfWork.start();
+        handler.activateWorkItemHandler(manager, handler, workItem, handler.startingTransition(parameters));
+        unitOfWork.end();
+
+        verify(processInstance, timeout(5000).times(2)).completeWorkItem(eq("2"), any());
+        verify(processInstance, never()).failWorkItem(anyString(), any());
+    }
+
+    @Test
+    public void testAsyncGetFailsOnCompletionError() {
+        parameters.put(RestWorkItemHandler.URL, "http://localhost:8080/results/sum");
+        parameters.put(RestWorkItemHandler.METHOD, "GET");
+        parameters.put(RestWorkItemHandler.ASYNC, true);
+        when(request.send()).thenReturn(Uni.createFrom().item(response));
+
+        UnitOfWorkManager unitOfWorkManager = new DefaultUnitOfWorkManager(new CollectingUnitOfWorkFactory());
+        org.kie.kogito.process.ProcessInstance<?> processInstance = mockApplication(unitOfWorkManager);
+        IllegalStateException error = new IllegalStateException("cannot complete");
+        doThrow(error).when(processInstance).completeWorkItem(eq("2"), any());
+
+        UnitOfWork unitOfWork = unitOfWorkManager.newUnitOfWork();
+        unitOfWork.start();
+        handler.activateWorkItemHandler(manager, handler, workItem, handler.startingTransition(parameters));
+        unitOfWork.end();
+
+        verify(processInstance, timeout(5000)).failWorkItem("2", error);
+        verify(processInstance).completeWorkItem(eq("2"), any());
+    }
+
+    @Test
+    public void testOnlySynchronousRequestsAreThreadSafe() {
+        assertThat(handler.isThreadSafe(workItem)).isTrue();
+        mockApplication(new DefaultUnitOfWorkManager(new CollectingUnitOfWorkFactory()));
+        assertThat(handler.isThreadSafe(workItem)).isTrue();
+        parameters.put(RestWorkItemHandler.ASYNC, "true");
+        assertThat(handler.isThreadSafe(workItem)).isFalse();
+        // the parameters are left untouched for the request itself
+        assertThat(parameters).containsEntry(RestWorkItemHandler.ASYNC, "true");
+    }
+
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    private org.kie.kogito.process.ProcessInstance<?> mockApplication(UnitOfWorkManager unitOfWorkManager) {
+        Application application = mock(Application.class);
+        Processes processes = mock(Processes.class);
+        org.kie.kogito.process.Process process = mock(org.kie.kogito.process.Process.class);
+        ProcessInstances instances = mock(ProcessInstances.class);
+        org.kie.kogito.process.ProcessInstance processInstance = mock(org.kie.kogito.process.ProcessInstance.class);
+        when(application.unitOfWorkManager()).thenReturn(unitOfWorkManager);
+        when(application.get(Processes.class)).thenReturn(processes);
+        when(processes.processById(any())).thenReturn(process);
+        when(process.instances()).thenReturn(instances);
+        when(instances.findById(any())).thenReturn(Optional.of(processInstance));
+        handler.setApplication(application);
+        return processInstance;
+    }
+
     public void assertResult(Optional<WorkItemTransition> transition) {
         Map<String, Object> results = transition.get().data();
         assertThat(results).hasSize(1).containsKey(RestWorkItemHandler.RESULT);
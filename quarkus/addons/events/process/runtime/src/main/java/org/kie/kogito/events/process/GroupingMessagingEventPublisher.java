@@ -23,9 +23,15 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
-import java.util.Map.Entry;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 
+import org.eclipse.microprofile.config.Config;
 import org.eclipse.microprofile.config.inject.ConfigProperty;
 import org.kie.kogito.event.DataEvent;
 import org.kie.kogito.event.process.KogitoMarshallEventSupport;
@@ -36,12 +42,18 @@ import org.kie.kogito.event.usertask.UserTaskInstanceDataEvent;
 
 import io.quarkus.arc.lookup.LookupIfProperty;
 
+import jakarta.annotation.PreDestroy;
+import jakarta.inject.Inject;
 import jakarta.inject.Singleton;
 
 @Singleton
 @LookupIfProperty(name = "kogito.events.grouping", stringValue = "true")
 public class GroupingMessagingEventPublisher extends AbstractMessagingEventPublisher {
 
+    private static final String GROUPING_PREFIX = "kogito.events.grouping.";
+    private static final String MAX_SIZE = "max-size";
+    private static final String LINGER = "linger-ms";
+
     @Override
     public void publish(DataEvent<?> event) {
         publish(Collections.singletonList(event));
@@ -53,6 +65,33 @@ public class GroupingMessagingEventPublisher extends AbstractMessagingEventPubli
     @ConfigProperty(name = "kogito.events.grouping.compress", defaultValue = "false")
     private boolean compress;
 
+    /**
+     * Publish one grouped message per process instance rather than one for the whole unit of work
+     */
+    @ConfigProperty(name = "kogito.events.grouping.by-instance", defaultValue = "false")
+    boolean byInstance;
+
+    /**
+     * Maximum number of events in a grouped message, zero or negative means no limit.
+     * Might be overridden per topic with kogito.events.grouping.&lt;topic&gt;.max-size
+     */
+    @ConfigProperty(name = "kogito.events.grouping.max-size", defaultValue = "0")
+    int maxSize;
+
+    /**
+     * Time events are kept to be grouped with the ones published by later units of work, zero or negative means
+     * they are published right away. Might be overridden per topic with kogito.events.grouping.&lt;topic&gt;.linger-ms
+     */
+    @ConfigProperty(name = "kogito.events.grouping.linger-ms", defaultValue = "0")
+    long lingerMs;
+
+    @Inject
+    Config config;
+
+    private final Map<AbstractMessageEmitter, LingeringEvents> lingering = new ConcurrentHashMap<>();
+
+    private ScheduledExecutorService scheduler;
+
     @SuppressWarnings({ "unchecked", "rawtypes" })
     @Override
     public void publish(Collection<DataEvent<?>> events) {
@@ -60,7 +99,116 @@ public class GroupingMessagingEventPublisher extends AbstractMessagingEventPubli
         for (DataEvent<?> event : events) {
             getConsumer(event).ifPresent(c -> eventsByChannel.computeIfAbsent(c, k -> new ArrayList<>()).add(event));
         }
-        eventsByChannel.entrySet().forEach(this::publishEvents);
+        eventsByChannel.entrySet().forEach(this::publishOrLinger);
+    }
+
+    @SuppressWarnings({ "rawtypes", "unchecked" })
+    private void publishOrLinger(Map.Entry<AbstractMessageEmitter, Collection> entry) {
+        AbstractMessageEmitter emitter = entry.getKey();
+        long linger = topicValue(emitter, LINGER, Long.class, lingerMs);
+        if (linger <= 0) {
+            flush(emitter, entry.getValue());
+        } else {
+            lingering.computeIfAbsent(emitter, k -> new LingeringEvents(k, linger)).add(entry.getValue());
+        }
+    }
+
+    @SuppressWarnings({ "rawtypes", "unchecked" })
+    private void flush(AbstractMessageEmitter emitter, Collection<DataEvent<?>> events) {
+        int limit = topicValue(emitter, MAX_SIZE, Integer.class, maxSize);
+        for (Collection<DataEvent<?>> group : groupByInstance(events)) {
+            List<DataEvent<?>> pending = group instanceof List ? (List<DataEvent<?>>) group : new ArrayList<>(group);
+            if (limit <= 0 || pending.size() <= limit) {
+                publishEvents(Map.entry(emitter, (Collection) pending));
+            } else {
+                for (int i = 0; i < pending.size(); i += limit) {
+                    publishEvents(Map.entry(emitter, (Collection) new ArrayList<>(pending.subList(i, Math.min(i + limit, pending.size())))));
+                }
+            }
+        }
+    }
+
+    private Collection<? extends Collection<DataEvent<?>>> groupByInstance(Collection<DataEvent<?>> events) {
+        if (!byInstance) {
+            return Collections.singletonList(events);
+        }
+        Map<String, Collection<DataEvent<?>>> byInstanceId = new LinkedHashMap<>();
+        for (DataEvent<?> event : events) {
+            byInstanceId.computeIfAbsent(String.valueOf(event.getKogitoProcessInstanceId()), k -> new ArrayList<>()).add(event);
+        }
+        return byInstanceId.values();
+    }
+
+    private <T> T topicValue(AbstractMessageEmitter emitter, String name, Class<T> type, T defaultValue) {
+        if (config == null || emitter.topic == null) {
+            return defaultValue;
+        }
+        return config.getOptionalValue(GROUPING_PREFIX + emitter.topic + "." + name, type).orElse(defaultValue);
+    }
+
+    private synchronized ScheduledExecutorService scheduler() {
+        if (scheduler == null) {
+            scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+                Thread thread = new Thread(r, "kogito-events-grouping");
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+        return scheduler;
+    }
+
+    @PreDestroy
+    public void close() {
+        lingering.values().forEach(LingeringEvents::flush);
+        synchronized (this) {
+            if (scheduler != null) {
+                scheduler.shutdown();
+            }
+        }
+    }
+
+    /**
+     * Events waiting to be published to a topic. Flushed when the linger time expires or once the
+     * maximum group size is reached, whatever happens first.
+     */
+    private class LingeringEvents {
+
+        private final AbstractMessageEmitter emitter;
+        private final long linger;
+        private List<DataEvent<?>> events = new ArrayList<>();
+
+        private LingeringEvents(AbstractMessageEmitter emitter, long linger) {
+            this.emitter = emitter;
+            this.linger = linger;
+        }
+
+        private void add(Collection<DataEvent<?>> newEvents) {
+            boolean schedule;
+            boolean full;
+            synchronized (this) {
+                schedule = events.isEmpty();
+                events.addAll(newEvents);
+                int limit = topicValue(emitter, MAX_SIZE, Integer.class, maxSize);
+                full = limit > 0 && events.size() >= limit;
+            }
+            if (full) {
+                flush();
+            } else if (schedule) {
+                scheduler().schedule(this::flush, linger, TimeUnit.MILLISECONDS);
+            }
+        }
+
+        private void flush() {
+            List<DataEvent<?>> toPublish;
+            synchronized (this) {
+                if (events.isEmpty()) {
+                    return;
+                }
+                toPublish = events;
+                events = new ArrayList<>();
+            }
+            GroupingMessagingEventPublisher.this.flush(emitter, toPublish);
+        }
     }
 
     @SuppressWarnings({ "rawtypes", "unchecked" })
@@ -385,6 +385,49 @@ public class GroupingMessagingEventPublisherTest {
         verify(groupingMessagingEventPublisher, never()).publishToTopic(any(), eq(Collections.singletonList(unsupportedEvent)));
     }
 
+    @Test
+    public void testPublishGroupingByInstanceWithMaxSize() {
+        List<DataEvent<?>> events = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            DataEvent<String> event = mock(ProcessInstanceDataEvent.class);
+            when(event.getType()).thenReturn("ProcessInstanceStateDataEvent");
+            when(event.getKogitoProcessInstanceId()).thenReturn(i < 3 ? "1" : "2");
+            doReturn(Optional.of(processInstanceConsumer)).when(groupingMessagingEventPublisher).getConsumer(event);
+            events.add(event);
+        }
+        doNothing().when(groupingMessagingEventPublisher).publishToTopic(any(), any());
+        groupingMessagingEventPublisher.byInstance = true;
+        groupingMessagingEventPublisher.maxSize = 2;
+
+        groupingMessagingEventPublisher.publish(events);
+
+        // instance 1 is split in two messages (2 + 1 events), instance 2 fits in one
+        ArgumentCaptor<MultipleProcessInstanceDataEvent> captor = ArgumentCaptor.forClass(MultipleProcessInstanceDataEvent.class);
+        verify(groupingMessagingEventPublisher, times(3)).publishToTopic(eq(processInstanceConsumer), captor.capture());
+        assertEquals(List.of(2, 1, 2), captor.getAllValues().stream().map(e -> e.getData().size()).toList());
+    }
+
+    @Test
+    public void testPublishLingeringEvents() {
+        DataEvent<String> event1 = mock(ProcessInstanceDataEvent.class);
+        DataEvent<String> event2 = mock(ProcessInstanceDataEvent.class);
+        when(event1.getType()).thenReturn("ProcessInstanceStateDataEvent");
+        when(event2.getType()).thenReturn("ProcessInstanceStateDataEvent");
+        doReturn(Optional.of(processInstanceConsumer)).when(groupingMessagingEventPublisher).getConsumer(any());
+        doNothing().when(groupingMessagingEventPublisher).publishToTopic(any(), any());
+        groupingMessagingEventPublisher.lingerMs = 50;
+
+        groupingMessagingEventPublisher.publish(event1);
+        groupingMessagingEventPublisher.publish(event2);
+        verify(groupingMessagingEventPublisher, never()).publishToTopic(any(), any());
+
+        // both units of work end up in the same message once the linger time expires
+        ArgumentCaptor<MultipleProcessInstanceDataEvent> captor = ArgumentCaptor.forClass(MultipleProcessInstanceDataEvent.class);
+        verify(groupingMessagingEventPublisher, timeout(5000)).publishToTopic(eq(processInstanceConsumer), captor.capture());
+        assertEquals(2, captor.getValue().getData().size());
+        groupingMessagingEventPublisher.close();
+    }
+
     private void mockMessageForBothAckNack(Message<String> message) {
         when(message.withAck(any())).thenReturn(message);
         when(message.withNack(any())).thenReturn(message);
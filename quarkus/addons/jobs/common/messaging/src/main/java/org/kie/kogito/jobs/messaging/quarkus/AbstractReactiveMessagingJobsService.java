@@ -19,19 +19,27 @@
 package org.kie.kogito.jobs.messaging.quarkus;
 
 import java.net.URI;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
 import java.util.concurrent.CompletableFuture;
 
+import org.eclipse.microprofile.config.inject.ConfigProperty;
 import org.eclipse.microprofile.reactive.messaging.Emitter;
 import org.eclipse.microprofile.reactive.messaging.Message;
 import org.kie.kogito.jobs.JobDescription;
 import org.kie.kogito.jobs.JobsService;
 import org.kie.kogito.jobs.JobsServiceException;
+import org.kie.kogito.jobs.api.UnitOfWorkJobsBatcher;
 import org.kie.kogito.jobs.service.api.Job;
+import org.kie.kogito.jobs.service.api.JobBatch;
 import org.kie.kogito.jobs.service.api.JobLookupId;
+import org.kie.kogito.jobs.service.api.event.BatchJobEvent;
 import org.kie.kogito.jobs.service.api.event.CreateJobEvent;
 import org.kie.kogito.jobs.service.api.event.DeleteJobEvent;
 import org.kie.kogito.jobs.service.api.event.JobCloudEvent;
 import org.kie.kogito.jobs.service.api.event.serialization.JobCloudEventSerializer;
+import org.kie.kogito.uow.UnitOfWorkManager;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -42,6 +50,9 @@ import io.smallrye.reactive.messaging.providers.locals.ContextAwareMessage;
 import io.vertx.core.Context;
 import io.vertx.core.Vertx;
 
+import jakarta.enterprise.inject.Instance;
+import jakarta.inject.Inject;
+
 import static org.kie.kogito.jobs.api.JobCallbackResourceDef.buildCallbackPatternJob;
 import static org.kie.kogito.jobs.api.JobCallbackResourceDef.buildCallbackURI;
 
@@ -59,6 +70,8 @@ public abstract class AbstractReactiveMessagingJobsService implements JobsServic
 
     private ObjectMapper objectMapper;
 
+    private UnitOfWorkJobsBatcher batcher;
+
     protected AbstractReactiveMessagingJobsService() {
     }
 
@@ -71,9 +84,33 @@ public abstract class AbstractReactiveMessagingJobsService implements JobsServic
         this.serializer = new JobCloudEventSerializer(objectMapper);
     }
 
+    @Inject
+    protected void configureBatching(@ConfigProperty(name = "kogito.jobs-service.batch.enabled", defaultValue = "false") boolean enabled,
+            Instance<UnitOfWorkManager> unitOfWorkManager) {
+        if (enabled && unitOfWorkManager.isResolvable()) {
+            this.batcher = new UnitOfWorkJobsBatcher(unitOfWorkManager.get(), this::submitBatch);
+            LOGGER.debug("Jobs created and cancelled within a unit of work are emitted as a single event");
+        }
+    }
+
     @Override
     public String scheduleJob(JobDescription description) {
-        Job job = buildCallbackPatternJob(description, buildCallbackURI(description, serviceUrl.toString()), objectMapper);
+        if (batcher != null) {
+            return batcher.schedule(description);
+        }
+        return scheduleNow(description);
+    }
+
+    @Override
+    public boolean cancelJob(String id) {
+        if (batcher != null) {
+            return batcher.cancel(id);
+        }
+        return cancelNow(id);
+    }
+
+    private String scheduleNow(JobDescription description) {
+        Job job = buildJob(description);
         LOGGER.debug("scheduleProcessInstanceJob job: {}", job);
         CreateJobEvent event = CreateJobEvent.builder()
                 .source(serviceUrl)
@@ -83,8 +120,7 @@ public abstract class AbstractReactiveMessagingJobsService implements JobsServic
         return job.getId();
     }
 
-    @Override
-    public boolean cancelJob(String id) {
+    private boolean cancelNow(String id) {
         LOGGER.debug("cancelJob, id: {}", id);
         DeleteJobEvent event = DeleteJobEvent.builder()
                 .source(serviceUrl)
@@ -94,6 +130,49 @@ public abstract class AbstractReactiveMessagingJobsService implements JobsServic
         return true;
     }
 
+    @Override
+    public List<String> scheduleJobs(Collection<? extends JobDescription> descriptions) {
+        if (batcher == null) {
+            // batch events are only understood by a jobs service with batching enabled
+            return JobsService.super.scheduleJobs(descriptions);
+        }
+        List<String> ids = new ArrayList<>(descriptions.size());
+        descriptions.forEach(description -> ids.add(description.id()));
+        submitBatch(new ArrayList<>(descriptions), List.of());
+        return ids;
+    }
+
+    @Override
+    public boolean cancelJobs(Collection<String> ids) {
+        if (batcher == null) {
+            return JobsService.super.cancelJobs(ids);
+        }
+        return submitBatch(List.of(), new ArrayList<>(ids));
+    }
+
+    private boolean submitBatch(List<JobDescription> create, List<String> delete) {
+        if (create.size() + delete.size() <= 1) {
+            // a single job keeps using the plain create and delete events
+            create.forEach(this::scheduleNow);
+            return delete.stream().allMatch(this::cancelNow);
+        }
+        List<Job> jobs = new ArrayList<>(create.size());
+        create.forEach(description -> jobs.add(buildJob(description)));
+        List<JobLookupId> lookupIds = new ArrayList<>(delete.size());
+        delete.forEach(id -> lookupIds.add(JobLookupId.fromId(id)));
+        LOGGER.debug("scheduleJobs: {} jobs to create, {} jobs to delete", jobs.size(), lookupIds.size());
+        BatchJobEvent event = BatchJobEvent.builder()
+                .source(serviceUrl)
+                .batch(JobBatch.of(jobs, lookupIds))
+                .build();
+        emitEvent(event);
+        return true;
+    }
+
+    private Job buildJob(JobDescription description) {
+        return buildCallbackPatternJob(description, buildCallbackURI(description, serviceUrl.toString()), objectMapper);
+    }
+
     protected Message<String> decorate(Message<String> message) {
         return message;
     }
@@ -34,13 +34,18 @@ import org.kie.kogito.jobs.JobsServiceException;
 import org.kie.kogito.jobs.api.JobCallbackPayload;
 import org.kie.kogito.jobs.descriptors.ProcessInstanceJobDescription;
 import org.kie.kogito.jobs.service.api.Job;
+import org.kie.kogito.jobs.service.api.JobBatch;
 import org.kie.kogito.jobs.service.api.JobLookupId;
 import org.kie.kogito.jobs.service.api.TemporalUnit;
+import org.kie.kogito.jobs.service.api.event.BatchJobEvent;
 import org.kie.kogito.jobs.service.api.event.CreateJobEvent;
 import org.kie.kogito.jobs.service.api.event.DeleteJobEvent;
 import org.kie.kogito.jobs.service.api.recipient.http.HttpRecipient;
 import org.kie.kogito.jobs.service.api.recipient.http.HttpRecipientJsonPayloadData;
 import org.kie.kogito.jobs.service.api.schedule.timer.TimerSchedule;
+import org.kie.kogito.uow.UnitOfWork;
+import org.kie.kogito.uow.UnitOfWorkManager;
+import org.kie.kogito.uow.WorkUnit;
 import org.mockito.ArgumentCaptor;
 import org.mockito.Captor;
 import org.mockito.Mock;
@@ -49,13 +54,18 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
+import jakarta.enterprise.inject.Instance;
+
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.spy;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
 public abstract class AbstractReactiveMessagingJobsServiceTest<T extends AbstractReactiveMessagingJobsService> {
@@ -93,6 +103,9 @@ public abstract class AbstractReactiveMessagingJobsServiceTest<T extends Abstrac
     @Captor
     protected ArgumentCaptor<DeleteJobEvent> deleteEventCaptor;
 
+    @Captor
+    protected ArgumentCaptor<BatchJobEvent> batchEventCaptor;
+
     protected T jobsService;
 
     @BeforeEach
@@ -275,6 +288,78 @@ public abstract class AbstractReactiveMessagingJobsServiceTest<T extends Abstrac
                 .hasCause(fatalError);
     }
 
+    @Test
+    protected void scheduleAndCancelJobsWithoutBatchingEmitsJobEvents() throws Exception {
+        ProcessInstanceJobDescription description = mockProcessInstanceJobDescription();
+        doReturn(SERIALIZED_EVENT).when(objectMapper).writeValueAsString(any(CreateJobEvent.class));
+        doReturn(SERIALIZED_SECOND_EVENT).when(objectMapper).writeValueAsString(any(DeleteJobEvent.class));
+        doReturn(JSON_PAYLOAD).when(objectMapper).valueToTree(any(JobCallbackPayload.class));
+
+        assertThat(jobsService.scheduleJobs(List.of(description, description))).containsExactly(JOB_ID, JOB_ID);
+        assertThat(jobsService.cancelJobs(List.of(JOB_ID, JOB_ID_STRING))).isTrue();
+
+        verify(objectMapper, never()).writeValueAsString(any(BatchJobEvent.class));
+        verify(objectMapper, times(2)).writeValueAsString(deleteEventCaptor.capture());
+        assertThat(deleteEventCaptor.getAllValues()).extracting(event -> event.getData().getId()).containsExactly(JOB_ID, JOB_ID_STRING);
+        verifyEmitterWasInvoked(4, SERIALIZED_EVENT, SERIALIZED_EVENT, SERIALIZED_SECOND_EVENT, SERIALIZED_SECOND_EVENT);
+    }
+
+    @Test
+    protected void scheduleAndCancelJobsEmitsBatchEvents() throws Exception {
+        enableBatching(mock(UnitOfWorkManager.class));
+        ProcessInstanceJobDescription description = mockProcessInstanceJobDescription();
+        doReturn(SERIALIZED_EVENT).when(objectMapper).writeValueAsString(any(BatchJobEvent.class));
+        doReturn(JSON_PAYLOAD).when(objectMapper).valueToTree(any(JobCallbackPayload.class));
+
+        assertThat(jobsService.scheduleJobs(List.of(description, description))).containsExactly(JOB_ID, JOB_ID);
+        assertThat(jobsService.cancelJobs(List.of(JOB_ID, JOB_ID_STRING))).isTrue();
+
+        verify(objectMapper, times(2)).writeValueAsString(batchEventCaptor.capture());
+        JobBatch created = batchEventCaptor.getAllValues().get(0).getData();
+        assertThat(created.getCreate()).extracting(Job::getId).containsExactly(JOB_ID, JOB_ID);
+        assertThat(created.getDelete()).isEmpty();
+        JobBatch deleted = batchEventCaptor.getAllValues().get(1).getData();
+        assertThat(deleted.getCreate()).isEmpty();
+        assertThat(deleted.getDelete()).extracting(JobLookupId::getId).containsExactly(JOB_ID, JOB_ID_STRING);
+        verifyEmitterWasInvoked(2, SERIALIZED_EVENT, SERIALIZED_EVENT);
+    }
+
+    @Test
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    protected void scheduleAndCancelJobWithinUnitOfWorkEmitsSingleBatchEvent() throws Exception {
+        UnitOfWork unitOfWork = mock(UnitOfWork.class);
+        UnitOfWorkManager unitOfWorkManager = mock(UnitOfWorkManager.class);
+        when(unitOfWorkManager.currentUnitOfWork()).thenReturn(unitOfWork);
+        enableBatching(unitOfWorkManager);
+
+        ProcessInstanceJobDescription description = mockProcessInstanceJobDescription();
+        doReturn(SERIALIZED_EVENT).when(objectMapper).writeValueAsString(any(BatchJobEvent.class));
+        doReturn(JSON_PAYLOAD).when(objectMapper).valueToTree(any(JobCallbackPayload.class));
+
+        assertThat(jobsService.scheduleJob(description)).isEqualTo(JOB_ID);
+        assertThat(jobsService.cancelJob(JOB_ID_STRING)).isTrue();
+        verify(eventsEmitter, never()).send(any(Message.class));
+
+        ArgumentCaptor<WorkUnit> workCaptor = ArgumentCaptor.forClass(WorkUnit.class);
+        verify(unitOfWork).intercept(workCaptor.capture());
+        assertThat(workCaptor.getValue().priority()).isEqualTo(WorkUnit.LOW_PRIORITY);
+        workCaptor.getValue().perform();
+
+        verify(objectMapper).writeValueAsString(batchEventCaptor.capture());
+        JobBatch batch = batchEventCaptor.getValue().getData();
+        assertThat(batch.getCreate()).extracting(Job::getId).containsExactly(JOB_ID);
+        assertThat(batch.getDelete()).extracting(JobLookupId::getId).containsExactly(JOB_ID_STRING);
+        verifyEmitterWasInvoked(1, SERIALIZED_EVENT);
+    }
+
+    @SuppressWarnings("unchecked")
+    protected void enableBatching(UnitOfWorkManager unitOfWorkManager) {
+        Instance<UnitOfWorkManager> instance = mock(Instance.class);
+        when(instance.isResolvable()).thenReturn(true);
+        when(instance.get()).thenReturn(unitOfWorkManager);
+        jobsService.configureBatching(true, instance);
+    }
+
     protected ProcessInstanceJobDescription mockProcessInstanceJobDescription() {
         return ProcessInstanceJobDescription.newProcessInstanceJobDescriptionBuilder()
                 .id(JOB_ID)
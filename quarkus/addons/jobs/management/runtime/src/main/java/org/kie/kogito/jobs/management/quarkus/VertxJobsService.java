@@ -19,11 +19,19 @@
 package org.kie.kogito.jobs.management.quarkus;
 
 import java.net.URI;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 import org.eclipse.microprofile.config.inject.ConfigProperty;
 import org.kie.kogito.jobs.JobDescription;
+import org.kie.kogito.jobs.JobsServiceException;
+import org.kie.kogito.jobs.api.UnitOfWorkJobsBatcher;
 import org.kie.kogito.jobs.management.RestJobsService;
 import org.kie.kogito.jobs.service.api.Job;
+import org.kie.kogito.jobs.service.api.JobBatch;
+import org.kie.kogito.uow.UnitOfWorkManager;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -54,6 +62,8 @@ public class VertxJobsService extends RestJobsService {
 
     private WebClient client;
 
+    private UnitOfWorkJobsBatcher batcher;
+
     @Inject
     public VertxJobsService(@ConfigProperty(name = "kogito.jobs-service.url") String jobServiceUrl,
             @ConfigProperty(name = "kogito.service.url") String callbackEndpoint,
@@ -87,33 +97,113 @@ public class VertxJobsService extends RestJobsService {
         }
     }
 
+    @Inject
+    void configureBatching(@ConfigProperty(name = "kogito.jobs-service.batch.enabled", defaultValue = "false") boolean enabled,
+            Instance<UnitOfWorkManager> unitOfWorkManager) {
+        if (enabled && unitOfWorkManager.isResolvable()) {
+            this.batcher = new UnitOfWorkJobsBatcher(unitOfWorkManager.get(), this::submitBatch);
+            LOGGER.debug("Jobs created and cancelled within a unit of work are sent in a single request to {}", BATCH_PATH);
+        }
+    }
+
     @Override
     public String scheduleJob(JobDescription description) {
+        if (batcher != null) {
+            return batcher.schedule(description);
+        }
+        scheduleNow(description);
+        return description.id();
+    }
+
+    @Override
+    public boolean cancelJob(String id) {
+        if (batcher != null) {
+            return batcher.cancel(id);
+        }
+        cancelNow(id);
+        return true;
+    }
+
+    @Override
+    public List<String> scheduleJobs(Collection<? extends JobDescription> descriptions) {
+        if (batcher == null) {
+            // the batch endpoint is only available on a jobs service with batching enabled
+            return super.scheduleJobs(descriptions);
+        }
+        List<String> ids = new ArrayList<>(descriptions.size());
+        descriptions.forEach(description -> ids.add(description.id()));
+        if (!submitBatch(new ArrayList<>(descriptions), List.of())) {
+            throw new JobsServiceException("Scheduling of jobs " + ids + " failed");
+        }
+        return ids;
+    }
+
+    @Override
+    public boolean cancelJobs(Collection<String> ids) {
+        if (batcher == null) {
+            return super.cancelJobs(ids);
+        }
+        return submitBatch(List.of(), new ArrayList<>(ids));
+    }
+
+    private CompletableFuture<Boolean> scheduleNow(JobDescription description) {
         String callback = getCallbackEndpoint(description);
         LOGGER.debug("Job to be scheduled {} with callback URL {}", description, callback);
         final Job job = buildJob(description, callback);
+        CompletableFuture<Boolean> scheduled = new CompletableFuture<>();
         client.post(JOBS_PATH).sendJson(job, res -> {
             int status = res.result() != null ? res.result().statusCode() : 0;
             if (res.succeeded() && status == 200) {
                 LOGGER.debug("Creating of the job {} done with status code {} ", job, status);
+                scheduled.complete(true);
             } else {
                 LOGGER.error("Scheduling of job {} failed with response code {}", job, status, res.cause());
+                scheduled.complete(false);
             }
         });
-        return job.getId();
+        return scheduled;
     }
 
-    @Override
-    public boolean cancelJob(String id) {
+    private CompletableFuture<Boolean> cancelNow(String id) {
+        CompletableFuture<Boolean> cancelled = new CompletableFuture<>();
         client.delete(JOBS_PATH + "/" + id).send(res -> {
-            if (res.succeeded() && (res.result().statusCode() == 200 || res.result().statusCode() == 404)) {
-                LOGGER.debug("Canceling of the job {} done with status code {} ", id, res.result().statusCode());
+            int status = res.result() != null ? res.result().statusCode() : 0;
+            if (res.succeeded() && (status == 200 || status == 404)) {
+                LOGGER.debug("Canceling of the job {} done with status code {} ", id, status);
+                cancelled.complete(true);
             } else {
-                LOGGER.error("Canceling of job {} failed with response code {}", id, res.result().statusCode(), res.cause());
+                LOGGER.error("Canceling of job {} failed with response code {}", id, status, res.cause());
+                cancelled.complete(false);
             }
         });
+        return cancelled;
+    }
 
-        return true;
+    /**
+     * Waits for the jobs service response, so the outcome can be reported to the caller.
+     */
+    private boolean submitBatch(List<JobDescription> create, List<String> delete) {
+        if (create.size() + delete.size() <= 1) {
+            // a single job keeps using the plain jobs endpoint
+            List<CompletableFuture<Boolean>> results = new ArrayList<>(1);
+            delete.forEach(id -> results.add(cancelNow(id)));
+            create.forEach(description -> results.add(scheduleNow(description)));
+            return results.stream().allMatch(CompletableFuture::join);
+        }
+        final JobBatch batch = buildJobBatch(create, delete);
+        LOGGER.debug("Job batch to be submitted {}", batch);
+        CompletableFuture<Boolean> submitted = new CompletableFuture<>();
+        client.post(BATCH_PATH).sendJson(batch, res -> {
+            int status = res.result() != null ? res.result().statusCode() : 0;
+            if (res.succeeded() && status == 200) {
+                LOGGER.debug("Submission of the job batch {} done with status code {} ", batch, status);
+                submitted.complete(true);
+            } else {
+                LOGGER.error("Submission of job batch {} failed with response code {}", batch, status, res.cause());
+                submitted.complete(false);
+            }
+        });
+        return submitted.join();
     }
 
     private void configureMapper(ObjectMapper mapper) {
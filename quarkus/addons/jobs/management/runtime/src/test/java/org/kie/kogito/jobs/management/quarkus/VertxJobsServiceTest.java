@@ -18,31 +18,45 @@
  */
 package org.kie.kogito.jobs.management.quarkus;
 
+import java.util.List;
+
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.kie.kogito.jobs.JobsServiceException;
 import org.kie.kogito.jobs.api.JobCallbackPayload;
 import org.kie.kogito.jobs.descriptors.ProcessInstanceJobDescription;
 import org.kie.kogito.jobs.management.RestJobsServiceTest;
 import org.kie.kogito.jobs.service.api.Job;
+import org.kie.kogito.jobs.service.api.JobBatch;
+import org.kie.kogito.jobs.service.api.JobLookupId;
+import org.kie.kogito.uow.UnitOfWorkManager;
 import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 
+import io.vertx.core.AsyncResult;
+import io.vertx.core.Future;
 import io.vertx.core.Handler;
 import io.vertx.core.Vertx;
 import io.vertx.core.buffer.Buffer;
 import io.vertx.ext.web.client.HttpRequest;
+import io.vertx.ext.web.client.HttpResponse;
 import io.vertx.ext.web.client.WebClient;
 
 import jakarta.enterprise.inject.Instance;
 
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentCaptor.forClass;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.reset;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -101,4 +115,94 @@ class VertxJobsServiceTest extends RestJobsServiceTest<VertxJobsService> {
         tested.cancelJob(JOB_ID);
         verify(webClient).delete("/v2/jobs/" + JOB_ID);
     }
+
+    @Test
+    void scheduleJobsWithoutBatching() {
+        when(webClient.post(anyString())).thenReturn(request);
+        when(objectMapper.valueToTree(any(JobCallbackPayload.class))).thenReturn(JSON_PAYLOAD);
+        ProcessInstanceJobDescription processInstanceJobDescription = buildProcessInstanceJobDescription();
+        assertThat(tested.scheduleJobs(List.of(processInstanceJobDescription, processInstanceJobDescription)))
+                .containsExactly(JOB_ID, JOB_ID);
+        verify(webClient, times(2)).post("/v2/jobs");
+        verify(webClient, never()).post("/v2/jobs/batch");
+    }
+
+    @Test
+    void cancelJobsWithoutBatching() {
+        when(webClient.delete(anyString())).thenReturn(request);
+        assertThat(tested.cancelJobs(List.of(JOB_ID, TIMER_ID))).isTrue();
+        verify(webClient).delete("/v2/jobs/" + JOB_ID);
+        verify(webClient).delete("/v2/jobs/" + TIMER_ID);
+        verify(webClient, never()).post(anyString());
+    }
+
+    @Test
+    void scheduleJobs() {
+        enableBatching();
+        when(webClient.post(anyString())).thenReturn(request);
+        when(objectMapper.valueToTree(any(JobCallbackPayload.class))).thenReturn(JSON_PAYLOAD);
+        respondWith(200);
+        ProcessInstanceJobDescription processInstanceJobDescription = buildProcessInstanceJobDescription();
+        assertThat(tested.scheduleJobs(List.of(processInstanceJobDescription, processInstanceJobDescription)))
+                .containsExactly(JOB_ID, JOB_ID);
+        verify(webClient).post("/v2/jobs/batch");
+        ArgumentCaptor<JobBatch> batchArgumentCaptor = forClass(JobBatch.class);
+        verify(request).sendJson(batchArgumentCaptor.capture(), any(Handler.class));
+        JobBatch batch = batchArgumentCaptor.getValue();
+        assertThat(batch.getDelete()).isEmpty();
+        assertThat(batch.getCreate()).hasSize(2);
+        assertExpectedJob(batch.getCreate().get(0), processInstanceJobDescription.id());
+    }
+
+    @Test
+    void scheduleJobsFailure() {
+        enableBatching();
+        when(webClient.post(anyString())).thenReturn(request);
+        when(objectMapper.valueToTree(any(JobCallbackPayload.class))).thenReturn(JSON_PAYLOAD);
+        respondWith(500);
+        ProcessInstanceJobDescription processInstanceJobDescription = buildProcessInstanceJobDescription();
+        assertThatThrownBy(() -> tested.scheduleJobs(List.of(processInstanceJobDescription, processInstanceJobDescription)))
+                .isInstanceOf(JobsServiceException.class);
+    }
+
+    @Test
+    void cancelJobs() {
+        enableBatching();
+        when(webClient.post(anyString())).thenReturn(request);
+        respondWith(200);
+        assertThat(tested.cancelJobs(List.of(JOB_ID, TIMER_ID))).isTrue();
+        verify(webClient).post("/v2/jobs/batch");
+        verify(webClient, never()).delete(anyString());
+        ArgumentCaptor<JobBatch> batchArgumentCaptor = forClass(JobBatch.class);
+        verify(request).sendJson(batchArgumentCaptor.capture(), any(Handler.class));
+        assertThat(batchArgumentCaptor.getValue().getCreate()).isEmpty();
+        assertThat(batchArgumentCaptor.getValue().getDelete()).extracting(JobLookupId::getId).containsExactly(JOB_ID, TIMER_ID);
+    }
+
+    @Test
+    void cancelJobsFailure() {
+        enableBatching();
+        when(webClient.post(anyString())).thenReturn(request);
+        respondWith(500);
+        assertThat(tested.cancelJobs(List.of(JOB_ID, TIMER_ID))).isFalse();
+    }
+
+    @SuppressWarnings("unchecked")
+    private void enableBatching() {
+        Instance<UnitOfWorkManager> unitOfWorkManager = mock(Instance.class);
+        when(unitOfWorkManager.isResolvable()).thenReturn(true);
+        when(unitOfWorkManager.get()).thenReturn(mock(UnitOfWorkManager.class));
+        tested.configureBatching(true, unitOfWorkManager);
+    }
+
+    @SuppressWarnings("unchecked")
+    private void respondWith(int status) {
+        HttpResponse<Buffer> response = mock(HttpResponse.class);
+        when(response.statusCode()).thenReturn(status);
+        doAnswer(invocation -> {
+            Handler<AsyncResult<HttpResponse<Buffer>>> handler = invocation.getArgument(1);
+            handler.handle(Future.succeededFuture(response));
+            return null;
+        }).when(request).sendJson(any(), any(Handler.class));
+    }
 }
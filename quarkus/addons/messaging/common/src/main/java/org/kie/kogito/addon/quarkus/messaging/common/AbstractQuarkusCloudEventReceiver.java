@@ -19,28 +19,50 @@
 package org.kie.kogito.addon.quarkus.messaging.common;
 
 import java.io.IOException;
-import java.util.Collection;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionStage;
-import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.function.BiConsumer;
 import java.util.function.Function;
 
 import org.eclipse.microprofile.reactive.messaging.Message;
+import org.kie.kogito.event.CloudEventUnmarshaller;
 import org.kie.kogito.event.CloudEventUnmarshallerFactory;
-import org.kie.kogito.event.Converter;
 import org.kie.kogito.event.DataEvent;
+import org.kie.kogito.event.DataEventFactory;
 import org.kie.kogito.event.EventReceiver;
 import org.kie.kogito.event.EventUnmarshaller;
-import org.kie.kogito.event.Subscription;
+import org.kie.kogito.event.impl.EventRouter;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import io.cloudevents.CloudEvent;
+
 public abstract class AbstractQuarkusCloudEventReceiver<I> implements EventReceiver {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(AbstractQuarkusCloudEventReceiver.class);
 
-    private Collection<Subscription<DataEvent<?>, Message<I>>> consumers = new CopyOnWriteArrayList<>();
+    private static class QuarkusSubscriber<I, T> {
+        private final Function<DataEvent<T>, CompletionStage<?>> consumer;
+        private final Class<T> dataClass;
+        private final CloudEventUnmarshaller<I, T> unmarshaller;
+
+        private QuarkusSubscriber(Function<DataEvent<T>, CompletionStage<?>> consumer, Class<T> dataClass, CloudEventUnmarshaller<I, T> unmarshaller) {
+            this.consumer = consumer;
+            this.dataClass = dataClass;
+            this.unmarshaller = unmarshaller;
+        }
+
+        @SuppressWarnings("unchecked")
+        private CompletionStage<?> accept(DataEvent<?> event) {
+            return consumer.apply((DataEvent<T>) event);
+        }
+    }
+
+    private final EventRouter<QuarkusSubscriber<I, ?>> router = new EventRouter<>();
 
     private EventUnmarshaller<I> eventDataUnmarshaller;
 
@@ -66,34 +88,63 @@ public abstract class AbstractQuarkusCloudEventReceiver<I> implements EventRecei
     }
 
     private CompletionStage<?> produce(final Message<I> message, BiConsumer<Object, Throwable> callback) {
-        CompletionStage<?> result = CompletableFuture.completedFuture(null);
-        CompletionStage<?> future = result;
-        for (Subscription<DataEvent<?>, Message<I>> subscription : consumers) {
-            try {
-                DataEvent<?> object = subscription.getConverter().convert(message);
-                future = future.thenCompose(f -> subscription.getConsumer().apply(object));
-            } catch (IOException e) {
-                LOGGER.info("Error converting event. Exception message is {}", e.getMessage());
-            }
+        CompletableFuture<Void> future;
+        try {
+            future = router.isEmpty() ? CompletableFuture.completedFuture(null) : dispatch(message);
+        } catch (IOException e) {
+            LOGGER.info("Error converting event. Exception message is {}", e.getMessage());
+            future = CompletableFuture.completedFuture(null);
         }
-        if (callback != null) {
-            future.whenComplete(callback);
+        // completes once every consumer is done and the message has been acked, errors are handled by the callback
+        return callback == null ? future : future.handle((v, e) -> {
+            callback.accept(v, e);
+            return null;
+        });
+    }
+
+    private CompletableFuture<Void> dispatch(Message<I> message) throws IOException {
+        if (cloudEventUnmarshaller != null) {
+            // envelope is read once, data is decoded lazily and at most once per target class
+            CloudEvent cloudEvent = QuarkusCloudEventConverter.toCloudEvent(message, router.all().iterator().next().unmarshaller);
+            Map<Class<?>, DataEvent<?>> events = new HashMap<>();
+            return EventRouter.dispatch(router.route(cloudEvent.getType(), cloudEvent.getSource()),
+                    s -> s.accept(events.computeIfAbsent(s.dataClass, c -> DataEventFactory.from(cloudEvent, s.unmarshaller.data()))));
+        } else {
+            // no type information, every subscriber receives the event
+            Map<Class<?>, DataEvent<?>> events = new HashMap<>();
+            List<QuarkusSubscriber<I, ?>> subscribers = new ArrayList<>();
+            for (QuarkusSubscriber<I, ?> subscriber : router.all()) {
+                DataEvent<?> event = events.get(subscriber.dataClass);
+                if (event == null) {
+                    try {
+                        event = DataEventFactory.from(eventDataUnmarshaller.unmarshall(message.getPayload(), subscriber.dataClass));
+                        events.put(subscriber.dataClass, event);
+                    } catch (IOException e) {
+                        LOGGER.info("Error converting event. Exception message is {}", e.getMessage());
+                        continue;
+                    }
+                }
+                subscribers.add(subscriber);
+            }
+            return EventRouter.dispatch(subscribers, s -> s.accept(events.get(s.dataClass)));
         }
-        return result;
     }
 
     @Override
-    @SuppressWarnings({ "unchecked", "rawtypes" })
     public <T> void subscribe(Function<DataEvent<T>, CompletionStage<?>> consumer, Class<T> objectClass) {
-        Subscription subscription = new Subscription<>(consumer, getConverter(objectClass));
-        consumers.add(subscription);
+        subscribe(consumer, objectClass, null);
+    }
+
+    @Override
+    public <T> void subscribe(Function<DataEvent<T>, CompletionStage<?>> consumer, Class<T> objectClass, String type) {
+        router.add(new QuarkusSubscriber<>(consumer, objectClass, getUnmarshaller(objectClass)), type);
     }
 
-    private <T> Converter<Message<I>, DataEvent<T>> getConverter(Class<T> objectClass) {
+    private <T> CloudEventUnmarshaller<I, T> getUnmarshaller(Class<T> objectClass) {
         if (cloudEventUnmarshaller != null) {
-            return new QuarkusCloudEventConverter<>(cloudEventUnmarshaller.unmarshaller(objectClass));
+            return cloudEventUnmarshaller.unmarshaller(objectClass);
         } else if (eventDataUnmarshaller != null) {
-            return new QuarkusDataEventConverter<>(objectClass, eventDataUnmarshaller);
+            return null;
         } else {
             throw new IllegalStateException("No unmarshaller set for receiver " + this);
         }
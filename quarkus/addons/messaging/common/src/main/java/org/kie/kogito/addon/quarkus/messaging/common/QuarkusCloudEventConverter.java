@@ -45,11 +45,18 @@ public class QuarkusCloudEventConverter<I, T> implements
 
     @Override
     public DataEvent<T> convert(Message<I> message) throws IOException {
+        return DataEventFactory.from(toCloudEvent(message, unmarshaller), unmarshaller.data());
+    }
+
+    /**
+     * Reads the cloud event carried by the message, either in binary or structured mode. The data is not decoded.
+     */
+    static <I> CloudEvent toCloudEvent(Message<I> message, CloudEventUnmarshaller<I, ?> unmarshaller) throws IOException {
         Optional<CloudEventMetadata> metadata = message.getMetadata(CloudEventMetadata.class);
-        return DataEventFactory.from(metadata.isPresent() ? binaryCE(metadata.get(), message.getPayload()) : unmarshaller.cloudEvent().convert(message.getPayload()), unmarshaller.data());
+        return metadata.isPresent() ? binaryCE(metadata.get(), message.getPayload(), unmarshaller) : unmarshaller.cloudEvent().convert(message.getPayload());
     }
 
-    private CloudEvent binaryCE(CloudEventMetadata<?> meta, I payload) throws IOException {
+    private static <I> CloudEvent binaryCE(CloudEventMetadata<?> meta, I payload, CloudEventUnmarshaller<I, ?> unmarshaller) throws IOException {
         CloudEventBuilder builder =
                 CloudEventBuilder.fromSpecVersion(SpecVersion.parse(meta.getSpecVersion()))
                         .withType(meta.getType())
@@ -0,0 +1,135 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.kie.kogito.addon.quarkus.messaging.common;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import org.eclipse.microprofile.reactive.messaging.Message;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.kie.kogito.event.CloudEventUnmarshaller;
+import org.kie.kogito.event.CloudEventUnmarshallerFactory;
+import org.kie.kogito.event.DataEvent;
+import org.kie.kogito.event.impl.ByteArrayCloudEventUnmarshallerFactory;
+import org.kie.kogito.event.impl.DefaultCloudEventUnmarshaller;
+import org.kie.kogito.jackson.utils.ObjectMapperFactory;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.cloudevents.jackson.JsonFormat;
+import io.smallrye.reactive.messaging.ce.CloudEventMetadata;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class QuarkusCloudEventReceiverTest {
+
+    private static class TestReceiver extends AbstractQuarkusCloudEventReceiver<byte[]> {
+        TestReceiver(CloudEventUnmarshallerFactory<byte[]> factory) {
+            setCloudEventUnmarshaller(factory);
+        }
+    }
+
+    private ObjectMapper objectMapper;
+    private AtomicInteger envelopes;
+    private AtomicInteger decodes;
+    private TestReceiver receiver;
+
+    @BeforeEach
+    void setup() {
+        objectMapper = ObjectMapperFactory.get().registerModule(JsonFormat.getCloudEventJacksonModule());
+        envelopes = new AtomicInteger();
+        decodes = new AtomicInteger();
+        ByteArrayCloudEventUnmarshallerFactory delegate = new ByteArrayCloudEventUnmarshallerFactory(objectMapper);
+        receiver = new TestReceiver(new CloudEventUnmarshallerFactory<>() {
+            @Override
+            public <S> CloudEventUnmarshaller<byte[], S> unmarshaller(Class<S> targetClass) {
+                CloudEventUnmarshaller<byte[], S> unmarshaller = delegate.unmarshaller(targetClass);
+                return new DefaultCloudEventUnmarshaller<>(v -> {
+                    envelopes.incrementAndGet();
+                    return unmarshaller.cloudEvent().convert(v);
+                }, d -> {
+                    decodes.incrementAndGet();
+                    return unmarshaller.data().convert(d);
+                }, unmarshaller.binaryCloudEvent());
+            }
+        });
+    }
+
+    private Message<byte[]> getMessage(String type) throws IOException {
+        byte[] payload = objectMapper.writeValueAsBytes(objectMapper.createObjectNode().put("specversion", "1.0").put("id", "1").put("type", type).put("source", "/path")
+                .set("data", objectMapper.createObjectNode().put("name", "Javierito")));
+        @SuppressWarnings("unchecked")
+        Message<byte[]> message = mock(Message.class);
+        when(message.getPayload()).thenReturn(payload);
+        when(message.getMetadata(CloudEventMetadata.class)).thenReturn(Optional.empty());
+        return message;
+    }
+
+    private <T> Function<DataEvent<T>, CompletionStage<?>> collect(List<T> received) {
+        return event -> {
+            received.add(event.getData());
+            return CompletableFuture.completedFuture(null);
+        };
+    }
+
+    @Test
+    void testDecodedOnceAndRoutedByType() throws IOException {
+        List<JsonNode> one = new CopyOnWriteArrayList<>();
+        List<JsonNode> another = new CopyOnWriteArrayList<>();
+        List<JsonNode> two = new CopyOnWriteArrayList<>();
+        receiver.subscribe(collect(one), JsonNode.class, "typeOne");
+        receiver.subscribe(collect(another), JsonNode.class, "typeOne");
+        receiver.subscribe(collect(two), JsonNode.class, "typeTwo");
+
+        receiver.produce(getMessage("typeOne")).toCompletableFuture().join();
+
+        assertThat(one).hasSize(1);
+        assertThat(another).hasSize(1);
+        assertThat(two).isEmpty();
+        assertThat(envelopes).hasValue(1);
+        assertThat(decodes).hasValue(1);
+    }
+
+    @Test
+    void testCompletesWhenConsumersComplete() throws IOException {
+        CompletableFuture<Object> pending = new CompletableFuture<>();
+        receiver.subscribe(event -> pending, JsonNode.class, "typeOne");
+        Message<byte[]> message = getMessage("typeOne");
+
+        CompletableFuture<?> result = receiver.produce(message).toCompletableFuture();
+
+        assertThat(result).isNotDone();
+        verify(message, never()).ack();
+        pending.complete(null);
+        assertThat(result).isDone();
+        verify(message).ack();
+    }
+}
@@ -0,0 +1,53 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.kie.kogito.monitoring.core.quarkus;
+
+import org.kie.kogito.monitoring.core.common.process.MetricsProcessPersistenceListener;
+import org.kie.kogito.process.ProcessPersistenceListeners;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import io.quarkus.runtime.ShutdownEvent;
+import io.quarkus.runtime.StartupEvent;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.enterprise.inject.Instance;
+import jakarta.inject.Inject;
+
+@ApplicationScoped
+public class QuarkusProcessPersistenceListenerRegister {
+
+    // the micrometer extension producing the registry is brought by the registry specific addon
+    @Inject
+    Instance<MeterRegistry> meterRegistry;
+
+    private MetricsProcessPersistenceListener listener;
+
+    void onStart(@Observes StartupEvent event) {
+        listener = new MetricsProcessPersistenceListener(meterRegistry.isResolvable() ? meterRegistry.get() : Metrics.globalRegistry);
+        ProcessPersistenceListeners.register(listener);
+    }
+
+    void onStop(@Observes ShutdownEvent event) {
+        if (listener != null) {
+            listener.close();
+        }
+    }
+}
@@ -0,0 +1,61 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.kie.kogito.persistence.quarkus;
+
+import java.util.Optional;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+
+import javax.sql.DataSource;
+
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.kie.kogito.jobs.JobsService;
+import org.kie.kogito.persistence.jdbc.jobs.JDBCJobStore;
+import org.kie.kogito.services.jobs.impl.PersistentJobService;
+import org.kie.kogito.uow.UnitOfWorkManager;
+
+import io.quarkus.arc.properties.IfBuildProperty;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.inject.Disposes;
+import jakarta.enterprise.inject.Produces;
+
+@ApplicationScoped
+@IfBuildProperty(name = "kogito.persistence.jdbc.jobs", stringValue = "true")
+public class JDBCJobsServiceProducer {
+
+    @Produces
+    @ApplicationScoped
+    public JobsService jdbcJobsService(DataSource dataSource, UnitOfWorkManager unitOfWorkManager,
+            @ConfigProperty(name = PersistentJobService.OWNER_PROPERTY) Optional<String> owner,
+            @ConfigProperty(name = PersistentJobService.POOL_SIZE_PROPERTY, defaultValue = "10") int poolSize,
+            @ConfigProperty(name = PersistentJobService.QUEUE_SIZE_PROPERTY, defaultValue = "1000") int queueSize,
+            @ConfigProperty(name = PersistentJobService.TICK_PROPERTY, defaultValue = "100") long tickMillis,
+            @ConfigProperty(name = PersistentJobService.WHEEL_SIZE_PROPERTY, defaultValue = "512") int wheelSize,
+            @ConfigProperty(name = PersistentJobService.HORIZON_PROPERTY, defaultValue = "60000") long horizonMillis,
+            @ConfigProperty(name = PersistentJobService.LEASE_PROPERTY, defaultValue = "300000") long leaseMillis,
+            @ConfigProperty(name = PersistentJobService.BATCH_SIZE_PROPERTY, defaultValue = "500") int batchSize,
+            @ConfigProperty(name = PersistentJobService.POLL_SIZE_PROPERTY, defaultValue = "10000") int pollSize) {
+        return new PersistentJobService(new JDBCJobStore(dataSource), unitOfWorkManager, owner.orElse(null), PersistentJobService.newExecutor(poolSize, queueSize), new ScheduledThreadPoolExecutor(1),
+                tickMillis, wheelSize, horizonMillis, leaseMillis, batchSize, pollSize);
+    }
+
+    void close(@Disposes JobsService jobsService) throws Exception {
+        ((PersistentJobService) jobsService).close();
+    }
+}
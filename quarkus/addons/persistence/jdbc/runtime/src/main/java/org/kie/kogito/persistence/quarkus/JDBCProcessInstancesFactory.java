@@ -22,20 +22,37 @@ import javax.sql.DataSource;
 
 import org.eclipse.microprofile.config.inject.ConfigProperty;
 import org.kie.kogito.persistence.jdbc.AbstractProcessInstancesFactory;
+import org.kie.kogito.persistence.jdbc.TransactionContext;
 
 import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.inject.Instance;
 import jakarta.inject.Inject;
+import jakarta.transaction.Status;
+import jakarta.transaction.SystemException;
+import jakarta.transaction.TransactionManager;
 
 @ApplicationScoped
 public class JDBCProcessInstancesFactory extends AbstractProcessInstancesFactory {
 
     @Inject
     public JDBCProcessInstancesFactory(DataSource dataSource,
-            @ConfigProperty(name = "kogito.persistence.optimistic.lock", defaultValue = "false") Boolean lock) {
-        super(dataSource, lock);
+            @ConfigProperty(name = "kogito.persistence.optimistic.lock", defaultValue = "false") Boolean lock,
+            @ConfigProperty(name = "kogito.persistence.jdbc.batch", defaultValue = "false") Boolean batch,
+            Instance<TransactionManager> transactionManager) {
+        super(dataSource, lock, batch, transactionManager.isResolvable() ? transactionContext(transactionManager.get()) : TransactionContext.NONE);
     }
 
     public JDBCProcessInstancesFactory() {
     }
 
+    static TransactionContext transactionContext(TransactionManager transactionManager) {
+        return () -> {
+            try {
+                return transactionManager.getStatus() != Status.STATUS_NO_TRANSACTION;
+            } catch (SystemException e) {
+                throw new IllegalStateException("Unable to read the status of the current transaction", e);
+            }
+        };
+    }
+
 }
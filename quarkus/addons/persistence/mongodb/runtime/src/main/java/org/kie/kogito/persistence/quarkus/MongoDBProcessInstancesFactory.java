@@ -38,8 +38,9 @@ public class MongoDBProcessInstancesFactory extends AbstractProcessInstancesFact
     public MongoDBProcessInstancesFactory(MongoClient mongoClient,
             AbstractTransactionManager transactionManager,
             @ConfigProperty(name = "quarkus.mongodb.database", defaultValue = "kogito") String dbName,
-            @ConfigProperty(name = "kogito.persistence.optimistic.lock", defaultValue = "false") Boolean lock) {
-        super(mongoClient, dbName, lock, transactionManager);
+            @ConfigProperty(name = "kogito.persistence.optimistic.lock", defaultValue = "false") Boolean lock,
+            @ConfigProperty(name = "kogito.persistence.mongodb.batch", defaultValue = "false") Boolean batch) {
+        super(mongoClient, dbName, lock, transactionManager, batch);
     }
 
 }
@@ -34,4 +34,25 @@ public interface RocksDbConfig {
     @WithName("clean")
     @WithDefault("false")
     boolean destroyDB();
+
+    /**
+     * Size in bytes of the LRU cache of uncompressed blocks shared by all the column families
+     */
+    @WithName("block-cache-size")
+    @WithDefault("67108864")
+    long blockCacheSize();
+
+    /**
+     * Bits per key of the bloom filter used to skip files on point lookups, zero disables it
+     */
+    @WithName("bloom-filter-bits")
+    @WithDefault("10")
+    int bloomFilterBits();
+
+    /**
+     * Compression library (snappy, z, bzip2, lz4, lz4hc, xpress or zstd), none to disable compression
+     */
+    @WithName("compression")
+    @WithDefault("lz4")
+    String compression();
 }
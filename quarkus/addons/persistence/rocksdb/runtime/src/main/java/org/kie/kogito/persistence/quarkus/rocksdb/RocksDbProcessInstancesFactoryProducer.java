@@ -20,6 +20,13 @@ package org.kie.kogito.persistence.quarkus.rocksdb;
 
 import org.kie.kogito.persistence.rocksdb.RocksDBProcessInstancesFactory;
 import org.kie.kogito.process.ProcessInstancesFactory;
+import org.rocksdb.BlockBasedTableConfig;
+import org.rocksdb.BloomFilter;
+import org.rocksdb.Cache;
+import org.rocksdb.ColumnFamilyOptions;
+import org.rocksdb.CompressionType;
+import org.rocksdb.DBOptions;
+import org.rocksdb.LRUCache;
 import org.rocksdb.Options;
 import org.rocksdb.RocksDB;
 import org.rocksdb.RocksDBException;
@@ -36,18 +43,31 @@ import jakarta.inject.Inject;
 public class RocksDbProcessInstancesFactoryProducer {
 
     private static final Logger logger = LoggerFactory.getLogger(RocksDbProcessInstancesFactoryProducer.class);
-    private Options options;
+    private DBOptions dbOptions;
+    private ColumnFamilyOptions columnFamilyOptions;
+    private Cache blockCache;
+    private BloomFilter bloomFilter;
     private RocksDBProcessInstancesFactory processInstancesFactory;
     @Inject
     RocksDbConfig config;
 
     @PostConstruct
     void init() throws RocksDBException {
-        options = new Options();
-        options.setCreateIfMissing(true);
+        dbOptions = new DBOptions();
+        dbOptions.setCreateIfMissing(true);
+        BlockBasedTableConfig tableConfig = new BlockBasedTableConfig();
+        blockCache = new LRUCache(config.blockCacheSize());
+        tableConfig.setBlockCache(blockCache);
+        if (config.bloomFilterBits() > 0) {
+            bloomFilter = new BloomFilter(config.bloomFilterBits());
+            tableConfig.setFilterPolicy(bloomFilter);
+        }
+        columnFamilyOptions = new ColumnFamilyOptions();
+        columnFamilyOptions.setTableFormatConfig(tableConfig);
+        columnFamilyOptions.setCompressionType(compressionType(config.compression()));
         String dataDir = config.dataDir();
         logger.info("Opening rocksdb in directory {}", dataDir);
-        processInstancesFactory = new RocksDBProcessInstancesFactory(options, dataDir);
+        processInstancesFactory = new RocksDBProcessInstancesFactory(dbOptions, columnFamilyOptions, dataDir);
     }
 
     @Produces
@@ -61,8 +81,27 @@ public class RocksDbProcessInstancesFactoryProducer {
         if (config.destroyDB()) {
             String dataDir = config.dataDir();
             logger.info("Cleaning rocksdb in directory {}", dataDir);
-            RocksDB.destroyDB(dataDir, options);
+            try (Options options = new Options(dbOptions, columnFamilyOptions)) {
+                RocksDB.destroyDB(dataDir, options);
+            }
+        }
+        columnFamilyOptions.close();
+        dbOptions.close();
+        if (bloomFilter != null) {
+            bloomFilter.close();
+        }
+        blockCache.close();
+    }
+
+    private static CompressionType compressionType(String compression) {
+        if ("none".equalsIgnoreCase(compression)) {
+            return CompressionType.NO_COMPRESSION;
+        }
+        for (CompressionType type : CompressionType.values()) {
+            if (compression.equalsIgnoreCase(type.getLibraryName()) || compression.equalsIgnoreCase(type.name())) {
+                return type;
+            }
         }
-        options.close();
+        throw new IllegalArgumentException("Unknown rocksdb compression " + compression);
     }
 }
@@ -118,6 +118,30 @@ public class ProcessInstanceManagementResource extends BaseProcessInstanceManage
         return doMigrateAllInstances(processId, migrationSpec);
     }
 
+    @Override
+    @POST
+    @Path("{processId}/migrations")
+    @Produces(MediaType.APPLICATION_JSON)
+    public Response startMigration(@PathParam("processId") String processId, ProcessMigrationSpec migrationSpec) {
+        return doStartMigration(processId, migrationSpec);
+    }
+
+    @Override
+    @GET
+    @Path("{processId}/migrations")
+    @Produces(MediaType.APPLICATION_JSON)
+    public Response getMigration(@PathParam("processId") String processId) {
+        return doGetMigration(processId);
+    }
+
+    @Override
+    @DELETE
+    @Path("{processId}/migrations")
+    @Produces(MediaType.APPLICATION_JSON)
+    public Response cancelMigration(@PathParam("processId") String processId) {
+        return doCancelMigration(processId);
+    }
+
     @Override
     @GET
     @Path("{processId}/instances/{processInstanceId}/nodeInstances")
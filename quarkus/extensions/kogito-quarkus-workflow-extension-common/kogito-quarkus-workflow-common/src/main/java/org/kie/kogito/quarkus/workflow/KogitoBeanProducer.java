@@ -19,7 +19,9 @@
 package org.kie.kogito.quarkus.workflow;
 
 import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 
+import org.eclipse.microprofile.config.inject.ConfigProperty;
 import org.kie.kogito.config.ConfigBean;
 import org.kie.kogito.correlation.CorrelationService;
 import org.kie.kogito.event.correlation.DefaultCorrelationService;
@@ -52,8 +54,10 @@ public class KogitoBeanProducer {
 
     @DefaultBean
     @Produces
-    CorrelationService correlationService() {
-        return new DefaultCorrelationService();
+    CorrelationService correlationService(
+            @ConfigProperty(name = DefaultCorrelationService.MAX_SIZE_PROPERTY, defaultValue = "" + DefaultCorrelationService.DEFAULT_MAX_SIZE) int maxSize,
+            @ConfigProperty(name = DefaultCorrelationService.TTL_PROPERTY, defaultValue = "" + DefaultCorrelationService.DEFAULT_TTL_MILLIS) long ttl) {
+        return new DefaultCorrelationService(DefaultCorrelationService.DEFAULT_NAME, maxSize, ttl, TimeUnit.MILLISECONDS);
     }
 
     @DefaultBean
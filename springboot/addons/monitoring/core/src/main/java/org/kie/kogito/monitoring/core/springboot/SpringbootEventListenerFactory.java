@@ -24,14 +24,18 @@ import org.kie.kogito.drools.core.config.DefaultRuleEventListenerConfig;
 import org.kie.kogito.internal.process.event.KogitoProcessEventListener;
 import org.kie.kogito.monitoring.core.common.Constants;
 import org.kie.kogito.monitoring.core.common.process.MetricsProcessEventListener;
+import org.kie.kogito.monitoring.core.common.process.MetricsProcessPersistenceListener;
 import org.kie.kogito.monitoring.core.common.rule.RuleMetricsListenerConfig;
+import org.kie.kogito.process.ProcessPersistenceListeners;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
+import io.micrometer.core.instrument.MeterRegistry;
 import io.micrometer.core.instrument.Metrics;
 
 @Configuration
@@ -58,6 +62,14 @@ public class SpringbootEventListenerFactory {
                 Metrics.globalRegistry);
     }
 
+    @Bean(destroyMethod = "close")
+    public MetricsProcessPersistenceListener produceProcessPersistenceListener(ObjectProvider<MeterRegistry> meterRegistry) {
+        LOGGER.debug("Registering listener for process persistence monitoring.");
+        MetricsProcessPersistenceListener listener = new MetricsProcessPersistenceListener(meterRegistry.getIfAvailable(() -> Metrics.globalRegistry));
+        ProcessPersistenceListeners.register(listener);
+        return listener;
+    }
+
     @ConditionalOnProperty(
             value = Constants.MONITORING_RULE_USE_DEFAULT,
             havingValue = "true",
@@ -0,0 +1,51 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.kie.kogito.persistence.springboot;
+
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+
+import javax.sql.DataSource;
+
+import org.kie.kogito.persistence.jdbc.jobs.JDBCJobStore;
+import org.kie.kogito.services.jobs.impl.PersistentJobService;
+import org.kie.kogito.uow.UnitOfWorkManager;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@ConditionalOnProperty(name = "kogito.persistence.jdbc.jobs", havingValue = "true")
+public class JDBCJobsServiceConfiguration {
+
+    @Bean(destroyMethod = "close")
+    public PersistentJobService jdbcJobsService(DataSource dataSource, UnitOfWorkManager unitOfWorkManager,
+            @Value("${" + PersistentJobService.OWNER_PROPERTY + ":#{null}}") String owner,
+            @Value("${" + PersistentJobService.POOL_SIZE_PROPERTY + ":10}") int poolSize,
+            @Value("${" + PersistentJobService.QUEUE_SIZE_PROPERTY + ":1000}") int queueSize,
+            @Value("${" + PersistentJobService.TICK_PROPERTY + ":100}") long tickMillis,
+            @Value("${" + PersistentJobService.WHEEL_SIZE_PROPERTY + ":512}") int wheelSize,
+            @Value("${" + PersistentJobService.HORIZON_PROPERTY + ":60000}") long horizonMillis,
+            @Value("${" + PersistentJobService.LEASE_PROPERTY + ":300000}") long leaseMillis,
+            @Value("${" + PersistentJobService.BATCH_SIZE_PROPERTY + ":500}") int batchSize,
+            @Value("${" + PersistentJobService.POLL_SIZE_PROPERTY + ":10000}") int pollSize) {
+        return new PersistentJobService(new JDBCJobStore(dataSource), unitOfWorkManager, owner, PersistentJobService.newExecutor(poolSize, queueSize), new ScheduledThreadPoolExecutor(1),
+                tickMillis, wheelSize, horizonMillis, leaseMillis, batchSize, pollSize);
+    }
+}
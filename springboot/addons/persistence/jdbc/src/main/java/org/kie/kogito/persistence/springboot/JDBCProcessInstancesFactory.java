@@ -23,15 +23,19 @@ import javax.sql.DataSource;
 import org.kie.kogito.persistence.jdbc.AbstractProcessInstancesFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.datasource.TransactionAwareDataSourceProxy;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 @Component
 public class JDBCProcessInstancesFactory extends AbstractProcessInstancesFactory {
 
     @Autowired
     public JDBCProcessInstancesFactory(DataSource dataSource,
-            @Value("${kogito.persistence.optimistic.lock:false}") Boolean lock) {
-        super(dataSource, lock);
+            @Value("${kogito.persistence.optimistic.lock:false}") Boolean lock,
+            @Value("${kogito.persistence.jdbc.batch:false}") Boolean batch) {
+        // the proxy hands out the connection bound to the Spring managed transaction, if any, which the writes then join
+        super(new TransactionAwareDataSourceProxy(dataSource), lock, batch, TransactionSynchronizationManager::isActualTransactionActive);
     }
 
 }
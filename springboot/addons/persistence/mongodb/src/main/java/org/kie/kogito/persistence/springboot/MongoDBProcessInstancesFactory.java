@@ -33,8 +33,9 @@ public class MongoDBProcessInstancesFactory extends AbstractProcessInstancesFact
     public MongoDBProcessInstancesFactory(MongoClient mongoClient,
             AbstractTransactionManager transactionManager,
             @Value("${kogito.persistence.optimistic.lock:false}") Boolean lock,
-            @Value("${spring.data.mongodb.database:kogito}") String dbName) {
-        super(mongoClient, dbName, lock, transactionManager);
+            @Value("${spring.data.mongodb.database:kogito}") String dbName,
+            @Value("${kogito.persistence.mongodb.batch:false}") Boolean batch) {
+        super(mongoClient, dbName, lock, transactionManager, batch);
     }
 
 }
@@ -28,6 +28,7 @@ import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
@@ -88,6 +89,24 @@ public class ProcessInstanceManagementRestController extends BaseProcessInstance
         return doMigrateAllInstances(processId, migrationSpec);
     }
 
+    @Override
+    @PostMapping(value = "{processId}/migrations", produces = APPLICATION_JSON_VALUE)
+    public ResponseEntity startMigration(@PathVariable("processId") String processId, @RequestBody ProcessMigrationSpec migrationSpec) {
+        return doStartMigration(processId, migrationSpec);
+    }
+
+    @Override
+    @GetMapping(value = "{processId}/migrations", produces = APPLICATION_JSON_VALUE)
+    public ResponseEntity getMigration(@PathVariable("processId") String processId) {
+        return doGetMigration(processId);
+    }
+
+    @Override
+    @DeleteMapping(value = "{processId}/migrations", produces = APPLICATION_JSON_VALUE)
+    public ResponseEntity cancelMigration(@PathVariable("processId") String processId) {
+        return doCancelMigration(processId);
+    }
+
     @Override
     @GetMapping(value = "{processId}/instances/{processInstanceId}/error", produces = APPLICATION_JSON_VALUE)
     public ResponseEntity getInstanceInError(@PathVariable("processId") String processId,
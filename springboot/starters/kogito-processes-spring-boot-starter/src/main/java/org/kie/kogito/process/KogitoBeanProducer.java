@@ -19,6 +19,7 @@
 package org.kie.kogito.process;
 
 import java.util.List;
+import java.util.concurrent.TimeUnit;
 
 import org.kie.kogito.config.ConfigBean;
 import org.kie.kogito.correlation.CorrelationService;
@@ -34,6 +35,7 @@ import org.kie.kogito.uow.UnitOfWorkManager;
 import org.kie.kogito.usertask.UserTasks;
 import org.kogito.workitem.rest.RestWorkItemHandlerUtils;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
@@ -53,8 +55,10 @@ public class KogitoBeanProducer {
     }
 
     @Bean
-    CorrelationService correlationService() {
-        return new DefaultCorrelationService();
+    CorrelationService correlationService(
+            @Value("${" + DefaultCorrelationService.MAX_SIZE_PROPERTY + ":" + DefaultCorrelationService.DEFAULT_MAX_SIZE + "}") int maxSize,
+            @Value("${" + DefaultCorrelationService.TTL_PROPERTY + ":" + DefaultCorrelationService.DEFAULT_TTL_MILLIS + "}") long ttl) {
+        return new DefaultCorrelationService(DefaultCorrelationService.DEFAULT_NAME, maxSize, ttl, TimeUnit.MILLISECONDS);
     }
 
     @Bean